@@ -0,0 +1,79 @@
+package org.informatics.transportcompany.benchmark;
+
+import org.informatics.transportcompany.analytics.TransportAnalytics;
+import org.informatics.transportcompany.analytics.TransportAnalyticsSettings;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
+import org.informatics.transportcompany.repository.transport.TransportAnalyticsRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The reports of {@link RepositoryBenchmark} answered by the in-memory {@link TransportAnalytics}
+ * engine, plus a full reload from the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnalyticsBenchmark extends PopulatedDatabase {
+
+    private TransportAnalytics analytics;
+    private long companyId;
+    private LocalDateTime periodFrom;
+    private LocalDateTime periodTo;
+
+    @Setup
+    public void load() {
+        analytics = new TransportAnalytics(
+                new TransportAnalyticsRepositoryImpl(),
+                new TransportAnalyticsSettings(true, 60_000)
+        );
+        analytics.refresh();
+
+        companyId = dataset.companyIds().getFirst();
+        long days = Duration.between(dataset.firstDeparture(), dataset.lastDeparture()).toDays();
+        periodFrom = dataset.firstDeparture().plusDays(days / 4).plusHours(7);
+        periodTo = periodFrom.plusDays(Math.max(days / 2, 1)).plusHours(5);
+    }
+
+    @TearDown
+    public void close() {
+        analytics.close();
+    }
+
+    @Benchmark
+    public List<DriverTransportCountRow> driverTransportStats() {
+        return analytics.driverTransportStats();
+    }
+
+    @Benchmark
+    public List<DriverRevenueRow> driverRevenue() {
+        return analytics.driverRevenue();
+    }
+
+    @Benchmark
+    public BigDecimal companyRevenueForPeriod() {
+        return analytics.companyRevenueForPeriod(companyId, periodFrom, periodTo);
+    }
+
+    @Benchmark
+    public List<CompanyRevenueRow> companyRevenueRanking() {
+        return analytics.companyRevenueRanking();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void reload() {
+        analytics.reload();
+    }
+}
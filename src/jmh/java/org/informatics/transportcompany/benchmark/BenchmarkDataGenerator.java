@@ -0,0 +1,172 @@
+package org.informatics.transportcompany.benchmark;
+
+import org.informatics.transportcompany.config.UnitOfWork;
+import org.informatics.transportcompany.model.dto.transport.TransportCreateRequest;
+import org.informatics.transportcompany.model.dto.transport.TransportImportResult;
+import org.informatics.transportcompany.model.entity.Client;
+import org.informatics.transportcompany.model.entity.Employee;
+import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.model.entity.Vehicle;
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
+import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.client.ClientRepository;
+import org.informatics.transportcompany.repository.client.ClientRepositoryImpl;
+import org.informatics.transportcompany.repository.employee.EmployeeRepository;
+import org.informatics.transportcompany.repository.employee.EmployeeRepositoryImpl;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepository;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepositoryImpl;
+import org.informatics.transportcompany.service.TransportService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the database with a reproducible data set: the same counts and seed always produce the
+ * same rows. Transports are spread one every {@link #DEPARTURE_STEP_HOURS} hours from
+ * {@link #FIRST_DEPARTURE} and each one uses a client, vehicle and driver of its own company.
+ */
+final class BenchmarkDataGenerator {
+
+    static final LocalDateTime FIRST_DEPARTURE = LocalDateTime.of(2024, 1, 1, 6, 0);
+    static final int DEPARTURE_STEP_HOURS = 3;
+
+    private static final String[] LOCATIONS = {
+            "Sofia", "Plovdiv", "Varna", "Burgas", "Ruse", "Stara Zagora", "Pleven", "Sliven", "Dobrich", "Shumen"
+    };
+    private static final String[] CARGO = {"Pallets", "Furniture", "Food", "Electronics", "Building materials"};
+
+    private final int companies;
+    private final int clientsPerCompany;
+    private final int vehiclesPerCompany;
+    private final int driversPerCompany;
+    private final long seed;
+
+    private final TransportCompanyRepository companyRepository = new TransportCompanyRepositoryImpl();
+    private final ClientRepository clientRepository = new ClientRepositoryImpl();
+    private final VehicleRepository vehicleRepository = new VehicleRepositoryImpl();
+    private final EmployeeRepository employeeRepository = new EmployeeRepositoryImpl();
+
+    BenchmarkDataGenerator(int companies, int clientsPerCompany, int vehiclesPerCompany, int driversPerCompany, long seed) {
+        if (companies <= 0 || clientsPerCompany <= 0 || vehiclesPerCompany <= 0 || driversPerCompany <= 0) {
+            throw new IllegalArgumentException("Every entity count must be positive.");
+        }
+        this.companies = companies;
+        this.clientsPerCompany = clientsPerCompany;
+        this.vehiclesPerCompany = vehiclesPerCompany;
+        this.driversPerCompany = driversPerCompany;
+        this.seed = seed;
+    }
+
+    BenchmarkDataset populate(TransportService service, int transports) {
+        Random random = new Random(seed);
+
+        List<Long> companyIds = new ArrayList<>();
+        List<Long> clientIds = new ArrayList<>();
+        List<Long> vehicleIds = new ArrayList<>();
+        List<Long> driverIds = new ArrayList<>();
+
+        UnitOfWork.inTransaction(() -> {
+            for (int c = 0; c < companies; c++) {
+                TransportCompany company = new TransportCompany();
+                company.setName("Company " + c);
+                company.setAddress(LOCATIONS[c % LOCATIONS.length]);
+                companyRepository.create(company);
+                companyIds.add(company.getId());
+
+                for (int i = 0; i < clientsPerCompany; i++) {
+                    Client client = new Client();
+                    client.setName("Client " + c + "-" + i);
+                    client.setContactDetails("client" + c + "-" + i + "@example.com");
+                    client.setCompany(company);
+                    clientRepository.create(client);
+                    clientIds.add(client.getId());
+                }
+
+                for (int i = 0; i < vehiclesPerCompany; i++) {
+                    Vehicle vehicle = new Vehicle();
+                    vehicle.setRegistrationNumber("CB" + c + "-" + i);
+                    vehicle.setType(VehicleType.TRUCK);
+                    vehicle.setCapacity(5_000 + random.nextInt(20_000));
+                    vehicle.setCompany(company);
+                    vehicleRepository.create(vehicle);
+                    vehicleIds.add(vehicle.getId());
+                }
+
+                for (int i = 0; i < driversPerCompany; i++) {
+                    Employee driver = new Employee();
+                    driver.setFirstName("Driver");
+                    driver.setLastName(c + "-" + i);
+                    driver.setQualification(EmployeeQualification.DRIVER_STANDARD);
+                    driver.setSalary(BigDecimal.valueOf(1_800 + random.nextInt(1_500)).setScale(2));
+                    driver.setCompany(company);
+                    employeeRepository.create(driver);
+                    driverIds.add(driver.getId());
+                }
+            }
+            return null;
+        });
+
+        BenchmarkDataset dataset = new BenchmarkDataset(
+                List.copyOf(companyIds),
+                List.copyOf(clientIds),
+                List.copyOf(vehicleIds),
+                List.copyOf(driverIds),
+                transports,
+                FIRST_DEPARTURE,
+                departureOf(Math.max(transports - 1, 0))
+        );
+
+        List<TransportCreateRequest> requests = new ArrayList<>(transports);
+        for (int i = 0; i < transports; i++) {
+            requests.add(transportRequest(dataset, i, random));
+        }
+
+        TransportImportResult result = service.createAll(requests);
+        if (result.hasFailures()) {
+            throw new IllegalStateException("Generated transports were rejected: " + result.failures().getFirst());
+        }
+
+        return dataset;
+    }
+
+    TransportCreateRequest transportRequest(BenchmarkDataset dataset, int index, Random random) {
+        int company = random.nextInt(companies);
+
+        LocalDateTime departure = departureOf(index);
+        String from = LOCATIONS[random.nextInt(LOCATIONS.length)];
+        String to = LOCATIONS[(indexOf(from) + 1 + random.nextInt(LOCATIONS.length - 1)) % LOCATIONS.length];
+
+        TransportCreateRequest request = new TransportCreateRequest();
+        request.setCompanyId(dataset.companyIds().get(company));
+        request.setClientId(dataset.clientIds().get(company * clientsPerCompany + random.nextInt(clientsPerCompany)));
+        request.setVehicleId(dataset.vehicleIds().get(company * vehiclesPerCompany + random.nextInt(vehiclesPerCompany)));
+        request.setDriverId(dataset.driverIds().get(company * driversPerCompany + random.nextInt(driversPerCompany)));
+        request.setFromLocation(from);
+        request.setToLocation(to);
+        request.setDeparture(departure);
+        request.setArrival(departure.plusHours(1 + random.nextInt(12)));
+        request.setCargoDescription(CARGO[random.nextInt(CARGO.length)]);
+        request.setCargoWeight(100.0 + random.nextInt(20_000));
+        request.setPrice(BigDecimal.valueOf(5_000 + random.nextInt(200_000), 2));
+        request.setPaid(random.nextInt(4) != 0);
+        return request;
+    }
+
+    static LocalDateTime departureOf(int index) {
+        return FIRST_DEPARTURE.plusHours((long) index * DEPARTURE_STEP_HOURS);
+    }
+
+    private static int indexOf(String location) {
+        for (int i = 0; i < LOCATIONS.length; i++) {
+            if (LOCATIONS[i].equals(location)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(location);
+    }
+}
@@ -0,0 +1,39 @@
+package org.informatics.transportcompany.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.informatics.transportcompany.config.HibernateUtil;
+
+import java.util.Map;
+
+/**
+ * Points Hibernate at an in-memory H2 database unless the corresponding {@code hibernate.*}
+ * system properties are already set, so the same benchmarks can be run against PostgreSQL with
+ * {@code -Dhibernate.connection.url=...}. Must be called before anything touches {@link HibernateUtil}.
+ */
+final class BenchmarkDatabase {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+            "hibernate.connection.driver_class", "org.h2.Driver",
+            "hibernate.connection.url", "jdbc:h2:mem:transport_company_benchmark;DB_CLOSE_DELAY=-1",
+            "hibernate.connection.username", "sa",
+            "hibernate.connection.password", "",
+            "hibernate.hbm2ddl.auto", "create-drop",
+            "hibernate.show_sql", "false",
+            "transportcompany.migrations.location", ""
+    );
+
+    private BenchmarkDatabase() {
+    }
+
+    static SessionFactory start() {
+        DEFAULTS.forEach(System.getProperties()::putIfAbsent);
+        return HibernateUtil.getSessionFactory();
+    }
+
+    static void reset() {
+        SessionFactory sessionFactory = start();
+        sessionFactory.getSchemaManager().truncateMappedObjects();
+        sessionFactory.getCache().evictAllRegions();
+    }
+}
@@ -0,0 +1,15 @@
+package org.informatics.transportcompany.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+record BenchmarkDataset(
+        List<Long> companyIds,
+        List<Long> clientIds,
+        List<Long> vehicleIds,
+        List<Long> driverIds,
+        int transports,
+        LocalDateTime firstDeparture,
+        LocalDateTime lastDeparture
+) {
+}
@@ -0,0 +1,125 @@
+package org.informatics.transportcompany.benchmark;
+
+import org.informatics.transportcompany.io.TransportFileReader;
+import org.informatics.transportcompany.io.TransportFileRecord;
+import org.informatics.transportcompany.io.TransportFileWriter;
+import org.informatics.transportcompany.io.TransportSnapshotReader;
+import org.informatics.transportcompany.io.TransportSnapshotWriter;
+import org.informatics.transportcompany.model.dto.transport.TransportExportRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The export and parse paths used by the console file commands. {@code export*} benchmarks stream
+ * from the database like the handlers do; {@code write*} benchmarks start from rows already in
+ * memory so the file format cost can be seen on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileIoBenchmark extends PopulatedDatabase {
+
+    private Path directory;
+    private Path textFile;
+    private Path snapshotFile;
+    private Path output;
+    private List<TransportExportRow> rows;
+
+    @Setup
+    public void prepareFiles() throws IOException {
+        directory = Files.createTempDirectory("transport-benchmark");
+        textFile = directory.resolve("transports.txt");
+        snapshotFile = directory.resolve("transports.snap");
+        output = directory.resolve("output");
+
+        rows = new ArrayList<>(transports);
+        transportService.exportAll(rows::add);
+
+        try (TransportFileWriter text = TransportFileWriter.open(textFile);
+             TransportSnapshotWriter snapshot = TransportSnapshotWriter.open(snapshotFile)) {
+            rows.forEach(text::write);
+            rows.forEach(snapshot::write);
+        }
+    }
+
+    @TearDown
+    public void deleteFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public long exportToTextFile() throws IOException {
+        try (TransportFileWriter writer = TransportFileWriter.open(output)) {
+            return transportService.exportAll(writer::write);
+        }
+    }
+
+    @Benchmark
+    public long exportToSnapshot() throws IOException {
+        try (TransportSnapshotWriter writer = TransportSnapshotWriter.open(output)) {
+            return transportService.exportAll(writer::write);
+        }
+    }
+
+    @Benchmark
+    public long writeTextFile() throws IOException {
+        try (TransportFileWriter writer = TransportFileWriter.open(output)) {
+            rows.forEach(writer::write);
+            return writer.getRowsWritten();
+        }
+    }
+
+    @Benchmark
+    public long writeSnapshot() throws IOException {
+        try (TransportSnapshotWriter writer = TransportSnapshotWriter.open(output)) {
+            rows.forEach(writer::write);
+            return writer.getRowsWritten();
+        }
+    }
+
+    @Benchmark
+    public int parseTextFile(Blackhole blackhole) throws IOException {
+        try (TransportFileReader reader = TransportFileReader.open(textFile)) {
+            for (TransportFileRecord record : reader) {
+                blackhole.consume(record);
+            }
+            return reader.errors().size();
+        }
+    }
+
+    @Benchmark
+    public long readSnapshot(Blackhole blackhole) throws IOException {
+        try (TransportSnapshotReader reader = TransportSnapshotReader.open(snapshotFile)) {
+            return reader.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal snapshotRevenueForPeriod() throws IOException {
+        try (TransportSnapshotReader reader = TransportSnapshotReader.open(snapshotFile)) {
+            return reader.sumPaidRevenueForPeriod(
+                    rows.getFirst().companyName(),
+                    dataset.firstDeparture().plusDays(30),
+                    dataset.firstDeparture().plusDays(60)
+            );
+        }
+    }
+}
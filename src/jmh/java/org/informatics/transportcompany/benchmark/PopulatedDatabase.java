@@ -0,0 +1,67 @@
+package org.informatics.transportcompany.benchmark;
+
+import org.informatics.transportcompany.repository.client.ClientRepository;
+import org.informatics.transportcompany.repository.client.ClientRepositoryImpl;
+import org.informatics.transportcompany.repository.employee.EmployeeRepository;
+import org.informatics.transportcompany.repository.employee.EmployeeRepositoryImpl;
+import org.informatics.transportcompany.repository.transport.TransportRepository;
+import org.informatics.transportcompany.repository.transport.TransportRepositoryImpl;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepository;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepositoryImpl;
+import org.informatics.transportcompany.service.TransportService;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark state that truncates the database and fills it with {@link BenchmarkDataGenerator}
+ * once per trial. Counts can be changed from the command line, e.g. {@code -p transports=100000}.
+ */
+@State(Scope.Benchmark)
+public abstract class PopulatedDatabase {
+
+    @Param("10")
+    public int companies;
+
+    @Param("50")
+    public int clientsPerCompany;
+
+    @Param("20")
+    public int vehiclesPerCompany;
+
+    @Param("30")
+    public int driversPerCompany;
+
+    @Param("10000")
+    public int transports;
+
+    @Param("42")
+    public long seed;
+
+    protected final TransportCompanyRepository companyRepository = new TransportCompanyRepositoryImpl();
+    protected final ClientRepository clientRepository = new ClientRepositoryImpl();
+    protected final VehicleRepository vehicleRepository = new VehicleRepositoryImpl();
+    protected final EmployeeRepository employeeRepository = new EmployeeRepositoryImpl();
+    protected final TransportRepository transportRepository = new TransportRepositoryImpl();
+
+    protected final TransportService transportService = new TransportService(
+            transportRepository,
+            companyRepository,
+            clientRepository,
+            vehicleRepository,
+            employeeRepository
+    );
+
+    protected BenchmarkDataGenerator generator;
+    protected BenchmarkDataset dataset;
+
+    @Setup
+    public void populate() {
+        BenchmarkDatabase.reset();
+        generator = new BenchmarkDataGenerator(companies, clientsPerCompany, vehiclesPerCompany, driversPerCompany, seed);
+        dataset = generator.populate(transportService, transports);
+    }
+}
@@ -0,0 +1,200 @@
+package org.informatics.transportcompany.benchmark;
+
+import org.informatics.transportcompany.model.dto.client.ClientListRow;
+import org.informatics.transportcompany.model.dto.employee.EmployeeListRow;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
+import org.informatics.transportcompany.model.dto.transport.TransportListRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
+import org.informatics.transportcompany.model.dto.vehicle.VehicleListRow;
+import org.informatics.transportcompany.model.entity.Client;
+import org.informatics.transportcompany.model.entity.Employee;
+import org.informatics.transportcompany.model.entity.Transport;
+import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.model.entity.Vehicle;
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One benchmark per read method of the repositories, run against the generated data set.
+ * Lookups by id cycle through all generated ids so the second-level cache sees a realistic mix.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryBenchmark extends PopulatedDatabase {
+
+    private static final int PAGE_SIZE = 20;
+
+    private TransportCompany company;
+    private List<Long> transportIds;
+    private Cursor middleCursor;
+    private LocalDateTime periodFrom;
+    private LocalDateTime periodTo;
+    private int next;
+
+    @Setup
+    public void prepareArguments() {
+        company = companyRepository.findById(dataset.companyIds().getFirst()).orElseThrow();
+        transportIds = transportRepository.findPage(Cursor.start(), transports).items().stream()
+                .map(TransportListRow::id)
+                .toList();
+        middleCursor = new Cursor(transportIds.get(transportIds.size() / 2));
+
+        long days = Duration.between(dataset.firstDeparture(), dataset.lastDeparture()).toDays();
+        periodFrom = dataset.firstDeparture().plusDays(days / 4).plusHours(7);
+        periodTo = periodFrom.plusDays(Math.max(days / 2, 1)).plusHours(5);
+    }
+
+    @Benchmark
+    public Optional<TransportCompany> companyFindById() {
+        return companyRepository.findById(nextId(dataset.companyIds()));
+    }
+
+    @Benchmark
+    public List<CompanyListRow> companyFindAllOrderByName() {
+        return companyRepository.findAllOrderByName();
+    }
+
+    @Benchmark
+    public Page<CompanyListRow> companyFindPage() {
+        return companyRepository.findPage(Cursor.start(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<CompanyRevenueRow> companyFindAllWithRevenueOrderByRevenueDesc() {
+        return companyRepository.findAllWithRevenueOrderByRevenueDesc();
+    }
+
+    @Benchmark
+    public Optional<Client> clientFindById() {
+        return clientRepository.findById(nextId(dataset.clientIds()));
+    }
+
+    @Benchmark
+    public List<Client> clientFindAll() {
+        return clientRepository.findAll();
+    }
+
+    @Benchmark
+    public Page<ClientListRow> clientFindPage() {
+        return clientRepository.findPage(Cursor.start(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Optional<Vehicle> vehicleFindById() {
+        return vehicleRepository.findById(nextId(dataset.vehicleIds()));
+    }
+
+    @Benchmark
+    public List<Vehicle> vehicleFindAll() {
+        return vehicleRepository.findAll();
+    }
+
+    @Benchmark
+    public Page<VehicleListRow> vehicleFindPage() {
+        return vehicleRepository.findPage(Cursor.start(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Optional<Employee> employeeFindById() {
+        return employeeRepository.findById(nextId(dataset.driverIds()));
+    }
+
+    @Benchmark
+    public List<EmployeeListRow> employeeFindAllOrderByQualificationThenSalary() {
+        return employeeRepository.findAllOrderByQualificationThenSalary();
+    }
+
+    @Benchmark
+    public List<EmployeeListRow> employeeFindAllOrderBySalaryDesc() {
+        return employeeRepository.findAllOrderBySalaryDesc();
+    }
+
+    @Benchmark
+    public List<EmployeeListRow> employeeFindByQualificationOrderBySalaryDesc() {
+        return employeeRepository.findByQualificationOrderBySalaryDesc(EmployeeQualification.DRIVER_STANDARD);
+    }
+
+    @Benchmark
+    public Page<EmployeeListRow> employeeFindPage() {
+        return employeeRepository.findPage(Cursor.start(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Optional<Transport> transportFindById() {
+        return transportRepository.findById(nextId(transportIds));
+    }
+
+    @Benchmark
+    public Optional<Transport> transportFindByIdWithClient() {
+        return transportRepository.findByIdWithClient(nextId(transportIds));
+    }
+
+    @Benchmark
+    public List<Transport> transportFindAllWithAllJoins() {
+        return transportRepository.findAllWithAllJoins();
+    }
+
+    @Benchmark
+    public Page<TransportListRow> transportFindFirstPage() {
+        return transportRepository.findPage(Cursor.start(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<TransportListRow> transportFindMiddlePage() {
+        return transportRepository.findPage(middleCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<TransportListRow> transportFindFirstPageOrderByToLocation() {
+        return transportRepository.findPageOrderByToLocation(Cursor.start(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<TransportListRow> transportFindByToLocation() {
+        return transportRepository.findByToLocation("Varna");
+    }
+
+    @Benchmark
+    public long transportCountAll() {
+        return transportRepository.countAll();
+    }
+
+    @Benchmark
+    public BigDecimal transportSumTotalRevenue() {
+        return transportRepository.sumTotalRevenue();
+    }
+
+    @Benchmark
+    public List<DriverTransportCountRow> transportDriverTransportStats() {
+        return transportRepository.driverTransportStats();
+    }
+
+    @Benchmark
+    public BigDecimal transportSumCompanyRevenueForPeriod() {
+        return transportRepository.sumCompanyRevenueForPeriod(company, periodFrom, periodTo);
+    }
+
+    @Benchmark
+    public List<DriverRevenueRow> transportDriverRevenue() {
+        return transportRepository.driverRevenue();
+    }
+
+    private long nextId(List<Long> ids) {
+        return ids.get(Math.floorMod(next++, ids.size()));
+    }
+}
@@ -0,0 +1,77 @@
+package org.informatics.transportcompany.benchmark;
+
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
+import org.informatics.transportcompany.model.dto.transport.TransportCreateRequest;
+import org.informatics.transportcompany.model.dto.transport.TransportImportResult;
+import org.informatics.transportcompany.model.dto.transport.TransportSummary;
+import org.informatics.transportcompany.model.entity.Transport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write paths of {@link org.informatics.transportcompany.service.TransportService} plus the reports
+ * as seen by the console. The inserted transports stay in the database for the rest of the trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ServiceBenchmark extends PopulatedDatabase {
+
+    @Param("500")
+    public int importBatch;
+
+    private List<TransportCreateRequest> requests;
+    private int next;
+
+    @Setup
+    public void prepareRequests() {
+        Random random = new Random(seed + 1);
+
+        requests = new ArrayList<>(importBatch);
+        for (int i = 0; i < importBatch; i++) {
+            requests.add(generator.transportRequest(dataset, transports + i, random));
+        }
+    }
+
+    @Benchmark
+    public Transport createTransport() {
+        return transportService.createTransport(requests.get(Math.floorMod(next++, requests.size())));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TransportImportResult createAll() {
+        return transportService.createAll(requests);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalRevenue() {
+        return transportService.calculateTotalRevenue();
+    }
+
+    @Benchmark
+    public TransportSummary summarize() {
+        return transportService.summarize();
+    }
+
+    @Benchmark
+    public List<DriverRevenueRow> findDriverRevenue() {
+        return transportService.findDriverRevenue();
+    }
+
+    @Benchmark
+    public List<DriverTransportCountRow> findDriverTransportStats() {
+        return transportService.findDriverTransportStats();
+    }
+}
@@ -1,22 +1,16 @@
 package org.informatics.transportcompany;
 
 import org.informatics.transportcompany.config.HibernateUtil;
-import org.informatics.transportcompany.repository.client.ClientRepository;
-import org.informatics.transportcompany.repository.client.ClientRepositoryImpl;
-import org.informatics.transportcompany.repository.employee.EmployeeRepository;
-import org.informatics.transportcompany.repository.employee.EmployeeRepositoryImpl;
-import org.informatics.transportcompany.repository.transport.TransportRepository;
-import org.informatics.transportcompany.repository.transport.TransportRepositoryImpl;
-import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
-import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
-import org.informatics.transportcompany.repository.vehicle.VehicleRepository;
-import org.informatics.transportcompany.repository.vehicle.VehicleRepositoryImpl;
+import org.informatics.transportcompany.metrics.RepositoryMetrics;
 import org.informatics.transportcompany.service.ClientService;
 import org.informatics.transportcompany.service.EmployeeService;
 import org.informatics.transportcompany.service.TransportCompanyService;
+import org.informatics.transportcompany.service.TransportPartitionService;
 import org.informatics.transportcompany.service.TransportService;
 import org.informatics.transportcompany.service.VehicleService;
 
+import java.time.YearMonth;
+
 import static org.informatics.transportcompany.handlers.ClientsHandler.handleCreateClient;
 import static org.informatics.transportcompany.handlers.ClientsHandler.handleDeleteClient;
 import static org.informatics.transportcompany.handlers.ClientsHandler.handleEditClient;
@@ -27,15 +21,28 @@ import static org.informatics.transportcompany.handlers.CompaniesHandler.handleE
 import static org.informatics.transportcompany.handlers.CompaniesHandler.handleListCompanies;
 import static org.informatics.transportcompany.handlers.CompaniesHandler.handleListCompaniesByName;
 import static org.informatics.transportcompany.handlers.CompaniesHandler.handleListCompaniesByRevenue;
+import static org.informatics.transportcompany.handlers.DiagnosticsHandler.handleDumpRepositoryMetrics;
+import static org.informatics.transportcompany.handlers.DiagnosticsHandler.handleMaintainTransportPartitions;
+import static org.informatics.transportcompany.handlers.DiagnosticsHandler.handleRebuildRevenueAggregates;
+import static org.informatics.transportcompany.handlers.DiagnosticsHandler.handleReloadTransportAnalytics;
+import static org.informatics.transportcompany.handlers.DiagnosticsHandler.handleShowConnectionPool;
+import static org.informatics.transportcompany.handlers.DiagnosticsHandler.handleShowEntityCache;
+import static org.informatics.transportcompany.handlers.DiagnosticsHandler.handleShowReportCache;
+import static org.informatics.transportcompany.handlers.DiagnosticsHandler.handleShowRepositoryMetrics;
+import static org.informatics.transportcompany.handlers.DiagnosticsHandler.handleShowServiceExecutor;
+import static org.informatics.transportcompany.handlers.DiagnosticsHandler.handleShowTransportAnalytics;
+import static org.informatics.transportcompany.handlers.DiagnosticsHandler.handleShowTransportPartitions;
 import static org.informatics.transportcompany.handlers.EmployeesHandler.handleCreateEmployee;
 import static org.informatics.transportcompany.handlers.EmployeesHandler.handleDeleteEmployee;
 import static org.informatics.transportcompany.handlers.EmployeesHandler.handleEditEmployee;
+import static org.informatics.transportcompany.handlers.EmployeesHandler.handleListAvailableDrivers;
 import static org.informatics.transportcompany.handlers.EmployeesHandler.handleListEmployees;
 import static org.informatics.transportcompany.handlers.EmployeesHandler.handleListEmployeesByQualification;
 import static org.informatics.transportcompany.handlers.EmployeesHandler.handleListEmployeesByQualificationFilter;
 import static org.informatics.transportcompany.handlers.EmployeesHandler.handleListEmployeesBySalary;
 import static org.informatics.transportcompany.handlers.TransportsHandler.handleCreateTransport;
 import static org.informatics.transportcompany.handlers.TransportsHandler.handleExportTransportsToFile;
+import static org.informatics.transportcompany.handlers.TransportsHandler.handleExportTransportsToSnapshot;
 import static org.informatics.transportcompany.handlers.TransportsHandler.handleFilterTransportsByDestination;
 import static org.informatics.transportcompany.handlers.TransportsHandler.handleListTransports;
 import static org.informatics.transportcompany.handlers.TransportsHandler.handleListTransportsByDestination;
@@ -43,11 +50,13 @@ import static org.informatics.transportcompany.handlers.TransportsHandler.handle
 import static org.informatics.transportcompany.handlers.TransportsHandler.handleShowCompanyRevenueForPeriod;
 import static org.informatics.transportcompany.handlers.TransportsHandler.handleShowDriverRevenue;
 import static org.informatics.transportcompany.handlers.TransportsHandler.handleShowDriverTransportStats;
+import static org.informatics.transportcompany.handlers.TransportsHandler.handleShowSnapshotRevenueForPeriod;
 import static org.informatics.transportcompany.handlers.TransportsHandler.handleShowTransportsFromFile;
 import static org.informatics.transportcompany.handlers.TransportsHandler.handleShowTransportsSummary;
 import static org.informatics.transportcompany.handlers.VehiclesHandler.handleCreateVehicle;
 import static org.informatics.transportcompany.handlers.VehiclesHandler.handleDeleteVehicle;
 import static org.informatics.transportcompany.handlers.VehiclesHandler.handleEditVehicle;
+import static org.informatics.transportcompany.handlers.VehiclesHandler.handleFindBestFitVehicles;
 import static org.informatics.transportcompany.handlers.VehiclesHandler.handleListVehicles;
 
 public class ConsoleApp {
@@ -55,23 +64,19 @@ public class ConsoleApp {
     private static final ConsoleHelper consoleHelper = new ConsoleHelper();
 
     public static void main(String[] args) {
-        TransportCompanyRepository transportCompanyRepository = new TransportCompanyRepositoryImpl();
-        ClientRepository clientRepository = new ClientRepositoryImpl();
-        VehicleRepository vehicleRepository = new VehicleRepositoryImpl();
-        EmployeeRepository employeeRepository = new EmployeeRepositoryImpl();
-        TransportRepository transportRepository = new TransportRepositoryImpl();
-
-        TransportCompanyService companyService = new TransportCompanyService(transportCompanyRepository);
-        ClientService clientService = new ClientService(clientRepository, transportCompanyRepository);
-        TransportService transportService = new TransportService(
-                transportRepository,
-                transportCompanyRepository,
-                clientRepository,
-                vehicleRepository,
-                employeeRepository
-        );
-        VehicleService vehicleService = new VehicleService(vehicleRepository, transportCompanyRepository);
-        EmployeeService employeeService = new EmployeeService(employeeRepository, transportCompanyRepository);
+        Services services = Services.create();
+
+        TransportCompanyService companyService = services.companyService();
+        ClientService clientService = services.clientService();
+        VehicleService vehicleService = services.vehicleService();
+        EmployeeService employeeService = services.employeeService();
+        TransportService transportService = services.transportService();
+        TransportPartitionService partitionService = services.partitionService();
+        RepositoryMetrics repositoryMetrics = services.repositoryMetrics();
+
+        partitionService.maintain(YearMonth.now());
+        transportService.ensureRevenueAggregates();
+        services.analytics().start();
 
         System.out.println("=== Application for a transport company ===");
         printHelp();
@@ -105,6 +110,7 @@ public class ConsoleApp {
                     /* Vehicle commands */
                     case "create-vehicle" -> handleCreateVehicle(vehicleService);
                     case "list-vehicles" -> handleListVehicles(vehicleService);
+                    case "find-free-vehicles" -> handleFindBestFitVehicles(vehicleService);
                     case "edit-vehicle" -> handleEditVehicle(vehicleService);
                     case "delete-vehicle" -> handleDeleteVehicle(vehicleService);
 
@@ -115,6 +121,7 @@ public class ConsoleApp {
                     case "list-employees-by-salary" -> handleListEmployeesBySalary(employeeService);
                     case "list-employees-by-qualification-filter" ->
                             handleListEmployeesByQualificationFilter(employeeService);
+                    case "list-available-drivers" -> handleListAvailableDrivers(employeeService);
                     case "edit-employee" -> handleEditEmployee(employeeService);
                     case "delete-employee" -> handleDeleteEmployee(employeeService);
 
@@ -130,6 +137,22 @@ public class ConsoleApp {
                     case "report-driver-revenue" -> handleShowDriverRevenue(transportService);
                     case "export-transports-to-file" -> handleExportTransportsToFile(transportService);
                     case "show-transports-from-file" -> handleShowTransportsFromFile();
+                    case "export-transports-to-snapshot" -> handleExportTransportsToSnapshot(transportService);
+                    case "report-snapshot-revenue-period" -> handleShowSnapshotRevenueForPeriod();
+
+                    /* Diagnostics commands */
+                    case "report-connection-pool" -> handleShowConnectionPool();
+                    case "report-entity-cache" -> handleShowEntityCache();
+                    case "report-cache" -> handleShowReportCache(services.reportCache());
+                    case "report-service-executor" -> handleShowServiceExecutor(services.async().executor());
+                    case "rebuild-revenue-aggregates" -> handleRebuildRevenueAggregates(transportService);
+                    case "report-repository-metrics" -> handleShowRepositoryMetrics(repositoryMetrics);
+                    case "dump-repository-metrics" -> handleDumpRepositoryMetrics(repositoryMetrics);
+                    case "report-transport-partitions" -> handleShowTransportPartitions(partitionService);
+                    case "maintain-transport-partitions" ->
+                            handleMaintainTransportPartitions(partitionService, services.analytics());
+                    case "report-transport-analytics" -> handleShowTransportAnalytics(services.analytics());
+                    case "reload-transport-analytics" -> handleReloadTransportAnalytics(services.analytics());
 
                     default -> System.out.println("Unknown command. Type 'help' for a list.");
                 }
@@ -138,6 +161,8 @@ public class ConsoleApp {
             }
         }
 
+        services.analytics().close();
+        services.async().executor().close();
         HibernateUtil.shutdown();
         System.out.println("Goodbye!");
     }
@@ -157,6 +182,7 @@ public class ConsoleApp {
         System.out.println("  delete-client     - delete a client by id");
         System.out.println("  create-vehicle    - create a vehicle for a company");
         System.out.println("  list-vehicles     - list all vehicles");
+        System.out.println("  find-free-vehicles - smallest free vehicles of a type that fit a cargo in a period");
         System.out.println("  edit-vehicle      - edit a vehicle by id");
         System.out.println("  delete-vehicle    - delete a vehicle by id");
         System.out.println("  create-employee   - create an employee for a company");
@@ -164,6 +190,7 @@ public class ConsoleApp {
         System.out.println("  list-employees-by-qualification        - employees sorted by qualification and salary");
         System.out.println("  list-employees-by-salary               - employees sorted by salary (descending)");
         System.out.println("  list-employees-by-qualification-filter - employees with selected qualification, sorted by salary");
+        System.out.println("  list-available-drivers                 - company employees with a qualification, free in a period");
         System.out.println("  edit-employee     - edit an employee by id");
         System.out.println("  delete-employee   - delete an employee by id");
         System.out.println("  create-transport  - create a transport");
@@ -177,6 +204,19 @@ public class ConsoleApp {
         System.out.println("  report-driver-revenue              - total revenue (paid transports) by drivers");
         System.out.println("  export-transports-to-file          - save all transports to a file");
         System.out.println("  show-transports-from-file          - display transports from a file");
+        System.out.println("  export-transports-to-snapshot      - save all transports to a compact binary snapshot");
+        System.out.println("  report-snapshot-revenue-period     - revenue of a company for a period, read from a snapshot");
+        System.out.println("  report-connection-pool             - connection pool usage and acquire latency");
+        System.out.println("  report-entity-cache                - second-level cache hits, misses and evictions per region");
+        System.out.println("  report-cache                       - cached report results, hits and invalidations");
+        System.out.println("  report-service-executor            - async service executor queue, rejections and latency");
+        System.out.println("  rebuild-revenue-aggregates         - recompute the revenue buckets from all transports");
+        System.out.println("  report-repository-metrics          - latency, rows and SQL statements per repository method");
+        System.out.println("  dump-repository-metrics            - save the repository metrics to a file");
+        System.out.println("  report-transport-partitions        - monthly partitions of the transports table");
+        System.out.println("  maintain-transport-partitions      - create upcoming monthly partitions and archive expired ones");
+        System.out.println("  report-transport-analytics         - rows, dictionaries and memory of the in-memory analytics engine");
+        System.out.println("  reload-transport-analytics         - reload the in-memory analytics engine from the database");
         System.out.println("  exit              - exit the program");
     }
 }
@@ -6,6 +6,8 @@ import java.util.Scanner;
 
 public class ConsoleHelper {
 
+    public static final int PAGE_SIZE = 20;
+
     private static final Scanner scanner = new Scanner(System.in);
 
     public String readLine(String prompt) {
@@ -48,4 +50,9 @@ public class ConsoleHelper {
             throw new IllegalArgumentException("Invalid decimal: " + line);
         }
     }
+
+    public boolean readNextPage() {
+        String line = readLine("-- Press Enter for the next page or type 'q' to stop: ").trim();
+        return !line.equalsIgnoreCase("q");
+    }
 }
@@ -0,0 +1,130 @@
+package org.informatics.transportcompany;
+
+import org.informatics.transportcompany.analytics.TransportAnalytics;
+import org.informatics.transportcompany.analytics.TransportAnalyticsSettings;
+import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.config.partition.TransportPartitionSettings;
+import org.informatics.transportcompany.metrics.RepositoryMetrics;
+import org.informatics.transportcompany.repository.client.ClientRepository;
+import org.informatics.transportcompany.repository.client.ClientRepositoryImpl;
+import org.informatics.transportcompany.repository.employee.EmployeeRepository;
+import org.informatics.transportcompany.repository.employee.EmployeeRepositoryImpl;
+import org.informatics.transportcompany.repository.instrumented.InstrumentedClientRepository;
+import org.informatics.transportcompany.repository.instrumented.InstrumentedEmployeeRepository;
+import org.informatics.transportcompany.repository.instrumented.InstrumentedLocationRepository;
+import org.informatics.transportcompany.repository.instrumented.InstrumentedTransportCompanyRepository;
+import org.informatics.transportcompany.repository.instrumented.InstrumentedTransportRepository;
+import org.informatics.transportcompany.repository.instrumented.InstrumentedVehicleRepository;
+import org.informatics.transportcompany.repository.location.LocationRepository;
+import org.informatics.transportcompany.repository.location.LocationRepositoryImpl;
+import org.informatics.transportcompany.repository.transport.TransportAnalyticsRepositoryImpl;
+import org.informatics.transportcompany.repository.transport.TransportPartitionRepositoryImpl;
+import org.informatics.transportcompany.repository.transport.TransportRepository;
+import org.informatics.transportcompany.repository.transport.TransportRepositoryImpl;
+import org.informatics.transportcompany.repository.transportBooking.TransportBookingRepositoryImpl;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepository;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepositoryImpl;
+import org.informatics.transportcompany.service.ClientService;
+import org.informatics.transportcompany.service.EmployeeService;
+import org.informatics.transportcompany.service.TransportCompanyService;
+import org.informatics.transportcompany.service.TransportPartitionService;
+import org.informatics.transportcompany.service.TransportService;
+import org.informatics.transportcompany.service.VehicleService;
+import org.informatics.transportcompany.service.async.AsyncServices;
+import org.informatics.transportcompany.service.async.ServiceExecutor;
+import org.informatics.transportcompany.service.async.ServiceExecutorSettings;
+import org.informatics.transportcompany.service.booking.TransportBookingIndex;
+import org.informatics.transportcompany.service.cache.ReportCache;
+
+import java.util.Map;
+
+/**
+ * The services wired over instrumented repositories, shared by the console and the HTTP server. When
+ * the analytics engine is enabled, the driver and revenue reports are answered from memory.
+ */
+public record Services(
+        TransportCompanyService companyService,
+        ClientService clientService,
+        VehicleService vehicleService,
+        EmployeeService employeeService,
+        TransportService transportService,
+        TransportPartitionService partitionService,
+        TransportAnalytics analytics,
+        AsyncServices async,
+        RepositoryMetrics repositoryMetrics,
+        ReportCache reportCache
+) {
+    public static final int REPORT_CACHE_ENTRIES = 256;
+
+    public static Services create() {
+        Map<String, Object> config = HibernateUtil.getSessionFactory().getProperties();
+        RepositoryMetrics repositoryMetrics = new RepositoryMetrics();
+        ReportCache reportCache = new ReportCache(REPORT_CACHE_ENTRIES);
+        TransportAnalytics analytics = new TransportAnalytics(
+                new TransportAnalyticsRepositoryImpl(),
+                TransportAnalyticsSettings.fromConfig(config)
+        );
+
+        TransportCompanyRepository transportCompanyRepository =
+                new InstrumentedTransportCompanyRepository(new TransportCompanyRepositoryImpl(), repositoryMetrics);
+        ClientRepository clientRepository =
+                new InstrumentedClientRepository(new ClientRepositoryImpl(), repositoryMetrics);
+        VehicleRepository vehicleRepository =
+                new InstrumentedVehicleRepository(new VehicleRepositoryImpl(), repositoryMetrics);
+        EmployeeRepository employeeRepository =
+                new InstrumentedEmployeeRepository(new EmployeeRepositoryImpl(), repositoryMetrics);
+        TransportRepository transportRepository =
+                new InstrumentedTransportRepository(new TransportRepositoryImpl(), repositoryMetrics);
+        LocationRepository locationRepository =
+                new InstrumentedLocationRepository(new LocationRepositoryImpl(), repositoryMetrics);
+
+        TransportBookingIndex bookingIndex = TransportBookingIndex.fromConfig(new TransportBookingRepositoryImpl(), config);
+        ServiceExecutor executor = new ServiceExecutor(ServiceExecutorSettings.fromConfig(config));
+
+        TransportCompanyService companyService = new TransportCompanyService(transportCompanyRepository, reportCache, analytics);
+        ClientService clientService = new ClientService(clientRepository, transportCompanyRepository, reportCache);
+        VehicleService vehicleService = new VehicleService(
+                vehicleRepository,
+                transportCompanyRepository,
+                reportCache,
+                bookingIndex
+        );
+        EmployeeService employeeService = new EmployeeService(
+                employeeRepository,
+                transportCompanyRepository,
+                reportCache,
+                bookingIndex
+        );
+        TransportService transportService = new TransportService(
+                transportRepository,
+                transportCompanyRepository,
+                clientRepository,
+                vehicleRepository,
+                employeeRepository,
+                reportCache,
+                bookingIndex,
+                locationRepository,
+                executor,
+                analytics
+        );
+
+        return new Services(
+                companyService,
+                clientService,
+                vehicleService,
+                employeeService,
+                transportService,
+                new TransportPartitionService(
+                        new TransportPartitionRepositoryImpl(),
+                        TransportPartitionSettings.fromConfig(config),
+                        reportCache
+                ),
+                analytics,
+                AsyncServices.of(companyService, clientService, vehicleService, employeeService, transportService, executor),
+                repositoryMetrics,
+                reportCache
+        );
+    }
+}
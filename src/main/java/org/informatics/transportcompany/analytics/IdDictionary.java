@@ -0,0 +1,41 @@
+package org.informatics.transportcompany.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Assigns dense {@code int} codes to entity ids in order of first appearance.
+ */
+final class IdDictionary {
+
+    private final LongIntHashMap codes = new LongIntHashMap(64);
+    private long[] ids = new long[64];
+
+    int encode(long id) {
+        int code = codes.get(id);
+        if (code == LongIntHashMap.MISSING) {
+            code = codes.size();
+            if (code == ids.length) {
+                ids = Arrays.copyOf(ids, code * 2);
+            }
+            ids[code] = id;
+            codes.put(id, code);
+        }
+        return code;
+    }
+
+    int find(long id) {
+        return codes.get(id);
+    }
+
+    long decode(int code) {
+        return ids[code];
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    long memoryBytes() {
+        return codes.memoryBytes() + (long) ids.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,432 @@
+package org.informatics.transportcompany.analytics;
+
+import org.informatics.transportcompany.model.dto.employee.EmployeeListRow;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
+import org.informatics.transportcompany.model.dto.transport.TransportFactRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
+import org.informatics.transportcompany.repository.transport.TransportAnalyticsRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the transports in {@link TransportColumns}, answering the driver and revenue
+ * reports with parallel scans on the fork/join pool instead of SQL.
+ * <p>
+ * The first query (or {@link #start()}) loads every transport. After that, {@link #refresh()} appends
+ * transports with ids above the highest one loaded and re-reads those reported through
+ * {@link #markChanged(long)}, which the services call once the writing transaction has committed;
+ * queries refresh first when changes are pending. The background refresher picks up writes made by
+ * other nodes, as far as their ids are above the highest one loaded; a transaction on another node
+ * that commits lower ids after that is only seen after {@link #reload()}. Transports are never
+ * deleted, but archived partitions disappear from the table, so {@link #reload()} also rebuilds the
+ * columns from scratch.
+ */
+public class TransportAnalytics implements AutoCloseable {
+
+    static final int SCAN_CHUNK = 16_384;
+
+    private static final int FETCH_SIZE = 1_000;
+    private static final int APPLY_BATCH = 10_000;
+
+    private final TransportAnalyticsRepository repository;
+    private final TransportAnalyticsSettings settings;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object refreshLock = new Object();
+    private final Set<Long> changedIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+    private volatile long lastRefreshNanos;
+
+    private TransportColumns columns = new TransportColumns();
+    private Map<Long, EmployeeListRow> drivers = Map.of();
+    private List<CompanyListRow> companies = List.of();
+    private volatile boolean loaded;
+
+    private ScheduledExecutorService refresher;
+
+    public TransportAnalytics(TransportAnalyticsRepository repository, TransportAnalyticsSettings settings) {
+        this.repository = repository;
+        this.settings = settings;
+    }
+
+    /**
+     * An engine that is never enabled, for services that answer every report from SQL.
+     */
+    public static TransportAnalytics disabled() {
+        return new TransportAnalytics(null, TransportAnalyticsSettings.disabled());
+    }
+
+    public boolean isEnabled() {
+        return settings.enabled();
+    }
+
+    /**
+     * Loads the transports in the background and keeps refreshing them every
+     * {@link TransportAnalyticsSettings#refreshIntervalMillis()}.
+     */
+    public synchronized void start() {
+        if (!settings.enabled() || refresher != null) {
+            return;
+        }
+
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "transport-analytics-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, settings.refreshIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reports a committed insert or update of the transport; a disabled engine ignores it.
+     */
+    public void markChanged(long transportId) {
+        if (!settings.enabled()) {
+            return;
+        }
+        changedIds.add(transportId);
+        changed.set(true);
+    }
+
+    public void markDimensionsChanged() {
+        if (settings.enabled()) {
+            changed.set(true);
+        }
+    }
+
+    public void refresh() {
+        refresh(!loaded);
+    }
+
+    public void reload() {
+        refresh(true);
+    }
+
+    public List<DriverTransportCountRow> driverTransportStats() {
+        return query(c -> {
+            int[] driverColumn = c.drivers;
+            long[] counts = scan(c.size, () -> new long[c.driverCodes.size()], (acc, from, to) -> {
+                for (int row = from; row < to; row++) {
+                    acc[driverColumn[row]]++;
+                }
+            }, TransportAnalytics::add);
+
+            List<DriverTransportCountRow> rows = new ArrayList<>();
+            for (int code = 0; code < counts.length; code++) {
+                EmployeeListRow driver = drivers.get(c.driverCodes.decode(code));
+                if (counts[code] > 0 && driver != null) {
+                    rows.add(new DriverTransportCountRow(
+                            driver.id(),
+                            driver.firstName(),
+                            driver.lastName(),
+                            driver.qualification(),
+                            driver.companyName(),
+                            counts[code]
+                    ));
+                }
+            }
+
+            rows.sort(Comparator.comparingLong(DriverTransportCountRow::transportCount).reversed()
+                    .thenComparingLong(DriverTransportCountRow::driverId));
+            return rows;
+        });
+    }
+
+    public List<DriverRevenueRow> driverRevenue() {
+        return query(c -> {
+            int[] driverColumn = c.drivers;
+            long[] prices = c.prices;
+            long[] paid = c.paid;
+            long[] totals = scan(c.size, () -> new long[c.driverCodes.size() * 2], (acc, from, to) -> {
+                for (int row = from; row < to; row++) {
+                    long isPaid = (paid[row >>> 6] >>> row) & 1L;
+                    acc[driverColumn[row] * 2] += prices[row] * isPaid;
+                    acc[driverColumn[row] * 2 + 1] += isPaid;
+                }
+            }, TransportAnalytics::add);
+
+            List<DriverRevenueRow> rows = new ArrayList<>();
+            for (int code = 0; code < totals.length / 2; code++) {
+                EmployeeListRow driver = drivers.get(c.driverCodes.decode(code));
+                if (totals[code * 2 + 1] > 0 && driver != null) {
+                    rows.add(new DriverRevenueRow(
+                            driver.id(),
+                            driver.firstName(),
+                            driver.lastName(),
+                            driver.qualification(),
+                            driver.companyName(),
+                            BigDecimal.valueOf(totals[code * 2], 2)
+                    ));
+                }
+            }
+
+            rows.sort(Comparator.comparing(DriverRevenueRow::revenue).reversed()
+                    .thenComparingLong(DriverRevenueRow::driverId));
+            return rows;
+        });
+    }
+
+    /**
+     * Paid revenue of a company for departures between {@code from} and {@code to}, both inclusive, at
+     * one-second precision.
+     */
+    public BigDecimal companyRevenueForPeriod(long companyId, LocalDateTime from, LocalDateTime to) {
+        return query(c -> {
+            int company = c.companyCodes.find(companyId);
+            if (company == LongIntHashMap.MISSING) {
+                return BigDecimal.valueOf(0, 2);
+            }
+
+            long fromSecond = TransportColumns.epochSecond(from) + (from.getNano() > 0 ? 1 : 0);
+            long toSecond = TransportColumns.epochSecond(to);
+            int[] companyColumn = c.companies;
+            long[] departures = c.departures;
+            long[] prices = c.prices;
+            long[] paid = c.paid;
+
+            long[] total = scan(c.size, () -> new long[1], (acc, start, end) -> {
+                long sum = 0;
+                for (int row = start; row < end; row++) {
+                    long departure = departures[row];
+                    if (companyColumn[row] == company && departure >= fromSecond && departure <= toSecond) {
+                        sum += prices[row] * ((paid[row >>> 6] >>> row) & 1L);
+                    }
+                }
+                acc[0] += sum;
+            }, TransportAnalytics::add);
+
+            return BigDecimal.valueOf(total[0], 2);
+        });
+    }
+
+    public List<CompanyRevenueRow> companyRevenueRanking() {
+        return query(c -> {
+            int[] companyColumn = c.companies;
+            long[] prices = c.prices;
+            long[] totals = scan(c.size, () -> new long[c.companyCodes.size()], (acc, from, to) -> {
+                for (int row = from; row < to; row++) {
+                    acc[companyColumn[row]] += prices[row];
+                }
+            }, TransportAnalytics::add);
+
+            List<CompanyRevenueRow> rows = new ArrayList<>(companies.size());
+            for (CompanyListRow company : companies) {
+                int code = c.companyCodes.find(company.id());
+                long revenue = code == LongIntHashMap.MISSING ? 0 : totals[code];
+                rows.add(new CompanyRevenueRow(company.id(), company.name(), company.address(), BigDecimal.valueOf(revenue, 2)));
+            }
+
+            rows.sort(Comparator.comparing(CompanyRevenueRow::revenue).reversed()
+                    .thenComparingLong(CompanyRevenueRow::companyId));
+            return rows;
+        });
+    }
+
+    public TransportAnalyticsStats stats() {
+        lock.readLock().lock();
+        try {
+            TransportColumns c = columns;
+            return new TransportAnalyticsStats(
+                    loaded,
+                    c.size,
+                    c.companyCodes.size(),
+                    c.clientCodes.size(),
+                    c.driverCodes.size(),
+                    c.vehicleCodes.size(),
+                    c.locationCount(),
+                    c.memoryBytes(),
+                    refreshes.sum(),
+                    failedRefreshes.sum(),
+                    lastRefreshNanos / 1_000_000.0
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    private <T> T query(Function<TransportColumns, T> report) {
+        if (!loaded || changed.get()) {
+            refresh();
+        }
+
+        lock.readLock().lock();
+        try {
+            return report.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException ignored) {
+            // counted in failedRefreshes; the next run retries
+        }
+    }
+
+    private void refresh(boolean full) {
+        synchronized (refreshLock) {
+            long started = System.nanoTime();
+            changed.set(false);
+            try {
+                List<EmployeeListRow> driverRows = repository.findDrivers();
+                List<CompanyListRow> companyRows = repository.findCompanies();
+
+                if (full) {
+                    TransportColumns fresh = new TransportColumns();
+                    repository.forEachFactAfter(0, FETCH_SIZE, fresh::upsert);
+                    write(() -> columns = fresh);
+                } else {
+                    appendNewTransports();
+                }
+                applyChangedTransports();
+
+                write(() -> {
+                    drivers = driverRows.stream().collect(Collectors.toMap(EmployeeListRow::id, d -> d));
+                    companies = List.copyOf(companyRows);
+                    loaded = true;
+                });
+                refreshes.increment();
+            } catch (RuntimeException ex) {
+                failedRefreshes.increment();
+                changed.set(true);
+                throw ex;
+            } finally {
+                lastRefreshNanos = System.nanoTime() - started;
+            }
+        }
+    }
+
+    private void appendNewTransports() {
+        List<TransportFactRow> batch = new ArrayList<>();
+        repository.forEachFactAfter(columns.maxId, FETCH_SIZE, fact -> {
+            batch.add(fact);
+            if (batch.size() == APPLY_BATCH) {
+                apply(batch);
+                batch.clear();
+            }
+        });
+        apply(batch);
+    }
+
+    /**
+     * Changes are only reported after commit, so an id that is not found any more belongs to an
+     * archived partition and is skipped. If the lookup fails, the ids are kept for the next refresh.
+     */
+    private void applyChangedTransports() {
+        if (changedIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (Long id : List.copyOf(changedIds)) {
+            if (changedIds.remove(id)) {
+                ids.add(id);
+            }
+        }
+
+        try {
+            apply(repository.findFactsByIds(ids));
+        } catch (RuntimeException ex) {
+            changedIds.addAll(ids);
+            throw ex;
+        }
+    }
+
+    private void apply(List<TransportFactRow> facts) {
+        if (!facts.isEmpty()) {
+            write(() -> facts.forEach(columns::upsert));
+        }
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static <A> A scan(int rows, Supplier<A> identity, RangeScan<A> scan, BinaryOperator<A> merge) {
+        return ForkJoinPool.commonPool().invoke(new ScanTask<>(0, rows, identity, scan, merge));
+    }
+
+    private static long[] add(long[] left, long[] right) {
+        for (int i = 0; i < left.length; i++) {
+            left[i] += right[i];
+        }
+        return left;
+    }
+
+    @FunctionalInterface
+    private interface RangeScan<A> {
+        void scan(A accumulator, int from, int to);
+    }
+
+    private static final class ScanTask<A> extends RecursiveTask<A> {
+
+        private final int from;
+        private final int to;
+        private final Supplier<A> identity;
+        private final RangeScan<A> scan;
+        private final BinaryOperator<A> merge;
+
+        private ScanTask(int from, int to, Supplier<A> identity, RangeScan<A> scan, BinaryOperator<A> merge) {
+            this.from = from;
+            this.to = to;
+            this.identity = identity;
+            this.scan = scan;
+            this.merge = merge;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= SCAN_CHUNK) {
+                A accumulator = identity.get();
+                scan.scan(accumulator, from, to);
+                return accumulator;
+            }
+
+            int middle = (from + to) >>> 1;
+            ScanTask<A> left = new ScanTask<>(from, middle, identity, scan, merge);
+            ScanTask<A> right = new ScanTask<>(middle, to, identity, scan, merge);
+            left.fork();
+            A rightResult = right.compute();
+            return merge.apply(left.join(), rightResult);
+        }
+    }
+}
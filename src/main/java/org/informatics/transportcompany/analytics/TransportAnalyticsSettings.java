@@ -0,0 +1,33 @@
+package org.informatics.transportcompany.analytics;
+
+import java.util.Map;
+
+public record TransportAnalyticsSettings(
+        boolean enabled,
+        long refreshIntervalMillis
+) {
+    public static final String ENABLED = "transportcompany.analytics.enabled";
+    public static final String REFRESH_INTERVAL_MS = "transportcompany.analytics.refresh_interval_ms";
+
+    public TransportAnalyticsSettings {
+        if (refreshIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Refresh interval must be positive.");
+        }
+    }
+
+    public static TransportAnalyticsSettings disabled() {
+        return new TransportAnalyticsSettings(false, 5_000);
+    }
+
+    public static TransportAnalyticsSettings fromConfig(Map<String, Object> config) {
+        return new TransportAnalyticsSettings(
+                Boolean.parseBoolean(String.valueOf(config.getOrDefault(ENABLED, "false")).trim()),
+                intValue(config, REFRESH_INTERVAL_MS, 5_000)
+        );
+    }
+
+    private static int intValue(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value.toString().trim());
+    }
+}
@@ -0,0 +1,16 @@
+package org.informatics.transportcompany.analytics;
+
+public record TransportAnalyticsStats(
+        boolean loaded,
+        int transports,
+        int companies,
+        int clients,
+        int drivers,
+        int vehicles,
+        int locations,
+        long memoryBytes,
+        long refreshes,
+        long failedRefreshes,
+        double lastRefreshMillis
+) {
+}
@@ -0,0 +1,112 @@
+package org.informatics.transportcompany.analytics;
+
+import org.informatics.transportcompany.model.dto.transport.TransportFactRow;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Transports stored column by column in primitive arrays. Entity and location ids are dictionary
+ * encoded, timestamps are epoch seconds (UTC), prices are cents and the paid flags are packed 64 to a
+ * {@code long}. Rows are appended in load order; a transport that is loaded again overwrites its row.
+ * Not thread-safe: {@link TransportAnalytics} guards it with a read/write lock.
+ */
+final class TransportColumns {
+
+    private static final int INITIAL_CAPACITY = 1_024;
+
+    final IdDictionary companyCodes = new IdDictionary();
+    final IdDictionary clientCodes = new IdDictionary();
+    final IdDictionary driverCodes = new IdDictionary();
+    final IdDictionary vehicleCodes = new IdDictionary();
+    final IdDictionary locationCodes = new IdDictionary();
+
+    private final LongIntHashMap rowsById = new LongIntHashMap(INITIAL_CAPACITY);
+
+    long[] ids = new long[INITIAL_CAPACITY];
+    int[] companies = new int[INITIAL_CAPACITY];
+    int[] clients = new int[INITIAL_CAPACITY];
+    int[] drivers = new int[INITIAL_CAPACITY];
+    int[] vehicles = new int[INITIAL_CAPACITY];
+    int[] fromLocations = new int[INITIAL_CAPACITY];
+    int[] toLocations = new int[INITIAL_CAPACITY];
+    long[] departures = new long[INITIAL_CAPACITY];
+    long[] arrivals = new long[INITIAL_CAPACITY];
+    long[] prices = new long[INITIAL_CAPACITY];
+    long[] paid = new long[INITIAL_CAPACITY / Long.SIZE];
+
+    int size;
+    long maxId;
+
+    void upsert(TransportFactRow fact) {
+        int row = rowsById.get(fact.id());
+        if (row == LongIntHashMap.MISSING) {
+            row = size;
+            if (row == ids.length) {
+                grow();
+            }
+            rowsById.put(fact.id(), row);
+            size++;
+        }
+
+        ids[row] = fact.id();
+        companies[row] = companyCodes.encode(fact.companyId());
+        clients[row] = clientCodes.encode(fact.clientId());
+        drivers[row] = driverCodes.encode(fact.driverId());
+        vehicles[row] = vehicleCodes.encode(fact.vehicleId());
+        fromLocations[row] = locationCodes.encode(fact.fromLocationId());
+        toLocations[row] = locationCodes.encode(fact.toLocationId());
+        departures[row] = epochSecond(fact.departure());
+        arrivals[row] = epochSecond(fact.arrival());
+        prices[row] = fact.price().setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+
+        if (fact.paid()) {
+            paid[row >>> 6] |= 1L << row;
+        } else {
+            paid[row >>> 6] &= ~(1L << row);
+        }
+
+        maxId = Math.max(maxId, fact.id());
+    }
+
+    boolean isPaid(int row) {
+        return (paid[row >>> 6] & (1L << row)) != 0;
+    }
+
+    int locationCount() {
+        return locationCodes.size();
+    }
+
+    long memoryBytes() {
+        long rows = (long) ids.length * (4 * Long.BYTES + 6 * Integer.BYTES) + (long) paid.length * Long.BYTES;
+        long dictionaries = companyCodes.memoryBytes()
+                + clientCodes.memoryBytes()
+                + driverCodes.memoryBytes()
+                + vehicleCodes.memoryBytes()
+                + locationCodes.memoryBytes()
+                + rowsById.memoryBytes();
+        return rows + dictionaries;
+    }
+
+    static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+
+        ids = Arrays.copyOf(ids, capacity);
+        companies = Arrays.copyOf(companies, capacity);
+        clients = Arrays.copyOf(clients, capacity);
+        drivers = Arrays.copyOf(drivers, capacity);
+        vehicles = Arrays.copyOf(vehicles, capacity);
+        fromLocations = Arrays.copyOf(fromLocations, capacity);
+        toLocations = Arrays.copyOf(toLocations, capacity);
+        departures = Arrays.copyOf(departures, capacity);
+        arrivals = Arrays.copyOf(arrivals, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        paid = Arrays.copyOf(paid, capacity / Long.SIZE);
+    }
+}
@@ -2,13 +2,34 @@ package org.informatics.transportcompany.config;
 
 import lombok.Getter;
 import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.informatics.transportcompany.config.cache.CacheRegionStats;
+import org.informatics.transportcompany.config.cache.LocalRegionFactory;
+import org.informatics.transportcompany.config.migration.Migration;
+import org.informatics.transportcompany.config.migration.MigrationRunner;
+import org.informatics.transportcompany.config.pool.ConnectionPoolMetrics;
+import org.informatics.transportcompany.config.pool.PooledConnectionProvider;
+import org.informatics.transportcompany.metrics.SqlStatementCounter;
 import org.informatics.transportcompany.model.entity.Client;
 import org.informatics.transportcompany.model.entity.Employee;
+import org.informatics.transportcompany.model.entity.Location;
+import org.informatics.transportcompany.model.entity.RevenueBucket;
 import org.informatics.transportcompany.model.entity.Transport;
+import org.informatics.transportcompany.model.entity.TransportBooking;
 import org.informatics.transportcompany.model.entity.TransportCompany;
 import org.informatics.transportcompany.model.entity.Vehicle;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+
 public class HibernateUtil {
     @Getter
     private static final SessionFactory sessionFactory = buildSessionFactory();
@@ -21,7 +42,14 @@ public class HibernateUtil {
             cfg.addAnnotatedClass(Client.class);
             cfg.addAnnotatedClass(Employee.class);
             cfg.addAnnotatedClass(Vehicle.class);
+            cfg.addAnnotatedClass(Location.class);
             cfg.addAnnotatedClass(Transport.class);
+            cfg.addAnnotatedClass(RevenueBucket.class);
+            cfg.addAnnotatedClass(TransportBooking.class);
+
+            cfg.setProperty(AvailableSettings.STATEMENT_INSPECTOR, SqlStatementCounter.class.getName());
+
+            migrate(cfg.getProperties());
 
             return cfg.buildSessionFactory();
         } catch (Throwable ex) {
@@ -30,6 +58,52 @@ public class HibernateUtil {
         }
     }
 
+    private static void migrate(Properties properties) throws SQLException {
+        String location = properties.getProperty(MigrationRunner.LOCATION, "");
+        if (location.isBlank()) {
+            return;
+        }
+
+        try (Connection connection = DriverManager.getConnection(
+                jdbcProperty(properties, JdbcSettings.JAKARTA_JDBC_URL, "hibernate.connection.url"),
+                jdbcProperty(properties, JdbcSettings.JAKARTA_JDBC_USER, "hibernate.connection.username"),
+                jdbcProperty(properties, JdbcSettings.JAKARTA_JDBC_PASSWORD, "hibernate.connection.password"))) {
+            for (Migration migration : new MigrationRunner(location).migrate(connection)) {
+                System.out.println("Applied migration V" + migration.version() + ": " + migration.description());
+            }
+        }
+    }
+
+    private static String jdbcProperty(Properties properties, String key, String legacyKey) {
+        return properties.getProperty(key, properties.getProperty(legacyKey));
+    }
+
+    public static ConnectionPoolMetrics getConnectionPoolMetrics() {
+        ConnectionProvider provider = getSessionFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(ConnectionProvider.class);
+
+        if (!provider.isUnwrappableAs(PooledConnectionProvider.class)) {
+            throw new IllegalStateException("The pooled connection provider is not configured.");
+        }
+
+        return provider.unwrap(PooledConnectionProvider.class).getMetrics();
+    }
+
+    public static List<CacheRegionStats> getEntityCacheStatistics() {
+        RegionFactory regionFactory = getSessionFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(RegionFactory.class);
+
+        if (!(regionFactory instanceof LocalRegionFactory localRegionFactory)) {
+            throw new IllegalStateException("The local second-level cache is not configured.");
+        }
+
+        return localRegionFactory.getStatistics();
+    }
+
     public static void shutdown() {
         getSessionFactory().close();
     }
@@ -0,0 +1,133 @@
+package org.informatics.transportcompany.config;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Binds one {@link Session} and transaction to the current thread for the duration of a service call.
+ * Repository methods join the bound session when there is one and open their own otherwise.
+ */
+public final class UnitOfWork {
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    private UnitOfWork() {
+    }
+
+    public static <T> T inTransaction(Supplier<T> work) {
+        if (CURRENT.get() != null) {
+            return work.get();
+        }
+
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Transaction tx = session.beginTransaction();
+            CURRENT.set(session);
+            try {
+                T result = work.get();
+                tx.commit();
+                return result;
+            } catch (Exception ex) {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                throw ex;
+            } finally {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Runs {@code action} once the unit of work bound to this thread has committed, and not at all if
+     * it rolls back. Without a bound unit of work there is nothing left to commit, so it runs at once.
+     */
+    public static void afterCommit(Runnable action) {
+        Session current = CURRENT.get();
+        if (current == null) {
+            action.run();
+            return;
+        }
+
+        current.getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    public static Session currentSession() {
+        Session session = CURRENT.get();
+        if (session == null) {
+            throw new IllegalStateException("No unit of work is active on this thread.");
+        }
+        return session;
+    }
+
+    public static <T> T read(Function<Session, T> work) {
+        Session current = CURRENT.get();
+        if (current != null) {
+            return work.apply(current);
+        }
+
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return work.apply(session);
+        }
+    }
+
+    /**
+     * Like {@link #read}, but a session opened here loads entities read-only and never flushes, so
+     * no dirty-checking snapshots are kept for what the work loads.
+     */
+    public static <T> T readOnly(Function<Session, T> work) {
+        Session current = CURRENT.get();
+        if (current != null) {
+            return work.apply(current);
+        }
+
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            return work.apply(session);
+        }
+    }
+
+    public static <T> T write(Function<Session, T> work) {
+        Session current = CURRENT.get();
+        if (current != null) {
+            return work.apply(current);
+        }
+
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                T result = work.apply(session);
+                tx.commit();
+                return result;
+            } catch (Exception ex) {
+                tx.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    public static void execute(Consumer<Session> work) {
+        write(session -> {
+            work.accept(session);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package org.informatics.transportcompany.config.cache;
+
+public record CacheRegionStats(
+        String region,
+        int size,
+        int maxEntries,
+        long hits,
+        long misses,
+        long puts,
+        long evictions,
+        long expirations
+) {
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,30 @@
+package org.informatics.transportcompany.config.cache;
+
+import java.util.Map;
+
+public record EntityCacheSettings(int maxEntriesPerRegion, long timeToLiveMillis) {
+
+    public static final String MAX_ENTRIES = "transportcompany.cache.max_entries";
+    public static final String TTL_SECONDS = "transportcompany.cache.ttl_seconds";
+
+    public EntityCacheSettings {
+        if (maxEntriesPerRegion < 1) {
+            throw new IllegalArgumentException("Cache region size must be positive: " + maxEntriesPerRegion);
+        }
+        if (timeToLiveMillis <= 0) {
+            throw new IllegalArgumentException("Cache time to live must be positive.");
+        }
+    }
+
+    public static EntityCacheSettings fromConfig(Map<String, Object> config) {
+        return new EntityCacheSettings(
+                intValue(config, MAX_ENTRIES, 10_000),
+                intValue(config, TTL_SECONDS, 600) * 1_000L
+        );
+    }
+
+    private static int intValue(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value.toString().trim());
+    }
+}
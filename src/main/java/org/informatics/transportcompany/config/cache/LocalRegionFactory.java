@@ -0,0 +1,70 @@
+package org.informatics.transportcompany.config.cache;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Second-level cache provider that keeps every region in the application's own heap,
+ * bounded by {@link EntityCacheSettings}. Regions are registered here so their statistics
+ * can be reported.
+ */
+public class LocalRegionFactory extends RegionFactoryTemplate {
+
+    private static final EntityCacheSettings UNBOUNDED = new EntityCacheSettings(Integer.MAX_VALUE, Long.MAX_VALUE / 1_000_000L);
+
+    private final Map<String, LocalStorageAccess> regions = new ConcurrentHashMap<>();
+    private volatile EntityCacheSettings settings;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions options, Map<String, Object> configValues) {
+        settings = EntityCacheSettings.fromConfig(configValues);
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(LocalStorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return register(regionConfig.getRegionName(), settings);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return register(regionName, settings);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        // update timestamps must outlive every cached query result, so they are never evicted
+        return register(regionName, UNBOUNDED);
+    }
+
+    public List<CacheRegionStats> getStatistics() {
+        return regions.values().stream()
+                .map(LocalStorageAccess::stats)
+                .sorted(Comparator.comparing(CacheRegionStats::region))
+                .toList();
+    }
+
+    private LocalStorageAccess register(String regionName, EntityCacheSettings regionSettings) {
+        LocalStorageAccess storage = new LocalStorageAccess(regionName, regionSettings);
+        regions.put(regionName, storage);
+        return storage;
+    }
+}
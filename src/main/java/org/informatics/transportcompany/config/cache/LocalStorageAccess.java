@@ -0,0 +1,124 @@
+package org.informatics.transportcompany.config.cache;
+
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process storage for one cache region: a least-recently-used map bounded by entry count,
+ * where every entry also expires a fixed time after it was stored.
+ */
+public class LocalStorageAccess implements DomainDataStorageAccess {
+
+    private final String regionName;
+    private final int maxEntries;
+    private final long timeToLiveNanos;
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+    private long puts;
+    private long evictions;
+    private long expirations;
+
+    public LocalStorageAccess(String regionName, EntityCacheSettings settings) {
+        this(regionName, settings, System::nanoTime);
+    }
+
+    public LocalStorageAccess(String regionName, EntityCacheSettings settings, LongSupplier clock) {
+        this.regionName = regionName;
+        this.maxEntries = settings.maxEntriesPerRegion();
+        this.timeToLiveNanos = settings.timeToLiveMillis() * 1_000_000L;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+
+        if (isExpired(entry, clock.getAsLong())) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return entry.value();
+    }
+
+    @Override
+    public synchronized void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        entries.put(key, new Entry(value, clock.getAsLong() + timeToLiveNanos));
+        puts++;
+
+        if (entries.size() > maxEntries) {
+            removeExpired();
+        }
+
+        Iterator<Object> eldest = entries.keySet().iterator();
+        while (entries.size() > maxEntries) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * A read-write region keeps a soft lock under the key of an entity that is being changed or was
+     * deleted; only a cached item counts as contained.
+     */
+    @Override
+    public synchronized boolean contains(Object key) {
+        Entry entry = entries.get(key);
+        return entry != null && !(entry.value() instanceof SoftLock) && !isExpired(entry, clock.getAsLong());
+    }
+
+    @Override
+    public synchronized void evictData() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized void evictData(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void release() {
+        evictData();
+    }
+
+    public synchronized CacheRegionStats stats() {
+        return new CacheRegionStats(regionName, entries.size(), maxEntries, hits, misses, puts, evictions, expirations);
+    }
+
+    private void removeExpired() {
+        long now = clock.getAsLong();
+        Iterator<Map.Entry<Object, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (isExpired(it.next().getValue(), now)) {
+                it.remove();
+                expirations++;
+            }
+        }
+    }
+
+    private static boolean isExpired(Entry entry, long now) {
+        return now - entry.expiresAtNanos() >= 0;
+    }
+
+    private record Entry(Object value, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,11 @@
+package org.informatics.transportcompany.config.migration;
+
+import java.util.List;
+
+public record Migration(
+        int version,
+        String description,
+        List<String> statements,
+        String checksum
+) {
+}
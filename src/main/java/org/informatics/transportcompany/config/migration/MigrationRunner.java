@@ -0,0 +1,215 @@
+package org.informatics.transportcompany.config.migration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the versioned SQL scripts listed in {@code <location>/migrations.list} in order, each in
+ * its own transaction, and records them in {@code schema_version}. Scripts that were already applied
+ * are checksummed again so that edits to released migrations are caught at startup.
+ */
+public class MigrationRunner {
+
+    public static final String LOCATION = "transportcompany.migrations.location";
+
+    private static final String INDEX_FILE = "migrations.list";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    private final String location;
+
+    public MigrationRunner(String location) {
+        if (location == null || location.isBlank()) {
+            throw new IllegalArgumentException("Migration location is required.");
+        }
+        this.location = location.endsWith("/") ? location.substring(0, location.length() - 1) : location;
+    }
+
+    public List<Migration> load() {
+        List<Migration> migrations = new ArrayList<>();
+
+        for (String line : read(INDEX_FILE).split("\\R")) {
+            String fileName = line.strip();
+            if (fileName.isEmpty() || fileName.startsWith("#")) {
+                continue;
+            }
+
+            Matcher matcher = FILE_NAME.matcher(fileName);
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Invalid migration file name: " + fileName);
+            }
+
+            int version = Integer.parseInt(matcher.group(1));
+            if (!migrations.isEmpty() && version <= migrations.getLast().version()) {
+                throw new IllegalStateException("Migration versions must be increasing: " + fileName);
+            }
+
+            String script = read(fileName);
+            migrations.add(new Migration(
+                    version,
+                    matcher.group(2).replace('_', ' '),
+                    statements(script),
+                    checksum(script)
+            ));
+        }
+
+        return migrations;
+    }
+
+    public List<Migration> migrate(Connection connection) throws SQLException {
+        List<Migration> migrations = load();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try {
+            createVersionTable(connection);
+            Map<Integer, String> applied = appliedChecksums(connection);
+
+            int latest = migrations.isEmpty() ? 0 : migrations.getLast().version();
+            for (int version : applied.keySet()) {
+                if (version > latest) {
+                    throw new IllegalStateException("Database schema version " + version
+                            + " is newer than the migrations in " + location + ".");
+                }
+            }
+
+            List<Migration> pending = new ArrayList<>();
+            for (Migration migration : migrations) {
+                String checksum = applied.get(migration.version());
+                if (checksum == null) {
+                    pending.add(migration);
+                } else if (!checksum.equals(migration.checksum())) {
+                    throw new IllegalStateException("Migration V" + migration.version()
+                            + " was changed after it was applied.");
+                }
+            }
+
+            for (Migration migration : pending) {
+                apply(connection, migration);
+            }
+
+            return pending;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void createVersionTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    create table if not exists schema_version (
+                        version integer not null primary key,
+                        description varchar(200) not null,
+                        checksum varchar(64) not null,
+                        applied_at timestamp not null
+                    )""");
+            connection.commit();
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        }
+    }
+
+    private static Map<Integer, String> appliedChecksums(Connection connection) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select version, checksum from schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        connection.commit();
+        return applied;
+    }
+
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        try {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : migration.statements()) {
+                    statement.execute(sql);
+                }
+            }
+
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "insert into schema_version (version, description, checksum, applied_at) values (?, ?, ?, ?)")) {
+                ps.setInt(1, migration.version());
+                ps.setString(2, migration.description());
+                ps.setString(3, migration.checksum());
+                ps.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                ps.executeUpdate();
+            }
+
+            connection.commit();
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw new SQLException("Migration V" + migration.version() + " failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static List<String> statements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        for (String line : script.split("\\R")) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().strip();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+            }
+        }
+
+        if (!current.isEmpty()) {
+            statements.add(current.toString().strip());
+        }
+        return statements;
+    }
+
+    private static String checksum(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String read(String fileName) {
+        String path = location + "/" + fileName;
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) {
+            loader = MigrationRunner.class.getClassLoader();
+        }
+
+        try (InputStream in = loader.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Migration resource not found: " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.informatics.transportcompany.config.partition;
+
+import java.util.Map;
+
+public record TransportPartitionSettings(
+        boolean enabled,
+        int monthsAhead,
+        int retentionMonths,
+        String archiveSchema
+) {
+    public static final String ENABLED = "transportcompany.partitions.enabled";
+    public static final String MONTHS_AHEAD = "transportcompany.partitions.months_ahead";
+    public static final String RETENTION_MONTHS = "transportcompany.partitions.retention_months";
+    public static final String ARCHIVE_SCHEMA = "transportcompany.partitions.archive_schema";
+
+    public TransportPartitionSettings {
+        if (monthsAhead < 0) {
+            throw new IllegalArgumentException("Months ahead cannot be negative.");
+        }
+        if (retentionMonths < 0) {
+            throw new IllegalArgumentException("Retention months cannot be negative.");
+        }
+        if (archiveSchema == null || !archiveSchema.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid archive schema name: " + archiveSchema);
+        }
+    }
+
+    public static TransportPartitionSettings disabled() {
+        return new TransportPartitionSettings(false, 0, 0, "archive");
+    }
+
+    /**
+     * A retention of zero months keeps every partition attached.
+     */
+    public static TransportPartitionSettings fromConfig(Map<String, Object> config) {
+        return new TransportPartitionSettings(
+                Boolean.parseBoolean(String.valueOf(config.getOrDefault(ENABLED, "false")).trim()),
+                intValue(config, MONTHS_AHEAD, 3),
+                intValue(config, RETENTION_MONTHS, 0),
+                String.valueOf(config.getOrDefault(ARCHIVE_SCHEMA, "archive")).trim()
+        );
+    }
+
+    private static int intValue(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value.toString().trim());
+    }
+}
@@ -0,0 +1,374 @@
+package org.informatics.transportcompany.config.pool;
+
+import org.informatics.transportcompany.metrics.LatencyHistogram;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConnectionPool implements AutoCloseable {
+
+    private static final System.Logger LOG = System.getLogger(ConnectionPool.class.getName());
+
+    private final ConnectionPoolSettings settings;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Map<Connection, PooledConnection> borrowed = new IdentityHashMap<>();
+    private int total;
+    private int waiters;
+    private boolean closed;
+
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong acquireTimeouts = new AtomicLong();
+
+    private final ScheduledExecutorService evictor;
+
+    public ConnectionPool(ConnectionPoolSettings settings) throws SQLException {
+        this.settings = settings;
+
+        fillToMinimum();
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(this::evictIdle,
+                settings.evictionIntervalMillis(),
+                settings.evictionIntervalMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long remaining = TimeUnit.MILLISECONDS.toNanos(settings.acquireTimeoutMillis());
+
+        while (true) {
+            PooledConnection candidate = null;
+            boolean mayCreate = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is closed.");
+                    }
+
+                    candidate = idle.pollFirst();
+                    if (candidate != null) {
+                        break;
+                    }
+
+                    if (total < settings.maxSize()) {
+                        total++;
+                        mayCreate = true;
+                        break;
+                    }
+
+                    if (remaining <= 0) {
+                        acquireTimeouts.incrementAndGet();
+                        throw new SQLTimeoutException("Timed out after " + settings.acquireTimeoutMillis()
+                                + " ms waiting for a connection (max pool size " + settings.maxSize() + ").");
+                    }
+
+                    waiters++;
+                    try {
+                        remaining = released.awaitNanos(remaining);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a connection.", ex);
+                    } finally {
+                        waiters--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (mayCreate) {
+                candidate = openNew();
+            } else if (!isUsable(candidate)) {
+                discard(candidate);
+                continue;
+            }
+
+            lock.lock();
+            try {
+                borrowed.put(candidate.connection, candidate);
+            } finally {
+                lock.unlock();
+            }
+
+            acquired.incrementAndGet();
+            acquireLatency.recordNanos(System.nanoTime() - start);
+            return candidate.connection;
+        }
+    }
+
+    /**
+     * Rolls back what the borrower left uncommitted and restores the auto-commit, read-only and
+     * isolation settings the connection was opened with, so the next borrower does not inherit them.
+     * A connection that cannot be reset is closed instead of being pooled again.
+     */
+    public void release(Connection connection) throws SQLException {
+        PooledConnection pooled;
+
+        lock.lock();
+        try {
+            pooled = borrowed.remove(connection);
+            if (pooled == null) {
+                throw new SQLException("Connection was not borrowed from this pool.");
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        boolean reusable = reset(pooled);
+
+        lock.lock();
+        try {
+            reusable &= !closed;
+            if (reusable) {
+                pooled.lastUsedNanos = System.nanoTime();
+                idle.addFirst(pooled);
+            } else {
+                total--;
+            }
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        if (!reusable) {
+            closeQuietly(pooled.connection);
+        }
+    }
+
+    public ConnectionPoolMetrics metrics() {
+        lock.lock();
+        try {
+            return new ConnectionPoolMetrics(
+                    borrowed.size(),
+                    idle.size(),
+                    total,
+                    settings.maxSize(),
+                    waiters,
+                    acquired.get(),
+                    created.get(),
+                    evicted.get(),
+                    validationFailures.get(),
+                    acquireTimeouts.get(),
+                    acquireLatency.snapshot()
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        List<PooledConnection> toClose;
+
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        evictor.shutdownNow();
+        toClose.forEach(pooled -> closeQuietly(pooled.connection));
+    }
+
+    private void evictIdle() {
+        List<PooledConnection> expired = new ArrayList<>();
+        long now = System.nanoTime();
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(settings.idleTimeoutMillis());
+
+        lock.lock();
+        try {
+            Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+            while (oldestFirst.hasNext() && total > settings.minSize()) {
+                PooledConnection pooled = oldestFirst.next();
+                if (now - pooled.lastUsedNanos >= idleTimeoutNanos) {
+                    oldestFirst.remove();
+                    total--;
+                    expired.add(pooled);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        evicted.addAndGet(expired.size());
+        expired.forEach(pooled -> closeQuietly(pooled.connection));
+
+        try {
+            fillToMinimum();
+        } catch (SQLException ex) {
+            LOG.log(System.Logger.Level.WARNING, "Connection pool could not restore its minimum size", ex);
+        }
+    }
+
+    private void fillToMinimum() throws SQLException {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || total >= settings.minSize()) {
+                    return;
+                }
+                total++;
+            } finally {
+                lock.unlock();
+            }
+
+            PooledConnection pooled = openNew();
+
+            lock.lock();
+            try {
+                if (closed) {
+                    total--;
+                } else {
+                    idle.addLast(pooled);
+                    released.signal();
+                    continue;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            closeQuietly(pooled.connection);
+            return;
+        }
+    }
+
+    private PooledConnection openNew() throws SQLException {
+        Properties props = new Properties();
+        if (settings.username() != null) {
+            props.setProperty("user", settings.username());
+        }
+        if (settings.password() != null) {
+            props.setProperty("password", settings.password());
+        }
+
+        try {
+            Connection connection = DriverManager.getConnection(settings.url(), props);
+            connection.setAutoCommit(settings.autoCommit());
+            PooledConnection pooled = new PooledConnection(connection, connection.isReadOnly(), connection.getTransactionIsolation());
+            created.incrementAndGet();
+            return pooled;
+        } catch (SQLException | RuntimeException ex) {
+            lock.lock();
+            try {
+                total--;
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw ex;
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            if (pooled.connection.isClosed()) {
+                return false;
+            }
+            if (settings.validateOnBorrow() && !pooled.connection.isValid(settings.validationTimeoutSeconds())) {
+                validationFailures.incrementAndGet();
+                return false;
+            }
+            return true;
+        } catch (SQLException ex) {
+            validationFailures.incrementAndGet();
+            return false;
+        }
+    }
+
+    private boolean reset(PooledConnection pooled) {
+        Connection connection = pooled.connection;
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+            if (connection.getAutoCommit() != settings.autoCommit()) {
+                connection.setAutoCommit(settings.autoCommit());
+            }
+            if (connection.isReadOnly() != pooled.readOnly) {
+                connection.setReadOnly(pooled.readOnly);
+            }
+            if (connection.getTransactionIsolation() != pooled.isolation) {
+                connection.setTransactionIsolation(pooled.isolation);
+            }
+            connection.clearWarnings();
+            return true;
+        } catch (SQLException ex) {
+            LOG.log(System.Logger.Level.WARNING, "Connection pool could not reset a released connection", ex);
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        lock.lock();
+        try {
+            total--;
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+        closeQuietly(pooled.connection);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // connection is being dropped from the pool anyway
+        }
+    }
+
+    private static final class PooledConnection {
+        private final Connection connection;
+        private final boolean readOnly;
+        private final int isolation;
+        private long lastUsedNanos = System.nanoTime();
+
+        private PooledConnection(Connection connection, boolean readOnly, int isolation) {
+            this.connection = connection;
+            this.readOnly = readOnly;
+            this.isolation = isolation;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.informatics.transportcompany.config.pool;
+
+import org.informatics.transportcompany.metrics.HistogramSnapshot;
+
+public record ConnectionPoolMetrics(
+        int active,
+        int idle,
+        int total,
+        int maxSize,
+        int waiters,
+        long acquired,
+        long created,
+        long evicted,
+        long validationFailures,
+        long acquireTimeouts,
+        HistogramSnapshot acquireLatency
+) {
+}
@@ -0,0 +1,74 @@
+package org.informatics.transportcompany.config.pool;
+
+import java.util.Map;
+
+public record ConnectionPoolSettings(
+        String url,
+        String username,
+        String password,
+        boolean autoCommit,
+        int minSize,
+        int maxSize,
+        long acquireTimeoutMillis,
+        long idleTimeoutMillis,
+        long evictionIntervalMillis,
+        boolean validateOnBorrow,
+        int validationTimeoutSeconds
+) {
+    public static final String MIN_SIZE = "transportcompany.pool.min_size";
+    public static final String MAX_SIZE = "transportcompany.pool.max_size";
+    public static final String ACQUIRE_TIMEOUT_MS = "transportcompany.pool.acquire_timeout_ms";
+    public static final String IDLE_TIMEOUT_MS = "transportcompany.pool.idle_timeout_ms";
+    public static final String EVICTION_INTERVAL_MS = "transportcompany.pool.eviction_interval_ms";
+    public static final String VALIDATE_ON_BORROW = "transportcompany.pool.validate_on_borrow";
+    public static final String VALIDATION_TIMEOUT_S = "transportcompany.pool.validation_timeout_s";
+
+    public ConnectionPoolSettings {
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("JDBC url is required for the connection pool.");
+        }
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min = " + minSize + ", max = " + maxSize);
+        }
+        if (acquireTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Acquire timeout must be positive.");
+        }
+        if (evictionIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Eviction interval must be positive.");
+        }
+    }
+
+    public static ConnectionPoolSettings fromConfig(Map<String, Object> config) {
+        return new ConnectionPoolSettings(
+                string(config, "hibernate.connection.url", "jakarta.persistence.jdbc.url"),
+                string(config, "hibernate.connection.username", "jakarta.persistence.jdbc.user"),
+                string(config, "hibernate.connection.password", "jakarta.persistence.jdbc.password"),
+                Boolean.parseBoolean(string(config, "hibernate.connection.autocommit", null)),
+                intValue(config, MIN_SIZE, 2),
+                intValue(config, MAX_SIZE, 20),
+                longValue(config, ACQUIRE_TIMEOUT_MS, 5_000),
+                longValue(config, IDLE_TIMEOUT_MS, 300_000),
+                longValue(config, EVICTION_INTERVAL_MS, 30_000),
+                Boolean.parseBoolean(String.valueOf(config.getOrDefault(VALIDATE_ON_BORROW, "true"))),
+                intValue(config, VALIDATION_TIMEOUT_S, 2)
+        );
+    }
+
+    private static String string(Map<String, Object> config, String key, String fallbackKey) {
+        Object value = config.get(key);
+        if (value == null && fallbackKey != null) {
+            value = config.get(fallbackKey);
+        }
+        return value == null ? null : value.toString();
+    }
+
+    private static int intValue(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value.toString().trim());
+    }
+
+    private static long longValue(Map<String, Object> config, String key, long defaultValue) {
+        Object value = config.get(key);
+        return value == null ? defaultValue : Long.parseLong(value.toString().trim());
+    }
+}
@@ -0,0 +1,82 @@
+package org.informatics.transportcompany.config.pool;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Hibernate {@link ConnectionProvider} backed by {@link ConnectionPool}.
+ * Enabled with {@code hibernate.connection.provider_class} in {@code hibernate.properties}.
+ */
+public class PooledConnectionProvider implements ConnectionProvider, Configurable, Stoppable {
+
+    private ConnectionPool pool;
+
+    @Override
+    public void configure(Map<String, Object> configValues) {
+        Object driverClass = configValues.get("hibernate.connection.driver_class");
+        if (driverClass != null) {
+            try {
+                Class.forName(driverClass.toString());
+            } catch (ClassNotFoundException ex) {
+                throw new HibernateException("JDBC driver class not found: " + driverClass, ex);
+            }
+        }
+
+        try {
+            pool = new ConnectionPool(ConnectionPoolSettings.fromConfig(configValues));
+        } catch (SQLException ex) {
+            throw new HibernateException("Could not start the connection pool: " + ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return pool.borrow();
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        pool.release(connection);
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    public ConnectionPoolMetrics getMetrics() {
+        return pool.metrics();
+    }
+
+    @Override
+    public void stop() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isAssignableFrom(PooledConnectionProvider.class)
+                || unwrapType.isAssignableFrom(ConnectionPool.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (unwrapType.isAssignableFrom(PooledConnectionProvider.class)) {
+            return (T) this;
+        }
+        if (unwrapType.isAssignableFrom(ConnectionPool.class)) {
+            return (T) pool;
+        }
+        throw new UnknownUnwrapTypeException(unwrapType);
+    }
+}
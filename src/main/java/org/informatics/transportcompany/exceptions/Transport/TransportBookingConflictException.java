@@ -0,0 +1,7 @@
+package org.informatics.transportcompany.exceptions.Transport;
+
+public class TransportBookingConflictException extends RuntimeException {
+    public TransportBookingConflictException(String message) {
+        super(message);
+    }
+}
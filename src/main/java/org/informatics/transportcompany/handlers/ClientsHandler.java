@@ -2,12 +2,13 @@ package org.informatics.transportcompany.handlers;
 
 import org.informatics.transportcompany.ConsoleHelper;
 import org.informatics.transportcompany.model.dto.client.ClientCreateRequest;
+import org.informatics.transportcompany.model.dto.client.ClientListRow;
 import org.informatics.transportcompany.model.dto.client.ClientUpdateRequest;
 import org.informatics.transportcompany.model.entity.Client;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 import org.informatics.transportcompany.service.ClientService;
 
-import java.util.List;
-
 public class ClientsHandler {
 
     private static final ConsoleHelper consoleHelper = new ConsoleHelper();
@@ -30,22 +31,29 @@ public class ClientsHandler {
     }
 
     public static void handleListClients(ClientService service) {
-        List<Client> clients = service.findAll();
+        Page<ClientListRow> page = service.findPage(Cursor.start(), ConsoleHelper.PAGE_SIZE);
 
-        if (clients.isEmpty()) {
+        if (page.items().isEmpty()) {
             System.out.println("No registered clients.");
             return;
         }
 
-        for (Client client : clients) {
-            String contact = client.getContactDetails();
-
-            System.out.printf("[%d] %s (%s), company: %s%n",
-                    client.getId(),
-                    client.getName(),
-                    contact == null ? "" : contact,
-                    client.getCompany().getName()
-            );
+        while (true) {
+            for (ClientListRow client : page.items()) {
+                String contact = client.contactDetails();
+
+                System.out.printf("[%d] %s (%s), company: %s%n",
+                        client.id(),
+                        client.name(),
+                        contact == null ? "" : contact,
+                        client.companyName()
+                );
+            }
+
+            if (!page.hasNext() || !consoleHelper.readNextPage()) {
+                break;
+            }
+            page = service.findPage(page.next(), ConsoleHelper.PAGE_SIZE);
         }
     }
 
@@ -1,12 +1,15 @@
 package org.informatics.transportcompany.handlers;
 
 import org.informatics.transportcompany.ConsoleHelper;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
 import org.informatics.transportcompany.model.dto.transportCompany.TransportCompanyCreateRequest;
 import org.informatics.transportcompany.model.dto.transportCompany.TransportCompanyUpdateRequest;
 import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 import org.informatics.transportcompany.service.TransportCompanyService;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 public class CompaniesHandler {
@@ -28,52 +31,56 @@ public class CompaniesHandler {
     }
 
     public static void handleListCompanies(TransportCompanyService service) {
-        List<TransportCompany> companies = service.findAll();
+        Page<CompanyListRow> page = service.findPage(Cursor.start(), ConsoleHelper.PAGE_SIZE);
 
-        if (companies.isEmpty()) {
+        if (page.items().isEmpty()) {
             System.out.println("No companies created.");
             return;
         }
 
-        for (TransportCompany c : companies) {
-            System.out.printf("[%d] %s (%s)%n", c.getId(), c.getName(),
-                    c.getAddress() == null ? "" : c.getAddress());
+        while (true) {
+            for (CompanyListRow c : page.items()) {
+                System.out.printf("[%d] %s (%s)%n", c.id(), c.name(),
+                        c.address() == null ? "" : c.address());
+            }
+
+            if (!page.hasNext() || !consoleHelper.readNextPage()) {
+                break;
+            }
+            page = service.findPage(page.next(), ConsoleHelper.PAGE_SIZE);
         }
     }
 
     public static void handleListCompaniesByName(TransportCompanyService service) {
-        List<TransportCompany> companies = service.findAllOrderByName();
+        List<CompanyListRow> companies = service.findAllOrderByName();
 
         if (companies.isEmpty()) {
             System.out.println("No companies created.");
             return;
         }
 
-        for (TransportCompany c : companies) {
+        for (CompanyListRow c : companies) {
             System.out.printf("[%d] %s (%s)%n",
-                    c.getId(),
-                    c.getName(),
-                    c.getAddress() == null ? "" : c.getAddress());
+                    c.id(),
+                    c.name(),
+                    c.address() == null ? "" : c.address());
         }
     }
 
     public static void handleListCompaniesByRevenue(TransportCompanyService service) {
-        List<Object[]> rows = service.findAllWithRevenueOrderByRevenueDesc();
+        List<CompanyRevenueRow> rows = service.findAllWithRevenueOrderByRevenueDesc();
 
         if (rows.isEmpty()) {
             System.out.println("No companies created.");
             return;
         }
 
-        for (Object[] row : rows) {
-            TransportCompany company = (TransportCompany) row[0];
-            BigDecimal revenue = (BigDecimal) row[1];
-
+        for (CompanyRevenueRow row : rows) {
             System.out.printf("[%d] %s (%s) - total revenue: %s%n",
-                    company.getId(),
-                    company.getName(),
-                    company.getAddress() == null ? "" : company.getAddress(),
-                    revenue
+                    row.companyId(),
+                    row.companyName(),
+                    row.companyAddress() == null ? "" : row.companyAddress(),
+                    row.revenue()
             );
         }
     }
@@ -0,0 +1,240 @@
+package org.informatics.transportcompany.handlers;
+
+import org.hibernate.stat.Statistics;
+import org.informatics.transportcompany.ConsoleHelper;
+import org.informatics.transportcompany.analytics.TransportAnalytics;
+import org.informatics.transportcompany.analytics.TransportAnalyticsStats;
+import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.config.cache.CacheRegionStats;
+import org.informatics.transportcompany.config.pool.ConnectionPoolMetrics;
+import org.informatics.transportcompany.metrics.HistogramSnapshot;
+import org.informatics.transportcompany.metrics.RepositoryMethodStats;
+import org.informatics.transportcompany.metrics.RepositoryMetrics;
+import org.informatics.transportcompany.model.dto.transport.TransportPartitionMaintenance;
+import org.informatics.transportcompany.service.TransportPartitionService;
+import org.informatics.transportcompany.service.TransportService;
+import org.informatics.transportcompany.service.async.ServiceExecutor;
+import org.informatics.transportcompany.service.async.ServiceExecutorMetrics;
+import org.informatics.transportcompany.service.cache.ReportCache;
+import org.informatics.transportcompany.service.cache.ReportCacheStats;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+
+public class DiagnosticsHandler {
+
+    private static final ConsoleHelper consoleHelper = new ConsoleHelper();
+
+    public static void handleShowConnectionPool() {
+        ConnectionPoolMetrics metrics = HibernateUtil.getConnectionPoolMetrics();
+
+        System.out.println("=== Connection pool ===");
+        System.out.printf("Active: %d, idle: %d, total: %d (max %d), waiting threads: %d%n",
+                metrics.active(),
+                metrics.idle(),
+                metrics.total(),
+                metrics.maxSize(),
+                metrics.waiters()
+        );
+        System.out.printf("Acquired: %d, created: %d, evicted: %d, failed validations: %d, acquire timeouts: %d%n",
+                metrics.acquired(),
+                metrics.created(),
+                metrics.evicted(),
+                metrics.validationFailures(),
+                metrics.acquireTimeouts()
+        );
+        System.out.println("Acquire latency: " + metrics.acquireLatency());
+    }
+
+    public static void handleShowEntityCache() {
+        List<CacheRegionStats> regions = HibernateUtil.getEntityCacheStatistics();
+
+        System.out.println("=== Second-level entity cache ===");
+        for (CacheRegionStats region : regions) {
+            System.out.printf("%s - entries: %d (max %d), hits: %d, misses: %d, hit ratio: %.1f%%, puts: %d, evictions: %d, expired: %d%n",
+                    region.region(),
+                    region.size(),
+                    region.maxEntries(),
+                    region.hits(),
+                    region.misses(),
+                    region.hitRatio() * 100,
+                    region.puts(),
+                    region.evictions(),
+                    region.expirations()
+            );
+        }
+    }
+
+    public static void handleShowReportCache(ReportCache cache) {
+        ReportCacheStats stats = cache.stats();
+
+        System.out.println("=== Report cache ===");
+        System.out.printf("Entries: %d (max %d), hits: %d, misses: %d, hit ratio: %.1f%%, evictions: %d, invalidations: %d%n",
+                stats.size(),
+                stats.maxEntries(),
+                stats.hits(),
+                stats.misses(),
+                stats.hitRatio() * 100,
+                stats.evictions(),
+                stats.invalidations()
+        );
+    }
+
+    public static void handleShowServiceExecutor(ServiceExecutor executor) {
+        ServiceExecutorMetrics metrics = executor.metrics();
+
+        System.out.println("=== Service executor ===");
+        System.out.printf("Threads: %d, active: %d, queued: %d (capacity %d)%n",
+                metrics.threads(),
+                metrics.active(),
+                metrics.queued(),
+                metrics.queueCapacity()
+        );
+        System.out.printf("Submitted: %d, completed: %d, failed: %d, rejected: %d%n",
+                metrics.submitted(),
+                metrics.completed(),
+                metrics.failed(),
+                metrics.rejected()
+        );
+        System.out.println("Queue wait: " + metrics.queueWait());
+        System.out.println("Run time: " + metrics.runTime());
+    }
+
+    public static void handleRebuildRevenueAggregates(TransportService service) {
+        service.rebuildRevenueAggregates();
+        System.out.println("Revenue aggregates rebuilt.");
+    }
+
+    public static void handleShowTransportPartitions(TransportPartitionService service) {
+        if (!service.isEnabled()) {
+            System.out.println("Transport partitioning is not enabled.");
+            return;
+        }
+
+        List<YearMonth> months = service.findPartitionMonths();
+
+        System.out.println("=== Transport partitions ===");
+        if (months.isEmpty()) {
+            System.out.println("Only the default partition exists.");
+            return;
+        }
+        System.out.printf("%d monthly partitions, from %s to %s%n", months.size(), months.getFirst(), months.getLast());
+    }
+
+    public static void handleMaintainTransportPartitions(TransportPartitionService service, TransportAnalytics analytics) {
+        if (!service.isEnabled()) {
+            System.out.println("Transport partitioning is not enabled.");
+            return;
+        }
+
+        TransportPartitionMaintenance result = service.maintain(YearMonth.now());
+        if (!result.archived().isEmpty() && analytics.isEnabled()) {
+            analytics.reload();
+        }
+
+        System.out.println("Created partitions: " + (result.created().isEmpty() ? "none" : result.created()));
+        System.out.println("Archived partitions: " + (result.archived().isEmpty() ? "none" : result.archived()));
+    }
+
+    public static void handleShowTransportAnalytics(TransportAnalytics analytics) {
+        if (!analytics.isEnabled()) {
+            System.out.println("Transport analytics is not enabled.");
+            return;
+        }
+
+        TransportAnalyticsStats stats = analytics.stats();
+
+        System.out.println("=== Transport analytics ===");
+        if (!stats.loaded()) {
+            System.out.println("Not loaded yet.");
+            return;
+        }
+        System.out.printf("Transports: %d, companies: %d, clients: %d, drivers: %d, vehicles: %d, locations: %d%n",
+                stats.transports(),
+                stats.companies(),
+                stats.clients(),
+                stats.drivers(),
+                stats.vehicles(),
+                stats.locations()
+        );
+        System.out.printf("Memory: %.1f MB, refreshes: %d, failed refreshes: %d, last refresh: %.1fms%n",
+                stats.memoryBytes() / (1024.0 * 1024.0),
+                stats.refreshes(),
+                stats.failedRefreshes(),
+                stats.lastRefreshMillis()
+        );
+    }
+
+    public static void handleReloadTransportAnalytics(TransportAnalytics analytics) {
+        if (!analytics.isEnabled()) {
+            System.out.println("Transport analytics is not enabled.");
+            return;
+        }
+
+        analytics.reload();
+        System.out.printf("Transport analytics reloaded: %d transports.%n", analytics.stats().transports());
+    }
+
+    public static void handleShowRepositoryMetrics(RepositoryMetrics metrics) {
+        List<RepositoryMethodStats> methods = metrics.snapshot();
+
+        System.out.println("=== Repository methods (slowest total time first) ===");
+        if (methods.isEmpty()) {
+            System.out.println("No repository calls recorded yet.");
+        }
+        for (RepositoryMethodStats method : methods) {
+            HistogramSnapshot latency = method.latency();
+            System.out.printf("%s - calls: %d, failures: %d, total: %.1fms, p50: %dus, p99: %dus, max: %dus, rows: %d, statements: %d%n",
+                    method.method(),
+                    method.calls(),
+                    method.failures(),
+                    method.totalMillis(),
+                    latency.p50Micros(),
+                    latency.p99Micros(),
+                    latency.maxMicros(),
+                    method.rows(),
+                    method.statements()
+            );
+        }
+
+        Statistics statistics = HibernateUtil.getSessionFactory().getStatistics();
+        if (statistics.isStatisticsEnabled()) {
+            System.out.println("=== Hibernate ===");
+            System.out.printf("Sessions opened: %d, transactions: %d, statements prepared: %d, queries executed: %d%n",
+                    statistics.getSessionOpenCount(),
+                    statistics.getTransactionCount(),
+                    statistics.getPrepareStatementCount(),
+                    statistics.getQueryExecutionCount()
+            );
+            System.out.printf("Entities loaded: %d, fetched: %d, inserted: %d, updated: %d, flushes: %d%n",
+                    statistics.getEntityLoadCount(),
+                    statistics.getEntityFetchCount(),
+                    statistics.getEntityInsertCount(),
+                    statistics.getEntityUpdateCount(),
+                    statistics.getFlushCount()
+            );
+            System.out.printf("Slowest query: %dms - %s%n",
+                    statistics.getQueryExecutionMaxTime(),
+                    statistics.getQueryExecutionMaxTimeQueryString()
+            );
+        }
+    }
+
+    public static void handleDumpRepositoryMetrics(RepositoryMetrics metrics) {
+        String filename = consoleHelper.readLine("Filename to write (e.g. repository-metrics.csv): ").trim();
+
+        if (filename.isEmpty()) {
+            System.out.println("Filename cannot be empty.");
+            return;
+        }
+
+        try {
+            metrics.dumpTo(Path.of(filename));
+            System.out.printf("Repository metrics written to '%s'.%n", filename);
+        } catch (IOException e) {
+            System.out.println("Error writing to file: " + e.getMessage());
+        }
+    }
+}
@@ -2,12 +2,16 @@ package org.informatics.transportcompany.handlers;
 
 import org.informatics.transportcompany.ConsoleHelper;
 import org.informatics.transportcompany.model.dto.employee.EmployeeCreateRequest;
+import org.informatics.transportcompany.model.dto.employee.EmployeeListRow;
 import org.informatics.transportcompany.model.dto.employee.EmployeeUpdateRequest;
 import org.informatics.transportcompany.model.entity.Employee;
 import org.informatics.transportcompany.model.enums.EmployeeQualification;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 import org.informatics.transportcompany.service.EmployeeService;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -51,22 +55,29 @@ public class EmployeesHandler {
     }
 
     public static void handleListEmployees(EmployeeService service) {
-        List<Employee> employees = service.findAll();
+        Page<EmployeeListRow> page = service.findPage(Cursor.start(), ConsoleHelper.PAGE_SIZE);
 
-        if (employees.isEmpty()) {
+        if (page.items().isEmpty()) {
             System.out.println("No registered employees.");
             return;
         }
 
-        for (Employee e : employees) {
-            System.out.printf("[%d] %s %s, qualification: %s, salary: %s, company: %s%n",
-                    e.getId(),
-                    e.getFirstName(),
-                    e.getLastName(),
-                    e.getQualification(),
-                    e.getSalary(),
-                    e.getCompany().getName()
-            );
+        while (true) {
+            for (EmployeeListRow e : page.items()) {
+                System.out.printf("[%d] %s %s, qualification: %s, salary: %s, company: %s%n",
+                        e.id(),
+                        e.firstName(),
+                        e.lastName(),
+                        e.qualification(),
+                        e.salary(),
+                        e.companyName()
+                );
+            }
+
+            if (!page.hasNext() || !consoleHelper.readNextPage()) {
+                break;
+            }
+            page = service.findPage(page.next(), ConsoleHelper.PAGE_SIZE);
         }
     }
 
@@ -155,41 +166,41 @@ public class EmployeesHandler {
     }
 
     public static void handleListEmployeesByQualification(EmployeeService service) {
-        List<Employee> employees = service.findAllOrderByQualificationThenSalary();
+        List<EmployeeListRow> employees = service.findAllOrderByQualificationThenSalary();
 
         if (employees.isEmpty()) {
             System.out.println("No registered employees.");
             return;
         }
 
-        for (Employee e : employees) {
+        for (EmployeeListRow e : employees) {
             System.out.printf("[%d] %s %s, qualification: %s, salary: %s, company: %s%n",
-                    e.getId(),
-                    e.getFirstName(),
-                    e.getLastName(),
-                    e.getQualification(),
-                    e.getSalary(),
-                    e.getCompany().getName()
+                    e.id(),
+                    e.firstName(),
+                    e.lastName(),
+                    e.qualification(),
+                    e.salary(),
+                    e.companyName()
             );
         }
     }
 
     public static void handleListEmployeesBySalary(EmployeeService service) {
-        List<Employee> employees = service.findAllOrderBySalaryDesc();
+        List<EmployeeListRow> employees = service.findAllOrderBySalaryDesc();
 
         if (employees.isEmpty()) {
             System.out.println("No registered employees.");
             return;
         }
 
-        for (Employee e : employees) {
+        for (EmployeeListRow e : employees) {
             System.out.printf("[%d] %s %s, qualification: %s, salary: %s, company: %s%n",
-                    e.getId(),
-                    e.getFirstName(),
-                    e.getLastName(),
-                    e.getQualification(),
-                    e.getSalary(),
-                    e.getCompany().getName()
+                    e.id(),
+                    e.firstName(),
+                    e.lastName(),
+                    e.qualification(),
+                    e.salary(),
+                    e.companyName()
             );
         }
     }
@@ -210,21 +221,69 @@ public class EmployeesHandler {
             return;
         }
 
-        List<Employee> employees = service.findByQualificationOrderBySalaryDesc(qualification);
+        List<EmployeeListRow> employees = service.findByQualificationOrderBySalaryDesc(qualification);
 
         if (employees.isEmpty()) {
             System.out.println("No employees with this qualification.");
             return;
         }
 
-        for (Employee e : employees) {
+        for (EmployeeListRow e : employees) {
+            System.out.printf("[%d] %s %s, qualification: %s, salary: %s, company: %s%n",
+                    e.id(),
+                    e.firstName(),
+                    e.lastName(),
+                    e.qualification(),
+                    e.salary(),
+                    e.companyName()
+            );
+        }
+    }
+
+    public static void handleListAvailableDrivers(EmployeeService service) {
+        long companyId = consoleHelper.readLong("Company ID: ");
+
+        System.out.println("Qualification (choose one of): " +
+                Arrays.toString(EmployeeQualification.values()));
+
+        String qualStr = consoleHelper.readLine("Qualification: ").trim().toUpperCase();
+
+        EmployeeQualification qualification;
+
+        try {
+            qualification = EmployeeQualification.valueOf(qualStr);
+        } catch (IllegalArgumentException ex) {
+            System.out.println("Invalid qualification. Allowed: " +
+                    Arrays.toString(EmployeeQualification.values()));
+            return;
+        }
+
+        LocalDateTime from = consoleHelper.readDateTime("Free from (format 2025-11-18T10:00): ");
+
+        LocalDateTime to = consoleHelper.readDateTime("Free until (format 2025-11-18T15:30): ");
+
+        List<EmployeeListRow> employees;
+
+        try {
+            employees = service.findAvailableDrivers(companyId, qualification, from, to);
+        } catch (IllegalArgumentException ex) {
+            System.out.println("Error: " + ex.getMessage());
+            return;
+        }
+
+        if (employees.isEmpty()) {
+            System.out.println("No free employees with this qualification in this period.");
+            return;
+        }
+
+        for (EmployeeListRow e : employees) {
             System.out.printf("[%d] %s %s, qualification: %s, salary: %s, company: %s%n",
-                    e.getId(),
-                    e.getFirstName(),
-                    e.getLastName(),
-                    e.getQualification(),
-                    e.getSalary(),
-                    e.getCompany().getName()
+                    e.id(),
+                    e.firstName(),
+                    e.lastName(),
+                    e.qualification(),
+                    e.salary(),
+                    e.companyName()
             );
         }
     }
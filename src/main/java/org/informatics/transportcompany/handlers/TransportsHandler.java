@@ -1,25 +1,36 @@
 package org.informatics.transportcompany.handlers;
 
 import org.informatics.transportcompany.ConsoleHelper;
+import org.informatics.transportcompany.io.TransportFileError;
+import org.informatics.transportcompany.io.TransportFileReader;
+import org.informatics.transportcompany.io.TransportFileRecord;
+import org.informatics.transportcompany.io.TransportFileWriter;
+import org.informatics.transportcompany.io.TransportSnapshotReader;
+import org.informatics.transportcompany.io.TransportSnapshotWriter;
 import org.informatics.transportcompany.model.dto.transport.CalculateCompanyRevenueForPeriodRequest;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
 import org.informatics.transportcompany.model.dto.transport.TransportCreateRequest;
-import org.informatics.transportcompany.model.entity.Employee;
+import org.informatics.transportcompany.model.dto.transport.TransportListRow;
+import org.informatics.transportcompany.model.dto.transport.TransportSummary;
+import org.informatics.transportcompany.model.dto.transport.TransportSummaryTotal;
 import org.informatics.transportcompany.model.entity.Transport;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 import org.informatics.transportcompany.service.TransportService;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
 
 public class TransportsHandler {
 
     private static final ConsoleHelper consoleHelper = new ConsoleHelper();
+    private static final int DESTINATION_SUGGESTIONS = 10;
 
     public static void handleCreateTransport(TransportService service) {
         long companyId = consoleHelper.readLong("Company ID: ");
@@ -68,20 +79,27 @@ public class TransportsHandler {
     }
 
     public static void handleListTransports(TransportService service) {
-        List<Transport> transports = service.findAll();
-
-        if (checkForRegisteredTransports(transports)) return;
+        Page<TransportListRow> page = service.findPage(Cursor.start(), ConsoleHelper.PAGE_SIZE);
+
+        if (checkForRegisteredTransports(page.items())) return;
+
+        while (true) {
+            for (TransportListRow t : page.items()) {
+                String paidLabel = t.paid() ? "PAID" : "UNPAID";
+                System.out.printf("[%d] %s -> %s, client: %s, price: %s, status: %s%n",
+                        t.id(),
+                        t.fromLocation(),
+                        t.toLocation(),
+                        t.clientName(),
+                        t.price(),
+                        paidLabel
+                );
+            }
 
-        for (Transport t : transports) {
-            String paidLabel = t.isPaid() ? "PAID" : "UNPAID";
-            System.out.printf("[%d] %s -> %s, client: %s, price: %s, status: %s%n",
-                    t.getId(),
-                    t.getFromLocation(),
-                    t.getToLocation(),
-                    t.getClient().getName(),
-                    t.getPrice(),
-                    paidLabel
-            );
+            if (!page.hasNext() || !consoleHelper.readNextPage()) {
+                break;
+            }
+            page = service.findPage(page.next(), ConsoleHelper.PAGE_SIZE);
         }
     }
 
@@ -93,28 +111,35 @@ public class TransportsHandler {
         System.out.printf(
                 "Transport [%d] from %s to %s for client %s has been marked as PAID. Amount: %s%n",
                 updated.getId(),
-                updated.getFromLocation(),
-                updated.getToLocation(),
+                updated.getFromLocation().getName(),
+                updated.getToLocation().getName(),
                 updated.getClient().getName(),
                 updated.getPrice()
         );
     }
 
     public static void handleListTransportsByDestination(TransportService service) {
-        List<Transport> transports = service.findAllOrderByToLocation();
-
-        if (checkForRegisteredTransports(transports)) return;
+        Page<TransportListRow> page = service.findPageOrderByToLocation(Cursor.start(), ConsoleHelper.PAGE_SIZE);
+
+        if (checkForRegisteredTransports(page.items())) return;
+
+        while (true) {
+            for (TransportListRow t : page.items()) {
+                String paidLabel = t.paid() ? "PAID" : "UNPAID";
+                System.out.printf("[%d] %s -> %s, client: %s, price: %s, status: %s%n",
+                        t.id(),
+                        t.fromLocation(),
+                        t.toLocation(),
+                        t.clientName(),
+                        t.price(),
+                        paidLabel
+                );
+            }
 
-        for (Transport t : transports) {
-            String paidLabel = t.isPaid() ? "PAID" : "UNPAID";
-            System.out.printf("[%d] %s -> %s, client: %s, price: %s, status: %s%n",
-                    t.getId(),
-                    t.getFromLocation(),
-                    t.getToLocation(),
-                    t.getClient().getName(),
-                    t.getPrice(),
-                    paidLabel
-            );
+            if (!page.hasNext() || !consoleHelper.readNextPage()) {
+                break;
+            }
+            page = service.findPageOrderByToLocation(page.next(), ConsoleHelper.PAGE_SIZE);
         }
     }
 
@@ -126,43 +151,65 @@ public class TransportsHandler {
             return;
         }
 
-        List<Transport> transports = service.findByToLocation(destination);
+        List<TransportListRow> transports = service.findByToLocation(destination);
 
         if (transports.isEmpty()) {
             System.out.println("No transports to this destination.");
+
+            List<String> suggestions = service.completeDestination(destination, DESTINATION_SUGGESTIONS);
+            if (!suggestions.isEmpty()) {
+                System.out.println("Destinations starting with '" + destination.strip() + "': "
+                        + String.join(", ", suggestions));
+            }
             return;
         }
 
-        for (Transport t : transports) {
-            String paidLabel = t.isPaid() ? "PAID" : "UNPAID";
+        for (TransportListRow t : transports) {
+            String paidLabel = t.paid() ? "PAID" : "UNPAID";
             System.out.printf("[%d] %s -> %s, client: %s, price: %s, status: %s%n",
-                    t.getId(),
-                    t.getFromLocation(),
-                    t.getToLocation(),
-                    t.getClient().getName(),
-                    t.getPrice(),
+                    t.id(),
+                    t.fromLocation(),
+                    t.toLocation(),
+                    t.clientName(),
+                    t.price(),
                     paidLabel
             );
         }
     }
 
     public static void handleShowTransportsSummary(TransportService service) {
-        long count = service.countAllTransports();
+        TransportSummary summary = service.summarize();
 
-        if (count == 0) {
+        if (summary.transportCount() == 0) {
             System.out.println("No registered transports.");
             return;
         }
 
-        BigDecimal total = service.calculateTotalRevenue();
-
         System.out.println("=== Transports summary ===");
-        System.out.printf("Total number of transports: %d%n", count);
-        System.out.printf("Total revenue from transports: %s%n", total);
+        System.out.printf("Total number of transports: %d%n", summary.transportCount());
+        System.out.printf("Total revenue from transports: %s%n", summary.revenue());
+        System.out.printf("Paid: %d transports, %s%n", summary.paidCount(), summary.paidRevenue());
+        System.out.printf("Unpaid: %d transports, %s%n", summary.unpaidCount(), summary.unpaidRevenue());
+
+        System.out.println("--- By company ---");
+        summary.byCompany().forEach(TransportsHandler::printSummaryTotal);
+
+        System.out.println("--- By vehicle type ---");
+        summary.byVehicleType().forEach(TransportsHandler::printSummaryTotal);
+    }
+
+    private static void printSummaryTotal(TransportSummaryTotal total) {
+        System.out.printf("%s: %d transports, revenue %s (paid %d, %s)%n",
+                total.name(),
+                total.transportCount(),
+                total.revenue(),
+                total.paidCount(),
+                total.paidRevenue()
+        );
     }
 
     public static void handleShowDriverTransportStats(TransportService service) {
-        List<Object[]> rows = service.findDriverTransportStats();
+        List<DriverTransportCountRow> rows = service.findDriverTransportStats();
 
         if (rows.isEmpty()) {
             System.out.println("No registered transports.");
@@ -171,18 +218,16 @@ public class TransportsHandler {
 
         System.out.println("=== Report: transports per driver ===");
 
-        for (Object[] row : rows) {
-            Employee driver = (Employee) row[0];
-            Long count = (Long) row[1];
+        for (DriverTransportCountRow row : rows) {
 
             System.out.printf(
                     "[%d] %s %s, qualification: %s, company: %s - number of transports: %d%n",
-                    driver.getId(),
-                    driver.getFirstName(),
-                    driver.getLastName(),
-                    driver.getQualification(),
-                    driver.getCompany().getName(),
-                    count
+                    row.driverId(),
+                    row.firstName(),
+                    row.lastName(),
+                    row.qualification(),
+                    row.companyName(),
+                    row.transportCount()
             );
         }
     }
@@ -216,7 +261,7 @@ public class TransportsHandler {
     }
 
     public static void handleShowDriverRevenue(TransportService service) {
-        List<Object[]> rows = service.findDriverRevenue();
+        List<DriverRevenueRow> rows = service.findDriverRevenue();
 
         if (rows.isEmpty()) {
             System.out.println("No registered transports.");
@@ -225,18 +270,16 @@ public class TransportsHandler {
 
         System.out.println("=== Report: revenue per driver (paid transports only) ===");
 
-        for (Object[] row : rows) {
-            Employee driver = (Employee) row[0];
-            BigDecimal revenue = (BigDecimal) row[1];
+        for (DriverRevenueRow row : rows) {
 
             System.out.printf(
                     "[%d] %s %s, qualification: %s, company: %s - total revenue: %s%n",
-                    driver.getId(),
-                    driver.getFirstName(),
-                    driver.getLastName(),
-                    driver.getQualification(),
-                    driver.getCompany().getName(),
-                    revenue
+                    row.driverId(),
+                    row.firstName(),
+                    row.lastName(),
+                    row.qualification(),
+                    row.companyName(),
+                    row.revenue()
             );
         }
     }
@@ -251,56 +294,102 @@ public class TransportsHandler {
             return;
         }
 
-        List<Transport> transports = service.findAll();
-
-        if (checkForRegisteredTransports(transports)) {
+        if (service.countAllTransports() == 0) {
+            System.out.println("No registered transports.");
             System.out.println("No transports to write to file.");
             return;
         }
 
-        try (PrintWriter out = new PrintWriter(new FileWriter(filename))) {
-            out.println("id;company;client;vehicle;driver;from;to;departure;arrival;price;paid;cargoDescription;cargoWeight");
-
-            for (Transport t : transports) {
-                String driverName = t.getDriver().getFirstName() + " " + t.getDriver().getLastName();
-                String departureStr = t.getDepartureDateTime() == null
-                        ? ""
-                        : t.getDepartureDateTime().toString();
-                String arrivalStr = t.getArrivalDateTime() == null
-                        ? ""
-                        : t.getArrivalDateTime().toString();
-                String cargoDesc = t.getCargoDescription() == null
-                        ? ""
-                        : t.getCargoDescription();
-                String cargoWeightStr = t.getCargoWeight() == null
-                        ? ""
-                        : t.getCargoWeight().toString();
-
-                out.printf("%d;%s;%s;%s;%s;%s;%s;%s;%s;%s;%s;%s;%s%n",
-                        t.getId(),
-                        t.getCompany().getName(),
-                        t.getClient().getName(),
-                        t.getVehicle().getRegistrationNumber(),
-                        driverName,
-                        t.getFromLocation(),
-                        t.getToLocation(),
-                        departureStr,
-                        arrivalStr,
-                        t.getPrice().toPlainString(),
-                        t.isPaid(),
-                        cargoDesc,
-                        cargoWeightStr
-                );
-            }
+        try (TransportFileWriter writer = TransportFileWriter.open(Path.of(filename))) {
+            service.exportAll(writer::write);
 
             System.out.printf("Successfully wrote %d transports to file '%s'.%n",
-                    transports.size(), filename);
+                    writer.getRowsWritten(), filename);
 
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             System.out.println("Error writing to file: " + e.getMessage());
         }
     }
 
+    public static void handleExportTransportsToSnapshot(TransportService service) {
+        String filename = consoleHelper.readLine(
+                "Snapshot filename to write (e.g. transports.snap): "
+        ).trim();
+
+        if (filename.isEmpty()) {
+            System.out.println("Filename cannot be empty.");
+            return;
+        }
+
+        if (service.countAllTransports() == 0) {
+            System.out.println("No registered transports.");
+            System.out.println("No transports to write to snapshot.");
+            return;
+        }
+
+        Path path = Path.of(filename);
+        try {
+            TransportSnapshotWriter writer = TransportSnapshotWriter.open(path);
+            try {
+                service.exportAll(writer::write);
+            } catch (RuntimeException e) {
+                writer.abort();
+                throw e;
+            }
+            writer.close();
+
+            System.out.printf("Successfully wrote %d transports to snapshot '%s' (%d bytes).%n",
+                    writer.getRowsWritten(), filename, Files.size(path));
+
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Error writing to snapshot: " + e.getMessage());
+        }
+    }
+
+    public static void handleShowSnapshotRevenueForPeriod() {
+        String filename = consoleHelper.readLine(
+                "Snapshot filename to read (e.g. transports.snap): "
+        ).trim();
+
+        if (filename.isEmpty()) {
+            System.out.println("Filename cannot be empty.");
+            return;
+        }
+
+        Path path = Path.of(filename);
+        if (!Files.exists(path)) {
+            System.out.println("File '" + filename + "' does not exist.");
+            return;
+        }
+
+        String companyName = consoleHelper.readLine("Company name: ").trim();
+
+        LocalDateTime from = consoleHelper.readDateTime(
+                "Start date and time (format 2025-01-01T00:00): "
+        );
+
+        LocalDateTime to = consoleHelper.readDateTime(
+                "End date and time (format 2025-12-31T23:59): "
+        );
+
+        try (TransportSnapshotReader reader = TransportSnapshotReader.open(path)) {
+            BigDecimal revenue = reader.sumPaidRevenueForPeriod(companyName, from, to);
+
+            System.out.println("=== Report: company revenue for period (snapshot) ===");
+            System.out.printf("Company: %s%n", companyName);
+            System.out.printf("Period: from %s to %s%n", from, to);
+            System.out.printf("Total revenue (paid transports only): %s%n", revenue);
+            System.out.printf("Blocks scanned: %d of %d (%d transports in snapshot)%n",
+                    reader.countBlocksForPeriod(from, to),
+                    reader.getBlockCount(),
+                    reader.getRowCount()
+            );
+
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Error reading from snapshot: " + e.getMessage());
+        }
+    }
+
     public static void handleShowTransportsFromFile() {
         String filename = consoleHelper.readLine(
                 "Filename to read (e.g. transports.txt): "
@@ -311,72 +400,46 @@ public class TransportsHandler {
             return;
         }
 
-        File file = new File(filename);
-        if (!file.exists()) {
+        Path path = Path.of(filename);
+        if (!Files.exists(path)) {
             System.out.println("File '" + filename + "' does not exist.");
             return;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String header = reader.readLine();
-
-            if (header == null) {
+        try (TransportFileReader reader = TransportFileReader.open(path)) {
+            if (reader.isEmpty()) {
                 System.out.println("The file is empty.");
                 return;
             }
 
-            String line;
             int count = 0;
 
             System.out.println("Transports read from file:");
-            while ((line = reader.readLine()) != null) {
-                if (line.isBlank()) continue;
-
-                String[] parts = line.split(";", -1);
-                if (parts.length < 13) {
-                    System.out.println("Skipping invalid line: " + line);
-                    continue;
-                }
+            for (TransportFileRecord record : reader) {
+                System.out.printf(
+                        "[%d] %s -> %s, client: %s, price: %s, status: %s, company: %s, vehicle: %s, driver: %s, departure: %s, arrival: %s, cargo: %s, weight: %s%n",
+                        record.id(),
+                        record.fromLocation(),
+                        record.toLocation(),
+                        record.client(),
+                        record.price(),
+                        record.paid() ? "PAID" : "UNPAID",
+                        record.company(),
+                        record.vehicle(),
+                        record.driver(),
+                        record.departure() == null ? "" : record.departure(),
+                        record.arrival() == null ? "" : record.arrival(),
+                        record.cargoDescription().isEmpty() ? "N/A" : record.cargoDescription(),
+                        record.cargoWeight() == null ? "N/A" : record.cargoWeight()
+                );
+                count++;
+            }
 
-                String idStr = parts[0];
-                String company = parts[1];
-                String client = parts[2];
-                String vehicle = parts[3];
-                String driver = parts[4];
-                String from = parts[5];
-                String to = parts[6];
-                String departure = parts[7];
-                String arrival = parts[8];
-                String priceStr = parts[9];
-                String paidStr = parts[10];
-                String cargoDescription = parts[11];
-                String cargoWeight = parts[12];
-
-                try {
-                    long id = Long.parseLong(idStr);
-                    BigDecimal price = new BigDecimal(priceStr);
-                    boolean paid = Boolean.parseBoolean(paidStr);
-                    String paidLabel = paid ? "PAID" : "UNPAID";
-
-                    System.out.printf(
-                            "[%d] %s -> %s, client: %s, price: %s, status: %s, company: %s, vehicle: %s, driver: %s, departure: %s, arrival: %s, cargo: %s, weight: %s%n",
-                            id,
-                            from,
-                            to,
-                            client,
-                            price,
-                            paidLabel,
-                            company,
-                            vehicle,
-                            driver,
-                            departure,
-                            arrival,
-                            cargoDescription.isEmpty() ? "N/A" : cargoDescription,
-                            cargoWeight.isEmpty() ? "N/A" : cargoWeight
-                    );
-                    count++;
-                } catch (NumberFormatException ex) {
-                    System.out.println("Skipping line with invalid numbers: " + line);
+            for (TransportFileError error : reader.errors()) {
+                if (error.reason().equals("invalid line")) {
+                    System.out.println("Skipping invalid line " + error.lineNumber() + ": " + error.line());
+                } else {
+                    System.out.println("Skipping line " + error.lineNumber() + " with " + error.reason() + ": " + error.line());
                 }
             }
 
@@ -384,12 +447,12 @@ public class TransportsHandler {
                 System.out.println("No valid transports found in the file.");
             }
 
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             System.out.println("Error reading from file: " + e.getMessage());
         }
     }
 
-    private static boolean checkForRegisteredTransports(List<Transport> transports) {
+    private static boolean checkForRegisteredTransports(List<TransportListRow> transports) {
         if (transports.isEmpty()) {
             System.out.println("No registered transports.");
             return true;
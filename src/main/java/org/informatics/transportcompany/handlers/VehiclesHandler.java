@@ -2,17 +2,23 @@ package org.informatics.transportcompany.handlers;
 
 import org.informatics.transportcompany.ConsoleHelper;
 import org.informatics.transportcompany.model.dto.vehicle.VehicleCreateRequest;
+import org.informatics.transportcompany.model.dto.vehicle.VehicleListRow;
 import org.informatics.transportcompany.model.dto.vehicle.VehicleUpdateRequest;
 import org.informatics.transportcompany.model.entity.Vehicle;
 import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 import org.informatics.transportcompany.service.VehicleService;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 public class VehiclesHandler {
 
     private static final ConsoleHelper consoleHelper = new ConsoleHelper();
+    private static final int BEST_FIT_VEHICLES = 5;
 
     public static void handleCreateVehicle(VehicleService service) {
         long companyId = consoleHelper.readLong("Company ID: ");
@@ -46,21 +52,28 @@ public class VehiclesHandler {
     }
 
     public static void handleListVehicles(VehicleService service) {
-        List<Vehicle> vehicles = service.findAll();
+        Page<VehicleListRow> page = service.findPage(Cursor.start(), ConsoleHelper.PAGE_SIZE);
 
-        if (vehicles.isEmpty()) {
+        if (page.items().isEmpty()) {
             System.out.println("No registered vehicles.");
             return;
         }
 
-        for (Vehicle v : vehicles) {
-            System.out.printf("[%d] %s, type: %s, capacity: %d, company: %s%n",
-                    v.getId(),
-                    v.getRegistrationNumber(),
-                    v.getType(),
-                    v.getCapacity(),
-                    v.getCompany().getName()
-            );
+        while (true) {
+            for (VehicleListRow v : page.items()) {
+                System.out.printf("[%d] %s, type: %s, capacity: %d, company: %s%n",
+                        v.id(),
+                        v.registrationNumber(),
+                        v.type(),
+                        v.capacity(),
+                        v.companyName()
+                );
+            }
+
+            if (!page.hasNext() || !consoleHelper.readNextPage()) {
+                break;
+            }
+            page = service.findPage(page.next(), ConsoleHelper.PAGE_SIZE);
         }
     }
 
@@ -137,4 +150,52 @@ public class VehiclesHandler {
 
         System.out.println("If the vehicle existed, it has been deleted.");
     }
+
+    public static void handleFindBestFitVehicles(VehicleService service) {
+        long companyId = consoleHelper.readLong("Company ID: ");
+
+        System.out.println("Vehicle type (choose one of): " +
+                Arrays.toString(VehicleType.values()));
+
+        String typeStr = consoleHelper.readLine("Type: ").trim().toUpperCase();
+
+        VehicleType type;
+        try {
+            type = VehicleType.valueOf(typeStr);
+        } catch (IllegalArgumentException ex) {
+            System.out.println("Invalid vehicle type. Allowed: " +
+                    Arrays.toString(VehicleType.values()));
+            return;
+        }
+
+        BigDecimal cargoWeight = consoleHelper.readBigDecimal("Cargo weight (kg) or number of passengers: ");
+
+        LocalDateTime from = consoleHelper.readDateTime("Free from (format 2025-11-18T10:00): ");
+
+        LocalDateTime to = consoleHelper.readDateTime("Free until (format 2025-11-18T15:30): ");
+
+        List<VehicleListRow> vehicles;
+
+        try {
+            vehicles = service.findBestFitVehicles(companyId, type, cargoWeight.doubleValue(), from, to, BEST_FIT_VEHICLES);
+        } catch (IllegalArgumentException ex) {
+            System.out.println("Error: " + ex.getMessage());
+            return;
+        }
+
+        if (vehicles.isEmpty()) {
+            System.out.println("No free vehicle of this type can carry this cargo in this period.");
+            return;
+        }
+
+        for (VehicleListRow v : vehicles) {
+            System.out.printf("[%d] %s, type: %s, capacity: %d, company: %s%n",
+                    v.id(),
+                    v.registrationNumber(),
+                    v.type(),
+                    v.capacity(),
+                    v.companyName()
+            );
+        }
+    }
 }
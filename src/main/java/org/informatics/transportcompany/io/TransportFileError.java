@@ -0,0 +1,4 @@
+package org.informatics.transportcompany.io;
+
+public record TransportFileError(long lineNumber, String line, String reason) {
+}
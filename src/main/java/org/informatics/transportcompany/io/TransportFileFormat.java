@@ -0,0 +1,14 @@
+package org.informatics.transportcompany.io;
+
+public final class TransportFileFormat {
+
+    public static final String HEADER =
+            "id;company;client;vehicle;driver;from;to;departure;arrival;price;paid;cargoDescription;cargoWeight";
+
+    public static final char DELIMITER = ';';
+
+    public static final int COLUMN_COUNT = 13;
+
+    private TransportFileFormat() {
+    }
+}
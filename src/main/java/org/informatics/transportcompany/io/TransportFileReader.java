@@ -0,0 +1,500 @@
+package org.informatics.transportcompany.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads files in the {@link TransportFileFormat} layout by memory-mapping line-aligned chunks
+ * and parsing them on several threads. Records come out in file order; lines that cannot be
+ * parsed are collected in {@link #errors()} instead of stopping the read.
+ */
+public class TransportFileReader implements Iterable<TransportFileRecord>, AutoCloseable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    private static final int LINE_OVERHANG = 64 << 10;
+    private static final int MAX_FAST_DECIMAL_DIGITS = 18;
+
+    private final FileChannel channel;
+    private final long size;
+    private final boolean hasHeader;
+    private final long dataStart;
+    private final int chunkSize;
+    private final int chunkCount;
+    private final int parallelism;
+    private final Executor executor;
+
+    private final List<TransportFileError> errors = new ArrayList<>();
+    private boolean iterated;
+
+    private TransportFileReader(FileChannel channel, int chunkSize, int parallelism, Executor executor) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.executor = executor;
+
+        long headerEnd = findHeaderEnd();
+        this.hasHeader = size > 0;
+        this.dataStart = headerEnd;
+        this.chunkCount = (int) ((size - dataStart + chunkSize - 1) / chunkSize);
+    }
+
+    public static TransportFileReader open(Path path) throws IOException {
+        return open(path, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public static TransportFileReader open(Path path, int chunkSize, ForkJoinPool pool) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new TransportFileReader(channel, chunkSize, pool.getParallelism(), pool);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public boolean isEmpty() {
+        return !hasHeader;
+    }
+
+    @Override
+    public Iterator<TransportFileRecord> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("A transport file can only be read once.");
+        }
+        iterated = true;
+        return new ChunkIterator();
+    }
+
+    public Stream<TransportFileRecord> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        );
+    }
+
+    public List<TransportFileError> errors() {
+        return List.copyOf(errors);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long findHeaderEnd() throws IOException {
+        long position = 0;
+        while (position < size) {
+            int length = (int) Math.min(LINE_OVERHANG, size - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += length;
+        }
+        return size;
+    }
+
+    private ChunkResult parseChunk(int index) {
+        try {
+            return new ChunkParser(index).parse();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private record ChunkResult(List<TransportFileRecord> records, List<TransportFileError> errors, long lineCount) {
+    }
+
+    private final class ChunkIterator implements Iterator<TransportFileRecord> {
+
+        private final Deque<CompletableFuture<ChunkResult>> pending = new ArrayDeque<>();
+        private int nextChunk;
+        private long linesBefore = 1;
+        private Iterator<TransportFileRecord> current = Collections.emptyIterator();
+
+        private ChunkIterator() {
+            submitAhead();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                CompletableFuture<ChunkResult> next = pending.poll();
+                if (next == null) {
+                    return false;
+                }
+
+                ChunkResult result = await(next);
+                submitAhead();
+
+                for (TransportFileError error : result.errors()) {
+                    errors.add(new TransportFileError(linesBefore + error.lineNumber(), error.line(), error.reason()));
+                }
+                linesBefore += result.lineCount();
+                current = result.records().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public TransportFileRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private void submitAhead() {
+            while (pending.size() < parallelism * 2 && nextChunk < chunkCount) {
+                int index = nextChunk++;
+                pending.add(CompletableFuture.supplyAsync(() -> parseChunk(index), executor));
+            }
+        }
+
+        private ChunkResult await(CompletableFuture<ChunkResult> future) {
+            try {
+                return future.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+    }
+
+    private final class ChunkParser {
+
+        private final long start;
+        private final long end;
+
+        private final List<TransportFileRecord> records = new ArrayList<>();
+        private final List<TransportFileError> chunkErrors = new ArrayList<>();
+        private final int[] fieldStarts = new int[TransportFileFormat.COLUMN_COUNT];
+        private final int[] fieldEnds = new int[TransportFileFormat.COLUMN_COUNT];
+        private byte[] scratch = new byte[256];
+
+        private MappedByteBuffer buffer;
+        private long base;
+        private int limit;
+
+        private ChunkParser(int index) {
+            this.start = dataStart + (long) index * chunkSize;
+            this.end = Math.min(size, start + chunkSize);
+        }
+
+        private ChunkResult parse() throws IOException {
+            long lineStart = start;
+
+            if (start > dataStart) {
+                map(start - 1);
+                if (buffer.get(0) != '\n') {
+                    long newline = findNewline(start);
+                    if (newline < 0 || newline + 1 >= end) {
+                        return new ChunkResult(records, chunkErrors, 0);
+                    }
+                    lineStart = newline + 1;
+                }
+            } else {
+                map(start);
+            }
+
+            long lineCount = 0;
+            while (lineStart < end) {
+                long newline = findNewline(lineStart);
+                long lineEnd = newline < 0 ? size : newline;
+
+                lineCount++;
+                parseLine(lineStart, lineEnd, lineCount);
+
+                lineStart = lineEnd + 1;
+            }
+
+            return new ChunkResult(records, chunkErrors, lineCount);
+        }
+
+        private void map(long from) throws IOException {
+            map(from, 0);
+        }
+
+        private void map(long from, long minLength) throws IOException {
+            base = from;
+            limit = (int) Math.min(size - from, Math.max((long) chunkSize + LINE_OVERHANG, minLength));
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, limit);
+        }
+
+        private long findNewline(long lineStart) throws IOException {
+            long from = lineStart;
+            while (true) {
+                for (int i = (int) (from - base); i < limit; i++) {
+                    if (buffer.get(i) == '\n') {
+                        return base + i;
+                    }
+                }
+
+                if (base + limit >= size) {
+                    return -1;
+                }
+
+                from = base + limit;
+                map(lineStart, Math.min(Integer.MAX_VALUE, 2 * (from - lineStart)));
+            }
+        }
+
+        private void parseLine(long absoluteStart, long absoluteEnd, long lineNumber) throws IOException {
+            if (absoluteEnd - base > limit) {
+                map(absoluteStart, absoluteEnd - absoluteStart);
+            }
+
+            int from = (int) (absoluteStart - base);
+            int to = (int) (absoluteEnd - base);
+            if (to > from && buffer.get(to - 1) == '\r') {
+                to--;
+            }
+
+            if (isBlank(from, to)) {
+                return;
+            }
+
+            if (!splitFields(from, to)) {
+                chunkErrors.add(new TransportFileError(lineNumber, text(from, to), "invalid line"));
+                return;
+            }
+
+            try {
+                records.add(new TransportFileRecord(
+                        parseLong(0),
+                        text(1),
+                        text(2),
+                        text(3),
+                        text(4),
+                        text(5),
+                        text(6),
+                        parseDateTime(7),
+                        parseDateTime(8),
+                        parseDecimal(9),
+                        parseBoolean(10),
+                        text(11),
+                        parseDouble(12)
+                ));
+            } catch (NumberFormatException ex) {
+                chunkErrors.add(new TransportFileError(lineNumber, text(from, to), "invalid numbers"));
+            } catch (DateTimeException ex) {
+                chunkErrors.add(new TransportFileError(lineNumber, text(from, to), "invalid date-time"));
+            }
+        }
+
+        private boolean isBlank(int from, int to) {
+            for (int i = from; i < to; i++) {
+                byte b = buffer.get(i);
+                if (b != ' ' && b != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean splitFields(int from, int to) {
+            int field = 0;
+            fieldStarts[0] = from;
+
+            for (int i = from; i < to; i++) {
+                if (buffer.get(i) == TransportFileFormat.DELIMITER) {
+                    fieldEnds[field] = i;
+                    if (field == TransportFileFormat.COLUMN_COUNT - 1) {
+                        return true;
+                    }
+                    field++;
+                    fieldStarts[field] = i + 1;
+                }
+            }
+
+            fieldEnds[field] = to;
+            return field == TransportFileFormat.COLUMN_COUNT - 1;
+        }
+
+        private String text(int field) {
+            return text(fieldStarts[field], fieldEnds[field]);
+        }
+
+        private String text(int from, int to) {
+            int length = to - from;
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(from, scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private long parseLong(int field) {
+            int from = fieldStarts[field];
+            int to = fieldEnds[field];
+            if (from == to) {
+                throw new NumberFormatException("empty number");
+            }
+
+            boolean negative = buffer.get(from) == '-';
+            int i = negative ? from + 1 : from;
+            if (i == to) {
+                throw new NumberFormatException("missing digits");
+            }
+
+            long value = 0;
+            try {
+                for (; i < to; i++) {
+                    value = Math.addExact(Math.multiplyExact(value, 10), digit(buffer.get(i)));
+                }
+            } catch (ArithmeticException ex) {
+                throw new NumberFormatException("number out of range");
+            }
+            return negative ? -value : value;
+        }
+
+        private BigDecimal parseDecimal(int field) {
+            int from = fieldStarts[field];
+            int to = fieldEnds[field];
+            if (to - from > MAX_FAST_DECIMAL_DIGITS) {
+                return new BigDecimal(text(field));
+            }
+
+            boolean negative = from < to && buffer.get(from) == '-';
+            int i = negative ? from + 1 : from;
+
+            long unscaled = 0;
+            int scale = 0;
+            int digits = 0;
+            boolean fraction = false;
+            for (; i < to; i++) {
+                byte b = buffer.get(i);
+                if (b == '.' && !fraction) {
+                    fraction = true;
+                    continue;
+                }
+                unscaled = unscaled * 10 + digit(b);
+                digits++;
+                if (fraction) {
+                    scale++;
+                }
+            }
+
+            if (digits == 0) {
+                throw new NumberFormatException("missing digits");
+            }
+            return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+        }
+
+        private boolean parseBoolean(int field) {
+            int from = fieldStarts[field];
+            if (fieldEnds[field] - from != 4) {
+                return false;
+            }
+            return (buffer.get(from) | 0x20) == 't'
+                    && (buffer.get(from + 1) | 0x20) == 'r'
+                    && (buffer.get(from + 2) | 0x20) == 'u'
+                    && (buffer.get(from + 3) | 0x20) == 'e';
+        }
+
+        private Double parseDouble(int field) {
+            if (fieldStarts[field] == fieldEnds[field]) {
+                return null;
+            }
+            return Double.parseDouble(text(field));
+        }
+
+        private LocalDateTime parseDateTime(int field) {
+            int from = fieldStarts[field];
+            int length = fieldEnds[field] - from;
+            if (length == 0) {
+                return null;
+            }
+            if (length < 16
+                    || buffer.get(from + 4) != '-'
+                    || buffer.get(from + 7) != '-'
+                    || buffer.get(from + 10) != 'T'
+                    || buffer.get(from + 13) != ':') {
+                throw new DateTimeException("Unsupported date-time: " + text(field));
+            }
+
+            int second = 0;
+            int nano = 0;
+            if (length > 16) {
+                if (length < 19 || buffer.get(from + 16) != ':') {
+                    throw new DateTimeException("Unsupported date-time: " + text(field));
+                }
+                second = number(from + 17, 2);
+
+                if (length > 19) {
+                    if (buffer.get(from + 19) != '.' || length > 29) {
+                        throw new DateTimeException("Unsupported date-time: " + text(field));
+                    }
+                    int fractionDigits = length - 20;
+                    nano = number(from + 20, fractionDigits);
+                    for (int i = fractionDigits; i < 9; i++) {
+                        nano *= 10;
+                    }
+                }
+            }
+
+            return LocalDateTime.of(
+                    number(from, 4),
+                    number(from + 5, 2),
+                    number(from + 8, 2),
+                    number(from + 11, 2),
+                    number(from + 14, 2),
+                    second,
+                    nano
+            );
+        }
+
+        private int number(int from, int digits) {
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                int d = buffer.get(from + i) - '0';
+                if (d < 0 || d > 9) {
+                    throw new DateTimeException("Invalid digit in date-time.");
+                }
+                value = value * 10 + d;
+            }
+            return value;
+        }
+
+        private static int digit(byte b) {
+            int d = b - '0';
+            if (d < 0 || d > 9) {
+                throw new NumberFormatException("invalid digit '" + (char) b + "'");
+            }
+            return d;
+        }
+    }
+}
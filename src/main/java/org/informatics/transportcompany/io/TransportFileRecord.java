@@ -0,0 +1,21 @@
+package org.informatics.transportcompany.io;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record TransportFileRecord(
+        long id,
+        String company,
+        String client,
+        String vehicle,
+        String driver,
+        String fromLocation,
+        String toLocation,
+        LocalDateTime departure,
+        LocalDateTime arrival,
+        BigDecimal price,
+        boolean paid,
+        String cargoDescription,
+        Double cargoWeight
+) {
+}
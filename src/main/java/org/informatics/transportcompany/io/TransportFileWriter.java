@@ -0,0 +1,93 @@
+package org.informatics.transportcompany.io;
+
+import org.informatics.transportcompany.model.dto.transport.TransportExportRow;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class TransportFileWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer out;
+    private long rowsWritten;
+
+    private TransportFileWriter(Writer out) {
+        this.out = out;
+    }
+
+    public static TransportFileWriter open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        Writer writer = new BufferedWriter(
+                Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE),
+                BUFFER_SIZE
+        );
+
+        writer.write(TransportFileFormat.HEADER);
+        writer.write('\n');
+        return new TransportFileWriter(writer);
+    }
+
+    public void write(TransportExportRow row) {
+        try {
+            out.write(Long.toString(row.id()));
+            out.write(TransportFileFormat.DELIMITER);
+            writeText(row.companyName());
+            out.write(TransportFileFormat.DELIMITER);
+            writeText(row.clientName());
+            out.write(TransportFileFormat.DELIMITER);
+            writeText(row.vehicleRegistrationNumber());
+            out.write(TransportFileFormat.DELIMITER);
+            writeText(row.driverFirstName());
+            out.write(' ');
+            writeText(row.driverLastName());
+            out.write(TransportFileFormat.DELIMITER);
+            writeText(row.fromLocation());
+            out.write(TransportFileFormat.DELIMITER);
+            writeText(row.toLocation());
+            out.write(TransportFileFormat.DELIMITER);
+            writeText(row.departure() == null ? null : row.departure().toString());
+            out.write(TransportFileFormat.DELIMITER);
+            writeText(row.arrival() == null ? null : row.arrival().toString());
+            out.write(TransportFileFormat.DELIMITER);
+            out.write(row.price().toPlainString());
+            out.write(TransportFileFormat.DELIMITER);
+            out.write(row.paid() ? "true" : "false");
+            out.write(TransportFileFormat.DELIMITER);
+            writeText(row.cargoDescription());
+            out.write(TransportFileFormat.DELIMITER);
+            writeText(row.cargoWeight() == null ? null : row.cargoWeight().toString());
+            out.write('\n');
+            rowsWritten++;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value != null) {
+            out.write(value);
+        }
+    }
+}
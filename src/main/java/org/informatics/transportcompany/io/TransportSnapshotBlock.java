@@ -0,0 +1,14 @@
+package org.informatics.transportcompany.io;
+
+record TransportSnapshotBlock(long offset,
+                              int length,
+                              int rowCount,
+                              long minId,
+                              long maxId,
+                              long minDeparture,
+                              long maxDeparture) {
+
+    boolean overlapsDepartures(long from, long to) {
+        return minDeparture <= to && maxDeparture >= from;
+    }
+}
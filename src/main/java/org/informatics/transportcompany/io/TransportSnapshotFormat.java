@@ -0,0 +1,96 @@
+package org.informatics.transportcompany.io;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Layout of the binary columnar transport snapshot.
+ * <p>
+ * A snapshot is a header ({@link #MAGIC}, {@link #VERSION}), a sequence of blocks of up to
+ * {@link #BLOCK_ROWS} rows, a footer with the string dictionary and the block index, and a
+ * trailer holding the footer offset followed by {@link #MAGIC}. Each block stores its row count
+ * and then every column as a length-prefixed byte run, so a reader can skip columns it does not
+ * need. Names and locations are codes into the dictionary (0 means null); the free-text cargo
+ * description is stored inline as its UTF-8 length plus one (0 means null) followed by the bytes.
+ * Timestamps keep the microseconds of the database columns: whole epoch seconds in UTC go in one
+ * column and the microseconds within the second in another, a single byte for whole-second times.
+ * Block index departures are epoch microseconds, prices are longs scaled by {@link #PRICE_SCALE},
+ * and paid flags are packed into bits.
+ */
+public final class TransportSnapshotFormat {
+
+    public static final int MAGIC = 0x54534E50;
+    public static final int VERSION = 3;
+    public static final int BLOCK_ROWS = 4096;
+    public static final int PRICE_SCALE = 2;
+
+    static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+    static final long MICROS_PER_SECOND = 1_000_000;
+    static final int NANOS_PER_MICRO = 1_000;
+
+    static final int COL_ID = 0;
+    static final int COL_COMPANY = 1;
+    static final int COL_CLIENT = 2;
+    static final int COL_VEHICLE = 3;
+    static final int COL_DRIVER_FIRST_NAME = 4;
+    static final int COL_DRIVER_LAST_NAME = 5;
+    static final int COL_FROM = 6;
+    static final int COL_TO = 7;
+    static final int COL_DEPARTURE = 8;
+    static final int COL_ARRIVAL = 9;
+    static final int COL_PRICE = 10;
+    static final int COL_PAID = 11;
+    static final int COL_CARGO_DESCRIPTION = 12;
+    static final int COL_CARGO_WEIGHT = 13;
+    static final int COL_DEPARTURE_MICROS = 14;
+    static final int COL_ARRIVAL_MICROS = 15;
+    static final int COLUMN_COUNT = 16;
+
+    private TransportSnapshotFormat() {
+    }
+
+    static long epochMicros(LocalDateTime dateTime) {
+        return epochMicros(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano() / NANOS_PER_MICRO);
+    }
+
+    static long epochMicros(long epochSecond, long micros) {
+        return Math.addExact(Math.multiplyExact(epochSecond, MICROS_PER_SECOND), micros);
+    }
+
+    static LocalDateTime dateTime(long epochMicros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(epochMicros, MICROS_PER_SECOND),
+                (int) Math.floorMod(epochMicros, MICROS_PER_SECOND) * NANOS_PER_MICRO,
+                ZoneOffset.UTC
+        );
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IllegalStateException("Malformed variable-length number in snapshot.");
+            }
+        }
+    }
+
+    static int readVarInt(ByteBuffer in) {
+        return Math.toIntExact(readVarLong(in));
+    }
+}
@@ -0,0 +1,277 @@
+package org.informatics.transportcompany.io;
+
+import org.informatics.transportcompany.model.dto.transport.TransportExportRow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.informatics.transportcompany.io.TransportSnapshotFormat.*;
+
+/**
+ * Reads snapshots written by {@link TransportSnapshotWriter}. Period queries consult the block
+ * index first and only map blocks whose departure range overlaps the period; revenue scans decode
+ * just the columns they need.
+ */
+public class TransportSnapshotReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final String[] dictionary;
+    private final List<TransportSnapshotBlock> blocks;
+    private final long rowCount;
+
+    private TransportSnapshotReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        long size = channel.size();
+        if (size < 2L * Integer.BYTES + TRAILER_BYTES) {
+            throw new IOException("File is too small to be a transport snapshot.");
+        }
+
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, 2L * Integer.BYTES);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("File is not a transport snapshot.");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported transport snapshot version: " + version);
+        }
+
+        ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_BYTES, TRAILER_BYTES);
+        long footerOffset = trailer.getLong();
+        if (trailer.getInt() != MAGIC || footerOffset < 2L * Integer.BYTES || footerOffset > size - TRAILER_BYTES) {
+            throw new IOException("Transport snapshot is truncated or corrupt.");
+        }
+
+        ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerOffset, size - TRAILER_BYTES - footerOffset);
+
+        int dictionarySize = readVarInt(footer);
+        this.dictionary = new String[dictionarySize + 1];
+        for (int i = 1; i <= dictionarySize; i++) {
+            byte[] bytes = new byte[readVarInt(footer)];
+            footer.get(bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int blockCount = readVarInt(footer);
+        List<TransportSnapshotBlock> index = new ArrayList<>(blockCount);
+        long rows = 0;
+        for (int i = 0; i < blockCount; i++) {
+            TransportSnapshotBlock block = new TransportSnapshotBlock(
+                    footer.getLong(),
+                    footer.getInt(),
+                    footer.getInt(),
+                    footer.getLong(),
+                    footer.getLong(),
+                    footer.getLong(),
+                    footer.getLong()
+            );
+            index.add(block);
+            rows += block.rowCount();
+        }
+        this.blocks = List.copyOf(index);
+        this.rowCount = rows;
+    }
+
+    public static TransportSnapshotReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new TransportSnapshotReader(channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getBlockCount() {
+        return blocks.size();
+    }
+
+    public int countBlocksForPeriod(LocalDateTime from, LocalDateTime to) {
+        long start = epochMicros(from);
+        long end = epochMicros(to);
+
+        int count = 0;
+        for (TransportSnapshotBlock block : blocks) {
+            if (block.overlapsDepartures(start, end)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long forEach(Consumer<TransportExportRow> action) {
+        return scan(Long.MIN_VALUE, Long.MAX_VALUE, action);
+    }
+
+    public long forEachInPeriod(LocalDateTime from, LocalDateTime to, Consumer<TransportExportRow> action) {
+        return scan(epochMicros(from), epochMicros(to), action);
+    }
+
+    public BigDecimal sumPaidRevenueForPeriod(String companyName, LocalDateTime from, LocalDateTime to) {
+        int companyCode = codeOf(companyName);
+        if (companyCode == 0) {
+            return BigDecimal.ZERO.setScale(PRICE_SCALE);
+        }
+
+        long start = epochMicros(from);
+        long end = epochMicros(to);
+        long total = 0;
+
+        for (TransportSnapshotBlock block : blocks) {
+            if (!block.overlapsDepartures(start, end)) {
+                continue;
+            }
+
+            ByteBuffer[] columns = columns(block);
+            ByteBuffer company = columns[COL_COMPANY];
+            ByteBuffer departures = columns[COL_DEPARTURE];
+            ByteBuffer departureMicros = columns[COL_DEPARTURE_MICROS];
+            ByteBuffer prices = columns[COL_PRICE];
+            ByteBuffer paid = columns[COL_PAID];
+
+            long departureSecond = 0;
+            for (int i = 0; i < block.rowCount(); i++) {
+                int code = readVarInt(company);
+                departureSecond += unZigZag(readVarLong(departures));
+                long departure = epochMicros(departureSecond, readVarLong(departureMicros));
+                long price = unZigZag(readVarLong(prices));
+
+                if (code == companyCode
+                        && departure >= start
+                        && departure <= end
+                        && isPaid(paid, i)) {
+                    total = Math.addExact(total, price);
+                }
+            }
+        }
+
+        return BigDecimal.valueOf(total, PRICE_SCALE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long scan(long start, long end, Consumer<TransportExportRow> action) {
+        long matched = 0;
+
+        for (TransportSnapshotBlock block : blocks) {
+            if (!block.overlapsDepartures(start, end)) {
+                continue;
+            }
+
+            ByteBuffer[] columns = columns(block);
+            long id = 0;
+            long departureSecond = 0;
+
+            for (int i = 0; i < block.rowCount(); i++) {
+                id += unZigZag(readVarLong(columns[COL_ID]));
+                String company = string(columns[COL_COMPANY]);
+                String client = string(columns[COL_CLIENT]);
+                String vehicle = string(columns[COL_VEHICLE]);
+                String driverFirstName = string(columns[COL_DRIVER_FIRST_NAME]);
+                String driverLastName = string(columns[COL_DRIVER_LAST_NAME]);
+                String fromLocation = string(columns[COL_FROM]);
+                String toLocation = string(columns[COL_TO]);
+                departureSecond += unZigZag(readVarLong(columns[COL_DEPARTURE]));
+                long arrivalSecond = departureSecond + unZigZag(readVarLong(columns[COL_ARRIVAL]));
+                long departure = epochMicros(departureSecond, readVarLong(columns[COL_DEPARTURE_MICROS]));
+                long arrival = epochMicros(arrivalSecond, readVarLong(columns[COL_ARRIVAL_MICROS]));
+                long price = unZigZag(readVarLong(columns[COL_PRICE]));
+                boolean paid = isPaid(columns[COL_PAID], i);
+                String cargoDescription = text(columns[COL_CARGO_DESCRIPTION]);
+                Double cargoWeight = columns[COL_CARGO_WEIGHT].get() == 0
+                        ? null
+                        : Double.longBitsToDouble(columns[COL_CARGO_WEIGHT].getLong());
+
+                if (departure < start || departure > end) {
+                    continue;
+                }
+
+                action.accept(new TransportExportRow(
+                        id,
+                        company,
+                        client,
+                        vehicle,
+                        driverFirstName,
+                        driverLastName,
+                        fromLocation,
+                        toLocation,
+                        dateTime(departure),
+                        dateTime(arrival),
+                        BigDecimal.valueOf(price, PRICE_SCALE),
+                        paid,
+                        cargoDescription,
+                        cargoWeight
+                ));
+                matched++;
+            }
+        }
+
+        return matched;
+    }
+
+    private ByteBuffer[] columns(TransportSnapshotBlock block) {
+        ByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, block.offset(), block.length());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        if (readVarInt(buffer) != block.rowCount()) {
+            throw new IllegalStateException("Snapshot block at offset " + block.offset() + " is corrupt.");
+        }
+
+        ByteBuffer[] columns = new ByteBuffer[COLUMN_COUNT];
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            int length = readVarInt(buffer);
+            columns[i] = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+        }
+        return columns;
+    }
+
+    private String string(ByteBuffer column) {
+        return dictionary[readVarInt(column)];
+    }
+
+    private static String text(ByteBuffer column) {
+        int length = readVarInt(column);
+        if (length == 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length - 1];
+        column.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int codeOf(String value) {
+        for (int i = 1; i < dictionary.length; i++) {
+            if (dictionary[i].equals(value)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isPaid(ByteBuffer paid, int row) {
+        return (paid.get(row >>> 3) & (1 << (row & 7))) != 0;
+    }
+}
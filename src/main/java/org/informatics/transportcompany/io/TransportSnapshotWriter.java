@@ -0,0 +1,352 @@
+package org.informatics.transportcompany.io;
+
+import org.informatics.transportcompany.model.dto.transport.TransportExportRow;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.informatics.transportcompany.io.TransportSnapshotFormat.*;
+
+/**
+ * Writes transports in the {@link TransportSnapshotFormat} layout. Rows are buffered one block at a
+ * time and only names and locations go through the dictionary, so memory use depends on the number
+ * of distinct names, not on the size of the export. The footer is written by {@link #close()}; a
+ * snapshot that could not be completed is deleted by {@link #abort()} or by a failed close.
+ */
+public class TransportSnapshotWriter implements Closeable {
+
+    private final Path path;
+    private final OutputStream out;
+    private final int blockRows;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+    private final List<TransportSnapshotBlock> blocks = new ArrayList<>();
+    private final List<TransportExportRow> pending = new ArrayList<>();
+
+    private final ByteSink[] columns = new ByteSink[COLUMN_COUNT];
+    private final ByteSink block = new ByteSink();
+
+    private long position;
+    private long rowsWritten;
+    private boolean closed;
+
+    private TransportSnapshotWriter(Path path, OutputStream out, int blockRows) throws IOException {
+        this.path = path;
+        this.out = out;
+        this.blockRows = blockRows;
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            columns[i] = new ByteSink();
+        }
+
+        ByteSink header = new ByteSink();
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        emit(header);
+    }
+
+    public static TransportSnapshotWriter open(Path path) throws IOException {
+        return open(path, BLOCK_ROWS);
+    }
+
+    public static TransportSnapshotWriter open(Path path, int blockRows) throws IOException {
+        if (blockRows <= 0) {
+            throw new IllegalArgumentException("Block size must be positive.");
+        }
+
+        OutputStream out = Files.newOutputStream(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return new TransportSnapshotWriter(path, out, blockRows);
+        } catch (IOException ex) {
+            out.close();
+            Files.deleteIfExists(path);
+            throw ex;
+        }
+    }
+
+    public void write(TransportExportRow row) {
+        if (row.departure() == null || row.arrival() == null || row.price() == null) {
+            throw new IllegalArgumentException("Transport " + row.id() + " has no departure, arrival or price.");
+        }
+        checkPrecision(row, row.departure());
+        checkPrecision(row, row.arrival());
+
+        pending.add(row);
+        rowsWritten++;
+
+        if (pending.size() == blockRows) {
+            try {
+                flushBlock();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try (out) {
+            flushBlock();
+            writeFooter();
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(path);
+            throw ex;
+        }
+    }
+
+    /**
+     * Closes the file without a footer and deletes it, for an export that failed part-way.
+     */
+    public void abort() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            out.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        for (ByteSink column : columns) {
+            column.reset();
+        }
+
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        long minDeparture = Long.MAX_VALUE;
+        long maxDeparture = Long.MIN_VALUE;
+        long previousId = 0;
+        long previousDeparture = 0;
+        int paidBits = 0;
+
+        for (int i = 0; i < pending.size(); i++) {
+            TransportExportRow row = pending.get(i);
+
+            long departureSecond = row.departure().toEpochSecond(ZoneOffset.UTC);
+            long departure = epochMicros(row.departure());
+            minId = Math.min(minId, row.id());
+            maxId = Math.max(maxId, row.id());
+            minDeparture = Math.min(minDeparture, departure);
+            maxDeparture = Math.max(maxDeparture, departure);
+
+            columns[COL_ID].writeVarLong(zigZag(row.id() - previousId));
+            previousId = row.id();
+
+            columns[COL_COMPANY].writeVarLong(code(row.companyName()));
+            columns[COL_CLIENT].writeVarLong(code(row.clientName()));
+            columns[COL_VEHICLE].writeVarLong(code(row.vehicleRegistrationNumber()));
+            columns[COL_DRIVER_FIRST_NAME].writeVarLong(code(row.driverFirstName()));
+            columns[COL_DRIVER_LAST_NAME].writeVarLong(code(row.driverLastName()));
+            columns[COL_FROM].writeVarLong(code(row.fromLocation()));
+            columns[COL_TO].writeVarLong(code(row.toLocation()));
+            columns[COL_CARGO_DESCRIPTION].writeText(row.cargoDescription());
+
+            columns[COL_DEPARTURE].writeVarLong(zigZag(departureSecond - previousDeparture));
+            previousDeparture = departureSecond;
+            columns[COL_ARRIVAL].writeVarLong(zigZag(row.arrival().toEpochSecond(ZoneOffset.UTC) - departureSecond));
+            columns[COL_DEPARTURE_MICROS].writeVarLong(row.departure().getNano() / NANOS_PER_MICRO);
+            columns[COL_ARRIVAL_MICROS].writeVarLong(row.arrival().getNano() / NANOS_PER_MICRO);
+
+            columns[COL_PRICE].writeVarLong(zigZag(scaledPrice(row)));
+
+            if (row.paid()) {
+                paidBits |= 1 << (i & 7);
+            }
+            if ((i & 7) == 7) {
+                columns[COL_PAID].writeByte(paidBits);
+                paidBits = 0;
+            }
+
+            if (row.cargoWeight() == null) {
+                columns[COL_CARGO_WEIGHT].writeByte(0);
+            } else {
+                columns[COL_CARGO_WEIGHT].writeByte(1);
+                columns[COL_CARGO_WEIGHT].writeLong(Double.doubleToLongBits(row.cargoWeight()));
+            }
+        }
+        if ((pending.size() & 7) != 0) {
+            columns[COL_PAID].writeByte(paidBits);
+        }
+
+        block.reset();
+        block.writeVarLong(pending.size());
+        for (ByteSink column : columns) {
+            block.writeVarLong(column.size());
+            block.write(column);
+        }
+
+        blocks.add(new TransportSnapshotBlock(
+                position,
+                block.size(),
+                pending.size(),
+                minId,
+                maxId,
+                minDeparture,
+                maxDeparture
+        ));
+        emit(block);
+        pending.clear();
+    }
+
+    private void writeFooter() throws IOException {
+        long footerOffset = position;
+
+        ByteSink footer = new ByteSink();
+        footer.writeVarLong(dictionary.size());
+        for (String value : dictionary) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            footer.writeVarLong(bytes.length);
+            footer.write(bytes, bytes.length);
+        }
+
+        footer.writeVarLong(blocks.size());
+        for (TransportSnapshotBlock b : blocks) {
+            footer.writeLong(b.offset());
+            footer.writeInt(b.length());
+            footer.writeInt(b.rowCount());
+            footer.writeLong(b.minId());
+            footer.writeLong(b.maxId());
+            footer.writeLong(b.minDeparture());
+            footer.writeLong(b.maxDeparture());
+        }
+
+        footer.writeLong(footerOffset);
+        footer.writeInt(MAGIC);
+        emit(footer);
+    }
+
+    private void emit(ByteSink sink) throws IOException {
+        out.write(sink.bytes, 0, sink.size);
+        position += sink.size;
+    }
+
+    private int code(String value) {
+        if (value == null) {
+            return 0;
+        }
+        return codes.computeIfAbsent(value, v -> {
+            dictionary.add(v);
+            return dictionary.size();
+        });
+    }
+
+    private static void checkPrecision(TransportExportRow row, LocalDateTime dateTime) {
+        if (dateTime.getNano() % NANOS_PER_MICRO != 0) {
+            throw new IllegalArgumentException("Time " + dateTime + " of transport " + row.id()
+                    + " cannot be stored in a snapshot: it is more precise than a microsecond.");
+        }
+    }
+
+    private static long scaledPrice(TransportExportRow row) {
+        try {
+            BigDecimal scaled = row.price().setScale(PRICE_SCALE, RoundingMode.UNNECESSARY);
+            return scaled.unscaledValue().longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Price of transport " + row.id() + " cannot be stored in a snapshot: " + row.price());
+        }
+    }
+
+    private static final class ByteSink {
+
+        private byte[] bytes = new byte[1024];
+        private int size;
+
+        void reset() {
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensure(Integer.BYTES);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            ensure(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeText(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+
+            byte[] text = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(text.length + 1L);
+            write(text, text.length);
+        }
+
+        void write(byte[] source, int length) {
+            ensure(length);
+            System.arraycopy(source, 0, bytes, size, length);
+            size += length;
+        }
+
+        void write(ByteSink other) {
+            write(other.bytes, other.size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.informatics.transportcompany.metrics;
+
+public record HistogramSnapshot(
+        long count,
+        double meanMicros,
+        long p50Micros,
+        long p90Micros,
+        long p99Micros,
+        long p999Micros,
+        long maxMicros
+) {
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.1fus, p50=%dus, p90=%dus, p99=%dus, p99.9=%dus, max=%dus",
+                count, meanMicros, p50Micros, p90Micros, p99Micros, p999Micros, maxMicros);
+    }
+}
@@ -0,0 +1,14 @@
+package org.informatics.transportcompany.metrics;
+
+public record RepositoryMethodStats(
+        String method,
+        long calls,
+        long failures,
+        long rows,
+        long statements,
+        HistogramSnapshot latency
+) {
+    public double totalMillis() {
+        return latency.meanMicros() * latency.count() / 1_000;
+    }
+}
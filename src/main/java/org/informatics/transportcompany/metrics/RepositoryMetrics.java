@@ -0,0 +1,123 @@
+package org.informatics.transportcompany.metrics;
+
+import org.informatics.transportcompany.repository.Page;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Per-method latency, row and SQL statement counts collected by the instrumented repositories.
+ * Rows are the size of the returned collection or page, 0 or 1 for optionals and single results.
+ * Statements are those prepared on the calling thread while the method ran.
+ */
+public class RepositoryMetrics {
+
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    public <T> T record(String method, Supplier<T> call) {
+        return record(method, call, RepositoryMetrics::rowsOf);
+    }
+
+    public <T> T record(String method, Supplier<T> call, ToLongFunction<T> rows) {
+        MethodMetrics metrics = methods.computeIfAbsent(method, m -> new MethodMetrics());
+        long statementsBefore = SqlStatementCounter.currentThreadCount();
+        long start = System.nanoTime();
+
+        try {
+            T result = call.get();
+            metrics.rows.add(rows.applyAsLong(result));
+            return result;
+        } catch (RuntimeException ex) {
+            metrics.failures.increment();
+            throw ex;
+        } finally {
+            metrics.latency.recordNanos(System.nanoTime() - start);
+            metrics.statements.add(SqlStatementCounter.currentThreadCount() - statementsBefore);
+        }
+    }
+
+    public void run(String method, Runnable call) {
+        record(method, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public List<RepositoryMethodStats> snapshot() {
+        return methods.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .sorted(Comparator.comparingDouble(RepositoryMethodStats::totalMillis).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        methods.clear();
+    }
+
+    public void dumpTo(Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path)) {
+            out.write("method;calls;failures;rows;statements;total_ms;mean_us;p50_us;p90_us;p99_us;p999_us;max_us");
+            out.newLine();
+
+            for (RepositoryMethodStats stats : snapshot()) {
+                HistogramSnapshot latency = stats.latency();
+                out.write(String.format("%s;%d;%d;%d;%d;%.3f;%.1f;%d;%d;%d;%d;%d",
+                        stats.method(),
+                        stats.calls(),
+                        stats.failures(),
+                        stats.rows(),
+                        stats.statements(),
+                        stats.totalMillis(),
+                        latency.meanMicros(),
+                        latency.p50Micros(),
+                        latency.p90Micros(),
+                        latency.p99Micros(),
+                        latency.p999Micros(),
+                        latency.maxMicros()
+                ));
+                out.newLine();
+            }
+        }
+    }
+
+    private static long rowsOf(Object result) {
+        return switch (result) {
+            case null -> 0;
+            case Collection<?> collection -> collection.size();
+            case Page<?> page -> page.items().size();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            default -> 1;
+        };
+    }
+
+    private static final class MethodMetrics {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+
+        private RepositoryMethodStats snapshot(String method) {
+            HistogramSnapshot histogram = latency.snapshot();
+            return new RepositoryMethodStats(
+                    method,
+                    histogram.count(),
+                    failures.sum(),
+                    rows.sum(),
+                    statements.sum(),
+                    histogram
+            );
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.informatics.transportcompany.model;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Search keys for free-text locations: trimmed, with runs of whitespace collapsed, accents removed
+ * and lower-cased, so "  Sofia", "SOFIA" and "Sófia" share one key. Letters that have no canonical
+ * decomposition (ł, ø, ß, đ, ...) are folded with the same replacements as PostgreSQL's
+ * {@code unaccent}, which the V5 and V7 migrations use to compute the key in SQL for existing rows.
+ */
+public final class LocationKeys {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /** The entries of {@code unaccent.rules} for Latin letters that NFD leaves intact. */
+    private static final Map<Character, String> FOLDS = Map.ofEntries(
+            Map.entry('Æ', "AE"), Map.entry('æ', "ae"),
+            Map.entry('Ð', "D"), Map.entry('ð', "d"),
+            Map.entry('Đ', "D"), Map.entry('đ', "d"),
+            Map.entry('Ħ', "H"), Map.entry('ħ', "h"),
+            Map.entry('ı', "i"),
+            Map.entry('Ĳ', "IJ"), Map.entry('ĳ', "ij"),
+            Map.entry('ĸ', "q"),
+            Map.entry('Ŀ', "L"), Map.entry('ŀ', "l"),
+            Map.entry('Ł', "L"), Map.entry('ł', "l"),
+            Map.entry('ŉ', "'n"),
+            Map.entry('Œ', "OE"), Map.entry('œ', "oe"),
+            Map.entry('Ø', "O"), Map.entry('ø', "o"),
+            Map.entry('Þ', "TH"), Map.entry('þ', "th"),
+            Map.entry('ß', "ss"),
+            Map.entry('Ŧ', "T"), Map.entry('ŧ', "t")
+    );
+
+    private LocationKeys() {
+    }
+
+    public static String normalize(String location) {
+        if (location == null) {
+            return null;
+        }
+
+        String unmarked = MARKS.matcher(Normalizer.normalize(location.strip(), Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(fold(unmarked)).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String fold(String text) {
+        StringBuilder folded = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement = FOLDS.get(c);
+            if (replacement != null) {
+                if (folded == null) {
+                    folded = new StringBuilder(text.length() + 4).append(text, 0, i);
+                }
+                folded.append(replacement);
+            } else if (folded != null) {
+                folded.append(c);
+            }
+        }
+        return folded != null ? folded.toString() : text;
+    }
+}
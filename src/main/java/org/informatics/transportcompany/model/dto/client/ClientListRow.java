@@ -0,0 +1,10 @@
+package org.informatics.transportcompany.model.dto.client;
+
+public record ClientListRow(
+        long id,
+        String name,
+        String contactDetails,
+        long companyId,
+        String companyName
+) {
+}
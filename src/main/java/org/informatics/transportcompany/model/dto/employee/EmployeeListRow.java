@@ -0,0 +1,16 @@
+package org.informatics.transportcompany.model.dto.employee;
+
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
+
+import java.math.BigDecimal;
+
+public record EmployeeListRow(
+        long id,
+        String firstName,
+        String lastName,
+        EmployeeQualification qualification,
+        BigDecimal salary,
+        long companyId,
+        String companyName
+) {
+}
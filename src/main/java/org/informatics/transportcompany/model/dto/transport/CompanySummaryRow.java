@@ -0,0 +1,12 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+import java.math.BigDecimal;
+
+public record CompanySummaryRow(
+        long companyId,
+        String companyName,
+        boolean paid,
+        long transportCount,
+        BigDecimal revenue
+) {
+}
@@ -0,0 +1,7 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+public record DestinationRow(
+        String locationKey,
+        String location
+) {
+}
@@ -0,0 +1,15 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
+
+import java.math.BigDecimal;
+
+public record DriverRevenueRow(
+        long driverId,
+        String firstName,
+        String lastName,
+        EmployeeQualification qualification,
+        String companyName,
+        BigDecimal revenue
+) {
+}
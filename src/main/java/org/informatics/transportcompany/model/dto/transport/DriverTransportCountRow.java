@@ -0,0 +1,13 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
+
+public record DriverTransportCountRow(
+        long driverId,
+        String firstName,
+        String lastName,
+        EmployeeQualification qualification,
+        String companyName,
+        long transportCount
+) {
+}
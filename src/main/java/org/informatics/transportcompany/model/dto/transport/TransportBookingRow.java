@@ -0,0 +1,11 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+import java.time.LocalDateTime;
+
+public record TransportBookingRow(
+        long transportId,
+        long resourceId,
+        LocalDateTime startsAt,
+        LocalDateTime endsAt
+) {
+}
@@ -0,0 +1,22 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record TransportExportRow(
+        long id,
+        String companyName,
+        String clientName,
+        String vehicleRegistrationNumber,
+        String driverFirstName,
+        String driverLastName,
+        String fromLocation,
+        String toLocation,
+        LocalDateTime departure,
+        LocalDateTime arrival,
+        BigDecimal price,
+        boolean paid,
+        String cargoDescription,
+        Double cargoWeight
+) {
+}
@@ -0,0 +1,19 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record TransportFactRow(
+        long id,
+        long companyId,
+        long clientId,
+        long driverId,
+        long vehicleId,
+        int fromLocationId,
+        int toLocationId,
+        LocalDateTime departure,
+        LocalDateTime arrival,
+        BigDecimal price,
+        boolean paid
+) {
+}
@@ -0,0 +1,4 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+public record TransportImportFailure(int rowNumber, String message) {
+}
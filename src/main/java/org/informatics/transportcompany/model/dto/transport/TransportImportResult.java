@@ -0,0 +1,10 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+import java.util.List;
+
+public record TransportImportResult(int imported, List<TransportImportFailure> failures) {
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
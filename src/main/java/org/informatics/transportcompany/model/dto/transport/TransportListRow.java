@@ -0,0 +1,22 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record TransportListRow(
+        long id,
+        long companyId,
+        long clientId,
+        String clientName,
+        long vehicleId,
+        long driverId,
+        String fromLocation,
+        String toLocation,
+        LocalDateTime departure,
+        LocalDateTime arrival,
+        String cargoDescription,
+        Double cargoWeight,
+        BigDecimal price,
+        boolean paid
+) {
+}
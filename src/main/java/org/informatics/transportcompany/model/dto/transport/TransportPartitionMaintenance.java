@@ -0,0 +1,13 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public record TransportPartitionMaintenance(
+        List<YearMonth> created,
+        List<YearMonth> archived
+) {
+    public static TransportPartitionMaintenance none() {
+        return new TransportPartitionMaintenance(List.of(), List.of());
+    }
+}
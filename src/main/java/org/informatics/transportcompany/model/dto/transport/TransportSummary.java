@@ -0,0 +1,88 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public record TransportSummary(
+        long transportCount,
+        BigDecimal revenue,
+        long paidCount,
+        BigDecimal paidRevenue,
+        long unpaidCount,
+        BigDecimal unpaidRevenue,
+        List<TransportSummaryTotal> byCompany,
+        List<TransportSummaryTotal> byVehicleType
+) {
+    /**
+     * Folds the grouped rows into the summary; companies are ordered by revenue (highest first),
+     * vehicle types by their declaration order.
+     */
+    public static TransportSummary of(List<CompanySummaryRow> companyRows, List<VehicleTypeSummaryRow> vehicleTypeRows) {
+        Totals all = new Totals("all");
+        Map<Long, Totals> companies = new LinkedHashMap<>();
+
+        for (CompanySummaryRow row : companyRows) {
+            all.add(row.paid(), row.transportCount(), row.revenue());
+            companies.computeIfAbsent(row.companyId(), id -> new Totals(row.companyName()))
+                    .add(row.paid(), row.transportCount(), row.revenue());
+        }
+
+        Map<String, Totals> vehicleTypes = new LinkedHashMap<>();
+        vehicleTypeRows.stream()
+                .sorted(Comparator.comparing(VehicleTypeSummaryRow::vehicleType))
+                .forEach(row -> vehicleTypes.computeIfAbsent(row.vehicleType().name(), Totals::new)
+                        .add(row.paid(), row.transportCount(), row.revenue()));
+
+        return new TransportSummary(
+                all.paidCount + all.unpaidCount,
+                all.paidRevenue.add(all.unpaidRevenue),
+                all.paidCount,
+                all.paidRevenue,
+                all.unpaidCount,
+                all.unpaidRevenue,
+                companies.values().stream()
+                        .map(Totals::toTotal)
+                        .filter(Objects::nonNull)
+                        .sorted(Comparator.comparing(TransportSummaryTotal::revenue).reversed())
+                        .toList(),
+                vehicleTypes.values().stream()
+                        .map(Totals::toTotal)
+                        .filter(Objects::nonNull)
+                        .toList()
+        );
+    }
+
+    private static final class Totals {
+        private final String name;
+        private long paidCount;
+        private BigDecimal paidRevenue = BigDecimal.ZERO;
+        private long unpaidCount;
+        private BigDecimal unpaidRevenue = BigDecimal.ZERO;
+
+        private Totals(String name) {
+            this.name = name;
+        }
+
+        private void add(boolean paid, long transports, BigDecimal revenue) {
+            if (paid) {
+                paidCount += transports;
+                paidRevenue = paidRevenue.add(revenue);
+            } else {
+                unpaidCount += transports;
+                unpaidRevenue = unpaidRevenue.add(revenue);
+            }
+        }
+
+        private TransportSummaryTotal toTotal() {
+            long transports = paidCount + unpaidCount;
+            if (transports == 0) {
+                return null;
+            }
+            return new TransportSummaryTotal(name, transports, paidRevenue.add(unpaidRevenue), paidCount, paidRevenue);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+import java.math.BigDecimal;
+
+public record TransportSummaryTotal(
+        String name,
+        long transportCount,
+        BigDecimal revenue,
+        long paidCount,
+        BigDecimal paidRevenue
+) {
+}
@@ -0,0 +1,13 @@
+package org.informatics.transportcompany.model.dto.transport;
+
+import org.informatics.transportcompany.model.enums.VehicleType;
+
+import java.math.BigDecimal;
+
+public record VehicleTypeSummaryRow(
+        VehicleType vehicleType,
+        boolean paid,
+        long transportCount,
+        BigDecimal revenue
+) {
+}
@@ -0,0 +1,8 @@
+package org.informatics.transportcompany.model.dto.transportCompany;
+
+public record CompanyListRow(
+        long id,
+        String name,
+        String address
+) {
+}
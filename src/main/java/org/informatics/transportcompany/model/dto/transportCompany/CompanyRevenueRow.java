@@ -0,0 +1,11 @@
+package org.informatics.transportcompany.model.dto.transportCompany;
+
+import java.math.BigDecimal;
+
+public record CompanyRevenueRow(
+        long companyId,
+        String companyName,
+        String companyAddress,
+        BigDecimal revenue
+) {
+}
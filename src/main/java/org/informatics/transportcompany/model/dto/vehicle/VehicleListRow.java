@@ -0,0 +1,13 @@
+package org.informatics.transportcompany.model.dto.vehicle;
+
+import org.informatics.transportcompany.model.enums.VehicleType;
+
+public record VehicleListRow(
+        long id,
+        String registrationNumber,
+        VehicleType type,
+        int capacity,
+        long companyId,
+        String companyName
+) {
+}
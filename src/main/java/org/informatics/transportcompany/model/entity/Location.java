@@ -0,0 +1,44 @@
+package org.informatics.transportcompany.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.informatics.transportcompany.model.LocationKeys;
+
+/**
+ * One distinct location spelling. Transports reference locations by id instead of repeating the
+ * text on every row; {@code locationKey} is {@link LocationKeys#normalize} of the name.
+ */
+@Entity
+@Immutable
+@Table(name = "locations", indexes = @Index(name = "idx_locations_key", columnList = "locationKey"))
+@NoArgsConstructor
+@Getter
+public class Location {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @NotBlank(message = "Location is required.")
+    @Size(max = 255, message = "Location cannot be longer than 255 characters.")
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    @Column(nullable = false)
+    private String locationKey;
+
+    public Location(String name) {
+        this.name = name;
+        this.locationKey = LocationKeys.normalize(name);
+    }
+}
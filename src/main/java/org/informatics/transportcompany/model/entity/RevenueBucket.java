@@ -0,0 +1,57 @@
+package org.informatics.transportcompany.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Revenue and number of transports for one company, driver, departure day and payment status.
+ * Kept up to date by the transport repository in the same transaction as the transport rows.
+ */
+@Entity
+@Table(
+        name = "revenue_buckets",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_revenue_buckets_key",
+                columnNames = {"company_id", "driver_id", "bucket_day", "paid"}
+        ),
+        indexes = @Index(name = "idx_revenue_buckets_company_day", columnList = "company_id, bucket_day")
+)
+@NoArgsConstructor
+@Getter
+@Setter
+public class RevenueBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "company_id", nullable = false)
+    private long companyId;
+
+    @Column(name = "driver_id", nullable = false)
+    private long driverId;
+
+    @Column(name = "bucket_day", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private boolean paid;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Column(nullable = false)
+    private long transportCount;
+}
@@ -6,10 +6,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
@@ -21,14 +22,26 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transports")
+@Table(
+        name = "transports",
+        indexes = {
+                @Index(name = "idx_transports_company", columnList = "company_id"),
+                @Index(name = "idx_transports_client", columnList = "client_id"),
+                @Index(name = "idx_transports_vehicle", columnList = "vehicle_id"),
+                @Index(name = "idx_transports_driver", columnList = "driver_id"),
+                // Partial (where paid) and covering price in the PostgreSQL migration.
+                @Index(name = "idx_transports_paid_company_departure", columnList = "company_id, departureDateTime"),
+                @Index(name = "idx_transports_to_location", columnList = "to_location_id, departureDateTime")
+        }
+)
 @NoArgsConstructor
 @Getter
 @Setter
 public class Transport {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transports_seq")
+    @SequenceGenerator(name = "transports_seq", sequenceName = "transports_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Transport must be associated with a transport company.")
@@ -51,15 +64,15 @@ public class Transport {
     @JoinColumn(name = "driver_id")
     private Employee driver;
 
-    @NotBlank(message = "Departure address is required.")
-    @Size(max = 255, message = "Departure address cannot be longer than 255 characters.")
-    @Column(nullable = false)
-    private String fromLocation;
+    @NotNull(message = "Departure address is required.")
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "from_location_id")
+    private Location fromLocation;
 
-    @NotBlank(message = "Arrival address is required.")
-    @Size(max = 255, message = "Arrival address cannot be longer than 255 characters.")
-    @Column(nullable = false)
-    private String toLocation;
+    @NotNull(message = "Arrival address is required.")
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "to_location_id")
+    private Location toLocation;
 
     @NotNull(message = "Departure date and time are required.")
     @Column(nullable = false)
@@ -0,0 +1,58 @@
+package org.informatics.transportcompany.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.informatics.transportcompany.model.enums.BookingResource;
+
+import java.time.LocalDateTime;
+
+/**
+ * The time a vehicle or driver is taken by one transport, from departure until arrival. Written by
+ * the transport repository in the same transaction as the transport; on PostgreSQL an exclusion
+ * constraint rejects overlapping bookings of the same resource.
+ */
+@Entity
+@Table(
+        name = "transport_bookings",
+        indexes = {
+                @Index(name = "idx_transport_bookings_resource", columnList = "resource, resource_id, startsAt"),
+                @Index(name = "idx_transport_bookings_transport", columnList = "transport_id")
+        }
+)
+@NoArgsConstructor
+@Getter
+@Setter
+public class TransportBooking {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transport_bookings_seq")
+    @SequenceGenerator(name = "transport_bookings_seq", sequenceName = "transport_bookings_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "transport_id", nullable = false)
+    private long transportId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingResource resource;
+
+    @Column(name = "resource_id", nullable = false)
+    private long resourceId;
+
+    @Column(nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(nullable = false)
+    private LocalDateTime endsAt;
+}
@@ -0,0 +1,6 @@
+package org.informatics.transportcompany.model.enums;
+
+public enum BookingResource {
+    VEHICLE,
+    DRIVER
+}
@@ -0,0 +1,13 @@
+package org.informatics.transportcompany.repository;
+
+/**
+ * Position in an id-ordered listing: the next page starts after {@link #lastId()}.
+ */
+public record Cursor(long lastId) {
+
+    private static final Cursor START = new Cursor(0);
+
+    public static Cursor start() {
+        return START;
+    }
+}
@@ -0,0 +1,33 @@
+package org.informatics.transportcompany.repository;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * One page of a keyset-paginated listing. {@link #next()} is {@code null} on the last page.
+ */
+public record Page<T>(List<T> items, Cursor next) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code limit + 1}; the extra row only
+     * signals that another page exists and is not returned.
+     */
+    public static <T> Page<T> of(List<T> rows, int limit, ToLongFunction<T> idOf) {
+        if (rows.size() <= limit) {
+            return new Page<>(List.copyOf(rows), null);
+        }
+
+        List<T> items = List.copyOf(rows.subList(0, limit));
+        return new Page<>(items, new Cursor(idOf.applyAsLong(items.getLast())));
+    }
+
+    public static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package org.informatics.transportcompany.repository.client;
 
+import org.informatics.transportcompany.model.dto.client.ClientListRow;
 import org.informatics.transportcompany.model.entity.Client;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ClientRepository {
 
@@ -13,7 +18,15 @@ public interface ClientRepository {
 
     Optional<Client> findById(long id);
 
+    boolean existsById(long id);
+
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    Client getReference(long id);
+
     List<Client> findAll();
 
+    Page<ClientListRow> findPage(Cursor after, int limit);
+
     void deleteById(long id);
 }
@@ -1,56 +1,110 @@
 package org.informatics.transportcompany.repository.client;
 
+import jakarta.persistence.criteria.CompoundSelection;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.Cache;
 import org.hibernate.Hibernate;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
 import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.config.UnitOfWork;
+import org.informatics.transportcompany.model.dto.client.ClientListRow;
 import org.informatics.transportcompany.model.entity.Client;
-
+import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class ClientRepositoryImpl implements ClientRepository {
 
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
     @Override
     public Client create(Client client) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                session.persist(client);
-                tx.commit();
-                return client;
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
-            }
-        }
+        return UnitOfWork.write(session -> {
+            session.persist(client);
+            return client;
+        });
     }
 
     @Override
     public Client update(Client client) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                client = session.merge(client);
+        return UnitOfWork.write(session -> {
+            Client merged = session.merge(client);
+
+            Hibernate.initialize(merged.getCompany());
 
+            return merged;
+        });
+    }
+
+    @Override
+    public Optional<Client> findById(long id) {
+        return UnitOfWork.read(session -> {
+            Client client = session.find(Client.class, id);
+
+            if (client != null) {
                 Hibernate.initialize(client.getCompany());
+            }
 
-                tx.commit();
-                return client;
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
+            return Optional.ofNullable(client);
+        });
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return UnitOfWork.read(session -> session.find(Client.class, id) != null);
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        Cache cache = HibernateUtil.getSessionFactory().getCache();
+        Set<Long> existing = new HashSet<>();
+        List<Long> uncached = new ArrayList<>();
+
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (cache.containsEntity(Client.class, id)) {
+                existing.add(id);
+            } else {
+                uncached.add(id);
             }
         }
+
+        return UnitOfWork.read(session -> {
+            for (int from = 0; from < uncached.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+                List<Long> chunk = uncached.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, uncached.size()));
+
+                CriteriaBuilder cb = session.getCriteriaBuilder();
+                CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+
+                Root<Client> root = cq.from(Client.class);
+                cq.select(root.get("id"))
+                        .where(root.get("id").in(chunk));
+
+                existing.addAll(session.createQuery(cq).getResultList());
+            }
+
+            return existing;
+        });
     }
 
     @Override
-    public Optional<Client> findById(long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+    public Client getReference(long id) {
+        return UnitOfWork.currentSession().getReference(Client.class, id);
+    }
+
+    @Override
+    public List<Client> findAll() {
+        return UnitOfWork.read(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
             CriteriaQuery<Client> cq = cb.createQuery(Client.class);
 
@@ -58,43 +112,52 @@ public class ClientRepositoryImpl implements ClientRepository {
             root.fetch("company", JoinType.INNER);
 
             cq.select(root)
-                    .where(cb.equal(root.get("id"), id));
+                    .orderBy(cb.asc(root.get("id")));
 
-            List<Client> result = session.createQuery(cq).getResultList();
-            return result.isEmpty() ? Optional.empty() : Optional.of(result.getFirst());
-        }
+            return session.createQuery(cq).getResultList();
+        });
     }
 
     @Override
-    public List<Client> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+    public Page<ClientListRow> findPage(Cursor after, int limit) {
+        Page.checkLimit(limit);
+
+        return UnitOfWork.readOnly(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<Client> cq = cb.createQuery(Client.class);
+            CriteriaQuery<ClientListRow> cq = cb.createQuery(ClientListRow.class);
 
             Root<Client> root = cq.from(Client.class);
-            root.fetch("company", JoinType.INNER);
 
-            cq.select(root)
+            cq.select(listRow(cb, root))
+                    .where(cb.greaterThan(root.get("id"), after.lastId()))
                     .orderBy(cb.asc(root.get("id")));
 
-            return session.createQuery(cq).getResultList();
-        }
+            List<ClientListRow> rows = session.createQuery(cq)
+                    .setMaxResults(limit + 1)
+                    .getResultList();
+
+            return Page.of(rows, limit, ClientListRow::id);
+        });
     }
 
     @Override
     public void deleteById(long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                Client client = session.find(Client.class, id);
-                if (client != null) {
-                    session.remove(client);
-                }
-                tx.commit();
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
+        UnitOfWork.execute(session -> {
+            Client client = session.find(Client.class, id);
+            if (client != null) {
+                session.remove(client);
             }
-        }
+        });
+    }
+
+    private static CompoundSelection<ClientListRow> listRow(CriteriaBuilder cb, Root<Client> root) {
+        Join<Client, TransportCompany> company = root.join("company");
+
+        return cb.construct(ClientListRow.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("contactDetails"),
+                company.get("id"),
+                company.get("name"));
     }
 }
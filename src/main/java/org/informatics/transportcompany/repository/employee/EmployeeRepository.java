@@ -1,10 +1,15 @@
 package org.informatics.transportcompany.repository.employee;
 
+import org.informatics.transportcompany.model.dto.employee.EmployeeListRow;
 import org.informatics.transportcompany.model.entity.Employee;
 import org.informatics.transportcompany.model.enums.EmployeeQualification;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface EmployeeRepository {
 
@@ -14,13 +19,27 @@ public interface EmployeeRepository {
 
     Optional<Employee> findById(long id);
 
+    boolean existsById(long id);
+
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    Employee getReference(long id);
+
     List<Employee> findAll();
 
-    List<Employee> findAllOrderByQualificationThenSalary();
+    Page<EmployeeListRow> findPage(Cursor after, int limit);
+
+    List<EmployeeListRow> findAllOrderByQualificationThenSalary();
+
+    List<EmployeeListRow> findAllOrderBySalaryDesc();
+
+    Page<EmployeeListRow> findPageOrderByQualificationThenSalary(Cursor after, int limit);
+
+    Page<EmployeeListRow> findPageOrderBySalaryDesc(Cursor after, int limit);
 
-    List<Employee> findAllOrderBySalaryDesc();
+    List<EmployeeListRow> findByQualificationOrderBySalaryDesc(EmployeeQualification qualification);
 
-    List<Employee> findByQualificationOrderBySalaryDesc(EmployeeQualification qualification);
+    List<EmployeeListRow> findByCompanyAndQualificationOrderBySalaryDesc(long companyId, EmployeeQualification qualification);
 
     void deleteById(long id);
 }
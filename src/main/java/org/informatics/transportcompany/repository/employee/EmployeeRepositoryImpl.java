@@ -1,74 +1,114 @@
 package org.informatics.transportcompany.repository.employee;
 
+import jakarta.persistence.criteria.CompoundSelection;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.Cache;
 import org.hibernate.Hibernate;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
 import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.config.UnitOfWork;
+import org.informatics.transportcompany.model.dto.employee.EmployeeListRow;
 import org.informatics.transportcompany.model.entity.Employee;
+import org.informatics.transportcompany.model.entity.TransportCompany;
 import org.informatics.transportcompany.model.enums.EmployeeQualification;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class EmployeeRepositoryImpl implements EmployeeRepository {
 
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
     @Override
     public Employee create(Employee employee) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                session.persist(employee);
-                tx.commit();
-                return employee;
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
-            }
-        }
+        return UnitOfWork.write(session -> {
+            session.persist(employee);
+            return employee;
+        });
     }
 
     @Override
     public Employee update(Employee employee) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                Employee merged = session.merge(employee);
-
-                Hibernate.initialize(merged.getCompany());
-
-                tx.commit();
-                return merged;
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
-            }
-        }
+        return UnitOfWork.write(session -> {
+            Employee merged = session.merge(employee);
+
+            Hibernate.initialize(merged.getCompany());
+
+            return merged;
+        });
     }
 
     @Override
     public Optional<Employee> findById(long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<Employee> cq = cb.createQuery(Employee.class);
+        return UnitOfWork.read(session -> {
+            Employee employee = session.find(Employee.class, id);
 
-            Root<Employee> root = cq.from(Employee.class);
-            root.fetch("company", JoinType.INNER);
+            if (employee != null) {
+                Hibernate.initialize(employee.getCompany());
+            }
 
-            cq.select(root)
-                    .where(cb.equal(root.get("id"), id));
+            return Optional.ofNullable(employee);
+        });
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return UnitOfWork.read(session -> session.find(Employee.class, id) != null);
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        Cache cache = HibernateUtil.getSessionFactory().getCache();
+        Set<Long> existing = new HashSet<>();
+        List<Long> uncached = new ArrayList<>();
 
-            List<Employee> result = session.createQuery(cq).getResultList();
-            return result.isEmpty() ? Optional.empty() : Optional.of(result.getFirst());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (cache.containsEntity(Employee.class, id)) {
+                existing.add(id);
+            } else {
+                uncached.add(id);
+            }
         }
+
+        return UnitOfWork.read(session -> {
+            for (int from = 0; from < uncached.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+                List<Long> chunk = uncached.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, uncached.size()));
+
+                CriteriaBuilder cb = session.getCriteriaBuilder();
+                CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+
+                Root<Employee> root = cq.from(Employee.class);
+                cq.select(root.get("id"))
+                        .where(root.get("id").in(chunk));
+
+                existing.addAll(session.createQuery(cq).getResultList());
+            }
+
+            return existing;
+        });
+    }
+
+    @Override
+    public Employee getReference(long id) {
+        return UnitOfWork.currentSession().getReference(Employee.class, id);
     }
 
     @Override
     public List<Employee> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+        return UnitOfWork.read(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
             CriteriaQuery<Employee> cq = cb.createQuery(Employee.class);
 
@@ -78,19 +118,40 @@ public class EmployeeRepositoryImpl implements EmployeeRepository {
             cq.select(root);
 
             return session.createQuery(cq).getResultList();
-        }
+        });
     }
 
     @Override
-    public List<Employee> findAllOrderByQualificationThenSalary() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+    public Page<EmployeeListRow> findPage(Cursor after, int limit) {
+        Page.checkLimit(limit);
+
+        return UnitOfWork.readOnly(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<Employee> cq = cb.createQuery(Employee.class);
+            CriteriaQuery<EmployeeListRow> cq = cb.createQuery(EmployeeListRow.class);
 
             Root<Employee> root = cq.from(Employee.class);
-            root.fetch("company", JoinType.INNER);
 
-            cq.select(root)
+            cq.select(listRow(cb, root))
+                    .where(cb.greaterThan(root.get("id"), after.lastId()))
+                    .orderBy(cb.asc(root.get("id")));
+
+            List<EmployeeListRow> rows = session.createQuery(cq)
+                    .setMaxResults(limit + 1)
+                    .getResultList();
+
+            return Page.of(rows, limit, EmployeeListRow::id);
+        });
+    }
+
+    @Override
+    public List<EmployeeListRow> findAllOrderByQualificationThenSalary() {
+        return UnitOfWork.readOnly(session -> {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<EmployeeListRow> cq = cb.createQuery(EmployeeListRow.class);
+
+            Root<Employee> root = cq.from(Employee.class);
+
+            cq.select(listRow(cb, root))
                     .orderBy(
                             cb.asc(root.get("qualification")),
                             cb.desc(root.get("salary")),
@@ -99,19 +160,18 @@ public class EmployeeRepositoryImpl implements EmployeeRepository {
                     );
 
             return session.createQuery(cq).getResultList();
-        }
+        });
     }
 
     @Override
-    public List<Employee> findAllOrderBySalaryDesc() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+    public List<EmployeeListRow> findAllOrderBySalaryDesc() {
+        return UnitOfWork.readOnly(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<Employee> cq = cb.createQuery(Employee.class);
+            CriteriaQuery<EmployeeListRow> cq = cb.createQuery(EmployeeListRow.class);
 
             Root<Employee> root = cq.from(Employee.class);
-            root.fetch("company", JoinType.INNER);
 
-            cq.select(root)
+            cq.select(listRow(cb, root))
                     .orderBy(
                             cb.desc(root.get("salary")),
                             cb.asc(root.get("lastName")),
@@ -119,19 +179,85 @@ public class EmployeeRepositoryImpl implements EmployeeRepository {
                     );
 
             return session.createQuery(cq).getResultList();
-        }
+        });
     }
 
     @Override
-    public List<Employee> findByQualificationOrderBySalaryDesc(EmployeeQualification qualification) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+    public Page<EmployeeListRow> findPageOrderByQualificationThenSalary(Cursor after, int limit) {
+        Page.checkLimit(limit);
+
+        return UnitOfWork.readOnly(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<Employee> cq = cb.createQuery(Employee.class);
+            CriteriaQuery<EmployeeListRow> cq = cb.createQuery(EmployeeListRow.class);
 
             Root<Employee> root = cq.from(Employee.class);
-            root.fetch("company", JoinType.INNER);
+            Expression<EmployeeQualification> qualification = root.get("qualification");
+            Expression<BigDecimal> salary = root.get("salary");
+            Expression<Long> id = root.get("id");
+
+            cq.select(listRow(cb, root))
+                    .orderBy(cb.asc(qualification), cb.desc(salary), cb.asc(id));
+
+            if (after.lastId() > 0) {
+                Object[] last = cursorRow(session, "select e.qualification, e.salary from Employee e where e.id = :id", after);
+                EmployeeQualification lastQualification = (EmployeeQualification) last[0];
+                BigDecimal lastSalary = (BigDecimal) last[1];
+
+                cq.where(cb.or(
+                        cb.greaterThan(qualification, lastQualification),
+                        cb.and(cb.equal(qualification, lastQualification), cb.lessThan(salary, lastSalary)),
+                        cb.and(cb.equal(qualification, lastQualification), cb.equal(salary, lastSalary),
+                                cb.greaterThan(id, after.lastId()))));
+            }
+
+            List<EmployeeListRow> rows = session.createQuery(cq)
+                    .setMaxResults(limit + 1)
+                    .getResultList();
+
+            return Page.of(rows, limit, EmployeeListRow::id);
+        });
+    }
+
+    @Override
+    public Page<EmployeeListRow> findPageOrderBySalaryDesc(Cursor after, int limit) {
+        Page.checkLimit(limit);
+
+        return UnitOfWork.readOnly(session -> {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<EmployeeListRow> cq = cb.createQuery(EmployeeListRow.class);
+
+            Root<Employee> root = cq.from(Employee.class);
+            Expression<BigDecimal> salary = root.get("salary");
+            Expression<Long> id = root.get("id");
+
+            cq.select(listRow(cb, root))
+                    .orderBy(cb.desc(salary), cb.asc(id));
+
+            if (after.lastId() > 0) {
+                BigDecimal lastSalary = (BigDecimal) cursorRow(session, "select e.salary from Employee e where e.id = :id", after)[0];
+
+                cq.where(cb.or(
+                        cb.lessThan(salary, lastSalary),
+                        cb.and(cb.equal(salary, lastSalary), cb.greaterThan(id, after.lastId()))));
+            }
+
+            List<EmployeeListRow> rows = session.createQuery(cq)
+                    .setMaxResults(limit + 1)
+                    .getResultList();
+
+            return Page.of(rows, limit, EmployeeListRow::id);
+        });
+    }
+
+    @Override
+    public List<EmployeeListRow> findByQualificationOrderBySalaryDesc(EmployeeQualification qualification) {
+        return UnitOfWork.readOnly(session -> {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<EmployeeListRow> cq = cb.createQuery(EmployeeListRow.class);
 
-            cq.select(root)
+            Root<Employee> root = cq.from(Employee.class);
+
+            cq.select(listRow(cb, root))
                     .where(cb.equal(root.get("qualification"), qualification))
                     .orderBy(
                             cb.desc(root.get("salary")),
@@ -140,23 +266,63 @@ public class EmployeeRepositoryImpl implements EmployeeRepository {
                     );
 
             return session.createQuery(cq).getResultList();
-        }
+        });
+    }
+
+    @Override
+    public List<EmployeeListRow> findByCompanyAndQualificationOrderBySalaryDesc(long companyId, EmployeeQualification qualification) {
+        return UnitOfWork.readOnly(session -> {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<EmployeeListRow> cq = cb.createQuery(EmployeeListRow.class);
+
+            Root<Employee> root = cq.from(Employee.class);
+
+            cq.select(listRow(cb, root))
+                    .where(
+                            cb.equal(root.get("company").get("id"), companyId),
+                            cb.equal(root.get("qualification"), qualification)
+                    )
+                    .orderBy(
+                            cb.desc(root.get("salary")),
+                            cb.asc(root.get("lastName")),
+                            cb.asc(root.get("firstName"))
+                    );
+
+            return session.createQuery(cq).getResultList();
+        });
     }
 
     @Override
     public void deleteById(long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                Employee employee = session.find(Employee.class, id);
-                if (employee != null) {
-                    session.remove(employee);
-                }
-                tx.commit();
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
+        UnitOfWork.execute(session -> {
+            Employee employee = session.find(Employee.class, id);
+            if (employee != null) {
+                session.remove(employee);
             }
-        }
+        });
+    }
+
+    /**
+     * The sort values of the cursor's employee, from which the next page continues.
+     */
+    private static Object[] cursorRow(Session session, String query, Cursor after) {
+        return session.createSelectionQuery(query, Object[].class)
+                .setParameter("id", after.lastId())
+                .uniqueResultOptional()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Employee " + after.lastId() + " no longer exists; start the listing again."));
+    }
+
+    private static CompoundSelection<EmployeeListRow> listRow(CriteriaBuilder cb, Root<Employee> root) {
+        Join<Employee, TransportCompany> company = root.join("company");
+
+        return cb.construct(EmployeeListRow.class,
+                root.get("id"),
+                root.get("firstName"),
+                root.get("lastName"),
+                root.get("qualification"),
+                root.get("salary"),
+                company.get("id"),
+                company.get("name"));
     }
 }
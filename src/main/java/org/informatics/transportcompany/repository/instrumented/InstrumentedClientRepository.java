@@ -0,0 +1,71 @@
+package org.informatics.transportcompany.repository.instrumented;
+
+import org.informatics.transportcompany.metrics.RepositoryMetrics;
+import org.informatics.transportcompany.model.dto.client.ClientListRow;
+import org.informatics.transportcompany.model.entity.Client;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.repository.client.ClientRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class InstrumentedClientRepository implements ClientRepository {
+
+    private static final String PREFIX = "ClientRepository.";
+
+    private final ClientRepository delegate;
+    private final RepositoryMetrics metrics;
+
+    public InstrumentedClientRepository(ClientRepository delegate, RepositoryMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Client create(Client client) {
+        return metrics.record(PREFIX + "create", () -> delegate.create(client));
+    }
+
+    @Override
+    public Client update(Client client) {
+        return metrics.record(PREFIX + "update", () -> delegate.update(client));
+    }
+
+    @Override
+    public Optional<Client> findById(long id) {
+        return metrics.record(PREFIX + "findById", () -> delegate.findById(id));
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return metrics.record(PREFIX + "existsById", () -> delegate.existsById(id));
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return metrics.record(PREFIX + "findExistingIds", () -> delegate.findExistingIds(ids));
+    }
+
+    @Override
+    public Client getReference(long id) {
+        return metrics.record(PREFIX + "getReference", () -> delegate.getReference(id));
+    }
+
+    @Override
+    public List<Client> findAll() {
+        return metrics.record(PREFIX + "findAll", () -> delegate.findAll());
+    }
+
+    @Override
+    public Page<ClientListRow> findPage(Cursor after, int limit) {
+        return metrics.record(PREFIX + "findPage", () -> delegate.findPage(after, limit));
+    }
+
+    @Override
+    public void deleteById(long id) {
+        metrics.run(PREFIX + "deleteById", () -> delegate.deleteById(id));
+    }
+}
@@ -0,0 +1,104 @@
+package org.informatics.transportcompany.repository.instrumented;
+
+import org.informatics.transportcompany.metrics.RepositoryMetrics;
+import org.informatics.transportcompany.model.dto.employee.EmployeeListRow;
+import org.informatics.transportcompany.model.entity.Employee;
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.repository.employee.EmployeeRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class InstrumentedEmployeeRepository implements EmployeeRepository {
+
+    private static final String PREFIX = "EmployeeRepository.";
+
+    private final EmployeeRepository delegate;
+    private final RepositoryMetrics metrics;
+
+    public InstrumentedEmployeeRepository(EmployeeRepository delegate, RepositoryMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Employee create(Employee employee) {
+        return metrics.record(PREFIX + "create", () -> delegate.create(employee));
+    }
+
+    @Override
+    public Employee update(Employee employee) {
+        return metrics.record(PREFIX + "update", () -> delegate.update(employee));
+    }
+
+    @Override
+    public Optional<Employee> findById(long id) {
+        return metrics.record(PREFIX + "findById", () -> delegate.findById(id));
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return metrics.record(PREFIX + "existsById", () -> delegate.existsById(id));
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return metrics.record(PREFIX + "findExistingIds", () -> delegate.findExistingIds(ids));
+    }
+
+    @Override
+    public Employee getReference(long id) {
+        return metrics.record(PREFIX + "getReference", () -> delegate.getReference(id));
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return metrics.record(PREFIX + "findAll", () -> delegate.findAll());
+    }
+
+    @Override
+    public Page<EmployeeListRow> findPage(Cursor after, int limit) {
+        return metrics.record(PREFIX + "findPage", () -> delegate.findPage(after, limit));
+    }
+
+    @Override
+    public List<EmployeeListRow> findAllOrderByQualificationThenSalary() {
+        return metrics.record(PREFIX + "findAllOrderByQualificationThenSalary", () -> delegate.findAllOrderByQualificationThenSalary());
+    }
+
+    @Override
+    public List<EmployeeListRow> findAllOrderBySalaryDesc() {
+        return metrics.record(PREFIX + "findAllOrderBySalaryDesc", () -> delegate.findAllOrderBySalaryDesc());
+    }
+
+    @Override
+    public Page<EmployeeListRow> findPageOrderByQualificationThenSalary(Cursor after, int limit) {
+        return metrics.record(PREFIX + "findPageOrderByQualificationThenSalary",
+                () -> delegate.findPageOrderByQualificationThenSalary(after, limit));
+    }
+
+    @Override
+    public Page<EmployeeListRow> findPageOrderBySalaryDesc(Cursor after, int limit) {
+        return metrics.record(PREFIX + "findPageOrderBySalaryDesc", () -> delegate.findPageOrderBySalaryDesc(after, limit));
+    }
+
+    @Override
+    public List<EmployeeListRow> findByQualificationOrderBySalaryDesc(EmployeeQualification qualification) {
+        return metrics.record(PREFIX + "findByQualificationOrderBySalaryDesc", () -> delegate.findByQualificationOrderBySalaryDesc(qualification));
+    }
+
+    @Override
+    public List<EmployeeListRow> findByCompanyAndQualificationOrderBySalaryDesc(long companyId, EmployeeQualification qualification) {
+        return metrics.record(PREFIX + "findByCompanyAndQualificationOrderBySalaryDesc",
+                () -> delegate.findByCompanyAndQualificationOrderBySalaryDesc(companyId, qualification));
+    }
+
+    @Override
+    public void deleteById(long id) {
+        metrics.run(PREFIX + "deleteById", () -> delegate.deleteById(id));
+    }
+}
@@ -0,0 +1,31 @@
+package org.informatics.transportcompany.repository.instrumented;
+
+import org.informatics.transportcompany.metrics.RepositoryMetrics;
+import org.informatics.transportcompany.model.entity.Location;
+import org.informatics.transportcompany.repository.location.LocationRepository;
+
+import java.util.Collection;
+import java.util.Map;
+
+public class InstrumentedLocationRepository implements LocationRepository {
+
+    private static final String PREFIX = "LocationRepository.";
+
+    private final LocationRepository delegate;
+    private final RepositoryMetrics metrics;
+
+    public InstrumentedLocationRepository(LocationRepository delegate, RepositoryMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Location intern(String name) {
+        return metrics.record(PREFIX + "intern", () -> delegate.intern(name));
+    }
+
+    @Override
+    public Map<String, Location> internAll(Collection<String> names) {
+        return metrics.record(PREFIX + "internAll", () -> delegate.internAll(names));
+    }
+}
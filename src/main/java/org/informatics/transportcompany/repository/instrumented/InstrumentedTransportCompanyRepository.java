@@ -0,0 +1,82 @@
+package org.informatics.transportcompany.repository.instrumented;
+
+import org.informatics.transportcompany.metrics.RepositoryMetrics;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
+import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class InstrumentedTransportCompanyRepository implements TransportCompanyRepository {
+
+    private static final String PREFIX = "TransportCompanyRepository.";
+
+    private final TransportCompanyRepository delegate;
+    private final RepositoryMetrics metrics;
+
+    public InstrumentedTransportCompanyRepository(TransportCompanyRepository delegate, RepositoryMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public TransportCompany create(TransportCompany company) {
+        return metrics.record(PREFIX + "create", () -> delegate.create(company));
+    }
+
+    @Override
+    public TransportCompany update(TransportCompany company) {
+        return metrics.record(PREFIX + "update", () -> delegate.update(company));
+    }
+
+    @Override
+    public Optional<TransportCompany> findById(long id) {
+        return metrics.record(PREFIX + "findById", () -> delegate.findById(id));
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return metrics.record(PREFIX + "existsById", () -> delegate.existsById(id));
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return metrics.record(PREFIX + "findExistingIds", () -> delegate.findExistingIds(ids));
+    }
+
+    @Override
+    public TransportCompany getReference(long id) {
+        return metrics.record(PREFIX + "getReference", () -> delegate.getReference(id));
+    }
+
+    @Override
+    public List<TransportCompany> findAll() {
+        return metrics.record(PREFIX + "findAll", () -> delegate.findAll());
+    }
+
+    @Override
+    public Page<CompanyListRow> findPage(Cursor after, int limit) {
+        return metrics.record(PREFIX + "findPage", () -> delegate.findPage(after, limit));
+    }
+
+    @Override
+    public List<CompanyListRow> findAllOrderByName() {
+        return metrics.record(PREFIX + "findAllOrderByName", () -> delegate.findAllOrderByName());
+    }
+
+    @Override
+    public List<CompanyRevenueRow> findAllWithRevenueOrderByRevenueDesc() {
+        return metrics.record(PREFIX + "findAllWithRevenueOrderByRevenueDesc", () -> delegate.findAllWithRevenueOrderByRevenueDesc());
+    }
+
+    @Override
+    public void deleteById(long id) {
+        metrics.run(PREFIX + "deleteById", () -> delegate.deleteById(id));
+    }
+}
@@ -0,0 +1,139 @@
+package org.informatics.transportcompany.repository.instrumented;
+
+import org.informatics.transportcompany.metrics.RepositoryMetrics;
+import org.informatics.transportcompany.model.dto.transport.CompanySummaryRow;
+import org.informatics.transportcompany.model.dto.transport.DestinationRow;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
+import org.informatics.transportcompany.model.dto.transport.TransportExportRow;
+import org.informatics.transportcompany.model.dto.transport.TransportListRow;
+import org.informatics.transportcompany.model.dto.transport.VehicleTypeSummaryRow;
+import org.informatics.transportcompany.model.entity.Transport;
+import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.repository.transport.TransportRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public class InstrumentedTransportRepository implements TransportRepository {
+
+    private static final String PREFIX = "TransportRepository.";
+
+    private final TransportRepository delegate;
+    private final RepositoryMetrics metrics;
+
+    public InstrumentedTransportRepository(TransportRepository delegate, RepositoryMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Transport create(Transport transport) {
+        return metrics.record(PREFIX + "create", () -> delegate.create(transport));
+    }
+
+    @Override
+    public List<Transport> createAll(List<Transport> transports, int batchSize) {
+        return metrics.record(PREFIX + "createAll", () -> delegate.createAll(transports, batchSize));
+    }
+
+    @Override
+    public Transport update(Transport transport) {
+        return metrics.record(PREFIX + "update", () -> delegate.update(transport));
+    }
+
+    @Override
+    public Optional<Transport> findById(long id) {
+        return metrics.record(PREFIX + "findById", () -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<Transport> findByIdWithClient(long id) {
+        return metrics.record(PREFIX + "findByIdWithClient", () -> delegate.findByIdWithClient(id));
+    }
+
+    @Override
+    public List<Transport> findAllWithAllJoins() {
+        return metrics.record(PREFIX + "findAllWithAllJoins", () -> delegate.findAllWithAllJoins());
+    }
+
+    @Override
+    public Page<TransportListRow> findPage(Cursor after, int limit) {
+        return metrics.record(PREFIX + "findPage", () -> delegate.findPage(after, limit));
+    }
+
+    @Override
+    public long forEachExportRow(int fetchSize, Consumer<TransportExportRow> consumer) {
+        return metrics.record(PREFIX + "forEachExportRow", () -> delegate.forEachExportRow(fetchSize, consumer), Long::longValue);
+    }
+
+    @Override
+    public Page<TransportListRow> findPageOrderByToLocation(Cursor after, int limit) {
+        return metrics.record(PREFIX + "findPageOrderByToLocation", () -> delegate.findPageOrderByToLocation(after, limit));
+    }
+
+    @Override
+    public List<TransportListRow> findByToLocation(String toLocation) {
+        return metrics.record(PREFIX + "findByToLocation", () -> delegate.findByToLocation(toLocation));
+    }
+
+    @Override
+    public Page<TransportListRow> findPageByToLocation(String toLocation, Cursor after, int limit) {
+        return metrics.record(PREFIX + "findPageByToLocation", () -> delegate.findPageByToLocation(toLocation, after, limit));
+    }
+
+    @Override
+    public List<DestinationRow> findDestinations() {
+        return metrics.record(PREFIX + "findDestinations", () -> delegate.findDestinations());
+    }
+
+    @Override
+    public long countAll() {
+        return metrics.record(PREFIX + "countAll", () -> delegate.countAll());
+    }
+
+    @Override
+    public BigDecimal sumTotalRevenue() {
+        return metrics.record(PREFIX + "sumTotalRevenue", () -> delegate.sumTotalRevenue());
+    }
+
+    @Override
+    public List<CompanySummaryRow> summaryByCompany() {
+        return metrics.record(PREFIX + "summaryByCompany", () -> delegate.summaryByCompany());
+    }
+
+    @Override
+    public List<VehicleTypeSummaryRow> summaryByVehicleType() {
+        return metrics.record(PREFIX + "summaryByVehicleType", () -> delegate.summaryByVehicleType());
+    }
+
+    @Override
+    public List<DriverTransportCountRow> driverTransportStats() {
+        return metrics.record(PREFIX + "driverTransportStats", () -> delegate.driverTransportStats());
+    }
+
+    @Override
+    public BigDecimal sumCompanyRevenueForPeriod(TransportCompany company, LocalDateTime from, LocalDateTime to) {
+        return metrics.record(PREFIX + "sumCompanyRevenueForPeriod", () -> delegate.sumCompanyRevenueForPeriod(company, from, to));
+    }
+
+    @Override
+    public List<DriverRevenueRow> driverRevenue() {
+        return metrics.record(PREFIX + "driverRevenue", () -> delegate.driverRevenue());
+    }
+
+    @Override
+    public void rebuildRevenueAggregates() {
+        metrics.run(PREFIX + "rebuildRevenueAggregates", () -> delegate.rebuildRevenueAggregates());
+    }
+
+    @Override
+    public void ensureRevenueAggregates() {
+        metrics.run(PREFIX + "ensureRevenueAggregates", () -> delegate.ensureRevenueAggregates());
+    }
+}
@@ -0,0 +1,78 @@
+package org.informatics.transportcompany.repository.instrumented;
+
+import org.informatics.transportcompany.metrics.RepositoryMetrics;
+import org.informatics.transportcompany.model.dto.vehicle.VehicleListRow;
+import org.informatics.transportcompany.model.entity.Vehicle;
+import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class InstrumentedVehicleRepository implements VehicleRepository {
+
+    private static final String PREFIX = "VehicleRepository.";
+
+    private final VehicleRepository delegate;
+    private final RepositoryMetrics metrics;
+
+    public InstrumentedVehicleRepository(VehicleRepository delegate, RepositoryMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Vehicle create(Vehicle vehicle) {
+        return metrics.record(PREFIX + "create", () -> delegate.create(vehicle));
+    }
+
+    @Override
+    public Vehicle update(Vehicle vehicle) {
+        return metrics.record(PREFIX + "update", () -> delegate.update(vehicle));
+    }
+
+    @Override
+    public Optional<Vehicle> findById(long id) {
+        return metrics.record(PREFIX + "findById", () -> delegate.findById(id));
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return metrics.record(PREFIX + "existsById", () -> delegate.existsById(id));
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return metrics.record(PREFIX + "findExistingIds", () -> delegate.findExistingIds(ids));
+    }
+
+    @Override
+    public Vehicle getReference(long id) {
+        return metrics.record(PREFIX + "getReference", () -> delegate.getReference(id));
+    }
+
+    @Override
+    public List<Vehicle> findAll() {
+        return metrics.record(PREFIX + "findAll", () -> delegate.findAll());
+    }
+
+    @Override
+    public Page<VehicleListRow> findPage(Cursor after, int limit) {
+        return metrics.record(PREFIX + "findPage", () -> delegate.findPage(after, limit));
+    }
+
+    @Override
+    public List<VehicleListRow> findByCompanyAndTypeOrderByCapacity(long companyId, VehicleType type) {
+        return metrics.record(PREFIX + "findByCompanyAndTypeOrderByCapacity",
+                () -> delegate.findByCompanyAndTypeOrderByCapacity(companyId, type));
+    }
+
+    @Override
+    public void deleteById(long id) {
+        metrics.run(PREFIX + "deleteById", () -> delegate.deleteById(id));
+    }
+}
@@ -0,0 +1,13 @@
+package org.informatics.transportcompany.repository.location;
+
+import org.informatics.transportcompany.model.entity.Location;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface LocationRepository {
+
+    Location intern(String name);
+
+    Map<String, Location> internAll(Collection<String> names);
+}
@@ -0,0 +1,140 @@
+package org.informatics.transportcompany.repository.location;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.informatics.transportcompany.config.UnitOfWork;
+import org.informatics.transportcompany.model.LocationKeys;
+import org.informatics.transportcompany.model.entity.Location;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Locations are never changed or deleted, so every name resolved once is kept in memory and later
+ * lookups do not touch the database. Lookups and inserts run in the caller's unit of work; a location
+ * is only kept in memory once that unit of work has committed, so a rolled back insert is never used.
+ */
+public class LocationRepositoryImpl implements LocationRepository {
+
+    private static final int NAME_LOOKUP_CHUNK_SIZE = 1000;
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private static final String INSERT_IF_ABSENT = """
+            insert into Location (name, locationKey)
+            values (:name, :locationKey)
+            on conflict (name) do nothing
+            """;
+
+    private final Map<String, Location> interned = new ConcurrentHashMap<>();
+
+    @Override
+    public Location intern(String name) {
+        return internAll(List.of(name)).get(name);
+    }
+
+    @Override
+    public Map<String, Location> internAll(Collection<String> names) {
+        Map<String, Location> locations = new HashMap<>();
+        List<String> uncached = new ArrayList<>();
+
+        for (String name : new LinkedHashSet<>(names)) {
+            checkName(name);
+
+            Location location = interned.get(name);
+            if (location != null) {
+                locations.put(name, location);
+            } else {
+                uncached.add(name);
+            }
+        }
+
+        if (uncached.isEmpty()) {
+            return locations;
+        }
+
+        return UnitOfWork.write(session -> {
+            List<Location> resolved = findByNames(session, uncached);
+            if (resolved.size() < uncached.size()) {
+                Set<String> found = resolved.stream().map(Location::getName).collect(Collectors.toSet());
+                for (String name : uncached) {
+                    if (!found.contains(name)) {
+                        createIfAbsent(session, name);
+                    }
+                }
+                resolved = findByNames(session, uncached);
+            }
+
+            for (Location location : resolved) {
+                locations.put(location.getName(), location);
+            }
+            for (String name : uncached) {
+                if (!locations.containsKey(name)) {
+                    throw new IllegalStateException("Location '" + name + "' could not be created.");
+                }
+            }
+
+            internAfterCommit(session, resolved);
+            return locations;
+        });
+    }
+
+    private void internAfterCommit(Session session, List<Location> locations) {
+        session.getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    locations.forEach(location -> interned.putIfAbsent(location.getName(), location));
+                }
+            }
+        });
+    }
+
+    private static List<Location> findByNames(Session session, List<String> names) {
+        List<Location> locations = new ArrayList<>();
+        for (int from = 0; from < names.size(); from += NAME_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = names.subList(from, Math.min(from + NAME_LOOKUP_CHUNK_SIZE, names.size()));
+
+            locations.addAll(session.createSelectionQuery("from Location l where l.name in :names", Location.class)
+                    .setParameter("names", chunk)
+                    .getResultList());
+        }
+        return locations;
+    }
+
+    /**
+     * A concurrent transaction inserting the same name makes this one wait for it; PostgreSQL then
+     * skips the row, while H2 reports the duplicate, which leaves this transaction usable.
+     */
+    private static void createIfAbsent(Session session, String name) {
+        try {
+            session.createMutationQuery(INSERT_IF_ABSENT)
+                    .setParameter("name", name)
+                    .setParameter("locationKey", LocationKeys.normalize(name))
+                    .executeUpdate();
+        } catch (ConstraintViolationException createdConcurrently) {
+            // the other transaction's row is read back below
+        }
+    }
+
+    private static void checkName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Location is required.");
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Location cannot be longer than " + MAX_NAME_LENGTH + " characters.");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.informatics.transportcompany.repository.revenueBucket;
+
+import org.informatics.transportcompany.model.dto.transport.CompanySummaryRow;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RevenueBucketRepository {
+
+    void add(long companyId, long driverId, LocalDate day, boolean paid, BigDecimal revenue, long transportCount);
+
+    boolean isEmpty();
+
+    void rebuild();
+
+    BigDecimal sumTotalRevenue();
+
+    BigDecimal sumPaidCompanyRevenueForDays(long companyId, LocalDate fromDay, LocalDate toDay);
+
+    List<DriverRevenueRow> paidRevenueByDriverDesc();
+
+    List<CompanyRevenueRow> revenueByCompanyDesc();
+
+    List<CompanySummaryRow> summaryByCompanyAndPaid();
+}
@@ -0,0 +1,127 @@
+package org.informatics.transportcompany.repository.revenueBucket;
+
+import org.informatics.transportcompany.config.UnitOfWork;
+import org.informatics.transportcompany.model.dto.transport.CompanySummaryRow;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class RevenueBucketRepositoryImpl implements RevenueBucketRepository {
+
+    private static final String UPSERT = """
+            insert into RevenueBucket (companyId, driverId, day, paid, revenue, transportCount)
+            values (cast(:companyId as Long), cast(:driverId as Long), cast(:day as LocalDate),
+                    cast(:paid as Boolean), cast(:revenue as BigDecimal), cast(:transportCount as Long))
+            on conflict (companyId, driverId, day, paid) do update
+            set revenue = revenue + excluded.revenue,
+                transportCount = transportCount + excluded.transportCount
+            """;
+
+    private static final String REBUILD = """
+            insert into RevenueBucket (companyId, driverId, day, paid, revenue, transportCount)
+            select t.company.id, t.driver.id, cast(t.departureDateTime as LocalDate), t.paid, sum(t.price), count(t)
+            from Transport t
+            group by t.company.id, t.driver.id, cast(t.departureDateTime as LocalDate), t.paid
+            """;
+
+    /**
+     * Creates or increments the bucket with one upsert in the caller's transaction; the row lock it
+     * takes is held until the caller commits.
+     */
+    @Override
+    public void add(long companyId, long driverId, LocalDate day, boolean paid, BigDecimal revenue, long transportCount) {
+        UnitOfWork.execute(session -> session.createMutationQuery(UPSERT)
+                .setParameter("companyId", companyId)
+                .setParameter("driverId", driverId)
+                .setParameter("day", day)
+                .setParameter("paid", paid)
+                .setParameter("revenue", revenue)
+                .setParameter("transportCount", transportCount)
+                .executeUpdate());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return UnitOfWork.read(session -> session
+                .createSelectionQuery("select b.id from RevenueBucket b", Long.class)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty());
+    }
+
+    @Override
+    public void rebuild() {
+        UnitOfWork.execute(session -> {
+            session.createMutationQuery("delete from RevenueBucket").executeUpdate();
+            session.createMutationQuery(REBUILD).executeUpdate();
+        });
+    }
+
+    @Override
+    public BigDecimal sumTotalRevenue() {
+        return UnitOfWork.read(session -> session
+                .createSelectionQuery("select coalesce(sum(b.revenue), 0) from RevenueBucket b", BigDecimal.class)
+                .getSingleResult());
+    }
+
+    @Override
+    public BigDecimal sumPaidCompanyRevenueForDays(long companyId, LocalDate fromDay, LocalDate toDay) {
+        return UnitOfWork.read(session -> session
+                .createSelectionQuery("""
+                        select coalesce(sum(b.revenue), 0) from RevenueBucket b
+                        where b.companyId = :companyId
+                          and b.paid = true
+                          and b.day between :fromDay and :toDay
+                        """, BigDecimal.class)
+                .setParameter("companyId", companyId)
+                .setParameter("fromDay", fromDay)
+                .setParameter("toDay", toDay)
+                .getSingleResult());
+    }
+
+    @Override
+    public List<DriverRevenueRow> paidRevenueByDriverDesc() {
+        return UnitOfWork.readOnly(session -> session
+                .createSelectionQuery("""
+                        select new org.informatics.transportcompany.model.dto.transport.DriverRevenueRow(
+                            d.id, d.firstName, d.lastName, d.qualification, c.name, sum(b.revenue))
+                        from RevenueBucket b
+                        join Employee d on d.id = b.driverId
+                        join d.company c
+                        where b.paid = true
+                        group by d.id, d.firstName, d.lastName, d.qualification, c.name
+                        order by sum(b.revenue) desc
+                        """, DriverRevenueRow.class)
+                .getResultList());
+    }
+
+    @Override
+    public List<CompanyRevenueRow> revenueByCompanyDesc() {
+        return UnitOfWork.readOnly(session -> session
+                .createSelectionQuery("""
+                        select new org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow(
+                            c.id, c.name, c.address, coalesce(sum(b.revenue), 0))
+                        from TransportCompany c
+                        left join RevenueBucket b on b.companyId = c.id
+                        group by c.id, c.name, c.address
+                        order by coalesce(sum(b.revenue), 0) desc
+                        """, CompanyRevenueRow.class)
+                .getResultList());
+    }
+
+    @Override
+    public List<CompanySummaryRow> summaryByCompanyAndPaid() {
+        return UnitOfWork.readOnly(session -> session
+                .createSelectionQuery("""
+                        select new org.informatics.transportcompany.model.dto.transport.CompanySummaryRow(
+                            c.id, c.name, b.paid, sum(b.transportCount), sum(b.revenue))
+                        from RevenueBucket b
+                        join TransportCompany c on c.id = b.companyId
+                        group by c.id, c.name, b.paid
+                        """, CompanySummaryRow.class)
+                .getResultList());
+    }
+}
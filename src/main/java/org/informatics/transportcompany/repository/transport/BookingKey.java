@@ -0,0 +1,17 @@
+package org.informatics.transportcompany.repository.transport;
+
+import org.informatics.transportcompany.model.entity.Transport;
+
+import java.time.LocalDateTime;
+
+record BookingKey(long vehicleId, long driverId, LocalDateTime departure, LocalDateTime arrival) {
+
+    static BookingKey of(Transport transport) {
+        return new BookingKey(
+                transport.getVehicle().getId(),
+                transport.getDriver().getId(),
+                transport.getDepartureDateTime(),
+                transport.getArrivalDateTime()
+        );
+    }
+}
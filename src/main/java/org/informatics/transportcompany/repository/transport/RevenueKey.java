@@ -0,0 +1,19 @@
+package org.informatics.transportcompany.repository.transport;
+
+import org.informatics.transportcompany.model.entity.Transport;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+record RevenueKey(long companyId, long driverId, LocalDate day, boolean paid, BigDecimal price) {
+
+    static RevenueKey of(Transport transport) {
+        return new RevenueKey(
+                transport.getCompany().getId(),
+                transport.getDriver().getId(),
+                transport.getDepartureDateTime().toLocalDate(),
+                transport.isPaid(),
+                transport.getPrice()
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package org.informatics.transportcompany.repository.transport;
+
+import org.informatics.transportcompany.model.dto.employee.EmployeeListRow;
+import org.informatics.transportcompany.model.dto.transport.TransportFactRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface TransportAnalyticsRepository {
+
+    long forEachFactAfter(long afterId, int fetchSize, Consumer<TransportFactRow> consumer);
+
+    List<TransportFactRow> findFactsByIds(Collection<Long> ids);
+
+    List<EmployeeListRow> findDrivers();
+
+    List<CompanyListRow> findCompanies();
+}
@@ -0,0 +1,99 @@
+package org.informatics.transportcompany.repository.transport;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.config.UnitOfWork;
+import org.informatics.transportcompany.model.dto.employee.EmployeeListRow;
+import org.informatics.transportcompany.model.dto.transport.TransportFactRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class TransportAnalyticsRepositoryImpl implements TransportAnalyticsRepository {
+
+    private static final int IDS_PER_QUERY = 1_000;
+
+    private static final String FACTS_QUERY = """
+            select new org.informatics.transportcompany.model.dto.transport.TransportFactRow(
+                t.id, t.company.id, t.client.id, t.driver.id, t.vehicle.id,
+                t.fromLocation.id, t.toLocation.id, t.departureDateTime, t.arrivalDateTime,
+                t.price, t.paid)
+            from Transport t
+            """;
+
+    @Override
+    public long forEachFactAfter(long afterId, int fetchSize, Consumer<TransportFactRow> consumer) {
+        try (StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                long count = 0;
+
+                try (ScrollableResults<TransportFactRow> rows = session
+                        .createSelectionQuery(FACTS_QUERY + "where t.id > :afterId order by t.id", TransportFactRow.class)
+                        .setParameter("afterId", afterId)
+                        .setFetchSize(fetchSize)
+                        .setReadOnly(true)
+                        .scroll(ScrollMode.FORWARD_ONLY)) {
+                    while (rows.next()) {
+                        consumer.accept(rows.get());
+                        count++;
+                    }
+                }
+
+                tx.commit();
+                return count;
+            } catch (Exception ex) {
+                tx.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    @Override
+    public List<TransportFactRow> findFactsByIds(Collection<Long> ids) {
+        List<Long> all = List.copyOf(ids);
+        if (all.isEmpty()) {
+            return List.of();
+        }
+
+        return UnitOfWork.readOnly(session -> {
+            List<TransportFactRow> rows = new ArrayList<>(all.size());
+            for (int from = 0; from < all.size(); from += IDS_PER_QUERY) {
+                rows.addAll(session
+                        .createSelectionQuery(FACTS_QUERY + "where t.id in :ids", TransportFactRow.class)
+                        .setParameter("ids", all.subList(from, Math.min(from + IDS_PER_QUERY, all.size())))
+                        .getResultList());
+            }
+            return rows;
+        });
+    }
+
+    @Override
+    public List<EmployeeListRow> findDrivers() {
+        return UnitOfWork.readOnly(session -> session
+                .createSelectionQuery("""
+                        select new org.informatics.transportcompany.model.dto.employee.EmployeeListRow(
+                            e.id, e.firstName, e.lastName, e.qualification, e.salary, c.id, c.name)
+                        from Employee e
+                        join e.company c
+                        """, EmployeeListRow.class)
+                .getResultList());
+    }
+
+    @Override
+    public List<CompanyListRow> findCompanies() {
+        return UnitOfWork.readOnly(session -> session
+                .createSelectionQuery("""
+                        select new org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow(
+                            c.id, c.name, c.address)
+                        from TransportCompany c
+                        """, CompanyListRow.class)
+                .getResultList());
+    }
+}
@@ -0,0 +1,45 @@
+package org.informatics.transportcompany.repository.transport;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One monthly range partition of {@code transports}, covering departures from the first day of the
+ * month (inclusive) to the first day of the next month (exclusive).
+ */
+public record TransportPartition(YearMonth month) implements Comparable<TransportPartition> {
+
+    public static final String PARENT_TABLE = "transports";
+    public static final String DEFAULT_TABLE = "transports_default";
+
+    private static final Pattern TABLE_NAME = Pattern.compile("transports_y(\\d{4})m(\\d{2})");
+
+    public static Optional<TransportPartition> fromTableName(String tableName) {
+        Matcher matcher = TABLE_NAME.matcher(tableName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new TransportPartition(
+                YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)))));
+    }
+
+    public String tableName() {
+        return String.format("transports_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    public LocalDateTime from() {
+        return month.atDay(1).atStartOfDay();
+    }
+
+    public LocalDateTime to() {
+        return month.plusMonths(1).atDay(1).atStartOfDay();
+    }
+
+    @Override
+    public int compareTo(TransportPartition other) {
+        return month.compareTo(other.month);
+    }
+}
@@ -0,0 +1,15 @@
+package org.informatics.transportcompany.repository.transport;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface TransportPartitionRepository {
+
+    List<TransportPartition> findAttached();
+
+    List<YearMonth> findMonthsInDefaultPartition();
+
+    void create(TransportPartition partition);
+
+    void detachToArchive(TransportPartition partition, String archiveSchema);
+}
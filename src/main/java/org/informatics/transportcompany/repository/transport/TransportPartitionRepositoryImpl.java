@@ -0,0 +1,105 @@
+package org.informatics.transportcompany.repository.transport;
+
+import org.informatics.transportcompany.config.UnitOfWork;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * PostgreSQL-only management of the monthly partitions created by the V3 migration.
+ */
+public class TransportPartitionRepositoryImpl implements TransportPartitionRepository {
+
+    private static final String ATTACHED = """
+            select c.relname
+            from pg_inherits i
+                join pg_class c on c.oid = i.inhrelid
+                join pg_class p on p.oid = i.inhparent
+            where p.relname = 'transports' and p.relnamespace = current_schema()::regnamespace
+            """;
+
+    private static final String COLUMNS = """
+            select string_agg(quote_ident(column_name), ', ' order by ordinal_position)
+            from information_schema.columns
+            where table_schema = current_schema() and table_name = 'transports'
+            """;
+
+    private static final String DEFAULT_MONTHS = """
+            select distinct cast(date_trunc('month', departureDateTime) as date)
+            from transports_default
+            """;
+
+    @Override
+    public List<TransportPartition> findAttached() {
+        return UnitOfWork.readOnly(session -> session.createNativeQuery(ATTACHED, String.class)
+                .getResultStream()
+                .map(TransportPartition::fromTableName)
+                .flatMap(Optional::stream)
+                .sorted()
+                .toList());
+    }
+
+    @Override
+    public List<YearMonth> findMonthsInDefaultPartition() {
+        return UnitOfWork.readOnly(session -> session.createNativeQuery(DEFAULT_MONTHS, LocalDate.class)
+                .getResultStream()
+                .map(YearMonth::from)
+                .sorted()
+                .toList());
+    }
+
+    /**
+     * Builds the partition as a plain table, moves the month's rows out of the default partition
+     * and only then attaches it, so the attach check on the default partition finds nothing to move.
+     */
+    @Override
+    public void create(TransportPartition partition) {
+        String table = partition.tableName();
+        String from = "'" + Timestamp.valueOf(partition.from()) + "'";
+        String to = "'" + Timestamp.valueOf(partition.to()) + "'";
+        String range = "departureDateTime >= " + from + " and departureDateTime < " + to;
+
+        UnitOfWork.execute(session -> session.doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                String columns;
+                try (ResultSet rs = statement.executeQuery(COLUMNS)) {
+                    rs.next();
+                    columns = rs.getString(1);
+                }
+
+                statement.execute("create table " + table + " (like transports including defaults including constraints)");
+                statement.execute("insert into " + table + " (" + columns + ") select " + columns
+                        + " from transports_default where " + range);
+                statement.execute("delete from transports_default where " + range);
+                statement.execute("alter table transports attach partition " + table
+                        + " for values from (" + from + ") to (" + to + ")");
+            }
+        }));
+    }
+
+    /**
+     * Reports and booking checks only cover attached partitions, so the month's revenue buckets and
+     * bookings are deleted together with the detach; the archived table keeps the transports themselves.
+     */
+    @Override
+    public void detachToArchive(TransportPartition partition, String archiveSchema) {
+        String table = partition.tableName();
+        String from = "'" + partition.from().toLocalDate() + "'";
+        String to = "'" + partition.to().toLocalDate() + "'";
+
+        UnitOfWork.execute(session -> session.doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("alter table transports detach partition " + table);
+                statement.execute("delete from revenue_buckets where bucket_day >= " + from + " and bucket_day < " + to);
+                statement.execute("delete from transport_bookings where transport_id in (select id from " + table + ")");
+                statement.execute("create schema if not exists " + archiveSchema);
+                statement.execute("alter table " + table + " set schema " + archiveSchema);
+            }
+        }));
+    }
+}
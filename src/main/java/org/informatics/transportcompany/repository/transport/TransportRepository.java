@@ -1,17 +1,29 @@
 package org.informatics.transportcompany.repository.transport;
 
+import org.informatics.transportcompany.model.dto.transport.CompanySummaryRow;
+import org.informatics.transportcompany.model.dto.transport.DestinationRow;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
+import org.informatics.transportcompany.model.dto.transport.TransportExportRow;
+import org.informatics.transportcompany.model.dto.transport.TransportListRow;
+import org.informatics.transportcompany.model.dto.transport.VehicleTypeSummaryRow;
 import org.informatics.transportcompany.model.entity.Transport;
 import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TransportRepository {
 
     Transport create(Transport transport);
 
+    List<Transport> createAll(List<Transport> transports, int batchSize);
+
     Transport update(Transport transport);
 
     Optional<Transport> findById(long id);
@@ -20,16 +32,32 @@ public interface TransportRepository {
 
     List<Transport> findAllWithAllJoins();
 
-    List<Transport> findAllOrderByToLocationWithClient();
+    Page<TransportListRow> findPage(Cursor after, int limit);
+
+    long forEachExportRow(int fetchSize, Consumer<TransportExportRow> consumer);
+
+    Page<TransportListRow> findPageOrderByToLocation(Cursor after, int limit);
+
+    List<TransportListRow> findByToLocation(String toLocation);
+
+    Page<TransportListRow> findPageByToLocation(String toLocation, Cursor after, int limit);
 
-    List<Transport> findByToLocationWithClient(String toLocation);
+    List<DestinationRow> findDestinations();
 
     long countAll();
     BigDecimal sumTotalRevenue();
 
-    List<Object[]> driverTransportStats();
+    List<CompanySummaryRow> summaryByCompany();
+
+    List<VehicleTypeSummaryRow> summaryByVehicleType();
+
+    List<DriverTransportCountRow> driverTransportStats();
 
     BigDecimal sumCompanyRevenueForPeriod(TransportCompany company, LocalDateTime from, LocalDateTime to);
 
-    List<Object[]> driverRevenue();
+    List<DriverRevenueRow> driverRevenue();
+
+    void rebuildRevenueAggregates();
+
+    void ensureRevenueAggregates();
 }
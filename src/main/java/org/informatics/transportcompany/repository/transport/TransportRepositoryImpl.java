@@ -1,70 +1,191 @@
 package org.informatics.transportcompany.repository.transport;
 
+import jakarta.persistence.criteria.CompoundSelection;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import org.hibernate.Hibernate;
+import org.hibernate.query.QueryFlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
 import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.config.UnitOfWork;
+import org.informatics.transportcompany.model.LocationKeys;
+import org.informatics.transportcompany.model.dto.transport.CompanySummaryRow;
+import org.informatics.transportcompany.model.dto.transport.DestinationRow;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
+import org.informatics.transportcompany.model.dto.transport.TransportExportRow;
+import org.informatics.transportcompany.model.dto.transport.TransportListRow;
+import org.informatics.transportcompany.model.dto.transport.VehicleTypeSummaryRow;
+import org.informatics.transportcompany.model.entity.Client;
 import org.informatics.transportcompany.model.entity.Employee;
 import org.informatics.transportcompany.model.entity.Transport;
 import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.repository.revenueBucket.RevenueBucketRepository;
+import org.informatics.transportcompany.repository.revenueBucket.RevenueBucketRepositoryImpl;
+import org.informatics.transportcompany.repository.transportBooking.TransportBookingRepository;
+import org.informatics.transportcompany.repository.transportBooking.TransportBookingRepositoryImpl;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class TransportRepositoryImpl implements TransportRepository {
+
+    private static final String REVENUE_KEY_QUERY = """
+            select new org.informatics.transportcompany.repository.transport.RevenueKey(
+                t.company.id, t.driver.id, cast(t.departureDateTime as LocalDate), t.paid, t.price)
+            from Transport t
+            where t.id = :id
+            """;
+
+    private static final String BOOKING_KEY_QUERY = """
+            select new org.informatics.transportcompany.repository.transport.BookingKey(
+                t.vehicle.id, t.driver.id, t.departureDateTime, t.arrivalDateTime)
+            from Transport t
+            where t.id = :id
+            """;
+    private static final String EXPORT_ROWS_QUERY = """
+            select new org.informatics.transportcompany.model.dto.transport.TransportExportRow(
+                t.id, c.name, cl.name, v.registrationNumber, d.firstName, d.lastName,
+                fl.name, tl.name, t.departureDateTime, t.arrivalDateTime,
+                t.price, t.paid, t.cargoDescription, t.cargoWeight)
+            from Transport t
+                join t.company c
+                join t.client cl
+                join t.vehicle v
+                join t.driver d
+                join t.fromLocation fl
+                join t.toLocation tl
+            order by t.id
+            """;
+
+    private static final String VEHICLE_TYPE_SUMMARY_QUERY = """
+            select new org.informatics.transportcompany.model.dto.transport.VehicleTypeSummaryRow(
+                v.type, t.paid, count(t), sum(t.price))
+            from Transport t
+                join t.vehicle v
+            group by v.type, t.paid
+            """;
+
+    private final RevenueBucketRepository revenueBuckets;
+    private final TransportBookingRepository bookings;
+
+    public TransportRepositoryImpl() {
+        this(new RevenueBucketRepositoryImpl());
+    }
+
+    public TransportRepositoryImpl(RevenueBucketRepository revenueBuckets) {
+        this(revenueBuckets, new TransportBookingRepositoryImpl());
+    }
+
+    public TransportRepositoryImpl(RevenueBucketRepository revenueBuckets, TransportBookingRepository bookings) {
+        this.revenueBuckets = revenueBuckets;
+        this.bookings = bookings;
+    }
+
     @Override
     public Transport create(Transport transport) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                session.persist(transport);
-                tx.commit();
-                return transport;
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
+        return UnitOfWork.write(session -> {
+            session.persist(transport);
+            bookings.book(transport);
+            addToRevenueBucket(RevenueKey.of(transport), 1);
+            return transport;
+        });
+    }
+
+    @Override
+    public List<Transport> createAll(List<Transport> transports, int batchSize) {
+        return UnitOfWork.write(session -> {
+            session.setJdbcBatchSize(batchSize);
+            Map<RevenueKey, Long> added = new HashMap<>();
+
+            for (int i = 0; i < transports.size(); i++) {
+                session.persist(transports.get(i));
+                bookings.book(transports.get(i));
+                added.merge(RevenueKey.of(transports.get(i)), 1L, Long::sum);
+
+                if ((i + 1) % batchSize == 0) {
+                    session.flush();
+                    session.clear();
+                }
             }
-        }
+
+            session.flush();
+            added.forEach(this::addToRevenueBucket);
+            return transports;
+        });
     }
 
     @Override
     public Transport update(Transport transport) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                Transport merged = session.merge(transport);
-
-                Hibernate.initialize(merged.getCompany());
-                Hibernate.initialize(merged.getClient());
-                Hibernate.initialize(merged.getVehicle());
-                Hibernate.initialize(merged.getDriver());
+        return UnitOfWork.write(session -> {
+            RevenueKey before = transport.getId() == null ? null : session
+                    .createSelectionQuery(REVENUE_KEY_QUERY, RevenueKey.class)
+                    .setParameter("id", transport.getId())
+                    .setQueryFlushMode(QueryFlushMode.NO_FLUSH)
+                    .getResultStream()
+                    .findFirst()
+                    .orElse(null);
+            BookingKey bookedBefore = transport.getId() == null ? null : session
+                    .createSelectionQuery(BOOKING_KEY_QUERY, BookingKey.class)
+                    .setParameter("id", transport.getId())
+                    .setQueryFlushMode(QueryFlushMode.NO_FLUSH)
+                    .getResultStream()
+                    .findFirst()
+                    .orElse(null);
+
+            Transport merged = session.merge(transport);
+
+            RevenueKey after = RevenueKey.of(merged);
+            if (!after.equals(before)) {
+                if (before != null) {
+                    addToRevenueBucket(before, -1);
+                }
+                addToRevenueBucket(after, 1);
+            }
 
-                tx.commit();
-                return merged;
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
+            if (!BookingKey.of(merged).equals(bookedBefore)) {
+                bookings.rebook(merged);
             }
-        }
+
+            Hibernate.initialize(merged.getCompany());
+            Hibernate.initialize(merged.getClient());
+            Hibernate.initialize(merged.getVehicle());
+            Hibernate.initialize(merged.getDriver());
+            Hibernate.initialize(merged.getFromLocation());
+            Hibernate.initialize(merged.getToLocation());
+
+            return merged;
+        });
     }
 
     @Override
     public Optional<Transport> findById(long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+        return UnitOfWork.read(session -> {
             return Optional.ofNullable(session.find(Transport.class, id));
-        }
+        });
     }
 
     @Override
     public Optional<Transport> findByIdWithClient(long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+        return UnitOfWork.read(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
             CriteriaQuery<Transport> cq = cb.createQuery(Transport.class);
 
@@ -76,12 +197,12 @@ public class TransportRepositoryImpl implements TransportRepository {
 
             List<Transport> result = session.createQuery(cq).getResultList();
             return result.isEmpty() ? Optional.empty() : Optional.of(result.getFirst());
-        }
+        });
     }
 
     @Override
     public List<Transport> findAllWithAllJoins() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+        return UnitOfWork.read(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
             CriteriaQuery<Transport> cq = cb.createQuery(Transport.class);
 
@@ -90,53 +211,163 @@ public class TransportRepositoryImpl implements TransportRepository {
             root.fetch("client", JoinType.INNER);
             root.fetch("vehicle", JoinType.INNER);
             root.fetch("driver", JoinType.INNER);
+            root.fetch("fromLocation", JoinType.INNER);
+            root.fetch("toLocation", JoinType.INNER);
 
             cq.select(root);
 
             return session.createQuery(cq).getResultList();
-        }
+        });
     }
 
     @Override
-    public List<Transport> findAllOrderByToLocationWithClient() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+    public Page<TransportListRow> findPage(Cursor after, int limit) {
+        Page.checkLimit(limit);
+
+        return UnitOfWork.readOnly(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<Transport> cq = cb.createQuery(Transport.class);
+            CriteriaQuery<TransportListRow> cq = cb.createQuery(TransportListRow.class);
 
             Root<Transport> root = cq.from(Transport.class);
-            root.fetch("client", JoinType.INNER);
+            cq.select(listRow(cb, root))
+                    .where(cb.greaterThan(root.get("id"), after.lastId()))
+                    .orderBy(cb.asc(root.get("id")));
 
-            cq.select(root)
-                    .orderBy(
-                            cb.asc(root.get("toLocation")),
-                            cb.asc(root.get("fromLocation")),
-                            cb.asc(root.get("departureDateTime"))
-                    );
+            List<TransportListRow> rows = session.createQuery(cq)
+                    .setMaxResults(limit + 1)
+                    .getResultList();
 
-            return session.createQuery(cq).getResultList();
+            return Page.of(rows, limit, TransportListRow::id);
+        });
+    }
+
+    @Override
+    public long forEachExportRow(int fetchSize, Consumer<TransportExportRow> consumer) {
+        try (StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                long count = 0;
+
+                try (ScrollableResults<TransportExportRow> rows = session
+                        .createSelectionQuery(EXPORT_ROWS_QUERY, TransportExportRow.class)
+                        .setFetchSize(fetchSize)
+                        .setReadOnly(true)
+                        .scroll(ScrollMode.FORWARD_ONLY)) {
+                    while (rows.next()) {
+                        consumer.accept(rows.get());
+                        count++;
+                    }
+                }
+
+                tx.commit();
+                return count;
+            } catch (Exception ex) {
+                tx.rollback();
+                throw ex;
+            }
         }
     }
 
+    /**
+     * Orders by the destination's search key, so spellings of the same place stay together, and then
+     * by id.
+     */
     @Override
-    public List<Transport> findByToLocationWithClient(String toLocation) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+    public Page<TransportListRow> findPageOrderByToLocation(Cursor after, int limit) {
+        Page.checkLimit(limit);
+
+        return UnitOfWork.readOnly(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<Transport> cq = cb.createQuery(Transport.class);
+            CriteriaQuery<TransportListRow> cq = cb.createQuery(TransportListRow.class);
 
             Root<Transport> root = cq.from(Transport.class);
-            root.fetch("client", JoinType.INNER);
+            Expression<String> key = root.get("toLocation").get("locationKey");
+            Expression<Long> id = root.get("id");
+            cq.select(listRow(cb, root))
+                    .orderBy(cb.asc(key), cb.asc(id));
+
+            if (after.lastId() > 0) {
+                String lastKey = cursorValue(session,
+                        "select t.toLocation.locationKey from Transport t where t.id = :id", String.class, after);
+
+                cq.where(cb.or(
+                        cb.greaterThan(key, lastKey),
+                        cb.and(cb.equal(key, lastKey), cb.greaterThan(id, after.lastId()))));
+            }
 
-            cq.select(root)
-                    .where(cb.equal(cb.trim(root.get("toLocation")), toLocation.trim()))
+            List<TransportListRow> rows = session.createQuery(cq)
+                    .setMaxResults(limit + 1)
+                    .getResultList();
+
+            return Page.of(rows, limit, TransportListRow::id);
+        });
+    }
+
+    @Override
+    public List<TransportListRow> findByToLocation(String toLocation) {
+        return UnitOfWork.readOnly(session -> {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<TransportListRow> cq = cb.createQuery(TransportListRow.class);
+
+            Root<Transport> root = cq.from(Transport.class);
+            cq.select(listRow(cb, root))
+                    .where(cb.equal(root.get("toLocation").get("locationKey"), LocationKeys.normalize(toLocation)))
                     .orderBy(cb.asc(root.get("departureDateTime")));
 
             return session.createQuery(cq).getResultList();
-        }
+        });
+    }
+
+    @Override
+    public Page<TransportListRow> findPageByToLocation(String toLocation, Cursor after, int limit) {
+        Page.checkLimit(limit);
+
+        return UnitOfWork.readOnly(session -> {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<TransportListRow> cq = cb.createQuery(TransportListRow.class);
+
+            Root<Transport> root = cq.from(Transport.class);
+            Expression<LocalDateTime> departure = root.get("departureDateTime");
+            Expression<Long> id = root.get("id");
+            Predicate destination = cb.equal(root.get("toLocation").get("locationKey"), LocationKeys.normalize(toLocation));
+
+            cq.select(listRow(cb, root))
+                    .where(destination)
+                    .orderBy(cb.asc(departure), cb.asc(id));
+
+            if (after.lastId() > 0) {
+                LocalDateTime lastDeparture = cursorValue(session,
+                        "select t.departureDateTime from Transport t where t.id = :id", LocalDateTime.class, after);
+
+                cq.where(destination, cb.or(
+                        cb.greaterThan(departure, lastDeparture),
+                        cb.and(cb.equal(departure, lastDeparture), cb.greaterThan(id, after.lastId()))));
+            }
+
+            List<TransportListRow> rows = session.createQuery(cq)
+                    .setMaxResults(limit + 1)
+                    .getResultList();
+
+            return Page.of(rows, limit, TransportListRow::id);
+        });
+    }
+
+    @Override
+    public List<DestinationRow> findDestinations() {
+        return UnitOfWork.readOnly(session -> session
+                .createSelectionQuery("""
+                        select new org.informatics.transportcompany.model.dto.transport.DestinationRow(
+                            l.locationKey, min(l.name))
+                        from Location l
+                        where exists (select 1 from Transport t where t.toLocation = l)
+                        group by l.locationKey
+                        """, DestinationRow.class)
+                .getResultList());
     }
 
     @Override
     public long countAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+        return UnitOfWork.read(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
             CriteriaQuery<Long> cq = cb.createQuery(Long.class);
 
@@ -145,55 +376,87 @@ public class TransportRepositoryImpl implements TransportRepository {
 
             Long count = session.createQuery(cq).getSingleResult();
             return count != null ? count : 0L;
-        }
+        });
     }
 
     @Override
     public BigDecimal sumTotalRevenue() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<BigDecimal> cq = cb.createQuery(BigDecimal.class);
+        return revenueBuckets.sumTotalRevenue();
+    }
 
-            Root<Transport> root = cq.from(Transport.class);
-            Expression<BigDecimal> sumExpr = cb.sum(root.get("price"));
-            cq.select(sumExpr);
+    @Override
+    public List<CompanySummaryRow> summaryByCompany() {
+        return revenueBuckets.summaryByCompanyAndPaid();
+    }
 
-            BigDecimal total = session.createQuery(cq).getSingleResult();
-            return total != null ? total : BigDecimal.ZERO;
-        }
+    @Override
+    public List<VehicleTypeSummaryRow> summaryByVehicleType() {
+        return UnitOfWork.readOnly(session -> session
+                .createSelectionQuery(VEHICLE_TYPE_SUMMARY_QUERY, VehicleTypeSummaryRow.class)
+                .getResultList());
     }
 
     @Override
-    public List<Object[]> driverTransportStats() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+    public List<DriverTransportCountRow> driverTransportStats() {
+        return UnitOfWork.readOnly(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+            CriteriaQuery<DriverTransportCountRow> cq = cb.createQuery(DriverTransportCountRow.class);
 
             Root<Transport> root = cq.from(Transport.class);
+            Join<Transport, Employee> driver = root.join("driver");
+            Join<Employee, TransportCompany> company = driver.join("company");
             Expression<Long> countExpr = cb.count(root);
 
-            cq.select(cb.array(root.get("driver"), countExpr));
-            cq.groupBy(root.get("driver"));
+            cq.select(cb.construct(DriverTransportCountRow.class,
+                    driver.get("id"),
+                    driver.get("firstName"),
+                    driver.get("lastName"),
+                    driver.get("qualification"),
+                    company.get("name"),
+                    countExpr));
+            cq.groupBy(
+                    driver.get("id"),
+                    driver.get("firstName"),
+                    driver.get("lastName"),
+                    driver.get("qualification"),
+                    company.get("name"));
             cq.orderBy(cb.desc(countExpr));
 
-            List<Object[]> rows = session.createQuery(cq).getResultList();
-
-            for (Object[] row : rows) {
-                Employee driver = (Employee) row[0];
-                if (driver != null) {
-                    Hibernate.initialize(driver);
-                    Hibernate.initialize(driver.getCompany());
-                }
-            }
-            return rows;
-        }
+            return session.createQuery(cq).getResultList();
+        });
     }
 
     @Override
     public BigDecimal sumCompanyRevenueForPeriod(TransportCompany company,
                                                  LocalDateTime from,
                                                  LocalDateTime to) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+        LocalDate firstWholeDay = from.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? from.toLocalDate()
+                : from.toLocalDate().plusDays(1);
+        LocalDate lastWholeDay = to.toLocalTime().equals(LocalTime.MAX)
+                ? to.toLocalDate()
+                : to.toLocalDate().minusDays(1);
+
+        if (firstWholeDay.isAfter(lastWholeDay)) {
+            return sumPaidTransports(company, from, to, true);
+        }
+
+        BigDecimal wholeDays = revenueBuckets.sumPaidCompanyRevenueForDays(company.getId(), firstWholeDay, lastWholeDay);
+        BigDecimal head = sumPaidTransports(company, from, firstWholeDay.atStartOfDay(), false);
+        BigDecimal tail = sumPaidTransports(company, lastWholeDay.plusDays(1).atStartOfDay(), to, true);
+
+        return wholeDays.add(head).add(tail);
+    }
+
+    private BigDecimal sumPaidTransports(TransportCompany company,
+                                         LocalDateTime from,
+                                         LocalDateTime to,
+                                         boolean toInclusive) {
+        if (from.isAfter(to) || (!toInclusive && !from.isBefore(to))) {
+            return BigDecimal.ZERO;
+        }
+
+        return UnitOfWork.read(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
             CriteriaQuery<BigDecimal> cq = cb.createQuery(BigDecimal.class);
 
@@ -203,40 +466,75 @@ public class TransportRepositoryImpl implements TransportRepository {
             cq.select(sumExpr)
                     .where(
                             cb.equal(root.get("company"), company),
-                            cb.between(root.get("departureDateTime"), from, to),
+                            cb.greaterThanOrEqualTo(root.get("departureDateTime"), from),
+                            toInclusive
+                                    ? cb.lessThanOrEqualTo(root.get("departureDateTime"), to)
+                                    : cb.lessThan(root.get("departureDateTime"), to),
                             cb.isTrue(root.get("paid"))
                     );
 
             BigDecimal total = session.createQuery(cq).getSingleResult();
             return total != null ? total : BigDecimal.ZERO;
-        }
+        });
     }
 
     @Override
-    public List<Object[]> driverRevenue() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+    public List<DriverRevenueRow> driverRevenue() {
+        return revenueBuckets.paidRevenueByDriverDesc();
+    }
 
-            Root<Transport> root = cq.from(Transport.class);
-            Expression<BigDecimal> sumExpr = cb.sum(root.get("price"));
+    @Override
+    public void rebuildRevenueAggregates() {
+        revenueBuckets.rebuild();
+    }
 
-            cq.select(cb.array(root.get("driver"), sumExpr));
-            cq.where(cb.isTrue(root.get("paid")));
-            cq.groupBy(root.get("driver"));
-            cq.orderBy(cb.desc(sumExpr));
+    @Override
+    public void ensureRevenueAggregates() {
+        if (revenueBuckets.isEmpty() && countAll() > 0) {
+            revenueBuckets.rebuild();
+        }
+    }
 
-            List<Object[]> rows = session.createQuery(cq).getResultList();
+    private void addToRevenueBucket(RevenueKey key, long transports) {
+        revenueBuckets.add(
+                key.companyId(),
+                key.driverId(),
+                key.day(),
+                key.paid(),
+                key.price().multiply(BigDecimal.valueOf(transports)),
+                transports
+        );
+    }
 
-            for (Object[] row : rows) {
-                Employee driver = (Employee) row[0];
-                if (driver != null) {
-                    Hibernate.initialize(driver);
-                    Hibernate.initialize(driver.getCompany());
-                }
-            }
+    /**
+     * The sort value of the cursor's transport, from which the next page continues. A cursor whose
+     * transport no longer exists, for example because its month was archived, is rejected.
+     */
+    private static <T> T cursorValue(Session session, String query, Class<T> type, Cursor after) {
+        return session.createSelectionQuery(query, type)
+                .setParameter("id", after.lastId())
+                .uniqueResultOptional()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Transport " + after.lastId() + " no longer exists; start the listing again."));
+    }
 
-            return rows;
-        }
+    private static CompoundSelection<TransportListRow> listRow(CriteriaBuilder cb, Root<Transport> root) {
+        Join<Transport, Client> client = root.join("client");
+
+        return cb.construct(TransportListRow.class,
+                root.get("id"),
+                root.get("company").get("id"),
+                client.get("id"),
+                client.get("name"),
+                root.get("vehicle").get("id"),
+                root.get("driver").get("id"),
+                root.get("fromLocation").get("name"),
+                root.get("toLocation").get("name"),
+                root.get("departureDateTime"),
+                root.get("arrivalDateTime"),
+                root.get("cargoDescription"),
+                root.get("cargoWeight"),
+                root.get("price"),
+                root.get("paid"));
     }
 }
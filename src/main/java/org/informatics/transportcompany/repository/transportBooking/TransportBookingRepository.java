@@ -0,0 +1,31 @@
+package org.informatics.transportcompany.repository.transportBooking;
+
+import org.informatics.transportcompany.model.dto.transport.TransportBookingRow;
+import org.informatics.transportcompany.model.entity.Transport;
+import org.informatics.transportcompany.model.enums.BookingResource;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TransportBookingRepository {
+
+    String OVERLAP_CONSTRAINT = "transport_bookings_no_overlap";
+
+    void book(Transport transport);
+
+    void rebook(Transport transport);
+
+    /**
+     * Bookings of the resource that end after {@code endsAfter}.
+     */
+    List<TransportBookingRow> findByResource(BookingResource resource, long resourceId, LocalDateTime endsAfter);
+
+    List<TransportBookingRow> findByResources(BookingResource resource, Collection<Long> resourceIds, LocalDateTime endsAfter);
+
+    /**
+     * A booking of the resource overlapping {@code [from, to)}, if there is one.
+     */
+    Optional<TransportBookingRow> findOverlapping(BookingResource resource, long resourceId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,118 @@
+package org.informatics.transportcompany.repository.transportBooking;
+
+import org.hibernate.Session;
+import org.informatics.transportcompany.config.UnitOfWork;
+import org.informatics.transportcompany.model.dto.transport.TransportBookingRow;
+import org.informatics.transportcompany.model.entity.Transport;
+import org.informatics.transportcompany.model.entity.TransportBooking;
+import org.informatics.transportcompany.model.enums.BookingResource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public class TransportBookingRepositoryImpl implements TransportBookingRepository {
+
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
+    @Override
+    public void book(Transport transport) {
+        UnitOfWork.execute(session -> persistBookings(session, transport));
+    }
+
+    @Override
+    public void rebook(Transport transport) {
+        UnitOfWork.execute(session -> {
+            session.createMutationQuery("delete from TransportBooking b where b.transportId = :transportId")
+                    .setParameter("transportId", transport.getId())
+                    .executeUpdate();
+            persistBookings(session, transport);
+        });
+    }
+
+    @Override
+    public List<TransportBookingRow> findByResource(BookingResource resource, long resourceId, LocalDateTime endsAfter) {
+        return UnitOfWork.readOnly(session -> session
+                .createSelectionQuery("""
+                        select new org.informatics.transportcompany.model.dto.transport.TransportBookingRow(
+                            b.transportId, b.resourceId, b.startsAt, b.endsAt)
+                        from TransportBooking b
+                        where b.resource = :resource and b.resourceId = :resourceId and b.endsAt > :endsAfter
+                        """, TransportBookingRow.class)
+                .setParameter("resource", resource)
+                .setParameter("resourceId", resourceId)
+                .setParameter("endsAfter", endsAfter)
+                .getResultList());
+    }
+
+    @Override
+    public List<TransportBookingRow> findByResources(BookingResource resource,
+                                                     Collection<Long> resourceIds,
+                                                     LocalDateTime endsAfter) {
+        List<Long> ids = List.copyOf(resourceIds);
+
+        return UnitOfWork.readOnly(session -> {
+            List<TransportBookingRow> rows = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, ids.size()));
+
+                rows.addAll(session.createSelectionQuery("""
+                                select new org.informatics.transportcompany.model.dto.transport.TransportBookingRow(
+                                    b.transportId, b.resourceId, b.startsAt, b.endsAt)
+                                from TransportBooking b
+                                where b.resource = :resource and b.resourceId in :resourceIds and b.endsAt > :endsAfter
+                                """, TransportBookingRow.class)
+                        .setParameter("resource", resource)
+                        .setParameterList("resourceIds", chunk)
+                        .setParameter("endsAfter", endsAfter)
+                        .getResultList());
+            }
+            return rows;
+        });
+    }
+
+    @Override
+    public Optional<TransportBookingRow> findOverlapping(BookingResource resource,
+                                                         long resourceId,
+                                                         LocalDateTime from,
+                                                         LocalDateTime to) {
+        return UnitOfWork.readOnly(session -> session
+                .createSelectionQuery("""
+                        select new org.informatics.transportcompany.model.dto.transport.TransportBookingRow(
+                            b.transportId, b.resourceId, b.startsAt, b.endsAt)
+                        from TransportBooking b
+                        where b.resource = :resource and b.resourceId = :resourceId
+                          and b.startsAt < :to and b.endsAt > :from
+                        """, TransportBookingRow.class)
+                .setParameter("resource", resource)
+                .setParameter("resourceId", resourceId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setMaxResults(1)
+                .uniqueResultOptional());
+    }
+
+    private static void persistBookings(Session session, Transport transport) {
+        session.persist(booking(transport, BookingResource.VEHICLE, transport.getVehicle().getId()));
+        session.persist(booking(transport, BookingResource.DRIVER, transport.getDriver().getId()));
+    }
+
+    /**
+     * A transport that arrives before it departs is booked as an empty interval, so it never
+     * conflicts and the range in the exclusion constraint stays valid.
+     */
+    private static TransportBooking booking(Transport transport, BookingResource resource, long resourceId) {
+        LocalDateTime startsAt = transport.getDepartureDateTime();
+        LocalDateTime endsAt = transport.getArrivalDateTime();
+
+        TransportBooking booking = new TransportBooking();
+        booking.setTransportId(transport.getId());
+        booking.setResource(resource);
+        booking.setResourceId(resourceId);
+        booking.setStartsAt(startsAt);
+        booking.setEndsAt(endsAt.isBefore(startsAt) ? startsAt : endsAt);
+        return booking;
+    }
+}
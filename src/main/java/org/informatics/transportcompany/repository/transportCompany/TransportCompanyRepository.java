@@ -1,9 +1,15 @@
 package org.informatics.transportcompany.repository.transportCompany;
 
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
 import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface TransportCompanyRepository {
     TransportCompany create(TransportCompany company);
@@ -12,11 +18,19 @@ public interface TransportCompanyRepository {
 
     Optional<TransportCompany> findById(long id);
 
+    boolean existsById(long id);
+
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    TransportCompany getReference(long id);
+
     List<TransportCompany> findAll();
 
-    List<TransportCompany> findAllOrderByName();
+    Page<CompanyListRow> findPage(Cursor after, int limit);
+
+    List<CompanyListRow> findAllOrderByName();
 
-    List<Object[]> findAllWithRevenueOrderByRevenueDesc();
+    List<CompanyRevenueRow> findAllWithRevenueOrderByRevenueDesc();
 
     void deleteById(long id);
 }
@@ -1,69 +1,107 @@
 package org.informatics.transportcompany.repository.transportCompany;
 
+import jakarta.persistence.criteria.CompoundSelection;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Root;
-import jakarta.persistence.criteria.Subquery;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
+import org.hibernate.Cache;
 import org.informatics.transportcompany.config.HibernateUtil;
-import org.informatics.transportcompany.model.entity.Transport;
+import org.informatics.transportcompany.config.UnitOfWork;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
 import org.informatics.transportcompany.model.entity.TransportCompany;
-
-import java.math.BigDecimal;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.repository.revenueBucket.RevenueBucketRepository;
+import org.informatics.transportcompany.repository.revenueBucket.RevenueBucketRepositoryImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class TransportCompanyRepositoryImpl implements TransportCompanyRepository {
 
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
+    private final RevenueBucketRepository revenueBuckets;
+
+    public TransportCompanyRepositoryImpl() {
+        this(new RevenueBucketRepositoryImpl());
+    }
+
+    public TransportCompanyRepositoryImpl(RevenueBucketRepository revenueBuckets) {
+        this.revenueBuckets = revenueBuckets;
+    }
+
     @Override
     public TransportCompany create(TransportCompany company) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                session.persist(company);
-                tx.commit();
-                return company;
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
-            }
-        }
+        return UnitOfWork.write(session -> {
+            session.persist(company);
+            return company;
+        });
     }
 
     @Override
     public TransportCompany update(TransportCompany company) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                company = session.merge(company);
-                tx.commit();
-                return company;
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
-            }
-        }
+        return UnitOfWork.write(session -> {
+            return session.merge(company);
+        });
     }
 
     @Override
     public Optional<TransportCompany> findById(long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<TransportCompany> cq = cb.createQuery(TransportCompany.class);
+        return UnitOfWork.read(session -> Optional.ofNullable(session.find(TransportCompany.class, id)));
+    }
 
-            Root<TransportCompany> root = cq.from(TransportCompany.class);
-            cq.select(root).where(cb.equal(root.get("id"), id));
+    @Override
+    public boolean existsById(long id) {
+        return UnitOfWork.read(session -> session.find(TransportCompany.class, id) != null);
+    }
 
-            List<TransportCompany> result = session.createQuery(cq).getResultList();
-            return result.isEmpty() ? Optional.empty() : Optional.of(result.getFirst());
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        Cache cache = HibernateUtil.getSessionFactory().getCache();
+        Set<Long> existing = new HashSet<>();
+        List<Long> uncached = new ArrayList<>();
+
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (cache.containsEntity(TransportCompany.class, id)) {
+                existing.add(id);
+            } else {
+                uncached.add(id);
+            }
         }
+
+        return UnitOfWork.read(session -> {
+            for (int from = 0; from < uncached.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+                List<Long> chunk = uncached.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, uncached.size()));
+
+                CriteriaBuilder cb = session.getCriteriaBuilder();
+                CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+
+                Root<TransportCompany> root = cq.from(TransportCompany.class);
+                cq.select(root.get("id"))
+                        .where(root.get("id").in(chunk));
+
+                existing.addAll(session.createQuery(cq).getResultList());
+            }
+
+            return existing;
+        });
+    }
+
+    @Override
+    public TransportCompany getReference(long id) {
+        return UnitOfWork.currentSession().getReference(TransportCompany.class, id);
     }
 
     @Override
     public List<TransportCompany> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+        return UnitOfWork.read(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
             CriteriaQuery<TransportCompany> cq = cb.createQuery(TransportCompany.class);
 
@@ -71,61 +109,60 @@ public class TransportCompanyRepositoryImpl implements TransportCompanyRepositor
             cq.select(root);
 
             return session.createQuery(cq).getResultList();
-        }
+        });
     }
 
     @Override
-    public List<TransportCompany> findAllOrderByName() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+    public Page<CompanyListRow> findPage(Cursor after, int limit) {
+        Page.checkLimit(limit);
+
+        return UnitOfWork.readOnly(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<TransportCompany> cq = cb.createQuery(TransportCompany.class);
+            CriteriaQuery<CompanyListRow> cq = cb.createQuery(CompanyListRow.class);
 
             Root<TransportCompany> root = cq.from(TransportCompany.class);
-            cq.select(root)
-                    .orderBy(cb.asc(root.get("name")));
+            cq.select(listRow(cb, root))
+                    .where(cb.greaterThan(root.get("id"), after.lastId()))
+                    .orderBy(cb.asc(root.get("id")));
 
-            return session.createQuery(cq).getResultList();
-        }
+            List<CompanyListRow> rows = session.createQuery(cq)
+                    .setMaxResults(limit + 1)
+                    .getResultList();
+
+            return Page.of(rows, limit, CompanyListRow::id);
+        });
     }
 
     @Override
-    public List<Object[]> findAllWithRevenueOrderByRevenueDesc() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+    public List<CompanyListRow> findAllOrderByName() {
+        return UnitOfWork.readOnly(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
-
-            Root<TransportCompany> companyRoot = cq.from(TransportCompany.class);
+            CriteriaQuery<CompanyListRow> cq = cb.createQuery(CompanyListRow.class);
 
-            Subquery<BigDecimal> revenueSub = cq.subquery(BigDecimal.class);
-            Root<Transport> transportRoot = revenueSub.from(Transport.class);
-
-            revenueSub.select(cb.sum(transportRoot.get("price")));
-            revenueSub.where(cb.equal(transportRoot.get("company"), companyRoot));
-
-            Expression<BigDecimal> revenueExpr =
-                    cb.coalesce(revenueSub, BigDecimal.ZERO);
-
-            cq.select(cb.array(companyRoot, revenueExpr));
-            cq.orderBy(cb.desc(revenueExpr));
+            Root<TransportCompany> root = cq.from(TransportCompany.class);
+            cq.select(listRow(cb, root))
+                    .orderBy(cb.asc(root.get("name")));
 
             return session.createQuery(cq).getResultList();
-        }
+        });
+    }
+
+    @Override
+    public List<CompanyRevenueRow> findAllWithRevenueOrderByRevenueDesc() {
+        return revenueBuckets.revenueByCompanyDesc();
     }
 
     @Override
     public void deleteById(long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                TransportCompany company = session.find(TransportCompany.class, id);
-                if (company != null) {
-                    session.remove(company);
-                }
-                tx.commit();
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
+        UnitOfWork.execute(session -> {
+            TransportCompany company = session.find(TransportCompany.class, id);
+            if (company != null) {
+                session.remove(company);
             }
-        }
+        });
+    }
+
+    private static CompoundSelection<CompanyListRow> listRow(CriteriaBuilder cb, Root<TransportCompany> root) {
+        return cb.construct(CompanyListRow.class, root.get("id"), root.get("name"), root.get("address"));
     }
 }
@@ -1,9 +1,15 @@
 package org.informatics.transportcompany.repository.vehicle;
 
+import org.informatics.transportcompany.model.dto.vehicle.VehicleListRow;
 import org.informatics.transportcompany.model.entity.Vehicle;
+import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface VehicleRepository {
 
@@ -13,7 +19,17 @@ public interface VehicleRepository {
 
     Optional<Vehicle> findById(long id);
 
+    boolean existsById(long id);
+
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    Vehicle getReference(long id);
+
     List<Vehicle> findAll();
 
+    Page<VehicleListRow> findPage(Cursor after, int limit);
+
+    List<VehicleListRow> findByCompanyAndTypeOrderByCapacity(long companyId, VehicleType type);
+
     void deleteById(long id);
 }
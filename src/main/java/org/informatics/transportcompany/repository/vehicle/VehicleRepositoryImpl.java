@@ -1,56 +1,111 @@
 package org.informatics.transportcompany.repository.vehicle;
 
+import jakarta.persistence.criteria.CompoundSelection;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.Cache;
 import org.hibernate.Hibernate;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
 import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.config.UnitOfWork;
+import org.informatics.transportcompany.model.dto.vehicle.VehicleListRow;
+import org.informatics.transportcompany.model.entity.TransportCompany;
 import org.informatics.transportcompany.model.entity.Vehicle;
-
+import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class VehicleRepositoryImpl implements VehicleRepository {
 
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
     @Override
     public Vehicle create(Vehicle vehicle) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                session.persist(vehicle);
-                tx.commit();
-                return vehicle;
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
-            }
-        }
+        return UnitOfWork.write(session -> {
+            session.persist(vehicle);
+            return vehicle;
+        });
     }
 
     @Override
     public Vehicle update(Vehicle vehicle) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                Vehicle merged = session.merge(vehicle);
-
-                Hibernate.initialize(merged.getCompany());
-
-                tx.commit();
-                return merged;
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
+        return UnitOfWork.write(session -> {
+            Vehicle merged = session.merge(vehicle);
+
+            Hibernate.initialize(merged.getCompany());
+
+            return merged;
+        });
+    }
+
+    @Override
+    public Optional<Vehicle> findById(long id) {
+        return UnitOfWork.read(session -> {
+            Vehicle vehicle = session.find(Vehicle.class, id);
+
+            if (vehicle != null) {
+                Hibernate.initialize(vehicle.getCompany());
+            }
+
+            return Optional.ofNullable(vehicle);
+        });
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return UnitOfWork.read(session -> session.find(Vehicle.class, id) != null);
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        Cache cache = HibernateUtil.getSessionFactory().getCache();
+        Set<Long> existing = new HashSet<>();
+        List<Long> uncached = new ArrayList<>();
+
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (cache.containsEntity(Vehicle.class, id)) {
+                existing.add(id);
+            } else {
+                uncached.add(id);
             }
         }
+
+        return UnitOfWork.read(session -> {
+            for (int from = 0; from < uncached.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+                List<Long> chunk = uncached.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, uncached.size()));
+
+                CriteriaBuilder cb = session.getCriteriaBuilder();
+                CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+
+                Root<Vehicle> root = cq.from(Vehicle.class);
+                cq.select(root.get("id"))
+                        .where(root.get("id").in(chunk));
+
+                existing.addAll(session.createQuery(cq).getResultList());
+            }
+
+            return existing;
+        });
     }
 
     @Override
-    public Optional<Vehicle> findById(long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+    public Vehicle getReference(long id) {
+        return UnitOfWork.currentSession().getReference(Vehicle.class, id);
+    }
+
+    @Override
+    public List<Vehicle> findAll() {
+        return UnitOfWork.read(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
             CriteriaQuery<Vehicle> cq = cb.createQuery(Vehicle.class);
 
@@ -58,43 +113,75 @@ public class VehicleRepositoryImpl implements VehicleRepository {
             root.fetch("company", JoinType.INNER);
 
             cq.select(root)
-                    .where(cb.equal(root.get("id"), id));
+                    .orderBy(cb.asc(root.get("id")));
 
-            List<Vehicle> result = session.createQuery(cq).getResultList();
-            return result.isEmpty() ? Optional.empty() : Optional.of(result.getFirst());
-        }
+            return session.createQuery(cq).getResultList();
+        });
     }
 
     @Override
-    public List<Vehicle> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+    public Page<VehicleListRow> findPage(Cursor after, int limit) {
+        Page.checkLimit(limit);
+
+        return UnitOfWork.readOnly(session -> {
             CriteriaBuilder cb = session.getCriteriaBuilder();
-            CriteriaQuery<Vehicle> cq = cb.createQuery(Vehicle.class);
+            CriteriaQuery<VehicleListRow> cq = cb.createQuery(VehicleListRow.class);
 
             Root<Vehicle> root = cq.from(Vehicle.class);
-            root.fetch("company", JoinType.INNER);
 
-            cq.select(root)
+            cq.select(listRow(cb, root))
+                    .where(cb.greaterThan(root.get("id"), after.lastId()))
                     .orderBy(cb.asc(root.get("id")));
 
+            List<VehicleListRow> rows = session.createQuery(cq)
+                    .setMaxResults(limit + 1)
+                    .getResultList();
+
+            return Page.of(rows, limit, VehicleListRow::id);
+        });
+    }
+
+    @Override
+    public List<VehicleListRow> findByCompanyAndTypeOrderByCapacity(long companyId, VehicleType type) {
+        return UnitOfWork.readOnly(session -> {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<VehicleListRow> cq = cb.createQuery(VehicleListRow.class);
+
+            Root<Vehicle> root = cq.from(Vehicle.class);
+
+            cq.select(listRow(cb, root))
+                    .where(
+                            cb.equal(root.get("company").get("id"), companyId),
+                            cb.equal(root.get("type"), type)
+                    )
+                    .orderBy(
+                            cb.asc(root.get("capacity")),
+                            cb.asc(root.get("id"))
+                    );
+
             return session.createQuery(cq).getResultList();
-        }
+        });
     }
 
     @Override
     public void deleteById(long id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Transaction tx = session.beginTransaction();
-            try {
-                Vehicle vehicle = session.find(Vehicle.class, id);
-                if (vehicle != null) {
-                    session.remove(vehicle);
-                }
-                tx.commit();
-            } catch (Exception ex) {
-                tx.rollback();
-                throw ex;
+        UnitOfWork.execute(session -> {
+            Vehicle vehicle = session.find(Vehicle.class, id);
+            if (vehicle != null) {
+                session.remove(vehicle);
             }
-        }
+        });
+    }
+
+    private static CompoundSelection<VehicleListRow> listRow(CriteriaBuilder cb, Root<Vehicle> root) {
+        Join<Vehicle, TransportCompany> company = root.join("company");
+
+        return cb.construct(VehicleListRow.class,
+                root.get("id"),
+                root.get("registrationNumber"),
+                root.get("type"),
+                root.get("capacity"),
+                company.get("id"),
+                company.get("name"));
     }
 }
@@ -0,0 +1,7 @@
+package org.informatics.transportcompany.server;
+
+@FunctionalInterface
+interface Endpoint {
+
+    Object handle(Request request);
+}
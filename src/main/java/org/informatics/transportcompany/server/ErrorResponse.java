@@ -0,0 +1,4 @@
+package org.informatics.transportcompany.server;
+
+public record ErrorResponse(int status, String error) {
+}
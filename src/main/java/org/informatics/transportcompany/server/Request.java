@@ -0,0 +1,100 @@
+package org.informatics.transportcompany.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Set;
+
+public class Request {
+
+    private final Map<String, String> pathParameters;
+    private final Map<String, String> queryParameters;
+    private final byte[] body;
+    private final ObjectMapper mapper;
+    private final Validator validator;
+
+    Request(Map<String, String> pathParameters,
+            Map<String, String> queryParameters,
+            byte[] body,
+            ObjectMapper mapper,
+            Validator validator) {
+        this.pathParameters = pathParameters;
+        this.queryParameters = queryParameters;
+        this.body = body;
+        this.mapper = mapper;
+        this.validator = validator;
+    }
+
+    public String path(String name) {
+        return pathParameters.get(name);
+    }
+
+    public long pathLong(String name) {
+        return parseLong(name, path(name));
+    }
+
+    public String query(String name) {
+        return queryParameters.get(name);
+    }
+
+    public String requiredQuery(String name) {
+        String value = query(name);
+        if (value == null || value.isBlank()) {
+            throw new ApiException(400, "Query parameter '" + name + "' is required.");
+        }
+        return value;
+    }
+
+    public long queryLong(String name, long defaultValue) {
+        String value = query(name);
+        return value == null ? defaultValue : parseLong(name, value);
+    }
+
+    public LocalDateTime queryDateTime(String name) {
+        String value = requiredQuery(name);
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new ApiException(400, "Query parameter '" + name + "' must be a date-time like 2025-01-01T00:00.");
+        }
+    }
+
+    public <T> T body(Class<T> type) {
+        if (body.length == 0) {
+            throw new ApiException(400, "Request body is required.");
+        }
+
+        T value;
+        try {
+            value = mapper.readValue(body, type);
+        } catch (JsonProcessingException ex) {
+            throw new ApiException(400, "Malformed request body: " + ex.getOriginalMessage());
+        } catch (IOException ex) {
+            throw new ApiException(400, "Request body cannot be read.");
+        }
+        return validate(value);
+    }
+
+    public <T> T validate(T value) {
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return value;
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new ApiException(400, "'" + name + "' must be a number.");
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.informatics.transportcompany.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.informatics.transportcompany.exceptions.Transport.NoTransportWithProvidedIdException;
+import org.informatics.transportcompany.exceptions.Transport.TransportBookingConflictException;
+import org.informatics.transportcompany.exceptions.client.NoClientWithProvidedIdException;
+import org.informatics.transportcompany.exceptions.company.NoCompanyWithProvidedIdException;
+import org.informatics.transportcompany.exceptions.employee.NoEmployeeWithProvidedIdException;
+import org.informatics.transportcompany.exceptions.vehicle.NoVehicleWithProvidedIdException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Dispatches requests to endpoints by method and path. Path templates use {@code {name}} for
+ * parameters, e.g. {@code /api/clients/{id}}. Results are written as JSON; {@code null} means 204.
+ */
+class Router implements HttpHandler {
+
+    private static final System.Logger LOG = System.getLogger(Router.class.getName());
+
+    private final List<Route> routes = new ArrayList<>();
+    private final ObjectMapper mapper;
+    private final Validator validator;
+
+    Router(ObjectMapper mapper, Validator validator) {
+        this.mapper = mapper;
+        this.validator = validator;
+    }
+
+    Router get(String template, Endpoint endpoint) {
+        return add("GET", template, 200, endpoint);
+    }
+
+    Router post(String template, Endpoint endpoint) {
+        return add("POST", template, 201, endpoint);
+    }
+
+    Router put(String template, Endpoint endpoint) {
+        return add("PUT", template, 200, endpoint);
+    }
+
+    Router delete(String template, Endpoint endpoint) {
+        return add("DELETE", template, 204, endpoint);
+    }
+
+    private Router add(String method, String template, int status, Endpoint endpoint) {
+        routes.add(new Route(method, template.split("/"), status, endpoint));
+        return this;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            int status;
+            Object result;
+
+            try {
+                String[] segments = exchange.getRequestURI().getRawPath().split("/");
+                Route route = null;
+                Map<String, String> pathParameters = null;
+                boolean pathMatched = false;
+
+                for (Route candidate : routes) {
+                    Map<String, String> parameters = candidate.match(segments);
+                    if (parameters == null) {
+                        continue;
+                    }
+                    pathMatched = true;
+                    if (candidate.method().equals(exchange.getRequestMethod())) {
+                        route = candidate;
+                        pathParameters = parameters;
+                        break;
+                    }
+                }
+
+                if (route == null) {
+                    throw pathMatched
+                            ? new ApiException(405, "Method " + exchange.getRequestMethod() + " is not allowed here.")
+                            : new ApiException(404, "No such endpoint.");
+                }
+
+                byte[] body;
+                try (InputStream in = exchange.getRequestBody()) {
+                    body = in.readAllBytes();
+                }
+
+                Request request = new Request(
+                        pathParameters,
+                        parseQuery(exchange.getRequestURI().getRawQuery()),
+                        body,
+                        mapper,
+                        validator
+                );
+
+                result = route.endpoint().handle(request);
+                status = result == null ? 204 : route.status();
+            } catch (RuntimeException ex) {
+                ErrorResponse error = toError(ex);
+                if (error.status() == 500) {
+                    LOG.log(System.Logger.Level.ERROR, () -> exchange.getRequestMethod() + " "
+                            + exchange.getRequestURI().getRawPath() + " failed", ex);
+                }
+                status = error.status();
+                result = error;
+            }
+
+            if (result == null) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+
+            byte[] json = mapper.writeValueAsBytes(result);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        }
+    }
+
+    private static ErrorResponse toError(RuntimeException ex) {
+        return switch (ex) {
+            case ApiException api -> new ErrorResponse(api.getStatus(), api.getMessage());
+            case NoCompanyWithProvidedIdException notFound -> new ErrorResponse(404, notFound.getMessage());
+            case NoClientWithProvidedIdException notFound -> new ErrorResponse(404, notFound.getMessage());
+            case NoVehicleWithProvidedIdException notFound -> new ErrorResponse(404, notFound.getMessage());
+            case NoEmployeeWithProvidedIdException notFound -> new ErrorResponse(404, notFound.getMessage());
+            case NoTransportWithProvidedIdException notFound -> new ErrorResponse(404, notFound.getMessage());
+            case TransportBookingConflictException conflict -> new ErrorResponse(409, conflict.getMessage());
+            case ConstraintViolationException invalid -> new ErrorResponse(400, invalid.getConstraintViolations().stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" ")));
+            case IllegalArgumentException invalid -> new ErrorResponse(400, invalid.getMessage());
+            case org.hibernate.exception.ConstraintViolationException conflict ->
+                    new ErrorResponse(409, "The request conflicts with existing data.");
+            default -> new ErrorResponse(500, "Internal server error.");
+        };
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            parameters.put(decode(name), decode(value));
+        }
+        return parameters;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private record Route(String method, String[] template, int status, Endpoint endpoint) {
+
+        Map<String, String> match(String[] segments) {
+            if (segments.length != template.length) {
+                return null;
+            }
+
+            Map<String, String> parameters = new HashMap<>();
+            for (int i = 0; i < template.length; i++) {
+                String part = template[i];
+                if (part.startsWith("{") && part.endsWith("}")) {
+                    parameters.put(part.substring(1, part.length() - 1), decode(segments[i]));
+                } else if (!part.equals(segments[i])) {
+                    return null;
+                }
+            }
+            return parameters;
+        }
+    }
+}
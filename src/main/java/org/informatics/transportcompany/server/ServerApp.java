@@ -0,0 +1,32 @@
+package org.informatics.transportcompany.server;
+
+import org.informatics.transportcompany.Services;
+import org.informatics.transportcompany.config.HibernateUtil;
+
+import java.io.IOException;
+import java.time.YearMonth;
+
+public class ServerApp {
+
+    private static final int DEFAULT_PORT = 8080;
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+
+        Services services = Services.create();
+        services.partitionService().maintain(YearMonth.now());
+        services.transportService().ensureRevenueAggregates();
+        services.analytics().start();
+
+        TransportCompanyServer server = TransportCompanyServer.start(services, port);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            services.analytics().close();
+            services.async().executor().close();
+            HibernateUtil.shutdown();
+        }));
+
+        System.out.printf("Transport company server listening on http://localhost:%d/api%n", server.getPort());
+    }
+}
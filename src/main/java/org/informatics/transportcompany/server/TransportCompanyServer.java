@@ -0,0 +1,265 @@
+package org.informatics.transportcompany.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.informatics.transportcompany.Services;
+import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.model.dto.client.ClientCreateRequest;
+import org.informatics.transportcompany.model.dto.client.ClientUpdateRequest;
+import org.informatics.transportcompany.model.dto.employee.EmployeeCreateRequest;
+import org.informatics.transportcompany.model.dto.employee.EmployeeUpdateRequest;
+import org.informatics.transportcompany.model.dto.transport.CalculateCompanyRevenueForPeriodRequest;
+import org.informatics.transportcompany.model.dto.transport.TransportCreateRequest;
+import org.informatics.transportcompany.model.dto.transportCompany.TransportCompanyCreateRequest;
+import org.informatics.transportcompany.model.dto.transportCompany.TransportCompanyUpdateRequest;
+import org.informatics.transportcompany.model.dto.vehicle.VehicleCreateRequest;
+import org.informatics.transportcompany.model.dto.vehicle.VehicleUpdateRequest;
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
+import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.server.response.ClientResponse;
+import org.informatics.transportcompany.server.response.CompanyResponse;
+import org.informatics.transportcompany.server.response.CompanyRevenueResponse;
+import org.informatics.transportcompany.server.response.DriverStatResponse;
+import org.informatics.transportcompany.server.response.EmployeeResponse;
+import org.informatics.transportcompany.server.response.PageResponse;
+import org.informatics.transportcompany.server.response.TransportResponse;
+import org.informatics.transportcompany.server.response.TransportsSummaryResponse;
+import org.informatics.transportcompany.server.response.VehicleResponse;
+import org.informatics.transportcompany.service.ClientService;
+import org.informatics.transportcompany.service.EmployeeService;
+import org.informatics.transportcompany.service.TransportCompanyService;
+import org.informatics.transportcompany.service.TransportService;
+import org.informatics.transportcompany.service.VehicleService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exposes the console operations as HTTP/JSON endpoints under {@code /api}. Every request runs on
+ * its own virtual thread; concurrency is bounded by the connection pool, not by the server.
+ */
+public class TransportCompanyServer {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 1_000;
+    public static final int DEFAULT_BEST_FIT_VEHICLES = 5;
+    public static final int DEFAULT_DESTINATION_SUGGESTIONS = 10;
+
+    private static final int BACKLOG = 1_024;
+    private static final int STOP_DELAY_SECONDS = 2;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private TransportCompanyServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static TransportCompanyServer start(Services services, int port) throws IOException {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        Router router = new Router(mapper, validator);
+        companyRoutes(router, services.companyService());
+        clientRoutes(router, services.clientService());
+        vehicleRoutes(router, services.vehicleService());
+        employeeRoutes(router, services.employeeService());
+        transportRoutes(router, services.transportService());
+        diagnosticsRoutes(router, services);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", router);
+        server.start();
+
+        return new TransportCompanyServer(server, executor);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.close();
+    }
+
+    private static void companyRoutes(Router router, TransportCompanyService service) {
+        router.get("/api/companies/by-name", r -> service.findAllOrderByName().stream().map(CompanyResponse::of).toList())
+                .get("/api/companies/by-revenue", r -> service.findAllWithRevenueOrderByRevenueDesc().stream()
+                        .map(CompanyRevenueResponse::of)
+                        .toList())
+                .get("/api/companies", r -> PageResponse.of(
+                        service.findPage(after(r), limit(r)), CompanyResponse::of))
+                .post("/api/companies", r -> CompanyResponse.of(
+                        service.createCompany(r.body(TransportCompanyCreateRequest.class))))
+                .get("/api/companies/{id}", r -> CompanyResponse.of(service.findById(r.pathLong("id"))))
+                .put("/api/companies/{id}", r -> {
+                    TransportCompanyUpdateRequest request = r.body(TransportCompanyUpdateRequest.class);
+                    request.setId(r.pathLong("id"));
+                    return CompanyResponse.of(service.updateCompany(request));
+                })
+                .delete("/api/companies/{id}", r -> {
+                    service.deleteCompany(r.pathLong("id"));
+                    return null;
+                });
+    }
+
+    private static void clientRoutes(Router router, ClientService service) {
+        router.get("/api/clients", r -> PageResponse.of(service.findPage(after(r), limit(r)), ClientResponse::of))
+                .post("/api/clients", r -> ClientResponse.of(service.createClient(r.body(ClientCreateRequest.class))))
+                .get("/api/clients/{id}", r -> ClientResponse.of(service.findById(r.pathLong("id"))))
+                .put("/api/clients/{id}", r -> {
+                    ClientUpdateRequest request = r.body(ClientUpdateRequest.class);
+                    request.setId(r.pathLong("id"));
+                    return ClientResponse.of(service.updateClient(request));
+                })
+                .delete("/api/clients/{id}", r -> {
+                    service.deleteClient(r.pathLong("id"));
+                    return null;
+                });
+    }
+
+    private static void vehicleRoutes(Router router, VehicleService service) {
+        router.get("/api/vehicles/best-fit", r -> service.findBestFitVehicles(
+                                r.queryLong("companyId", 0),
+                                vehicleType(r.requiredQuery("type")),
+                                cargoWeight(r.requiredQuery("cargoWeight")),
+                                r.queryDateTime("from"),
+                                r.queryDateTime("to"),
+                                limit(r, DEFAULT_BEST_FIT_VEHICLES)).stream()
+                        .map(VehicleResponse::of)
+                        .toList())
+                .get("/api/vehicles", r -> PageResponse.of(service.findPage(after(r), limit(r)), VehicleResponse::of))
+                .post("/api/vehicles", r -> VehicleResponse.of(service.createVehicle(r.body(VehicleCreateRequest.class))))
+                .get("/api/vehicles/{id}", r -> VehicleResponse.of(service.findById(r.pathLong("id"))))
+                .put("/api/vehicles/{id}", r -> {
+                    VehicleUpdateRequest request = r.body(VehicleUpdateRequest.class);
+                    request.setId(r.pathLong("id"));
+                    return VehicleResponse.of(service.updateVehicle(request));
+                })
+                .delete("/api/vehicles/{id}", r -> {
+                    service.deleteVehicle(r.pathLong("id"));
+                    return null;
+                });
+    }
+
+    private static void employeeRoutes(Router router, EmployeeService service) {
+        router.get("/api/employees/by-qualification", r -> PageResponse.of(
+                        service.findPageOrderByQualificationThenSalary(after(r), limit(r)), EmployeeResponse::of))
+                .get("/api/employees/by-salary", r -> PageResponse.of(
+                        service.findPageOrderBySalaryDesc(after(r), limit(r)), EmployeeResponse::of))
+                .get("/api/employees/by-qualification/{qualification}", r -> service.findByQualificationOrderBySalaryDesc(
+                                qualification(r.path("qualification"))).stream()
+                        .map(EmployeeResponse::of)
+                        .toList())
+                .get("/api/employees/available", r -> service.findAvailableDrivers(
+                                r.queryLong("companyId", 0),
+                                qualification(r.requiredQuery("qualification")),
+                                r.queryDateTime("from"),
+                                r.queryDateTime("to")).stream()
+                        .map(EmployeeResponse::of)
+                        .toList())
+                .get("/api/employees", r -> PageResponse.of(service.findPage(after(r), limit(r)), EmployeeResponse::of))
+                .post("/api/employees", r -> EmployeeResponse.of(service.createEmployee(r.body(EmployeeCreateRequest.class))))
+                .get("/api/employees/{id}", r -> EmployeeResponse.of(service.findById(r.pathLong("id"))))
+                .put("/api/employees/{id}", r -> {
+                    EmployeeUpdateRequest request = r.body(EmployeeUpdateRequest.class);
+                    request.setId(r.pathLong("id"));
+                    return EmployeeResponse.of(service.updateEmployee(request));
+                })
+                .delete("/api/employees/{id}", r -> {
+                    service.deleteEmployee(r.pathLong("id"));
+                    return null;
+                });
+    }
+
+    private static void transportRoutes(Router router, TransportService service) {
+        router.get("/api/transports/by-destination", r -> PageResponse.of(
+                        service.findPageOrderByToLocation(after(r), limit(r)), TransportResponse::of))
+                .get("/api/transports/to/{location}", r -> PageResponse.of(
+                        service.findPageByToLocation(r.path("location"), after(r), limit(r)), TransportResponse::of))
+                .get("/api/transports/destinations", r -> service.completeDestination(
+                        r.requiredQuery("prefix"),
+                        limit(r, DEFAULT_DESTINATION_SUGGESTIONS)))
+                .get("/api/transports", r -> PageResponse.of(service.findPage(after(r), limit(r)), TransportResponse::of))
+                .post("/api/transports", r -> TransportResponse.of(
+                        service.createTransport(r.body(TransportCreateRequest.class))))
+                .put("/api/transports/{id}/paid", r -> TransportResponse.of(service.markPaid(r.pathLong("id"))))
+                .get("/api/reports/transports-summary", r -> TransportsSummaryResponse.of(service.summarize()))
+                .get("/api/reports/driver-transports", r -> service.findDriverTransportStats().stream()
+                        .map(DriverStatResponse::of)
+                        .toList())
+                .get("/api/reports/driver-revenue", r -> service.findDriverRevenue().stream()
+                        .map(DriverStatResponse::of)
+                        .toList())
+                .get("/api/reports/company-revenue", r -> {
+                    CalculateCompanyRevenueForPeriodRequest request = new CalculateCompanyRevenueForPeriodRequest();
+                    request.setCompanyId(r.queryLong("companyId", 0));
+                    request.setFrom(r.queryDateTime("from"));
+                    request.setTo(r.queryDateTime("to"));
+                    return service.calculateCompanyRevenueForPeriod(r.validate(request));
+                });
+    }
+
+    private static void diagnosticsRoutes(Router router, Services services) {
+        router.get("/api/diagnostics/repository-metrics", r -> services.repositoryMetrics().snapshot())
+                .get("/api/diagnostics/connection-pool", r -> HibernateUtil.getConnectionPoolMetrics())
+                .get("/api/diagnostics/entity-cache", r -> HibernateUtil.getEntityCacheStatistics())
+                .get("/api/diagnostics/report-cache", r -> services.reportCache().stats())
+                .get("/api/diagnostics/service-executor", r -> services.async().executor().metrics())
+                .get("/api/diagnostics/transport-analytics", r -> services.analytics().stats());
+    }
+
+    private static Cursor after(Request request) {
+        return new Cursor(request.queryLong("after", 0));
+    }
+
+    private static int limit(Request request) {
+        return limit(request, DEFAULT_PAGE_SIZE);
+    }
+
+    private static int limit(Request request, int defaultValue) {
+        long limit = request.queryLong("limit", defaultValue);
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new ApiException(400, "'limit' must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return (int) limit;
+    }
+
+    private static EmployeeQualification qualification(String value) {
+        try {
+            return EmployeeQualification.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ApiException(400, "Unknown qualification: " + value);
+        }
+    }
+
+    private static VehicleType vehicleType(String value) {
+        try {
+            return VehicleType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ApiException(400, "Unknown vehicle type: " + value);
+        }
+    }
+
+    private static double cargoWeight(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException ex) {
+            throw new ApiException(400, "Query parameter 'cargoWeight' must be a number.");
+        }
+    }
+}
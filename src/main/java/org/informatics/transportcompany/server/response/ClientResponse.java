@@ -0,0 +1,21 @@
+package org.informatics.transportcompany.server.response;
+
+import org.informatics.transportcompany.model.dto.client.ClientListRow;
+import org.informatics.transportcompany.model.entity.Client;
+
+public record ClientResponse(long id, String name, String contactDetails, long companyId, String companyName) {
+
+    public static ClientResponse of(Client client) {
+        return new ClientResponse(
+                client.getId(),
+                client.getName(),
+                client.getContactDetails(),
+                client.getCompany().getId(),
+                Loaded.name(client.getCompany())
+        );
+    }
+
+    public static ClientResponse of(ClientListRow row) {
+        return new ClientResponse(row.id(), row.name(), row.contactDetails(), row.companyId(), row.companyName());
+    }
+}
@@ -0,0 +1,15 @@
+package org.informatics.transportcompany.server.response;
+
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
+import org.informatics.transportcompany.model.entity.TransportCompany;
+
+public record CompanyResponse(long id, String name, String address) {
+
+    public static CompanyResponse of(TransportCompany company) {
+        return new CompanyResponse(company.getId(), company.getName(), company.getAddress());
+    }
+
+    public static CompanyResponse of(CompanyListRow row) {
+        return new CompanyResponse(row.id(), row.name(), row.address());
+    }
+}
@@ -0,0 +1,12 @@
+package org.informatics.transportcompany.server.response;
+
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
+
+import java.math.BigDecimal;
+
+public record CompanyRevenueResponse(long companyId, String companyName, BigDecimal revenue) {
+
+    public static CompanyRevenueResponse of(CompanyRevenueRow row) {
+        return new CompanyRevenueResponse(row.companyId(), row.companyName(), row.revenue());
+    }
+}
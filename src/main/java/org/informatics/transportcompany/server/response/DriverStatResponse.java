@@ -0,0 +1,39 @@
+package org.informatics.transportcompany.server.response;
+
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
+
+/**
+ * One row of a per-driver report; {@code value} is the transport count or the paid revenue.
+ */
+public record DriverStatResponse(
+        long driverId,
+        String firstName,
+        String lastName,
+        EmployeeQualification qualification,
+        String companyName,
+        Object value
+) {
+    public static DriverStatResponse of(DriverTransportCountRow row) {
+        return new DriverStatResponse(
+                row.driverId(),
+                row.firstName(),
+                row.lastName(),
+                row.qualification(),
+                row.companyName(),
+                row.transportCount()
+        );
+    }
+
+    public static DriverStatResponse of(DriverRevenueRow row) {
+        return new DriverStatResponse(
+                row.driverId(),
+                row.firstName(),
+                row.lastName(),
+                row.qualification(),
+                row.companyName(),
+                row.revenue()
+        );
+    }
+}
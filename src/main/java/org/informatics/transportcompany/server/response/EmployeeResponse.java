@@ -0,0 +1,41 @@
+package org.informatics.transportcompany.server.response;
+
+import org.informatics.transportcompany.model.dto.employee.EmployeeListRow;
+import org.informatics.transportcompany.model.entity.Employee;
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
+
+import java.math.BigDecimal;
+
+public record EmployeeResponse(
+        long id,
+        String firstName,
+        String lastName,
+        EmployeeQualification qualification,
+        BigDecimal salary,
+        long companyId,
+        String companyName
+) {
+    public static EmployeeResponse of(Employee employee) {
+        return new EmployeeResponse(
+                employee.getId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getQualification(),
+                employee.getSalary(),
+                employee.getCompany().getId(),
+                Loaded.name(employee.getCompany())
+        );
+    }
+
+    public static EmployeeResponse of(EmployeeListRow row) {
+        return new EmployeeResponse(
+                row.id(),
+                row.firstName(),
+                row.lastName(),
+                row.qualification(),
+                row.salary(),
+                row.companyId(),
+                row.companyName()
+        );
+    }
+}
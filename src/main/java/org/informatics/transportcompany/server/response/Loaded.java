@@ -0,0 +1,14 @@
+package org.informatics.transportcompany.server.response;
+
+import org.hibernate.Hibernate;
+import org.informatics.transportcompany.model.entity.TransportCompany;
+
+final class Loaded {
+
+    private Loaded() {
+    }
+
+    static String name(TransportCompany company) {
+        return Hibernate.isInitialized(company) ? company.getName() : null;
+    }
+}
@@ -0,0 +1,19 @@
+package org.informatics.transportcompany.server.response;
+
+import org.informatics.transportcompany.repository.Page;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of results; pass {@code next} as the {@code after} query parameter to get the next page.
+ */
+public record PageResponse<T>(List<T> items, Long next) {
+
+    public static <E, T> PageResponse<T> of(Page<E> page, Function<E, T> mapper) {
+        return new PageResponse<>(
+                page.items().stream().map(mapper).toList(),
+                page.hasNext() ? page.next().lastId() : null
+        );
+    }
+}
@@ -0,0 +1,63 @@
+package org.informatics.transportcompany.server.response;
+
+import org.hibernate.Hibernate;
+import org.informatics.transportcompany.model.dto.transport.TransportListRow;
+import org.informatics.transportcompany.model.entity.Transport;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record TransportResponse(
+        long id,
+        long companyId,
+        long clientId,
+        String clientName,
+        long vehicleId,
+        long driverId,
+        String fromLocation,
+        String toLocation,
+        LocalDateTime departure,
+        LocalDateTime arrival,
+        String cargoDescription,
+        Double cargoWeight,
+        BigDecimal price,
+        boolean paid
+) {
+    public static TransportResponse of(Transport transport) {
+        return new TransportResponse(
+                transport.getId(),
+                transport.getCompany().getId(),
+                transport.getClient().getId(),
+                Hibernate.isInitialized(transport.getClient()) ? transport.getClient().getName() : null,
+                transport.getVehicle().getId(),
+                transport.getDriver().getId(),
+                transport.getFromLocation().getName(),
+                transport.getToLocation().getName(),
+                transport.getDepartureDateTime(),
+                transport.getArrivalDateTime(),
+                transport.getCargoDescription(),
+                transport.getCargoWeight(),
+                transport.getPrice(),
+                transport.isPaid()
+        );
+    }
+
+    public static TransportResponse of(TransportListRow row) {
+        return new TransportResponse(
+                row.id(),
+                row.companyId(),
+                row.clientId(),
+                row.clientName(),
+                row.vehicleId(),
+                row.driverId(),
+                row.fromLocation(),
+                row.toLocation(),
+                row.departure(),
+                row.arrival(),
+                row.cargoDescription(),
+                row.cargoWeight(),
+                row.price(),
+                row.paid()
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package org.informatics.transportcompany.server.response;
+
+import org.informatics.transportcompany.model.dto.transport.TransportSummary;
+import org.informatics.transportcompany.model.dto.transport.TransportSummaryTotal;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record TransportsSummaryResponse(
+        long transports,
+        BigDecimal totalRevenue,
+        long paidTransports,
+        BigDecimal paidRevenue,
+        long unpaidTransports,
+        BigDecimal unpaidRevenue,
+        List<TransportSummaryTotal> byCompany,
+        List<TransportSummaryTotal> byVehicleType
+) {
+    public static TransportsSummaryResponse of(TransportSummary summary) {
+        return new TransportsSummaryResponse(
+                summary.transportCount(),
+                summary.revenue(),
+                summary.paidCount(),
+                summary.paidRevenue(),
+                summary.unpaidCount(),
+                summary.unpaidRevenue(),
+                summary.byCompany(),
+                summary.byVehicleType()
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package org.informatics.transportcompany.server.response;
+
+import org.informatics.transportcompany.model.dto.vehicle.VehicleListRow;
+import org.informatics.transportcompany.model.entity.Vehicle;
+import org.informatics.transportcompany.model.enums.VehicleType;
+
+public record VehicleResponse(long id, String registrationNumber, VehicleType type, int capacity, long companyId, String companyName) {
+
+    public static VehicleResponse of(Vehicle vehicle) {
+        return new VehicleResponse(
+                vehicle.getId(),
+                vehicle.getRegistrationNumber(),
+                vehicle.getType(),
+                vehicle.getCapacity(),
+                vehicle.getCompany().getId(),
+                Loaded.name(vehicle.getCompany())
+        );
+    }
+
+    public static VehicleResponse of(VehicleListRow row) {
+        return new VehicleResponse(row.id(), row.registrationNumber(), row.type(), row.capacity(), row.companyId(), row.companyName());
+    }
+}
@@ -1,14 +1,19 @@
 package org.informatics.transportcompany.service;
 
 import lombok.RequiredArgsConstructor;
+import org.informatics.transportcompany.config.UnitOfWork;
 import org.informatics.transportcompany.exceptions.client.NoClientWithProvidedIdException;
 import org.informatics.transportcompany.exceptions.company.NoCompanyWithProvidedIdException;
 import org.informatics.transportcompany.model.dto.client.ClientCreateRequest;
+import org.informatics.transportcompany.model.dto.client.ClientListRow;
 import org.informatics.transportcompany.model.dto.client.ClientUpdateRequest;
 import org.informatics.transportcompany.model.entity.Client;
 import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 import org.informatics.transportcompany.repository.client.ClientRepository;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
+import org.informatics.transportcompany.service.cache.ReportCache;
 
 import java.util.List;
 
@@ -17,39 +22,53 @@ public class ClientService {
 
     private final ClientRepository clientRepository;
     private final TransportCompanyRepository transportCompanyRepository;
+    private final ReportCache reportCache;
+
+    public ClientService(ClientRepository clientRepository, TransportCompanyRepository transportCompanyRepository) {
+        this(clientRepository, transportCompanyRepository, ReportCache.disabled());
+    }
 
     public Client createClient(ClientCreateRequest request) {
-        TransportCompany company = transportCompanyRepository.findById(request.getCompanyId())
-                .orElseThrow(() -> new NoCompanyWithProvidedIdException("No company with id = " + request.getCompanyId()));
+        return UnitOfWork.inTransaction(() -> {
+            TransportCompany company = transportCompanyRepository.findById(request.getCompanyId())
+                    .orElseThrow(() -> new NoCompanyWithProvidedIdException("No company with id = " + request.getCompanyId()));
 
-        Client client = new Client();
-        client.setName(request.getName());
-        client.setContactDetails(request.getContactDetails());
-        client.setCompany(company);
+            Client client = new Client();
+            client.setName(request.getName());
+            client.setContactDetails(request.getContactDetails());
+            client.setCompany(company);
 
-        return clientRepository.create(client);
+            return clientRepository.create(client);
+        });
     }
 
     public List<Client> findAll() {
         return clientRepository.findAll();
     }
 
+    public Page<ClientListRow> findPage(Cursor after, int limit) {
+        return clientRepository.findPage(after, limit);
+    }
+
     public Client findById(long id) {
         return clientRepository.findById(id)
                 .orElseThrow(() -> new NoClientWithProvidedIdException("No client with id = " + id));
     }
 
     public Client updateClient(ClientUpdateRequest request) {
-        Client client = clientRepository.findById(request.getId())
-                .orElseThrow(() -> new NoClientWithProvidedIdException("No client with id = " + request.getId()));
+        return UnitOfWork.inTransaction(() -> {
+            Client client = clientRepository.findById(request.getId())
+                    .orElseThrow(() -> new NoClientWithProvidedIdException("No client with id = " + request.getId()));
 
-        client.setName(request.getName());
-        client.setContactDetails(request.getContactDetails());
+            client.setName(request.getName());
+            client.setContactDetails(request.getContactDetails());
 
-        return clientRepository.update(client);
+            return clientRepository.update(client);
+        });
     }
 
     public void deleteClient(long id) {
         clientRepository.deleteById(id);
+        reportCache.invalidateAll();
     }
 }
\ No newline at end of file
@@ -1,71 +1,148 @@
 package org.informatics.transportcompany.service;
 
 import lombok.RequiredArgsConstructor;
+import org.informatics.transportcompany.config.UnitOfWork;
 import org.informatics.transportcompany.exceptions.company.NoCompanyWithProvidedIdException;
 import org.informatics.transportcompany.exceptions.employee.NoEmployeeWithProvidedIdException;
 import org.informatics.transportcompany.model.dto.employee.EmployeeCreateRequest;
+import org.informatics.transportcompany.model.dto.employee.EmployeeListRow;
 import org.informatics.transportcompany.model.dto.employee.EmployeeUpdateRequest;
 import org.informatics.transportcompany.model.entity.Employee;
 import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.model.enums.BookingResource;
 import org.informatics.transportcompany.model.enums.EmployeeQualification;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 import org.informatics.transportcompany.repository.employee.EmployeeRepository;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
+import org.informatics.transportcompany.service.booking.TransportBookingIndex;
+import org.informatics.transportcompany.service.cache.ReportCache;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @RequiredArgsConstructor
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
     private final TransportCompanyRepository transportCompanyRepository;
+    private final ReportCache reportCache;
+    private final TransportBookingIndex bookings;
 
-    public Employee createEmployee(EmployeeCreateRequest request) {
-        TransportCompany company = transportCompanyRepository.findById(request.getCompanyId())
-                .orElseThrow(() -> new NoCompanyWithProvidedIdException("No company with id = " + request.getCompanyId()));
+    public EmployeeService(EmployeeRepository employeeRepository, TransportCompanyRepository transportCompanyRepository) {
+        this(employeeRepository, transportCompanyRepository, ReportCache.disabled());
+    }
 
-        Employee employee = new Employee();
-        employee.setFirstName(request.getFirstName());
-        employee.setLastName(request.getLastName());
-        employee.setQualification(request.getQualification());
-        employee.setSalary(request.getSalary());
-        employee.setCompany(company);
+    public EmployeeService(EmployeeRepository employeeRepository,
+                           TransportCompanyRepository transportCompanyRepository,
+                           ReportCache reportCache) {
+        this(employeeRepository, transportCompanyRepository, reportCache, TransportBookingIndex.disabled());
+    }
 
-        return employeeRepository.create(employee);
+    public Employee createEmployee(EmployeeCreateRequest request) {
+        Employee created = UnitOfWork.inTransaction(() -> {
+            TransportCompany company = transportCompanyRepository.findById(request.getCompanyId())
+                    .orElseThrow(() -> new NoCompanyWithProvidedIdException("No company with id = " + request.getCompanyId()));
+
+            Employee employee = new Employee();
+            employee.setFirstName(request.getFirstName());
+            employee.setLastName(request.getLastName());
+            employee.setQualification(request.getQualification());
+            employee.setSalary(request.getSalary());
+            employee.setCompany(company);
+
+            return employeeRepository.create(employee);
+        });
+
+        reportCache.invalidate(ReportCache.EMPLOYEES);
+        return created;
     }
 
     public List<Employee> findAll() {
         return employeeRepository.findAll();
     }
 
+    public Page<EmployeeListRow> findPage(Cursor after, int limit) {
+        return employeeRepository.findPage(after, limit);
+    }
+
     public Employee findById(long id) {
         return employeeRepository.findById(id).orElse(null);
     }
 
-    public List<Employee> findAllOrderByQualificationThenSalary() {
+    public List<EmployeeListRow> findAllOrderByQualificationThenSalary() {
         return employeeRepository.findAllOrderByQualificationThenSalary();
     }
 
-    public List<Employee> findAllOrderBySalaryDesc() {
+    public List<EmployeeListRow> findAllOrderBySalaryDesc() {
         return employeeRepository.findAllOrderBySalaryDesc();
     }
 
-    public List<Employee> findByQualificationOrderBySalaryDesc(EmployeeQualification qualification) {
+    public Page<EmployeeListRow> findPageOrderByQualificationThenSalary(Cursor after, int limit) {
+        return employeeRepository.findPageOrderByQualificationThenSalary(after, limit);
+    }
+
+    public Page<EmployeeListRow> findPageOrderBySalaryDesc(Cursor after, int limit) {
+        return employeeRepository.findPageOrderBySalaryDesc(after, limit);
+    }
+
+    public List<EmployeeListRow> findByQualificationOrderBySalaryDesc(EmployeeQualification qualification) {
         return employeeRepository.findByQualificationOrderBySalaryDesc(qualification);
     }
 
+    /**
+     * Employees of the company with the qualification that have no transport overlapping
+     * {@code [from, to)}, highest salary first. The candidates come from the report cache and the
+     * bookings from the in-memory schedules, so a repeated query does not touch the database.
+     */
+    public List<EmployeeListRow> findAvailableDrivers(long companyId,
+                                                      EmployeeQualification qualification,
+                                                      LocalDateTime from,
+                                                      LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The end of the period must be after its start.");
+        }
+
+        List<EmployeeListRow> candidates = reportCache.get(
+                "findByCompanyAndQualificationOrderBySalaryDesc",
+                List.of(companyId, qualification),
+                Set.of(ReportCache.EMPLOYEES, ReportCache.company(companyId)),
+                () -> employeeRepository.findByCompanyAndQualificationOrderBySalaryDesc(companyId, qualification)
+        );
+
+        Set<Long> free = new HashSet<>(bookings.findFree(
+                BookingResource.DRIVER,
+                candidates.stream().map(EmployeeListRow::id).toList(),
+                from,
+                to
+        ));
+
+        return candidates.stream()
+                .filter(candidate -> free.contains(candidate.id()))
+                .toList();
+    }
+
     public Employee updateEmployee(EmployeeUpdateRequest request) {
-        Employee employee = employeeRepository.findById(request.getId())
-                .orElseThrow(() -> new NoEmployeeWithProvidedIdException("No employee with id = " + request.getId()));
+        Employee updated = UnitOfWork.inTransaction(() -> {
+            Employee employee = employeeRepository.findById(request.getId())
+                    .orElseThrow(() -> new NoEmployeeWithProvidedIdException("No employee with id = " + request.getId()));
+
+            employee.setFirstName(request.getFirstName());
+            employee.setLastName(request.getLastName());
+            employee.setQualification(request.getQualification());
+            employee.setSalary(request.getSalary());
 
-        employee.setFirstName(request.getFirstName());
-        employee.setLastName(request.getLastName());
-        employee.setQualification(request.getQualification());
-        employee.setSalary(request.getSalary());
+            return employeeRepository.update(employee);
+        });
 
-        return employeeRepository.update(employee);
+        reportCache.invalidate(ReportCache.EMPLOYEES);
+        return updated;
     }
 
     public void deleteEmployee(long id) {
         employeeRepository.deleteById(id);
+        reportCache.invalidateAll();
     }
 }
\ No newline at end of file
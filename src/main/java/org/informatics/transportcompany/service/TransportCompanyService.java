@@ -1,37 +1,69 @@
 package org.informatics.transportcompany.service;
 
 import lombok.RequiredArgsConstructor;
+import org.informatics.transportcompany.analytics.TransportAnalytics;
+import org.informatics.transportcompany.config.UnitOfWork;
 import org.informatics.transportcompany.exceptions.company.NoCompanyWithProvidedIdException;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
 import org.informatics.transportcompany.model.dto.transportCompany.TransportCompanyCreateRequest;
 import org.informatics.transportcompany.model.dto.transportCompany.TransportCompanyUpdateRequest;
 import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
+import org.informatics.transportcompany.service.cache.ReportCache;
 
 import java.util.List;
+import java.util.Set;
 
 @RequiredArgsConstructor
 public class TransportCompanyService {
 
     private final TransportCompanyRepository transportCompanyRepository;
+    private final ReportCache reportCache;
+    private final TransportAnalytics analytics;
+
+    public TransportCompanyService(TransportCompanyRepository transportCompanyRepository) {
+        this(transportCompanyRepository, ReportCache.disabled());
+    }
+
+    public TransportCompanyService(TransportCompanyRepository transportCompanyRepository, ReportCache reportCache) {
+        this(transportCompanyRepository, reportCache, TransportAnalytics.disabled());
+    }
 
     public TransportCompany createCompany(TransportCompanyCreateRequest request) {
         TransportCompany company = new TransportCompany();
         company.setName(request.getName());
         company.setAddress(request.getAddress());
 
-        return transportCompanyRepository.create(company);
+        TransportCompany created = transportCompanyRepository.create(company);
+        UnitOfWork.afterCommit(analytics::markDimensionsChanged);
+        reportCache.invalidate(ReportCache.COMPANIES);
+        return created;
     }
 
     public List<TransportCompany> findAll() {
         return transportCompanyRepository.findAll();
     }
 
-    public List<TransportCompany> findAllOrderByName() {
+    public Page<CompanyListRow> findPage(Cursor after, int limit) {
+        return transportCompanyRepository.findPage(after, limit);
+    }
+
+    public List<CompanyListRow> findAllOrderByName() {
         return transportCompanyRepository.findAllOrderByName();
     }
 
-    public List<Object[]> findAllWithRevenueOrderByRevenueDesc() {
-        return transportCompanyRepository.findAllWithRevenueOrderByRevenueDesc();
+    public List<CompanyRevenueRow> findAllWithRevenueOrderByRevenueDesc() {
+        return reportCache.get(
+                "findAllWithRevenueOrderByRevenueDesc",
+                List.of(),
+                Set.of(ReportCache.TRANSPORTS, ReportCache.COMPANIES),
+                () -> List.copyOf(analytics.isEnabled()
+                        ? analytics.companyRevenueRanking()
+                        : transportCompanyRepository.findAllWithRevenueOrderByRevenueDesc())
+        );
     }
 
     public TransportCompany findById(long id) {
@@ -40,16 +72,25 @@ public class TransportCompanyService {
     }
 
     public TransportCompany updateCompany(TransportCompanyUpdateRequest request) {
-        TransportCompany company = transportCompanyRepository.findById(request.getId())
-                .orElseThrow(() -> new NoCompanyWithProvidedIdException("No company with id = " + request.getId()));
+        TransportCompany updated = UnitOfWork.inTransaction(() -> {
+            TransportCompany company = transportCompanyRepository.findById(request.getId())
+                    .orElseThrow(() -> new NoCompanyWithProvidedIdException("No company with id = " + request.getId()));
 
-        company.setName(request.getName());
-        company.setAddress(request.getAddress());
+            company.setName(request.getName());
+            company.setAddress(request.getAddress());
+
+            TransportCompany saved = transportCompanyRepository.update(company);
+            UnitOfWork.afterCommit(analytics::markDimensionsChanged);
+            return saved;
+        });
 
-        return transportCompanyRepository.update(company);
+        reportCache.invalidate(ReportCache.COMPANIES);
+        return updated;
     }
 
     public void deleteCompany(long id) {
         transportCompanyRepository.deleteById(id);
+        UnitOfWork.afterCommit(analytics::markDimensionsChanged);
+        reportCache.invalidateAll();
     }
 }
\ No newline at end of file
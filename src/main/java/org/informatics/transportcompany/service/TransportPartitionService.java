@@ -0,0 +1,74 @@
+package org.informatics.transportcompany.service;
+
+import lombok.RequiredArgsConstructor;
+import org.informatics.transportcompany.config.partition.TransportPartitionSettings;
+import org.informatics.transportcompany.model.dto.transport.TransportPartitionMaintenance;
+import org.informatics.transportcompany.repository.transport.TransportPartition;
+import org.informatics.transportcompany.repository.transport.TransportPartitionRepository;
+import org.informatics.transportcompany.service.cache.ReportCache;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+@RequiredArgsConstructor
+public class TransportPartitionService {
+
+    private final TransportPartitionRepository partitionRepository;
+    private final TransportPartitionSettings settings;
+    private final ReportCache reportCache;
+
+    public boolean isEnabled() {
+        return settings.enabled();
+    }
+
+    public List<YearMonth> findPartitionMonths() {
+        if (!settings.enabled()) {
+            return List.of();
+        }
+        return partitionRepository.findAttached().stream().map(TransportPartition::month).toList();
+    }
+
+    /**
+     * Creates a partition for every month that still has rows in the default partition and for the
+     * configured months ahead of {@code current}, then archives the partitions that fell out of the
+     * retention window. Archived months leave every report, including the revenue buckets, so all
+     * cached reports are dropped when a partition was archived.
+     */
+    public TransportPartitionMaintenance maintain(YearMonth current) {
+        if (!settings.enabled()) {
+            return TransportPartitionMaintenance.none();
+        }
+
+        TreeSet<YearMonth> attached = new TreeSet<>(findPartitionMonths());
+
+        TreeSet<YearMonth> wanted = new TreeSet<>(partitionRepository.findMonthsInDefaultPartition());
+        for (int i = 0; i <= settings.monthsAhead(); i++) {
+            wanted.add(current.plusMonths(i));
+        }
+
+        List<YearMonth> created = new ArrayList<>();
+        for (YearMonth month : wanted) {
+            if (attached.add(month)) {
+                partitionRepository.create(new TransportPartition(month));
+                created.add(month);
+            }
+        }
+
+        List<YearMonth> archived = new ArrayList<>();
+        if (settings.retentionMonths() > 0) {
+            YearMonth oldestKept = current.minusMonths(settings.retentionMonths());
+            for (YearMonth month : attached.headSet(oldestKept)) {
+                partitionRepository.detachToArchive(new TransportPartition(month), settings.archiveSchema());
+                archived.add(month);
+            }
+        }
+
+        if (!archived.isEmpty()) {
+            reportCache.invalidateAll();
+        }
+
+        return new TransportPartitionMaintenance(created, archived);
+    }
+}
@@ -1,110 +1,504 @@
 package org.informatics.transportcompany.service;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
+import org.informatics.transportcompany.analytics.TransportAnalytics;
+import org.informatics.transportcompany.config.UnitOfWork;
 import org.informatics.transportcompany.exceptions.Transport.NoTransportWithProvidedIdException;
+import org.informatics.transportcompany.exceptions.Transport.TransportBookingConflictException;
 import org.informatics.transportcompany.exceptions.client.NoClientWithProvidedIdException;
 import org.informatics.transportcompany.exceptions.company.NoCompanyWithProvidedIdException;
 import org.informatics.transportcompany.exceptions.employee.NoEmployeeWithProvidedIdException;
 import org.informatics.transportcompany.exceptions.vehicle.NoVehicleWithProvidedIdException;
 import org.informatics.transportcompany.model.dto.transport.CalculateCompanyRevenueForPeriodRequest;
+import org.informatics.transportcompany.model.dto.transport.DestinationRow;
+import org.informatics.transportcompany.model.dto.transport.CompanySummaryRow;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
 import org.informatics.transportcompany.model.dto.transport.TransportCreateRequest;
-import org.informatics.transportcompany.model.entity.Client;
-import org.informatics.transportcompany.model.entity.Employee;
+import org.informatics.transportcompany.model.dto.transport.TransportExportRow;
+import org.informatics.transportcompany.model.dto.transport.TransportImportFailure;
+import org.informatics.transportcompany.model.dto.transport.TransportImportResult;
+import org.informatics.transportcompany.model.dto.transport.TransportListRow;
+import org.informatics.transportcompany.model.dto.transport.TransportSummary;
+import org.informatics.transportcompany.model.dto.transport.VehicleTypeSummaryRow;
+import org.informatics.transportcompany.model.entity.Location;
 import org.informatics.transportcompany.model.entity.Transport;
 import org.informatics.transportcompany.model.entity.TransportCompany;
-import org.informatics.transportcompany.model.entity.Vehicle;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 import org.informatics.transportcompany.repository.client.ClientRepository;
 import org.informatics.transportcompany.repository.employee.EmployeeRepository;
+import org.informatics.transportcompany.repository.location.LocationRepository;
+import org.informatics.transportcompany.repository.location.LocationRepositoryImpl;
 import org.informatics.transportcompany.repository.transport.TransportRepository;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
 import org.informatics.transportcompany.repository.vehicle.VehicleRepository;
+import org.informatics.transportcompany.service.async.ServiceExecutor;
+import org.informatics.transportcompany.service.booking.TransportBookingIndex;
+import org.informatics.transportcompany.service.cache.ReportCache;
+import org.informatics.transportcompany.service.location.DestinationIndex;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 public class TransportService {
 
+    public static final int DEFAULT_IMPORT_BATCH_SIZE = 500;
+
+    private static final int EXPORT_FETCH_SIZE = 1_000;
+
+    private static final Set<String> TRANSPORT_REPORT_TAGS = Set.of(ReportCache.TRANSPORTS);
+    private static final Set<String> DRIVER_REPORT_TAGS =
+            Set.of(ReportCache.TRANSPORTS, ReportCache.EMPLOYEES, ReportCache.COMPANIES);
+    private static final Set<String> SUMMARY_REPORT_TAGS =
+            Set.of(ReportCache.TRANSPORTS, ReportCache.COMPANIES, ReportCache.VEHICLES);
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
     private final TransportRepository transportRepository;
     private final TransportCompanyRepository transportCompanyRepository;
     private final ClientRepository clientRepository;
     private final VehicleRepository vehicleRepository;
     private final EmployeeRepository employeeRepository;
+    private final ReportCache reportCache;
+    private final TransportBookingIndex bookings;
+    private final LocationRepository locations;
+    private final ServiceExecutor executor;
+    private final TransportAnalytics analytics;
+    private final DestinationIndex destinations = new DestinationIndex(this::findDestinations);
 
+    public TransportService(TransportRepository transportRepository,
+                            TransportCompanyRepository transportCompanyRepository,
+                            ClientRepository clientRepository,
+                            VehicleRepository vehicleRepository,
+                            EmployeeRepository employeeRepository) {
+        this(
+                transportRepository,
+                transportCompanyRepository,
+                clientRepository,
+                vehicleRepository,
+                employeeRepository,
+                ReportCache.disabled(),
+                TransportBookingIndex.disabled()
+        );
+    }
+
+    public TransportService(TransportRepository transportRepository,
+                            TransportCompanyRepository transportCompanyRepository,
+                            ClientRepository clientRepository,
+                            VehicleRepository vehicleRepository,
+                            EmployeeRepository employeeRepository,
+                            ReportCache reportCache,
+                            TransportBookingIndex bookings) {
+        this(
+                transportRepository,
+                transportCompanyRepository,
+                clientRepository,
+                vehicleRepository,
+                employeeRepository,
+                reportCache,
+                bookings,
+                new LocationRepositoryImpl()
+        );
+    }
+
+    /**
+     * Runs the summary queries one after the other on the calling thread, see
+     * {@link ServiceExecutor#callerRuns()}.
+     */
+    public TransportService(TransportRepository transportRepository,
+                            TransportCompanyRepository transportCompanyRepository,
+                            ClientRepository clientRepository,
+                            VehicleRepository vehicleRepository,
+                            EmployeeRepository employeeRepository,
+                            ReportCache reportCache,
+                            TransportBookingIndex bookings,
+                            LocationRepository locations) {
+        this(
+                transportRepository,
+                transportCompanyRepository,
+                clientRepository,
+                vehicleRepository,
+                employeeRepository,
+                reportCache,
+                bookings,
+                locations,
+                ServiceExecutor.callerRuns()
+        );
+    }
+
+    public TransportService(TransportRepository transportRepository,
+                            TransportCompanyRepository transportCompanyRepository,
+                            ClientRepository clientRepository,
+                            VehicleRepository vehicleRepository,
+                            EmployeeRepository employeeRepository,
+                            ReportCache reportCache,
+                            TransportBookingIndex bookings,
+                            LocationRepository locations,
+                            ServiceExecutor executor) {
+        this(
+                transportRepository,
+                transportCompanyRepository,
+                clientRepository,
+                vehicleRepository,
+                employeeRepository,
+                reportCache,
+                bookings,
+                locations,
+                executor,
+                TransportAnalytics.disabled()
+        );
+    }
+
+    /**
+     * @throws TransportBookingConflictException if the vehicle or the driver is already booked for an
+     *                                           overlapping transport
+     */
     public Transport createTransport(TransportCreateRequest request) {
-        TransportCompany company = transportCompanyRepository.findById(request.getCompanyId())
-                .orElseThrow(() -> new NoCompanyWithProvidedIdException("No company with id = " + request.getCompanyId()));
+        Transport created = bookings.book(
+                request.getVehicleId(),
+                request.getDriverId(),
+                request.getDeparture(),
+                request.getArrival(),
+                () -> UnitOfWork.inTransaction(() -> {
+                    checkReferences(request);
+                    return changed(transportRepository.create(toTransport(request)));
+                })
+        );
+
+        reportCache.invalidate(ReportCache.TRANSPORTS, ReportCache.company(request.getCompanyId()));
+        destinations.add(created.getToLocation().getName());
+        return created;
+    }
+
+    public TransportImportResult createAll(Collection<TransportCreateRequest> requests) {
+        return createAll(requests, DEFAULT_IMPORT_BATCH_SIZE);
+    }
+
+    public TransportImportResult createAll(Collection<TransportCreateRequest> requests, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
 
-        Client client = clientRepository.findById(request.getClientId())
-                .orElseThrow(() -> new NoClientWithProvidedIdException("No client with id = " + request.getClientId()));
+        List<TransportCreateRequest> rows = List.copyOf(requests);
+        List<TransportImportFailure> failures = new ArrayList<>();
 
-        Vehicle vehicle = vehicleRepository.findById(request.getVehicleId())
-                .orElseThrow(() -> new NoVehicleWithProvidedIdException("No vehicle with id = " + request.getVehicleId()));
+        Set<Long> companyIds = transportCompanyRepository.findExistingIds(
+                rows.stream().map(TransportCreateRequest::getCompanyId).toList());
+        Set<Long> clientIds = clientRepository.findExistingIds(
+                rows.stream().map(TransportCreateRequest::getClientId).toList());
+        Set<Long> vehicleIds = vehicleRepository.findExistingIds(
+                rows.stream().map(TransportCreateRequest::getVehicleId).toList());
+        Set<Long> driverIds = employeeRepository.findExistingIds(
+                rows.stream().map(TransportCreateRequest::getDriverId).toList());
 
-        Employee driver = employeeRepository.findById(request.getDriverId())
-                .orElseThrow(() -> new NoEmployeeWithProvidedIdException("No employee (driver) with id = " + request.getDriverId()));
+        TransportBookingIndex.Batch batch = bookings.batch();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            TransportCreateRequest request = rows.get(i);
+
+            String error = validateImportRow(request, companyIds, clientIds, vehicleIds, driverIds);
+            if (error == null) {
+                error = batch.reserve(i + 1, request.getVehicleId(), request.getDriverId(),
+                        request.getDeparture(), request.getArrival());
+            }
+            if (error != null) {
+                failures.add(new TransportImportFailure(i + 1, error));
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        int imported = 0;
+        for (int from = 0; from < accepted.size(); from += batchSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + batchSize, accepted.size()));
+            Map<Integer, String> conflicts = new HashMap<>();
+
+            try {
+                List<Transport> created = batch.commit(
+                        chunk.stream().map(i -> i + 1).toList(),
+                        conflicts::put,
+                        rowNumbers -> UnitOfWork.inTransaction(() -> {
+                            List<TransportCreateRequest> chunkRows = rowNumbers.stream().map(n -> rows.get(n - 1)).toList();
+                            Map<String, Location> resolved = locations.internAll(chunkRows.stream()
+                                    .flatMap(request -> Stream.of(request.getFromLocation(), request.getToLocation()))
+                                    .toList());
+                            return changed(transportRepository.createAll(
+                                    chunkRows.stream().map(request -> toTransport(request, resolved)).toList(),
+                                    batchSize
+                            ));
+                        })
+                );
+                for (Transport transport : created) {
+                    destinations.add(transport.getToLocation().getName());
+                }
+                imported += created.size();
+            } catch (RuntimeException chunkFailure) {
+                imported += importOneByOne(rows, chunk.stream().filter(i -> !conflicts.containsKey(i + 1)).toList(), failures);
+            }
+
+            conflicts.forEach((rowNumber, conflict) -> failures.add(new TransportImportFailure(rowNumber, conflict)));
+        }
+
+        if (imported > 0) {
+            invalidateReportsFor(accepted.stream().map(i -> rows.get(i).getCompanyId()).collect(Collectors.toSet()));
+        }
+
+        failures.sort(Comparator.comparingInt(TransportImportFailure::rowNumber));
+        return new TransportImportResult(imported, failures);
+    }
+
+    private void invalidateReportsFor(Set<Long> companyIds) {
+        List<String> tags = new ArrayList<>();
+        tags.add(ReportCache.TRANSPORTS);
+        companyIds.forEach(id -> tags.add(ReportCache.company(id)));
+        reportCache.invalidate(tags.toArray(String[]::new));
+    }
+
+    private int importOneByOne(List<TransportCreateRequest> rows,
+                               List<Integer> chunk,
+                               List<TransportImportFailure> failures) {
+        int imported = 0;
+
+        for (int i : chunk) {
+            TransportCreateRequest request = rows.get(i);
+            try {
+                Transport created = bookings.book(
+                        request.getVehicleId(),
+                        request.getDriverId(),
+                        request.getDeparture(),
+                        request.getArrival(),
+                        () -> UnitOfWork.inTransaction(() -> changed(transportRepository.create(toTransport(request))))
+                );
+                destinations.add(created.getToLocation().getName());
+                imported++;
+            } catch (RuntimeException ex) {
+                failures.add(new TransportImportFailure(i + 1, ex.getMessage()));
+            }
+        }
+
+        return imported;
+    }
+
+    /**
+     * Reports written transports to the analytics engine once the current unit of work commits.
+     */
+    private Transport changed(Transport transport) {
+        long id = transport.getId();
+        UnitOfWork.afterCommit(() -> analytics.markChanged(id));
+        return transport;
+    }
+
+    private List<Transport> changed(List<Transport> transports) {
+        List<Long> ids = transports.stream().map(Transport::getId).toList();
+        UnitOfWork.afterCommit(() -> ids.forEach(analytics::markChanged));
+        return transports;
+    }
 
+    private void checkReferences(TransportCreateRequest request) {
+        if (!transportCompanyRepository.existsById(request.getCompanyId())) {
+            throw new NoCompanyWithProvidedIdException("No company with id = " + request.getCompanyId());
+        }
+
+        if (!clientRepository.existsById(request.getClientId())) {
+            throw new NoClientWithProvidedIdException("No client with id = " + request.getClientId());
+        }
+
+        if (!vehicleRepository.existsById(request.getVehicleId())) {
+            throw new NoVehicleWithProvidedIdException("No vehicle with id = " + request.getVehicleId());
+        }
+
+        if (!employeeRepository.existsById(request.getDriverId())) {
+            throw new NoEmployeeWithProvidedIdException("No employee (driver) with id = " + request.getDriverId());
+        }
+    }
+
+    private String validateImportRow(TransportCreateRequest request,
+                                     Set<Long> companyIds,
+                                     Set<Long> clientIds,
+                                     Set<Long> vehicleIds,
+                                     Set<Long> driverIds) {
+        Set<ConstraintViolation<TransportCreateRequest>> violations = VALIDATOR.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" "));
+        }
+
+        if (!companyIds.contains(request.getCompanyId())) {
+            return "No company with id = " + request.getCompanyId();
+        }
+        if (!clientIds.contains(request.getClientId())) {
+            return "No client with id = " + request.getClientId();
+        }
+        if (!vehicleIds.contains(request.getVehicleId())) {
+            return "No vehicle with id = " + request.getVehicleId();
+        }
+        if (!driverIds.contains(request.getDriverId())) {
+            return "No employee (driver) with id = " + request.getDriverId();
+        }
+
+        return null;
+    }
+
+    private Transport toTransport(TransportCreateRequest request) {
+        return toTransport(request, locations.internAll(
+                Arrays.asList(request.getFromLocation(), request.getToLocation())));
+    }
+
+    private Transport toTransport(TransportCreateRequest request, Map<String, Location> locations) {
         Transport t = new Transport();
-        t.setCompany(company);
-        t.setClient(client);
-        t.setVehicle(vehicle);
-        t.setDriver(driver);
-        t.setFromLocation(request.getFromLocation());
-        t.setToLocation(request.getToLocation());
+        t.setCompany(transportCompanyRepository.getReference(request.getCompanyId()));
+        t.setClient(clientRepository.getReference(request.getClientId()));
+        t.setVehicle(vehicleRepository.getReference(request.getVehicleId()));
+        t.setDriver(employeeRepository.getReference(request.getDriverId()));
+        t.setFromLocation(locations.get(request.getFromLocation()));
+        t.setToLocation(locations.get(request.getToLocation()));
         t.setDepartureDateTime(request.getDeparture());
         t.setArrivalDateTime(request.getArrival());
         t.setCargoDescription(request.getCargoDescription());
         t.setCargoWeight(request.getCargoWeight());
         t.setPrice(request.getPrice());
         t.setPaid(request.isPaid());
-
-        return transportRepository.create(t);
+        return t;
     }
 
     public List<Transport> findAll() {
         return transportRepository.findAllWithAllJoins();
     }
 
-    public List<Transport> findAllOrderByToLocation() {
-        return transportRepository.findAllOrderByToLocationWithClient();
+    public Page<TransportListRow> findPage(Cursor after, int limit) {
+        return transportRepository.findPage(after, limit);
+    }
+
+    public long exportAll(Consumer<TransportExportRow> consumer) {
+        return transportRepository.forEachExportRow(EXPORT_FETCH_SIZE, consumer);
+    }
+
+    public Page<TransportListRow> findPageOrderByToLocation(Cursor after, int limit) {
+        return transportRepository.findPageOrderByToLocation(after, limit);
     }
 
-    public List<Transport> findByToLocation(
+    public List<TransportListRow> findByToLocation(
             @NotBlank(message = "Destination cannot be empty.")
             String toLocation
     ) {
-        return transportRepository.findByToLocationWithClient(toLocation);
+        return transportRepository.findByToLocation(toLocation);
+    }
+
+    public Page<TransportListRow> findPageByToLocation(
+            @NotBlank(message = "Destination cannot be empty.")
+            String toLocation,
+            Cursor after,
+            int limit
+    ) {
+        return transportRepository.findPageByToLocation(toLocation, after, limit);
+    }
+
+    /**
+     * Destinations starting with {@code prefix}, ignoring case, accents and surrounding spaces.
+     */
+    public List<String> completeDestination(String prefix, int limit) {
+        return destinations.complete(prefix, limit);
+    }
+
+    private List<DestinationRow> findDestinations() {
+        return transportRepository.findDestinations();
     }
 
     public Transport markPaid(long id) {
-        Transport t = transportRepository.findByIdWithClient(id)
-                .orElseThrow(() -> new NoTransportWithProvidedIdException("No transport with id = " + id));
+        Transport paid = UnitOfWork.inTransaction(() -> {
+            Transport t = transportRepository.findByIdWithClient(id)
+                    .orElseThrow(() -> new NoTransportWithProvidedIdException("No transport with id = " + id));
+
+            t.setPaid(true);
+            return changed(transportRepository.update(t));
+        });
 
-        t.setPaid(true);
-        return transportRepository.update(t);
+        reportCache.invalidate(ReportCache.TRANSPORTS, ReportCache.company(paid.getCompany().getId()));
+        return paid;
     }
 
     public long countAllTransports() {
-        return transportRepository.countAll();
+        return reportCache.get("countAllTransports", List.of(), TRANSPORT_REPORT_TAGS, transportRepository::countAll);
     }
 
     public BigDecimal calculateTotalRevenue() {
-        return transportRepository.sumTotalRevenue();
+        return reportCache.get("calculateTotalRevenue", List.of(), TRANSPORT_REPORT_TAGS, transportRepository::sumTotalRevenue);
     }
 
-    public List<Object[]> findDriverTransportStats() {
-        return transportRepository.driverTransportStats();
+    /**
+     * Company and paid/unpaid totals come from the revenue buckets and the vehicle type totals from
+     * one grouped scan of transports; the two queries are independent, so the company query is handed
+     * to the service executor while the caller runs the other. If no executor thread has started it by
+     * then (it is saturated, or this call itself runs on its last free thread), the caller runs it too;
+     * see {@link ServiceExecutor#fork}.
+     */
+    public TransportSummary summarize() {
+        return reportCache.get("summarize", List.of(), SUMMARY_REPORT_TAGS, () -> {
+            ServiceExecutor.Fork<List<CompanySummaryRow>> companies = executor.fork(transportRepository::summaryByCompany);
+            List<VehicleTypeSummaryRow> vehicleTypes = transportRepository.summaryByVehicleType();
+
+            return TransportSummary.of(companies.join(), vehicleTypes);
+        });
+    }
+
+    public List<DriverTransportCountRow> findDriverTransportStats() {
+        return reportCache.get("findDriverTransportStats", List.of(), DRIVER_REPORT_TAGS,
+                () -> List.copyOf(analytics.isEnabled()
+                        ? analytics.driverTransportStats()
+                        : transportRepository.driverTransportStats()));
     }
 
     public BigDecimal calculateCompanyRevenueForPeriod(CalculateCompanyRevenueForPeriodRequest request) {
-        TransportCompany company = transportCompanyRepository.findById(request.getCompanyId())
-                .orElseThrow(() -> new NoCompanyWithProvidedIdException("No company with id = " + request.getCompanyId()));
+        return reportCache.get(
+                "calculateCompanyRevenueForPeriod",
+                Arrays.asList(request.getCompanyId(), request.getFrom(), request.getTo()),
+                Set.of(ReportCache.company(request.getCompanyId())),
+                () -> UnitOfWork.inTransaction(() -> {
+                    if (!transportCompanyRepository.existsById(request.getCompanyId())) {
+                        throw new NoCompanyWithProvidedIdException("No company with id = " + request.getCompanyId());
+                    }
+
+                    if (analytics.isEnabled()) {
+                        return analytics.companyRevenueForPeriod(request.getCompanyId(), request.getFrom(), request.getTo());
+                    }
+
+                    TransportCompany company = transportCompanyRepository.getReference(request.getCompanyId());
+                    return transportRepository.sumCompanyRevenueForPeriod(company, request.getFrom(), request.getTo());
+                })
+        );
+    }
+
+    public List<DriverRevenueRow> findDriverRevenue() {
+        return reportCache.get("findDriverRevenue", List.of(), DRIVER_REPORT_TAGS,
+                () -> List.copyOf(analytics.isEnabled()
+                        ? analytics.driverRevenue()
+                        : transportRepository.driverRevenue()));
+    }
 
-        return transportRepository.sumCompanyRevenueForPeriod(company, request.getFrom(), request.getTo());
+    public void ensureRevenueAggregates() {
+        transportRepository.ensureRevenueAggregates();
     }
 
-    public List<Object[]> findDriverRevenue() {
-        return transportRepository.driverRevenue();
+    public void rebuildRevenueAggregates() {
+        transportRepository.rebuildRevenueAggregates();
+        reportCache.invalidateAll();
     }
 }
\ No newline at end of file
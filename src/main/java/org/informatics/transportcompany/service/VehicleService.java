@@ -1,56 +1,151 @@
 package org.informatics.transportcompany.service;
 
 import lombok.RequiredArgsConstructor;
+import org.informatics.transportcompany.config.UnitOfWork;
 import org.informatics.transportcompany.exceptions.company.NoCompanyWithProvidedIdException;
 import org.informatics.transportcompany.exceptions.vehicle.NoVehicleWithProvidedIdException;
 import org.informatics.transportcompany.model.dto.vehicle.VehicleCreateRequest;
+import org.informatics.transportcompany.model.dto.vehicle.VehicleListRow;
 import org.informatics.transportcompany.model.dto.vehicle.VehicleUpdateRequest;
 import org.informatics.transportcompany.model.entity.TransportCompany;
 import org.informatics.transportcompany.model.entity.Vehicle;
+import org.informatics.transportcompany.model.enums.BookingResource;
+import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
 import org.informatics.transportcompany.repository.vehicle.VehicleRepository;
+import org.informatics.transportcompany.service.booking.TransportBookingIndex;
+import org.informatics.transportcompany.service.cache.ReportCache;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @RequiredArgsConstructor
 public class VehicleService {
 
     private final VehicleRepository vehicleRepository;
     private final TransportCompanyRepository transportCompanyRepository;
+    private final ReportCache reportCache;
+    private final TransportBookingIndex bookings;
+
+    public VehicleService(VehicleRepository vehicleRepository, TransportCompanyRepository transportCompanyRepository) {
+        this(vehicleRepository, transportCompanyRepository, ReportCache.disabled());
+    }
+
+    public VehicleService(VehicleRepository vehicleRepository,
+                          TransportCompanyRepository transportCompanyRepository,
+                          ReportCache reportCache) {
+        this(vehicleRepository, transportCompanyRepository, reportCache, TransportBookingIndex.disabled());
+    }
 
     public Vehicle createVehicle(VehicleCreateRequest request) {
-        TransportCompany company = transportCompanyRepository.findById(request.getCompanyId())
-                .orElseThrow(() -> new NoCompanyWithProvidedIdException("No company with id = " + request.getCompanyId()));
+        Vehicle created = UnitOfWork.inTransaction(() -> {
+            TransportCompany company = transportCompanyRepository.findById(request.getCompanyId())
+                    .orElseThrow(() -> new NoCompanyWithProvidedIdException("No company with id = " + request.getCompanyId()));
 
-        Vehicle vehicle = new Vehicle();
-        vehicle.setRegistrationNumber(request.getRegistrationNumber());
-        vehicle.setType(request.getType());
-        vehicle.setCapacity(request.getCapacity());
-        vehicle.setCompany(company);
+            Vehicle vehicle = new Vehicle();
+            vehicle.setRegistrationNumber(request.getRegistrationNumber());
+            vehicle.setType(request.getType());
+            vehicle.setCapacity(request.getCapacity());
+            vehicle.setCompany(company);
 
-        return vehicleRepository.create(vehicle);
+            return vehicleRepository.create(vehicle);
+        });
+
+        reportCache.invalidate(ReportCache.VEHICLES);
+        return created;
     }
 
     public List<Vehicle> findAll() {
         return vehicleRepository.findAll();
     }
 
+    public Page<VehicleListRow> findPage(Cursor after, int limit) {
+        return vehicleRepository.findPage(after, limit);
+    }
+
     public Vehicle findById(long id) {
         return vehicleRepository.findById(id).orElse(null);
     }
 
+    /**
+     * Up to {@code limit} vehicles of the company and type that can carry {@code cargoWeight} and have
+     * no transport overlapping {@code [from, to)}, smallest capacity first. The fleet comes from the
+     * report cache ordered by capacity, so the smallest fitting vehicle is found by binary search and
+     * the walk from there only checks the in-memory schedules.
+     */
+    public List<VehicleListRow> findBestFitVehicles(long companyId,
+                                                    VehicleType type,
+                                                    double cargoWeight,
+                                                    LocalDateTime from,
+                                                    LocalDateTime to,
+                                                    int limit) {
+        if (cargoWeight < 0) {
+            throw new IllegalArgumentException("Cargo weight cannot be negative.");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The end of the period must be after its start.");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+
+        List<VehicleListRow> fleet = reportCache.get(
+                "findByCompanyAndTypeOrderByCapacity",
+                List.of(companyId, type),
+                Set.of(ReportCache.VEHICLES, ReportCache.company(companyId)),
+                () -> vehicleRepository.findByCompanyAndTypeOrderByCapacity(companyId, type)
+        );
+        List<VehicleListRow> fitting = fleet.subList(firstFitting(fleet, cargoWeight), fleet.size());
+
+        Set<Long> free = new HashSet<>(bookings.findFree(
+                BookingResource.VEHICLE,
+                fitting.stream().map(VehicleListRow::id).toList(),
+                from,
+                to,
+                limit
+        ));
+
+        return fitting.stream()
+                .filter(vehicle -> free.contains(vehicle.id()))
+                .toList();
+    }
+
     public Vehicle updateVehicle(VehicleUpdateRequest request) {
-        Vehicle vehicle = vehicleRepository.findById(request.getId())
-                .orElseThrow(() -> new NoVehicleWithProvidedIdException("No vehicle with id = " + request.getId()));
+        Vehicle updated = UnitOfWork.inTransaction(() -> {
+            Vehicle vehicle = vehicleRepository.findById(request.getId())
+                    .orElseThrow(() -> new NoVehicleWithProvidedIdException("No vehicle with id = " + request.getId()));
 
-        vehicle.setRegistrationNumber(request.getRegistrationNumber());
-        vehicle.setType(request.getType());
-        vehicle.setCapacity(request.getCapacity());
+            vehicle.setRegistrationNumber(request.getRegistrationNumber());
+            vehicle.setType(request.getType());
+            vehicle.setCapacity(request.getCapacity());
 
-        return vehicleRepository.update(vehicle);
+            return vehicleRepository.update(vehicle);
+        });
+
+        reportCache.invalidate(ReportCache.VEHICLES);
+        return updated;
     }
 
     public void deleteVehicle(long id) {
         vehicleRepository.deleteById(id);
+        reportCache.invalidateAll();
+    }
+
+    private static int firstFitting(List<VehicleListRow> fleet, double cargoWeight) {
+        int low = 0;
+        int high = fleet.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (fleet.get(mid).capacity() < cargoWeight) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package org.informatics.transportcompany.service.async;
+
+import lombok.RequiredArgsConstructor;
+import org.informatics.transportcompany.model.dto.client.ClientCreateRequest;
+import org.informatics.transportcompany.model.dto.client.ClientListRow;
+import org.informatics.transportcompany.model.dto.client.ClientUpdateRequest;
+import org.informatics.transportcompany.model.entity.Client;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.service.ClientService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RequiredArgsConstructor
+public class AsyncClientService {
+
+    private final ClientService service;
+    private final ServiceExecutor executor;
+
+    public CompletableFuture<Client> createClient(ClientCreateRequest request) {
+        return executor.supply(() -> service.createClient(request));
+    }
+
+    public CompletableFuture<List<Client>> findAll() {
+        return executor.supply(service::findAll);
+    }
+
+    public CompletableFuture<Page<ClientListRow>> findPage(Cursor after, int limit) {
+        return executor.supply(() -> service.findPage(after, limit));
+    }
+
+    public CompletableFuture<Client> findById(long id) {
+        return executor.supply(() -> service.findById(id));
+    }
+
+    public CompletableFuture<Client> updateClient(ClientUpdateRequest request) {
+        return executor.supply(() -> service.updateClient(request));
+    }
+
+    public CompletableFuture<Void> deleteClient(long id) {
+        return executor.run(() -> service.deleteClient(id));
+    }
+}
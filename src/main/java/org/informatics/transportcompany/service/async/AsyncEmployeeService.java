@@ -0,0 +1,73 @@
+package org.informatics.transportcompany.service.async;
+
+import lombok.RequiredArgsConstructor;
+import org.informatics.transportcompany.model.dto.employee.EmployeeCreateRequest;
+import org.informatics.transportcompany.model.dto.employee.EmployeeListRow;
+import org.informatics.transportcompany.model.dto.employee.EmployeeUpdateRequest;
+import org.informatics.transportcompany.model.entity.Employee;
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.service.EmployeeService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RequiredArgsConstructor
+public class AsyncEmployeeService {
+
+    private final EmployeeService service;
+    private final ServiceExecutor executor;
+
+    public CompletableFuture<Employee> createEmployee(EmployeeCreateRequest request) {
+        return executor.supply(() -> service.createEmployee(request));
+    }
+
+    public CompletableFuture<List<Employee>> findAll() {
+        return executor.supply(service::findAll);
+    }
+
+    public CompletableFuture<Page<EmployeeListRow>> findPage(Cursor after, int limit) {
+        return executor.supply(() -> service.findPage(after, limit));
+    }
+
+    public CompletableFuture<Employee> findById(long id) {
+        return executor.supply(() -> service.findById(id));
+    }
+
+    public CompletableFuture<List<EmployeeListRow>> findAllOrderByQualificationThenSalary() {
+        return executor.supply(service::findAllOrderByQualificationThenSalary);
+    }
+
+    public CompletableFuture<List<EmployeeListRow>> findAllOrderBySalaryDesc() {
+        return executor.supply(service::findAllOrderBySalaryDesc);
+    }
+
+    public CompletableFuture<Page<EmployeeListRow>> findPageOrderByQualificationThenSalary(Cursor after, int limit) {
+        return executor.supply(() -> service.findPageOrderByQualificationThenSalary(after, limit));
+    }
+
+    public CompletableFuture<Page<EmployeeListRow>> findPageOrderBySalaryDesc(Cursor after, int limit) {
+        return executor.supply(() -> service.findPageOrderBySalaryDesc(after, limit));
+    }
+
+    public CompletableFuture<List<EmployeeListRow>> findByQualificationOrderBySalaryDesc(EmployeeQualification qualification) {
+        return executor.supply(() -> service.findByQualificationOrderBySalaryDesc(qualification));
+    }
+
+    public CompletableFuture<List<EmployeeListRow>> findAvailableDrivers(long companyId,
+                                                                         EmployeeQualification qualification,
+                                                                         LocalDateTime from,
+                                                                         LocalDateTime to) {
+        return executor.supply(() -> service.findAvailableDrivers(companyId, qualification, from, to));
+    }
+
+    public CompletableFuture<Employee> updateEmployee(EmployeeUpdateRequest request) {
+        return executor.supply(() -> service.updateEmployee(request));
+    }
+
+    public CompletableFuture<Void> deleteEmployee(long id) {
+        return executor.run(() -> service.deleteEmployee(id));
+    }
+}
@@ -0,0 +1,36 @@
+package org.informatics.transportcompany.service.async;
+
+import org.informatics.transportcompany.service.ClientService;
+import org.informatics.transportcompany.service.EmployeeService;
+import org.informatics.transportcompany.service.TransportCompanyService;
+import org.informatics.transportcompany.service.TransportService;
+import org.informatics.transportcompany.service.VehicleService;
+
+/**
+ * {@link java.util.concurrent.CompletableFuture} facades over the blocking services, all sharing
+ * one {@link ServiceExecutor}.
+ */
+public record AsyncServices(
+        AsyncTransportCompanyService companyService,
+        AsyncClientService clientService,
+        AsyncVehicleService vehicleService,
+        AsyncEmployeeService employeeService,
+        AsyncTransportService transportService,
+        ServiceExecutor executor
+) {
+    public static AsyncServices of(TransportCompanyService companyService,
+                                   ClientService clientService,
+                                   VehicleService vehicleService,
+                                   EmployeeService employeeService,
+                                   TransportService transportService,
+                                   ServiceExecutor executor) {
+        return new AsyncServices(
+                new AsyncTransportCompanyService(companyService, executor),
+                new AsyncClientService(clientService, executor),
+                new AsyncVehicleService(vehicleService, executor),
+                new AsyncEmployeeService(employeeService, executor),
+                new AsyncTransportService(transportService, executor),
+                executor
+        );
+    }
+}
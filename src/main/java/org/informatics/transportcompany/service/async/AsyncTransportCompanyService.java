@@ -0,0 +1,53 @@
+package org.informatics.transportcompany.service.async;
+
+import lombok.RequiredArgsConstructor;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
+import org.informatics.transportcompany.model.dto.transportCompany.TransportCompanyCreateRequest;
+import org.informatics.transportcompany.model.dto.transportCompany.TransportCompanyUpdateRequest;
+import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.service.TransportCompanyService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RequiredArgsConstructor
+public class AsyncTransportCompanyService {
+
+    private final TransportCompanyService service;
+    private final ServiceExecutor executor;
+
+    public CompletableFuture<TransportCompany> createCompany(TransportCompanyCreateRequest request) {
+        return executor.supply(() -> service.createCompany(request));
+    }
+
+    public CompletableFuture<List<TransportCompany>> findAll() {
+        return executor.supply(service::findAll);
+    }
+
+    public CompletableFuture<Page<CompanyListRow>> findPage(Cursor after, int limit) {
+        return executor.supply(() -> service.findPage(after, limit));
+    }
+
+    public CompletableFuture<List<CompanyListRow>> findAllOrderByName() {
+        return executor.supply(service::findAllOrderByName);
+    }
+
+    public CompletableFuture<List<CompanyRevenueRow>> findAllWithRevenueOrderByRevenueDesc() {
+        return executor.supply(service::findAllWithRevenueOrderByRevenueDesc);
+    }
+
+    public CompletableFuture<TransportCompany> findById(long id) {
+        return executor.supply(() -> service.findById(id));
+    }
+
+    public CompletableFuture<TransportCompany> updateCompany(TransportCompanyUpdateRequest request) {
+        return executor.supply(() -> service.updateCompany(request));
+    }
+
+    public CompletableFuture<Void> deleteCompany(long id) {
+        return executor.run(() -> service.deleteCompany(id));
+    }
+}
@@ -0,0 +1,107 @@
+package org.informatics.transportcompany.service.async;
+
+import lombok.RequiredArgsConstructor;
+import org.informatics.transportcompany.model.dto.transport.CalculateCompanyRevenueForPeriodRequest;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
+import org.informatics.transportcompany.model.dto.transport.TransportCreateRequest;
+import org.informatics.transportcompany.model.dto.transport.TransportExportRow;
+import org.informatics.transportcompany.model.dto.transport.TransportImportResult;
+import org.informatics.transportcompany.model.dto.transport.TransportListRow;
+import org.informatics.transportcompany.model.dto.transport.TransportSummary;
+import org.informatics.transportcompany.model.entity.Transport;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.service.TransportService;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class AsyncTransportService {
+
+    private final TransportService service;
+    private final ServiceExecutor executor;
+
+    public CompletableFuture<Transport> createTransport(TransportCreateRequest request) {
+        return executor.supply(() -> service.createTransport(request));
+    }
+
+    public CompletableFuture<TransportImportResult> createAll(Collection<TransportCreateRequest> requests) {
+        return executor.supply(() -> service.createAll(requests));
+    }
+
+    public CompletableFuture<TransportImportResult> createAll(Collection<TransportCreateRequest> requests, int batchSize) {
+        return executor.supply(() -> service.createAll(requests, batchSize));
+    }
+
+    public CompletableFuture<List<Transport>> findAll() {
+        return executor.supply(service::findAll);
+    }
+
+    public CompletableFuture<Page<TransportListRow>> findPage(Cursor after, int limit) {
+        return executor.supply(() -> service.findPage(after, limit));
+    }
+
+    /**
+     * The consumer is called on an executor thread.
+     */
+    public CompletableFuture<Long> exportAll(Consumer<TransportExportRow> consumer) {
+        return executor.supply(() -> service.exportAll(consumer));
+    }
+
+    public CompletableFuture<Page<TransportListRow>> findPageOrderByToLocation(Cursor after, int limit) {
+        return executor.supply(() -> service.findPageOrderByToLocation(after, limit));
+    }
+
+    public CompletableFuture<List<TransportListRow>> findByToLocation(String toLocation) {
+        return executor.supply(() -> service.findByToLocation(toLocation));
+    }
+
+    public CompletableFuture<Page<TransportListRow>> findPageByToLocation(String toLocation, Cursor after, int limit) {
+        return executor.supply(() -> service.findPageByToLocation(toLocation, after, limit));
+    }
+
+    public CompletableFuture<List<String>> completeDestination(String prefix, int limit) {
+        return executor.supply(() -> service.completeDestination(prefix, limit));
+    }
+
+    public CompletableFuture<Transport> markPaid(long id) {
+        return executor.supply(() -> service.markPaid(id));
+    }
+
+    public CompletableFuture<Long> countAllTransports() {
+        return executor.supply(service::countAllTransports);
+    }
+
+    public CompletableFuture<BigDecimal> calculateTotalRevenue() {
+        return executor.supply(service::calculateTotalRevenue);
+    }
+
+    public CompletableFuture<TransportSummary> summarize() {
+        return executor.supply(service::summarize);
+    }
+
+    public CompletableFuture<List<DriverTransportCountRow>> findDriverTransportStats() {
+        return executor.supply(service::findDriverTransportStats);
+    }
+
+    public CompletableFuture<BigDecimal> calculateCompanyRevenueForPeriod(CalculateCompanyRevenueForPeriodRequest request) {
+        return executor.supply(() -> service.calculateCompanyRevenueForPeriod(request));
+    }
+
+    public CompletableFuture<List<DriverRevenueRow>> findDriverRevenue() {
+        return executor.supply(service::findDriverRevenue);
+    }
+
+    public CompletableFuture<Void> ensureRevenueAggregates() {
+        return executor.run(service::ensureRevenueAggregates);
+    }
+
+    public CompletableFuture<Void> rebuildRevenueAggregates() {
+        return executor.run(service::rebuildRevenueAggregates);
+    }
+}
@@ -0,0 +1,55 @@
+package org.informatics.transportcompany.service.async;
+
+import lombok.RequiredArgsConstructor;
+import org.informatics.transportcompany.model.dto.vehicle.VehicleCreateRequest;
+import org.informatics.transportcompany.model.dto.vehicle.VehicleListRow;
+import org.informatics.transportcompany.model.dto.vehicle.VehicleUpdateRequest;
+import org.informatics.transportcompany.model.entity.Vehicle;
+import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.service.VehicleService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RequiredArgsConstructor
+public class AsyncVehicleService {
+
+    private final VehicleService service;
+    private final ServiceExecutor executor;
+
+    public CompletableFuture<Vehicle> createVehicle(VehicleCreateRequest request) {
+        return executor.supply(() -> service.createVehicle(request));
+    }
+
+    public CompletableFuture<List<Vehicle>> findAll() {
+        return executor.supply(service::findAll);
+    }
+
+    public CompletableFuture<Page<VehicleListRow>> findPage(Cursor after, int limit) {
+        return executor.supply(() -> service.findPage(after, limit));
+    }
+
+    public CompletableFuture<Vehicle> findById(long id) {
+        return executor.supply(() -> service.findById(id));
+    }
+
+    public CompletableFuture<List<VehicleListRow>> findBestFitVehicles(long companyId,
+                                                                       VehicleType type,
+                                                                       double cargoWeight,
+                                                                       LocalDateTime from,
+                                                                       LocalDateTime to,
+                                                                       int limit) {
+        return executor.supply(() -> service.findBestFitVehicles(companyId, type, cargoWeight, from, to, limit));
+    }
+
+    public CompletableFuture<Vehicle> updateVehicle(VehicleUpdateRequest request) {
+        return executor.supply(() -> service.updateVehicle(request));
+    }
+
+    public CompletableFuture<Void> deleteVehicle(long id) {
+        return executor.run(() -> service.deleteVehicle(id));
+    }
+}
@@ -0,0 +1,218 @@
+package org.informatics.transportcompany.service.async;
+
+import org.informatics.transportcompany.metrics.LatencyHistogram;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size executor for service calls. At most {@code threads + queueCapacity} tasks are in flight;
+ * when that many are pending, {@link #supply} blocks the caller for up to the submit timeout and then
+ * returns a future failed with {@link RejectedExecutionException}. Tasks do not join a unit of work
+ * bound to the submitting thread.
+ *
+ * <p>{@link #callerRuns()} is an executor without threads that runs every task on the submitting
+ * thread, for services constructed without a shared executor.
+ */
+public class ServiceExecutor implements AutoCloseable {
+
+    private static final ServiceExecutor CALLER_RUNS = new ServiceExecutor();
+
+    private final ServiceExecutorSettings settings;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore permits;
+
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ServiceExecutor(ServiceExecutorSettings settings) {
+        this.settings = settings;
+        this.permits = new Semaphore(settings.threads() + settings.queueCapacity());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                settings.threads(),
+                settings.threads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "service-executor-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private ServiceExecutor() {
+        this.settings = null;
+        this.executor = null;
+        this.permits = null;
+    }
+
+    public static ServiceExecutor callerRuns() {
+        return CALLER_RUNS;
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (executor == null) {
+            submitted.increment();
+            complete(work, future, System.nanoTime());
+            return future;
+        }
+
+        try {
+            if (!permits.tryAcquire(settings.submitTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                return CompletableFuture.failedFuture(new RejectedExecutionException(
+                        "Service executor is saturated: " + (settings.threads() + settings.queueCapacity())
+                                + " tasks are already pending."));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        execute(work, future);
+        return future;
+    }
+
+    public CompletableFuture<Void> run(Runnable work) {
+        return supply(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Hands {@code work} to the executor only if a slot is free right now, without waiting for one.
+     * {@link Fork#join()} runs the work on the joining thread if no executor thread has started it,
+     * so a task that forks and joins on its own executor never waits behind itself, and a saturated
+     * executor just leaves the work to the caller.
+     */
+    public <T> Fork<T> fork(Supplier<T> work) {
+        Fork<T> fork = new Fork<>(work);
+        if (executor != null && permits.tryAcquire()) {
+            execute(() -> fork.claim() ? work.get() : null, fork.forked);
+        }
+        return fork;
+    }
+
+    private <T> void execute(Supplier<T> work, CompletableFuture<T> future) {
+        long enqueued = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                try {
+                    complete(work, future, enqueued);
+                } finally {
+                    permits.release();
+                }
+            });
+            submitted.increment();
+        } catch (RejectedExecutionException ex) {
+            permits.release();
+            rejected.increment();
+            future.completeExceptionally(ex);
+        }
+    }
+
+    private <T> void complete(Supplier<T> work, CompletableFuture<T> future, long enqueued) {
+        long started = System.nanoTime();
+        queueWait.recordNanos(started - enqueued);
+        try {
+            T result = work.get();
+            completed.increment();
+            future.complete(result);
+        } catch (Throwable ex) {
+            failed.increment();
+            future.completeExceptionally(ex);
+        } finally {
+            runTime.recordNanos(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Waits for the future and rethrows the task's own runtime exception instead of the
+     * {@link CompletionException} wrapper.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public ServiceExecutorMetrics metrics() {
+        return new ServiceExecutorMetrics(
+                executor == null ? 0 : settings.threads(),
+                executor == null ? 0 : executor.getActiveCount(),
+                executor == null ? 0 : executor.getQueue().size(),
+                executor == null ? 0 : settings.queueCapacity(),
+                submitted.sum(),
+                completed.sum(),
+                failed.sum(),
+                rejected.sum(),
+                queueWait.snapshot(),
+                runTime.snapshot()
+        );
+    }
+
+    @Override
+    public void close() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Work started by {@link #fork}; it runs exactly once, on an executor thread or on the thread
+     * that joins it, whichever claims it first.
+     */
+    public static final class Fork<T> {
+
+        private final Supplier<T> work;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<T> forked = new CompletableFuture<>();
+
+        private Fork(Supplier<T> work) {
+            this.work = work;
+        }
+
+        public T join() {
+            return claim() ? work.get() : await(forked);
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
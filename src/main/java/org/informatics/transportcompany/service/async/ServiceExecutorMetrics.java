@@ -0,0 +1,17 @@
+package org.informatics.transportcompany.service.async;
+
+import org.informatics.transportcompany.metrics.HistogramSnapshot;
+
+public record ServiceExecutorMetrics(
+        int threads,
+        int active,
+        int queued,
+        int queueCapacity,
+        long submitted,
+        long completed,
+        long failed,
+        long rejected,
+        HistogramSnapshot queueWait,
+        HistogramSnapshot runTime
+) {
+}
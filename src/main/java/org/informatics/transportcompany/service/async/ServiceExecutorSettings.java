@@ -0,0 +1,45 @@
+package org.informatics.transportcompany.service.async;
+
+import org.informatics.transportcompany.config.pool.ConnectionPoolSettings;
+
+import java.util.Map;
+
+public record ServiceExecutorSettings(
+        int threads,
+        int queueCapacity,
+        long submitTimeoutMillis
+) {
+    public static final String THREADS = "transportcompany.async.threads";
+    public static final String QUEUE_CAPACITY = "transportcompany.async.queue_capacity";
+    public static final String SUBMIT_TIMEOUT_MS = "transportcompany.async.submit_timeout_ms";
+
+    public ServiceExecutorSettings {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Service executor needs at least one thread.");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("Queue capacity cannot be negative.");
+        }
+        if (submitTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Submit timeout cannot be negative.");
+        }
+    }
+
+    /**
+     * Defaults the thread count to the connection pool size: every task holds a connection while it
+     * runs, so more threads would only wait on the pool.
+     */
+    public static ServiceExecutorSettings fromConfig(Map<String, Object> config) {
+        int poolSize = intValue(config, ConnectionPoolSettings.MAX_SIZE, 20);
+        return new ServiceExecutorSettings(
+                intValue(config, THREADS, poolSize),
+                intValue(config, QUEUE_CAPACITY, 256),
+                intValue(config, SUBMIT_TIMEOUT_MS, 5_000)
+        );
+    }
+
+    private static int intValue(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value.toString().trim());
+    }
+}
@@ -0,0 +1,126 @@
+package org.informatics.transportcompany.service.booking;
+
+/**
+ * AVL tree of half-open intervals {@code [start, end)} ordered by start, each node also keeping the
+ * largest end in its subtree, so an overlapping interval is found in O(log n).
+ */
+final class IntervalTree {
+
+    record Interval(long start, long end, long id) {
+    }
+
+    private static final class Node {
+        final Interval interval;
+        Node left;
+        Node right;
+        long maxEnd;
+        int height = 1;
+
+        Node(Interval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end();
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void insert(long start, long end, long id) {
+        root = insert(root, new Interval(start, end, id));
+        size++;
+    }
+
+    /**
+     * Returns an interval overlapping {@code [start, end)}, or {@code null} when there is none.
+     * Intervals that only touch at an end point do not overlap.
+     */
+    Interval findOverlap(long start, long end) {
+        if (start >= end) {
+            return null;
+        }
+
+        Node node = root;
+        while (node != null) {
+            Interval interval = node.interval;
+            if (interval.start() < end && start < interval.end()) {
+                return interval;
+            }
+            // If the left subtree reaches past start but has no overlap, every interval in it starts
+            // at or after end, and so does everything to the right.
+            node = node.left != null && node.left.maxEnd > start ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private static Node insert(Node node, Interval interval) {
+        if (node == null) {
+            return new Node(interval);
+        }
+
+        if (compare(interval, node.interval) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return balance(node);
+    }
+
+    private static int compare(Interval a, Interval b) {
+        int byStart = Long.compare(a.start(), b.start());
+        return byStart != 0 ? byStart : Long.compare(a.id(), b.id());
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = Math.max(node.interval.end(), Math.max(maxEnd(node.left), maxEnd(node.right)));
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long maxEnd(Node node) {
+        return node == null ? Long.MIN_VALUE : node.maxEnd;
+    }
+}
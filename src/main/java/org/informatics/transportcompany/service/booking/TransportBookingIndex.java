@@ -0,0 +1,451 @@
+package org.informatics.transportcompany.service.booking;
+
+import org.informatics.transportcompany.exceptions.Transport.TransportBookingConflictException;
+import org.informatics.transportcompany.model.dto.transport.TransportBookingRow;
+import org.informatics.transportcompany.model.entity.Transport;
+import org.informatics.transportcompany.model.enums.BookingResource;
+import org.informatics.transportcompany.repository.transportBooking.TransportBookingRepository;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Per-vehicle and per-driver schedules of booked transports, used to reject double bookings without
+ * a range query on the write path. A schedule is loaded from {@code transport_bookings} the first time
+ * its vehicle or driver is booked and is then kept up to date by this node. Bookings made by other
+ * nodes are not seen here; on PostgreSQL the exclusion constraint on {@code transport_bookings}
+ * rejects them instead, and the affected schedules are reloaded.
+ * <p>
+ * A schedule only holds bookings that end within the horizon before now, or later. It is reloaded
+ * once its oldest covered moment falls a second horizon behind, so memory does not grow with the
+ * booking history. A booking that starts before a schedule's covered range is also checked with a
+ * range query on {@code transport_bookings}.
+ */
+public class TransportBookingIndex {
+
+    public static final String HORIZON_DAYS = "transportcompany.bookings.horizon_days";
+    public static final Duration DEFAULT_HORIZON = Duration.ofDays(90);
+
+    private static final TransportBookingIndex DISABLED = new TransportBookingIndex(null);
+
+    /**
+     * Vehicles before drivers, each by id, so that {@link #book} and {@link Batch#commit} never lock
+     * two schedules in opposite orders.
+     */
+    private static final Comparator<ScheduleKey> LOCK_ORDER = Comparator
+            .comparing((ScheduleKey key) -> key.resource() != BookingResource.VEHICLE)
+            .thenComparingLong(ScheduleKey::resourceId);
+
+    private final TransportBookingRepository repository;
+    private final long horizonMicros;
+    private final Clock clock;
+    private final Map<ScheduleKey, Schedule> schedules = new ConcurrentHashMap<>();
+
+    public TransportBookingIndex(TransportBookingRepository repository) {
+        this(repository, DEFAULT_HORIZON, Clock.systemDefaultZone());
+    }
+
+    public TransportBookingIndex(TransportBookingRepository repository, Duration horizon, Clock clock) {
+        if (horizon.isNegative() || horizon.isZero()) {
+            throw new IllegalArgumentException("Booking horizon must be positive.");
+        }
+        this.repository = repository;
+        this.horizonMicros = horizon.toNanos() / 1_000;
+        this.clock = clock;
+    }
+
+    public static TransportBookingIndex fromConfig(TransportBookingRepository repository, Map<String, Object> config) {
+        Object days = config.get(HORIZON_DAYS);
+        Duration horizon = days == null ? DEFAULT_HORIZON : Duration.ofDays(Long.parseLong(days.toString().trim()));
+        return new TransportBookingIndex(repository, horizon, Clock.systemDefaultZone());
+    }
+
+    /**
+     * An index that accepts every booking, for callers that only need the database constraint.
+     */
+    public static TransportBookingIndex disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Checks that the vehicle and the driver are free between {@code departure} and {@code arrival},
+     * then runs {@code create} while holding both schedules and indexes the transport it returns.
+     * {@code create} has to commit before returning, so a rolled back transport is never indexed.
+     *
+     * @throws TransportBookingConflictException if the vehicle or the driver is already booked
+     */
+    public Transport book(long vehicleId,
+                          long driverId,
+                          LocalDateTime departure,
+                          LocalDateTime arrival,
+                          Supplier<Transport> create) {
+        if (repository == null) {
+            return create.get();
+        }
+
+        long start = micros(departure);
+        long end = Math.max(start, micros(arrival));
+        Schedule vehicle = schedule(BookingResource.VEHICLE, vehicleId);
+        Schedule driver = schedule(BookingResource.DRIVER, driverId);
+
+        vehicle.lock.lock();
+        try {
+            driver.lock.lock();
+            try {
+                checkFree(vehicle, start, end);
+                checkFree(driver, start, end);
+
+                Transport created;
+                try {
+                    created = create.get();
+                } catch (RuntimeException ex) {
+                    if (!isOverlapViolation(ex)) {
+                        throw ex;
+                    }
+                    vehicle.tree = null;
+                    driver.tree = null;
+                    throw new TransportBookingConflictException("Vehicle with id = " + vehicleId
+                            + " or driver with id = " + driverId + " was booked for an overlapping transport"
+                            + " on another node.");
+                }
+
+                vehicle.tree().insert(start, end, created.getId());
+                driver.tree().insert(start, end, created.getId());
+                return created;
+            } finally {
+                driver.lock.unlock();
+            }
+        } finally {
+            vehicle.lock.unlock();
+        }
+    }
+
+    public List<Long> findFree(BookingResource resource, List<Long> resourceIds, LocalDateTime from, LocalDateTime to) {
+        return findFree(resource, resourceIds, from, to, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns up to {@code limit} ids among {@code resourceIds}, in their order, that have no booking
+     * overlapping {@code [from, to)}. Schedules that are not loaded yet are read in one query. A
+     * disabled index treats every resource as free.
+     */
+    public List<Long> findFree(BookingResource resource,
+                               List<Long> resourceIds,
+                               LocalDateTime from,
+                               LocalDateTime to,
+                               int limit) {
+        if (repository == null) {
+            return resourceIds.subList(0, Math.min(limit, resourceIds.size()));
+        }
+
+        long start = micros(from);
+        long end = Math.max(start, micros(to));
+        preload(resource, resourceIds);
+
+        List<Long> free = new ArrayList<>();
+        for (long resourceId : resourceIds) {
+            if (free.size() == limit) {
+                break;
+            }
+            Schedule schedule = schedule(resource, resourceId);
+            schedule.lock.lock();
+            try {
+                if (findOverlap(schedule, start, end) == null) {
+                    free.add(resourceId);
+                }
+            } finally {
+                schedule.lock.unlock();
+            }
+        }
+        return free;
+    }
+
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Checks the rows of one import against the index and against each other. Accepted rows are
+     * only held by the batch until {@link Batch#commit} stores them. A {@link #book} on another thread
+     * between {@link Batch#reserve} and that commit does not see the batch's rows, so the commit checks
+     * its rows again while holding their schedules and keeps holding them until the rows are stored.
+     */
+    public final class Batch {
+
+        private final Map<ScheduleKey, IntervalTree> pending = new HashMap<>();
+        private final Map<Integer, Reservation> reserved = new HashMap<>();
+
+        private Batch() {
+        }
+
+        /**
+         * Returns why the booking is not possible, or {@code null} after reserving it for this batch.
+         */
+        public String reserve(int rowNumber, long vehicleId, long driverId, LocalDateTime departure, LocalDateTime arrival) {
+            if (repository == null) {
+                return null;
+            }
+
+            long start = micros(departure);
+            long end = Math.max(start, micros(arrival));
+            ScheduleKey vehicle = new ScheduleKey(BookingResource.VEHICLE, vehicleId);
+            ScheduleKey driver = new ScheduleKey(BookingResource.DRIVER, driverId);
+
+            for (ScheduleKey key : new ScheduleKey[]{vehicle, driver}) {
+                IntervalTree.Interval booked = findBooked(key, start, end);
+                if (booked != null) {
+                    return conflictMessage(key, booked);
+                }
+
+                IntervalTree.Interval reserved = pending.computeIfAbsent(key, k -> new IntervalTree()).findOverlap(start, end);
+                if (reserved != null) {
+                    return describe(key) + " is already booked by row " + reserved.id() + " of this import from "
+                            + dateTime(reserved.start()) + " to " + dateTime(reserved.end()) + ".";
+                }
+            }
+
+            pending.get(vehicle).insert(start, end, rowNumber);
+            pending.get(driver).insert(start, end, rowNumber);
+            reserved.put(rowNumber, new Reservation(vehicle, driver, start, end));
+            return null;
+        }
+
+        /**
+         * Locks the schedules of the reserved {@code rowNumbers}, passes the rows that were booked by
+         * someone else since {@link #reserve} to {@code conflicts}, and runs {@code create} for the
+         * rest. {@code create} has to commit before returning and return one transport per row, in
+         * order; those are indexed before the schedules are released.
+         */
+        public List<Transport> commit(List<Integer> rowNumbers,
+                                      BiConsumer<Integer, String> conflicts,
+                                      Function<List<Integer>, List<Transport>> create) {
+            if (repository == null) {
+                return create.apply(rowNumbers);
+            }
+
+            List<Schedule> locked = rowNumbers.stream()
+                    .map(reserved::get)
+                    .flatMap(reservation -> Stream.of(reservation.vehicle(), reservation.driver()))
+                    .distinct()
+                    .sorted(LOCK_ORDER)
+                    .map(key -> schedule(key.resource(), key.resourceId()))
+                    .toList();
+
+            int held = 0;
+            try {
+                for (Schedule schedule : locked) {
+                    schedule.lock.lock();
+                    held++;
+                }
+
+                List<Integer> free = new ArrayList<>();
+                for (int rowNumber : rowNumbers) {
+                    String conflict = findConflict(reserved.get(rowNumber));
+                    if (conflict == null) {
+                        free.add(rowNumber);
+                    } else {
+                        conflicts.accept(rowNumber, conflict);
+                    }
+                }
+                if (free.isEmpty()) {
+                    return List.of();
+                }
+
+                List<Transport> created;
+                try {
+                    created = create.apply(free);
+                } catch (RuntimeException ex) {
+                    if (isOverlapViolation(ex)) {
+                        locked.forEach(schedule -> schedule.tree = null);
+                    }
+                    throw ex;
+                }
+
+                for (int i = 0; i < free.size(); i++) {
+                    Reservation reservation = reserved.get(free.get(i));
+                    long transportId = created.get(i).getId();
+                    schedules.get(reservation.vehicle()).tree().insert(reservation.start(), reservation.end(), transportId);
+                    schedules.get(reservation.driver()).tree().insert(reservation.start(), reservation.end(), transportId);
+                }
+                return created;
+            } finally {
+                for (int i = held - 1; i >= 0; i--) {
+                    locked.get(i).lock.unlock();
+                }
+            }
+        }
+
+        /**
+         * Must be called with the reservation's schedules locked.
+         */
+        private String findConflict(Reservation reservation) {
+            for (ScheduleKey key : new ScheduleKey[]{reservation.vehicle(), reservation.driver()}) {
+                IntervalTree.Interval booked = findOverlap(schedules.get(key), reservation.start(), reservation.end());
+                if (booked != null) {
+                    return conflictMessage(key, booked);
+                }
+            }
+            return null;
+        }
+
+        private IntervalTree.Interval findBooked(ScheduleKey key, long start, long end) {
+            Schedule schedule = schedule(key.resource(), key.resourceId());
+            schedule.lock.lock();
+            try {
+                return findOverlap(schedule, start, end);
+            } finally {
+                schedule.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Hibernate does not extract constraint names for exclusion violations (SQL state 23P01), so the
+     * driver's message is searched for the constraint name instead.
+     */
+    public static boolean isOverlapViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql
+                    && sql.getMessage() != null
+                    && sql.getMessage().contains(TransportBookingRepository.OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkFree(Schedule schedule, long start, long end) {
+        IntervalTree.Interval booked = findOverlap(schedule, start, end);
+        if (booked != null) {
+            throw new TransportBookingConflictException(conflictMessage(schedule.key, booked));
+        }
+    }
+
+    /**
+     * Must be called with the schedule's lock held. Bookings that ended before the schedule's covered
+     * range are only in the database, so a request starting before it is also checked there.
+     */
+    private IntervalTree.Interval findOverlap(Schedule schedule, long start, long end) {
+        IntervalTree.Interval booked = schedule.tree().findOverlap(start, end);
+        if (booked != null || start >= end || start >= schedule.coveredFrom) {
+            return booked;
+        }
+
+        return repository.findOverlapping(schedule.key.resource(), schedule.key.resourceId(),
+                        dateTime(start), dateTime(Math.min(end, schedule.coveredFrom)))
+                .map(row -> new IntervalTree.Interval(micros(row.startsAt()), micros(row.endsAt()), row.transportId()))
+                .orElse(null);
+    }
+
+    private long horizonStart() {
+        return micros(LocalDateTime.now(clock)) - horizonMicros;
+    }
+
+    /**
+     * A schedule loaded here is only installed if no booking created it in the meantime: bookings
+     * create their schedule before committing, so an installed one cannot have missed any.
+     */
+    private void preload(BookingResource resource, List<Long> resourceIds) {
+        Map<Long, IntervalTree> missing = new HashMap<>();
+        for (long resourceId : resourceIds) {
+            if (!schedules.containsKey(new ScheduleKey(resource, resourceId))) {
+                missing.put(resourceId, new IntervalTree());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        long coveredFrom = horizonStart();
+        for (TransportBookingRow row : repository.findByResources(resource, missing.keySet(), dateTime(coveredFrom))) {
+            long start = micros(row.startsAt());
+            missing.get(row.resourceId()).insert(start, Math.max(start, micros(row.endsAt())), row.transportId());
+        }
+
+        missing.forEach((resourceId, tree) -> schedules.computeIfAbsent(new ScheduleKey(resource, resourceId), key -> {
+            Schedule schedule = new Schedule(key);
+            schedule.tree = tree;
+            schedule.coveredFrom = coveredFrom;
+            return schedule;
+        }));
+    }
+
+    private Schedule schedule(BookingResource resource, long resourceId) {
+        return schedules.computeIfAbsent(new ScheduleKey(resource, resourceId), Schedule::new);
+    }
+
+    private static String conflictMessage(ScheduleKey key, IntervalTree.Interval booked) {
+        return describe(key) + " is already booked for transport " + booked.id() + " from "
+                + dateTime(booked.start()) + " to " + dateTime(booked.end()) + ".";
+    }
+
+    private static String describe(ScheduleKey key) {
+        return (key.resource() == BookingResource.VEHICLE ? "Vehicle" : "Driver") + " with id = " + key.resourceId();
+    }
+
+    private static long micros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime dateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, 1_000_000),
+                Math.floorMod(micros, 1_000_000) * 1_000,
+                ZoneOffset.UTC
+        );
+    }
+
+    private record ScheduleKey(BookingResource resource, long resourceId) {
+    }
+
+    private record Reservation(ScheduleKey vehicle, ScheduleKey driver, long start, long end) {
+    }
+
+    private final class Schedule {
+
+        private final ScheduleKey key;
+        private final ReentrantLock lock = new ReentrantLock();
+        private IntervalTree tree;
+
+        /**
+         * Bookings ending at or before this moment, in epoch micros, are not in {@link #tree}.
+         */
+        private long coveredFrom;
+
+        private Schedule(ScheduleKey key) {
+            this.key = key;
+        }
+
+        /**
+         * Must be called with {@link #lock} held.
+         */
+        private IntervalTree tree() {
+            long horizonStart = horizonStart();
+            if (tree == null || coveredFrom < horizonStart - horizonMicros) {
+                IntervalTree loaded = new IntervalTree();
+                for (TransportBookingRow row : repository.findByResource(
+                        key.resource(), key.resourceId(), dateTime(horizonStart))) {
+                    long start = micros(row.startsAt());
+                    loaded.insert(start, Math.max(start, micros(row.endsAt())), row.transportId());
+                }
+                tree = loaded;
+                coveredFrom = horizonStart;
+            }
+            return tree;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.informatics.transportcompany.service.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of report results. Each entry is tagged with the data it was computed from;
+ * writers invalidate tags after they commit. A result is only stored if none of its tags were
+ * invalidated while it was being computed, so a report racing with a write is never cached stale.
+ */
+public class ReportCache {
+
+    public static final String TRANSPORTS = "transports";
+    public static final String COMPANIES = "companies";
+    public static final String EMPLOYEES = "employees";
+    public static final String VEHICLES = "vehicles";
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Entry> entries;
+    private final Map<String, Long> versions = new HashMap<>();
+
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public ReportCache(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Report cache size cannot be negative.");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public static ReportCache disabled() {
+        return new ReportCache(0);
+    }
+
+    public static String company(long companyId) {
+        return "company:" + companyId;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String report, List<?> parameters, Set<String> tags, Supplier<T> compute) {
+        if (maxEntries == 0) {
+            return compute.get();
+        }
+
+        Key key = new Key(report, new ArrayList<>(parameters));
+        Map<String, Long> seen;
+
+        synchronized (this) {
+            Entry cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return (T) cached.value();
+            }
+            misses++;
+            seen = versionsOf(tags);
+        }
+
+        T value = compute.get();
+
+        synchronized (this) {
+            if (seen.equals(versionsOf(tags))) {
+                entries.put(key, new Entry(value, Set.copyOf(tags)));
+                if (entries.size() > maxEntries) {
+                    Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions++;
+                }
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(String... tags) {
+        Set<String> invalidated = Set.of(tags);
+        for (String tag : invalidated) {
+            versions.merge(tag, 1L, Long::sum);
+        }
+
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.tags().stream().anyMatch(invalidated::contains)) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        invalidations += entries.size();
+        entries.clear();
+        generation++;
+    }
+
+    public synchronized ReportCacheStats stats() {
+        return new ReportCacheStats(entries.size(), maxEntries, hits, misses, evictions, invalidations);
+    }
+
+    private Map<String, Long> versionsOf(Set<String> tags) {
+        Map<String, Long> result = new HashMap<>();
+        result.put("*", generation);
+        for (String tag : tags) {
+            result.put(tag, versions.getOrDefault(tag, 0L));
+        }
+        return result;
+    }
+
+    private record Key(String report, List<?> parameters) {
+    }
+
+    private record Entry(Object value, Set<String> tags) {
+    }
+}
@@ -0,0 +1,15 @@
+package org.informatics.transportcompany.service.cache;
+
+public record ReportCacheStats(
+        int size,
+        int maxEntries,
+        long hits,
+        long misses,
+        long evictions,
+        long invalidations
+) {
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,75 @@
+package org.informatics.transportcompany.service.location;
+
+import org.informatics.transportcompany.model.LocationKeys;
+import org.informatics.transportcompany.model.dto.transport.DestinationRow;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Destinations of all transports in a prefix trie, for autocomplete. Loaded from the database on
+ * first use and then extended with the transports this process creates; destinations added by other
+ * processes appear after a restart.
+ */
+public class DestinationIndex {
+
+    private final Supplier<List<DestinationRow>> loader;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private LocationTrie trie;
+
+    public DestinationIndex(Supplier<List<DestinationRow>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Returns up to {@code limit} destinations whose normalized form starts with the normalized
+     * {@code prefix}, in alphabetical order of their keys.
+     */
+    public List<String> complete(String prefix, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+
+        String key = LocationKeys.normalize(prefix);
+
+        lock.readLock().lock();
+        try {
+            if (trie != null) {
+                return trie.complete(key, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (trie == null) {
+                LocationTrie loaded = new LocationTrie();
+                for (DestinationRow row : loader.get()) {
+                    loaded.add(row.locationKey(), row.location().strip());
+                }
+                trie = loaded;
+            }
+            return trie.complete(key, limit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the destination of a committed transport. Before the first lookup this is a no-op, since
+     * the load will read the transport from the database.
+     */
+    public void add(String location) {
+        lock.writeLock().lock();
+        try {
+            if (trie != null) {
+                trie.add(LocationKeys.normalize(location), location.strip());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.informatics.transportcompany.service.location;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Prefix tree over location keys. Each key keeps the spelling it was first added with, which is
+ * what completions return.
+ */
+final class LocationTrie {
+
+    private static final class Node {
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        String location;
+    }
+
+    private final Node root = new Node();
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void add(String key, String location) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        if (node.location == null) {
+            node.location = location;
+            size++;
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} locations whose key starts with {@code prefix}, in key order.
+     */
+    List<String> complete(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+
+        List<String> locations = new ArrayList<>();
+        if (node != null) {
+            collect(node, limit, locations);
+        }
+        return locations;
+    }
+
+    private static void collect(Node node, int limit, List<String> locations) {
+        if (node.location != null) {
+            locations.add(node.location);
+        }
+        for (Node child : node.children.values()) {
+            if (locations.size() >= limit) {
+                return;
+            }
+            collect(child, limit, locations);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+-- Schema as previously created by hibernate.hbm2ddl.auto=update. Every statement is guarded with
+-- "if not exists" so existing databases adopt this version without changes to their data.
+
+create sequence if not exists transports_seq start with 1 increment by 50;
+
+create table if not exists transport_companies (
+    id bigint generated by default as identity,
+    name varchar(100) not null unique,
+    address varchar(255),
+    primary key (id)
+);
+
+create table if not exists clients (
+    company_id bigint not null,
+    id bigint generated by default as identity,
+    name varchar(100) not null,
+    contactDetails varchar(255),
+    primary key (id),
+    constraint FK2tdopwmok0ixb5w519n8sv5sr foreign key (company_id) references transport_companies
+);
+
+create table if not exists employees (
+    salary numeric(38,2) not null,
+    company_id bigint not null,
+    id bigint generated by default as identity,
+    firstName varchar(100) not null,
+    lastName varchar(100) not null,
+    qualification varchar(255) not null check ((qualification in ('DRIVER_STANDARD','DRIVER_DANGEROUS_GOODS','DRIVER_MORE_THAN_12_PEOPLE','MECHANIC','OFFICE'))),
+    primary key (id),
+    constraint FKf0jp3p245t9ttfih2y7reeesw foreign key (company_id) references transport_companies
+);
+
+create table if not exists vehicles (
+    capacity integer not null,
+    company_id bigint not null,
+    id bigint generated by default as identity,
+    registrationNumber varchar(20) not null unique,
+    type varchar(255) not null check ((type in ('BUS','TRUCK','TANKER','VAN','CAR','OTHER'))),
+    primary key (id),
+    constraint FKo6sx69r59m4rojfw3ktk92n80 foreign key (company_id) references transport_companies
+);
+
+create table if not exists transports (
+    cargoWeight float(53),
+    paid boolean not null,
+    price numeric(38,2) not null,
+    arrivalDateTime timestamp(6) not null,
+    client_id bigint not null,
+    company_id bigint not null,
+    departureDateTime timestamp(6) not null,
+    driver_id bigint not null,
+    id bigint not null,
+    vehicle_id bigint not null,
+    cargoDescription varchar(500),
+    fromLocation varchar(255) not null,
+    toLocation varchar(255) not null,
+    primary key (id),
+    constraint FK6h9oks3s4iscdb7xl15gmi4ci foreign key (client_id) references clients,
+    constraint FK3m30t31hvsgden4olqn7bqtpc foreign key (company_id) references transport_companies,
+    constraint FKtdb5h3gunddc70nlqwiaxuljq foreign key (driver_id) references employees,
+    constraint FKseft20lm6wn4wx463gra3v7d5 foreign key (vehicle_id) references vehicles
+);
+
+-- Transports created before the pooled sequence got identity ids; start the sequence past them.
+select setval('transports_seq', coalesce((select max(id) from transports), 0) + 1, false);
+
+create table if not exists revenue_buckets (
+    bucket_day date not null,
+    paid boolean not null,
+    revenue numeric(38,2) not null,
+    company_id bigint not null,
+    driver_id bigint not null,
+    id bigint generated by default as identity,
+    transportCount bigint not null,
+    primary key (id),
+    constraint uk_revenue_buckets_key unique (company_id, driver_id, bucket_day, paid)
+);
@@ -0,0 +1,23 @@
+-- Foreign key indexes and the indexes behind the report filters and sorts in TransportRepositoryImpl.
+
+create index if not exists idx_clients_company on clients (company_id);
+create index if not exists idx_vehicles_company on vehicles (company_id);
+create index if not exists idx_employees_company on employees (company_id);
+create index if not exists idx_employees_qualification_salary on employees (qualification, salary);
+
+create index if not exists idx_transports_company on transports (company_id);
+create index if not exists idx_transports_client on transports (client_id);
+create index if not exists idx_transports_vehicle on transports (vehicle_id);
+create index if not exists idx_transports_driver on transports (driver_id);
+
+-- Period revenue only sums paid transports, so the index skips unpaid rows and carries the price
+-- for index-only scans.
+create index if not exists idx_transports_paid_company_departure
+    on transports (company_id, departureDateTime) include (price)
+    where paid;
+
+create index if not exists idx_transports_destination on transports (toLocation, fromLocation, departureDateTime);
+
+create index if not exists idx_revenue_buckets_company_day on revenue_buckets (company_id, bucket_day);
+
+analyze transports;
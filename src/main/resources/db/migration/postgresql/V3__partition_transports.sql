@@ -0,0 +1,55 @@
+-- Turns transports into a table range-partitioned by month on departureDateTime. Existing rows go
+-- to the default partition; TransportPartitionService then splits them into monthly partitions and
+-- keeps partitions created ahead of time. The partition key has to be part of the primary key.
+
+alter table transports rename to transports_unpartitioned;
+alter table transports_unpartitioned rename constraint transports_pkey to transports_unpartitioned_pkey;
+
+drop index if exists idx_transports_company;
+drop index if exists idx_transports_client;
+drop index if exists idx_transports_vehicle;
+drop index if exists idx_transports_driver;
+drop index if exists idx_transports_paid_company_departure;
+drop index if exists idx_transports_destination;
+
+create table transports (
+    cargoWeight float(53),
+    paid boolean not null,
+    price numeric(38,2) not null,
+    arrivalDateTime timestamp(6) not null,
+    client_id bigint not null,
+    company_id bigint not null,
+    departureDateTime timestamp(6) not null,
+    driver_id bigint not null,
+    id bigint not null,
+    vehicle_id bigint not null,
+    cargoDescription varchar(500),
+    fromLocation varchar(255) not null,
+    toLocation varchar(255) not null,
+    primary key (id, departureDateTime),
+    constraint fk_transports_client foreign key (client_id) references clients,
+    constraint fk_transports_company foreign key (company_id) references transport_companies,
+    constraint fk_transports_driver foreign key (driver_id) references employees,
+    constraint fk_transports_vehicle foreign key (vehicle_id) references vehicles
+) partition by range (departureDateTime);
+
+create table transports_default partition of transports default;
+
+insert into transports (cargoWeight, paid, price, arrivalDateTime, client_id, company_id, departureDateTime,
+                        driver_id, id, vehicle_id, cargoDescription, fromLocation, toLocation)
+select cargoWeight, paid, price, arrivalDateTime, client_id, company_id, departureDateTime,
+       driver_id, id, vehicle_id, cargoDescription, fromLocation, toLocation
+from transports_unpartitioned;
+
+drop table transports_unpartitioned;
+
+create index idx_transports_company on transports (company_id);
+create index idx_transports_client on transports (client_id);
+create index idx_transports_vehicle on transports (vehicle_id);
+create index idx_transports_driver on transports (driver_id);
+create index idx_transports_paid_company_departure
+    on transports (company_id, departureDateTime) include (price)
+    where paid;
+create index idx_transports_destination on transports (toLocation, fromLocation, departureDateTime);
+
+analyze transports;
@@ -0,0 +1,51 @@
+-- One booking per transport for its vehicle and one for its driver. The exclusion constraint rejects
+-- overlapping bookings of the same vehicle or driver, which the partitioned transports table cannot
+-- enforce itself. Existing transports that overlap an earlier one of the same vehicle or driver are
+-- left out of the backfill, so the constraint can be created.
+
+create extension if not exists btree_gist;
+
+create sequence transport_bookings_seq start with 1 increment by 50;
+
+create table transport_bookings (
+    id bigint not null,
+    transport_id bigint not null,
+    resource varchar(255) not null check ((resource in ('VEHICLE','DRIVER'))),
+    resource_id bigint not null,
+    startsAt timestamp(6) not null,
+    endsAt timestamp(6) not null,
+    primary key (id),
+    constraint transport_bookings_no_overlap
+        exclude using gist (resource with =, resource_id with =, tsrange(startsAt, endsAt) with &&)
+);
+
+insert into transport_bookings (id, transport_id, resource, resource_id, startsAt, endsAt)
+select nextval('transport_bookings_seq'), t.id, 'VEHICLE', t.vehicle_id, t.departureDateTime,
+       greatest(t.departureDateTime, t.arrivalDateTime)
+from transports t
+where not exists (
+    select 1
+    from transports o
+    where o.vehicle_id = t.vehicle_id
+      and o.id < t.id
+      and o.departureDateTime < t.arrivalDateTime
+      and t.departureDateTime < o.arrivalDateTime
+);
+
+insert into transport_bookings (id, transport_id, resource, resource_id, startsAt, endsAt)
+select nextval('transport_bookings_seq'), t.id, 'DRIVER', t.driver_id, t.departureDateTime,
+       greatest(t.departureDateTime, t.arrivalDateTime)
+from transports t
+where not exists (
+    select 1
+    from transports o
+    where o.driver_id = t.driver_id
+      and o.id < t.id
+      and o.departureDateTime < t.arrivalDateTime
+      and t.departureDateTime < o.arrivalDateTime
+);
+
+create index idx_transport_bookings_resource on transport_bookings (resource, resource_id, startsAt);
+create index idx_transport_bookings_transport on transport_bookings (transport_id);
+
+analyze transport_bookings;
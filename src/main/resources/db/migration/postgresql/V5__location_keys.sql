@@ -0,0 +1,19 @@
+-- Search keys for the free-text locations, matching LocationKeys.normalize: trimmed, whitespace
+-- collapsed, accents removed and lower-cased. Destination lookups compare the indexed key instead
+-- of trimming toLocation on every row.
+
+create extension if not exists unaccent;
+
+alter table transports add column fromLocationKey varchar(255);
+alter table transports add column toLocationKey varchar(255);
+
+update transports
+set fromLocationKey = lower(unaccent(regexp_replace(btrim(fromLocation, E' \t\n\r\f\v'), '\s+', ' ', 'g'))),
+    toLocationKey = lower(unaccent(regexp_replace(btrim(toLocation, E' \t\n\r\f\v'), '\s+', ' ', 'g')));
+
+alter table transports alter column fromLocationKey set not null;
+alter table transports alter column toLocationKey set not null;
+
+create index idx_transports_destination_key on transports (toLocationKey, departureDateTime);
+
+analyze transports;
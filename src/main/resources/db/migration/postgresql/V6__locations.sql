@@ -0,0 +1,46 @@
+-- Moves the location text out of transports into a dictionary: every distinct spelling is stored
+-- once in locations and transports reference it by an integer id. The search key from V5 moves along
+-- with the name, so destination lookups and group-bys run on the ids.
+
+create table locations (
+    id integer generated by default as identity,
+    name varchar(255) not null unique,
+    locationKey varchar(255) not null,
+    primary key (id)
+);
+
+insert into locations (name, locationKey)
+select fromLocation, fromLocationKey from transports
+union
+select toLocation, toLocationKey from transports
+order by 1;
+
+create index idx_locations_key on locations (locationKey);
+
+alter table transports add column from_location_id integer;
+alter table transports add column to_location_id integer;
+
+update transports t
+set from_location_id = f.id,
+    to_location_id = d.id
+from locations f, locations d
+where f.name = t.fromLocation
+  and d.name = t.toLocation;
+
+alter table transports alter column from_location_id set not null;
+alter table transports alter column to_location_id set not null;
+alter table transports add constraint fk_transports_from_location foreign key (from_location_id) references locations;
+alter table transports add constraint fk_transports_to_location foreign key (to_location_id) references locations;
+
+drop index if exists idx_transports_destination;
+drop index if exists idx_transports_destination_key;
+
+alter table transports drop column fromLocation;
+alter table transports drop column toLocation;
+alter table transports drop column fromLocationKey;
+alter table transports drop column toLocationKey;
+
+create index idx_transports_to_location on transports (to_location_id, departureDateTime);
+
+analyze locations;
+analyze transports;
@@ -0,0 +1,9 @@
+-- Locations created by the application before LocationKeys folded ł, ø, ß, đ and the other letters
+-- without a canonical decomposition kept them in their keys, while the V5 backfill had unaccent fold
+-- them. Recompute every key with the V5 expression, which now matches LocationKeys.normalize.
+
+update locations
+set locationKey = lower(unaccent(regexp_replace(btrim(name, E' \t\n\r\f\v'), '\s+', ' ', 'g')))
+where locationKey <> lower(unaccent(regexp_replace(btrim(name, E' \t\n\r\f\v'), '\s+', ' ', 'g')));
+
+analyze locations;
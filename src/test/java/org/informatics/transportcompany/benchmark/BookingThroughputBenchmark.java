@@ -0,0 +1,148 @@
+package org.informatics.transportcompany.benchmark;
+
+import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.model.dto.transport.TransportCreateRequest;
+import org.informatics.transportcompany.model.entity.Client;
+import org.informatics.transportcompany.model.entity.Employee;
+import org.informatics.transportcompany.model.entity.Transport;
+import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.model.entity.Vehicle;
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
+import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.client.ClientRepository;
+import org.informatics.transportcompany.repository.client.ClientRepositoryImpl;
+import org.informatics.transportcompany.repository.employee.EmployeeRepository;
+import org.informatics.transportcompany.repository.employee.EmployeeRepositoryImpl;
+import org.informatics.transportcompany.repository.location.LocationRepository;
+import org.informatics.transportcompany.repository.location.LocationRepositoryImpl;
+import org.informatics.transportcompany.repository.transport.TransportRepository;
+import org.informatics.transportcompany.repository.transport.TransportRepositoryImpl;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepository;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepositoryImpl;
+import org.informatics.transportcompany.service.TransportService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Compares bookings/sec of the old one-session-per-repository-call booking flow with
+ * {@link TransportService#createTransport}, which runs as a single unit of work.
+ * Run with {@code ./gradlew bookingBenchmark}; uses the test H2 configuration.
+ */
+public class BookingThroughputBenchmark {
+
+    private static final int WARMUP_BOOKINGS = 2_000;
+    private static final int MEASURED_BOOKINGS = 10_000;
+
+    private final TransportCompanyRepository companyRepository = new TransportCompanyRepositoryImpl();
+    private final ClientRepository clientRepository = new ClientRepositoryImpl();
+    private final VehicleRepository vehicleRepository = new VehicleRepositoryImpl();
+    private final EmployeeRepository employeeRepository = new EmployeeRepositoryImpl();
+    private final TransportRepository transportRepository = new TransportRepositoryImpl();
+    private final LocationRepository locationRepository = new LocationRepositoryImpl();
+
+    private final TransportService service = new TransportService(
+            transportRepository,
+            companyRepository,
+            clientRepository,
+            vehicleRepository,
+            employeeRepository
+    );
+
+    public static void main(String[] args) {
+        try {
+            new BookingThroughputBenchmark().run();
+        } finally {
+            HibernateUtil.shutdown();
+        }
+    }
+
+    private void run() {
+        TransportCreateRequest request = seedReferenceData();
+
+        bookSessionPerCall(request, WARMUP_BOOKINGS);
+        double before = measure(() -> bookSessionPerCall(request, MEASURED_BOOKINGS));
+
+        bookUnitOfWork(request, WARMUP_BOOKINGS);
+        double after = measure(() -> bookUnitOfWork(request, MEASURED_BOOKINGS));
+
+        System.out.printf("Session per repository call: %.0f bookings/sec%n", before);
+        System.out.printf("Single unit of work:         %.0f bookings/sec%n", after);
+    }
+
+    private void bookSessionPerCall(TransportCreateRequest request, int bookings) {
+        for (int i = 0; i < bookings; i++) {
+            Transport t = new Transport();
+            t.setCompany(companyRepository.findById(request.getCompanyId()).orElseThrow());
+            t.setClient(clientRepository.findById(request.getClientId()).orElseThrow());
+            t.setVehicle(vehicleRepository.findById(request.getVehicleId()).orElseThrow());
+            t.setDriver(employeeRepository.findById(request.getDriverId()).orElseThrow());
+            t.setFromLocation(locationRepository.intern(request.getFromLocation()));
+            t.setToLocation(locationRepository.intern(request.getToLocation()));
+            t.setDepartureDateTime(request.getDeparture());
+            t.setArrivalDateTime(request.getArrival());
+            t.setCargoDescription(request.getCargoDescription());
+            t.setCargoWeight(request.getCargoWeight());
+            t.setPrice(request.getPrice());
+            t.setPaid(request.isPaid());
+
+            transportRepository.create(t);
+        }
+    }
+
+    private void bookUnitOfWork(TransportCreateRequest request, int bookings) {
+        for (int i = 0; i < bookings; i++) {
+            service.createTransport(request);
+        }
+    }
+
+    private static double measure(Runnable bookings) {
+        long start = System.nanoTime();
+        bookings.run();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return MEASURED_BOOKINGS / seconds;
+    }
+
+    private TransportCreateRequest seedReferenceData() {
+        TransportCompany company = new TransportCompany();
+        company.setName("Benchmark Logistics");
+        companyRepository.create(company);
+
+        Client client = new Client();
+        client.setName("Benchmark Client");
+        client.setCompany(company);
+        clientRepository.create(client);
+
+        Vehicle vehicle = new Vehicle();
+        vehicle.setRegistrationNumber("BM0001AA");
+        vehicle.setType(VehicleType.TRUCK);
+        vehicle.setCapacity(20_000);
+        vehicle.setCompany(company);
+        vehicleRepository.create(vehicle);
+
+        Employee driver = new Employee();
+        driver.setFirstName("Bench");
+        driver.setLastName("Driver");
+        driver.setQualification(EmployeeQualification.DRIVER_STANDARD);
+        driver.setSalary(new BigDecimal("2500.00"));
+        driver.setCompany(company);
+        employeeRepository.create(driver);
+
+        TransportCreateRequest request = new TransportCreateRequest();
+        request.setCompanyId(company.getId());
+        request.setClientId(client.getId());
+        request.setVehicleId(vehicle.getId());
+        request.setDriverId(driver.getId());
+        request.setFromLocation("Sofia");
+        request.setToLocation("Varna");
+        request.setDeparture(LocalDateTime.of(2025, 1, 1, 8, 0));
+        request.setArrival(LocalDateTime.of(2025, 1, 1, 14, 0));
+        request.setCargoDescription("Pallets");
+        request.setCargoWeight(1200.0);
+        request.setPrice(new BigDecimal("850.00"));
+        request.setPaid(false);
+        return request;
+    }
+}
@@ -0,0 +1,160 @@
+package org.informatics.transportcompany.config;
+
+import org.informatics.transportcompany.config.pool.ConnectionPool;
+import org.informatics.transportcompany.config.pool.ConnectionPoolMetrics;
+import org.informatics.transportcompany.config.pool.ConnectionPoolSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPoolTest {
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void initTests() throws SQLException {
+        pool = new ConnectionPool(new ConnectionPoolSettings(
+                "jdbc:h2:mem:connection_pool_test;DB_CLOSE_DELAY=-1",
+                "sa",
+                "",
+                false,
+                1,
+                2,
+                200,
+                60_000,
+                60_000,
+                true,
+                1
+        ));
+    }
+
+    @AfterEach
+    void endTests() {
+        pool.close();
+    }
+
+    @Test
+    void whenCreated_thenMinimumConnectionsAreIdle() {
+        ConnectionPoolMetrics metrics = pool.metrics();
+
+        assertEquals(1, metrics.idle());
+        assertEquals(0, metrics.active());
+        assertEquals(1, metrics.total());
+    }
+
+    @Test
+    void givenReleasedConnection_whenBorrowAgain_thenSameConnectionIsReused() throws SQLException {
+        Connection first = pool.borrow();
+        pool.release(first);
+
+        Connection second = pool.borrow();
+        assertSame(first, second);
+        pool.release(second);
+
+        assertEquals(1, pool.metrics().created());
+        assertEquals(2, pool.metrics().acquired());
+    }
+
+    @Test
+    void givenPoolExhausted_whenBorrow_thenTimeoutAfterAcquireTimeout() throws SQLException {
+        Connection c1 = pool.borrow();
+        Connection c2 = pool.borrow();
+
+        assertEquals(2, pool.metrics().active());
+        assertThrows(SQLTimeoutException.class, () -> pool.borrow());
+        assertEquals(1, pool.metrics().acquireTimeouts());
+
+        pool.release(c1);
+        pool.release(c2);
+    }
+
+    @Test
+    void givenPoolExhausted_whenConnectionReleased_thenWaiterGetsIt() throws Exception {
+        Connection c1 = pool.borrow();
+        Connection c2 = pool.borrow();
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                pool.release(c1);
+            } catch (Exception ignored) {
+                // the assertion below fails if the release did not happen
+            }
+        });
+        releaser.start();
+
+        Connection c3 = pool.borrow();
+        assertSame(c1, c3);
+        releaser.join();
+
+        pool.release(c2);
+        pool.release(c3);
+    }
+
+    @Test
+    void givenClosedConnection_whenBorrow_thenItIsReplaced() throws SQLException {
+        Connection broken = pool.borrow();
+        broken.close();
+        pool.release(broken);
+
+        Connection fresh = pool.borrow();
+        assertTrue(fresh.isValid(1));
+        pool.release(fresh);
+
+        assertEquals(1, pool.metrics().total());
+    }
+
+    @Test
+    void givenChangedConnectionState_whenReleased_thenNextBorrowerGetsOriginalState() throws SQLException {
+        Connection first = pool.borrow();
+        int isolation = first.getTransactionIsolation();
+        first.setAutoCommit(true);
+        first.setReadOnly(true);
+        first.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        pool.release(first);
+
+        Connection second = pool.borrow();
+        assertSame(first, second);
+        assertFalse(second.getAutoCommit());
+        assertFalse(second.isReadOnly());
+        assertEquals(isolation, second.getTransactionIsolation());
+        pool.release(second);
+    }
+
+    @Test
+    void givenUncommittedWork_whenReleased_thenItIsRolledBack() throws SQLException {
+        Connection writer = pool.borrow();
+        try (Statement statement = writer.createStatement()) {
+            statement.execute("create table if not exists pool_reset (id int)");
+            writer.commit();
+            statement.execute("insert into pool_reset values (1)");
+        }
+        pool.release(writer);
+
+        Connection reader = pool.borrow();
+        try (Statement statement = reader.createStatement();
+             ResultSet rows = statement.executeQuery("select count(*) from pool_reset")) {
+            rows.next();
+            assertEquals(0, rows.getInt(1));
+        }
+        pool.release(reader);
+    }
+
+    @Test
+    void givenNonPositiveEvictionInterval_whenSettingsCreated_thenIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPoolSettings(
+                "jdbc:h2:mem:connection_pool_test", "sa", "", false, 1, 2, 200, 60_000, 0, true, 1));
+    }
+}
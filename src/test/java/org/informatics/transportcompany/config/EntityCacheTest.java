@@ -0,0 +1,130 @@
+package org.informatics.transportcompany.config;
+
+import org.hibernate.SessionFactory;
+import org.informatics.transportcompany.config.cache.CacheRegionStats;
+import org.informatics.transportcompany.config.cache.EntityCacheSettings;
+import org.informatics.transportcompany.config.cache.LocalStorageAccess;
+import org.informatics.transportcompany.model.dto.transportCompany.TransportCompanyUpdateRequest;
+import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
+import org.informatics.transportcompany.service.TransportCompanyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityCacheTest {
+
+    private static SessionFactory sessionFactory;
+
+    private TransportCompanyRepository companyRepository;
+
+    @BeforeAll
+    static void setup() {
+        sessionFactory = HibernateUtil.getSessionFactory();
+    }
+
+    @BeforeEach
+    void initTests() {
+        sessionFactory.getSchemaManager().truncateMappedObjects();
+        sessionFactory.getCache().evictAllRegions();
+
+        companyRepository = new TransportCompanyRepositoryImpl();
+    }
+
+    @AfterEach
+    void endTests() {
+        sessionFactory.getSchemaManager().truncateMappedObjects();
+    }
+
+    @Test
+    void givenFullRegion_whenPut_thenLeastRecentlyUsedEntryIsEvicted() {
+        LocalStorageAccess storage = new LocalStorageAccess("test", new EntityCacheSettings(2, 60_000));
+
+        storage.putIntoCache("a", 1, null);
+        storage.putIntoCache("b", 2, null);
+        storage.getFromCache("a", null);
+        storage.putIntoCache("c", 3, null);
+
+        assertTrue(storage.contains("a"));
+        assertFalse(storage.contains("b"));
+        assertTrue(storage.contains("c"));
+        assertEquals(1, storage.stats().evictions());
+    }
+
+    @Test
+    void givenExpiredEntry_whenGet_thenMissAndEntryIsRemoved() {
+        AtomicLong now = new AtomicLong();
+        LocalStorageAccess storage = new LocalStorageAccess("test", new EntityCacheSettings(10, 1_000), now::get);
+
+        storage.putIntoCache("a", 1, null);
+        assertEquals(1, storage.getFromCache("a", null));
+
+        now.addAndGet(1_000_000_000L);
+        assertNull(storage.getFromCache("a", null));
+
+        CacheRegionStats stats = storage.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.expirations());
+        assertEquals(0, stats.size());
+    }
+
+    @Test
+    void givenCachedCompany_whenFindByIdAgain_thenServedFromCacheAndUpdatesAreVisible() {
+        TransportCompany company = new TransportCompany();
+        company.setName("Cached Co");
+        companyRepository.create(company);
+
+        companyRepository.findById(company.getId());
+        long hitsBefore = companyRegion().hits();
+
+        assertEquals("Cached Co", companyRepository.findById(company.getId()).orElseThrow().getName());
+        assertTrue(companyRepository.existsById(company.getId()));
+        assertEquals(hitsBefore + 2, companyRegion().hits());
+
+        TransportCompanyUpdateRequest update = new TransportCompanyUpdateRequest();
+        update.setId(company.getId());
+        update.setName("Renamed Co");
+        update.setAddress("Sofia");
+        new TransportCompanyService(companyRepository).updateCompany(update);
+
+        assertEquals("Renamed Co", companyRepository.findById(company.getId()).orElseThrow().getName());
+
+        companyRepository.deleteById(company.getId());
+        assertTrue(companyRepository.findById(company.getId()).isEmpty());
+    }
+
+    @Test
+    void givenDeletedCachedCompany_whenFindExistingIds_thenItIsNotReported() {
+        TransportCompany kept = new TransportCompany();
+        kept.setName("Kept Co");
+        companyRepository.create(kept);
+        TransportCompany deleted = new TransportCompany();
+        deleted.setName("Deleted Co");
+        companyRepository.create(deleted);
+
+        companyRepository.findById(kept.getId());
+        companyRepository.findById(deleted.getId());
+        companyRepository.deleteById(deleted.getId());
+
+        assertEquals(Set.of(kept.getId()), companyRepository.findExistingIds(List.of(kept.getId(), deleted.getId())));
+    }
+
+    private static CacheRegionStats companyRegion() {
+        return HibernateUtil.getEntityCacheStatistics().stream()
+                .filter(region -> region.region().endsWith(TransportCompany.class.getName()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,92 @@
+package org.informatics.transportcompany.config;
+
+import org.informatics.transportcompany.config.migration.Migration;
+import org.informatics.transportcompany.config.migration.MigrationRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MigrationRunnerTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void initTests() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:migration_test;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @AfterEach
+    void endTests() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Test
+    void givenEmptyDatabase_whenMigrateTwice_thenScriptsAreAppliedOnceInOrder() throws SQLException {
+        MigrationRunner runner = new MigrationRunner("db/migration/test");
+
+        List<Migration> applied = runner.migrate(connection);
+
+        assertEquals(List.of(1, 2), applied.stream().map(Migration::version).toList());
+        assertEquals("create depots", applied.getFirst().description());
+        assertEquals(1, count("select count(*) from depots"));
+
+        assertTrue(runner.migrate(connection).isEmpty());
+        assertEquals(1, count("select count(*) from depots"));
+        assertEquals(2, count("select count(*) from schema_version"));
+    }
+
+    @Test
+    void givenAppliedScriptWasChanged_whenMigrate_thenIsRejected() throws SQLException {
+        MigrationRunner runner = new MigrationRunner("db/migration/test");
+        runner.migrate(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("update schema_version set checksum = 'edited' where version = 1");
+        }
+
+        assertThrows(IllegalStateException.class, () -> runner.migrate(connection));
+    }
+
+    @Test
+    void givenPostgresqlScripts_whenLoad_thenScriptsAreOrderedByVersion() {
+        List<Migration> migrations = new MigrationRunner("db/migration/postgresql").load();
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), migrations.stream().map(Migration::version).toList());
+        assertTrue(migrations.get(0).statements()
+                .contains("select setval('transports_seq', coalesce((select max(id) from transports), 0) + 1, false)"));
+        assertTrue(migrations.get(1).statements().stream()
+                .anyMatch(sql -> sql.contains("idx_transports_paid_company_departure") && sql.contains("where paid")));
+        assertTrue(migrations.get(2).statements().stream()
+                .anyMatch(sql -> sql.endsWith("partition by range (departureDateTime)")));
+        assertTrue(migrations.get(3).statements().stream()
+                .anyMatch(sql -> sql.contains("constraint transport_bookings_no_overlap") && sql.contains("exclude using gist")));
+        assertTrue(migrations.get(4).statements()
+                .contains("create index idx_transports_destination_key on transports (toLocationKey, departureDateTime)"));
+        assertTrue(migrations.get(5).statements()
+                .contains("create index idx_transports_to_location on transports (to_location_id, departureDateTime)"));
+        assertTrue(migrations.get(6).statements().stream()
+                .anyMatch(sql -> sql.startsWith("update locations") && sql.contains("unaccent")));
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
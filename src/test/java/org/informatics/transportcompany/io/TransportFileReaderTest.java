@@ -0,0 +1,139 @@
+package org.informatics.transportcompany.io;
+
+import org.informatics.transportcompany.model.dto.transport.TransportExportRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransportFileReaderTest {
+
+    private static final int SMALL_CHUNK = 97;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void givenFileWrittenByWriter_whenReadInSmallChunks_thenEveryRowComesBackInOrder() throws IOException {
+        Path file = dir.resolve("transports.txt");
+        int rows = 300;
+
+        try (TransportFileWriter writer = TransportFileWriter.open(file)) {
+            for (int i = 1; i <= rows; i++) {
+                writer.write(row(i));
+            }
+        }
+
+        List<TransportFileRecord> records;
+        List<TransportFileError> errors;
+        try (TransportFileReader reader = TransportFileReader.open(file, SMALL_CHUNK, new ForkJoinPool(4))) {
+            records = reader.stream().toList();
+            errors = reader.errors();
+        }
+
+        assertTrue(errors.isEmpty());
+        assertEquals(rows, records.size());
+        for (int i = 1; i <= rows; i++) {
+            TransportFileRecord record = records.get(i - 1);
+            assertEquals(i, record.id());
+            assertEquals("Company " + i, record.company());
+            assertEquals("Driver " + i, record.driver());
+            assertEquals(new BigDecimal(i + ".50"), record.price());
+            assertEquals(i % 2 == 0, record.paid());
+            assertEquals(LocalDateTime.of(2025, 1, 1, 8, 0).plusHours(i), record.departure());
+            assertEquals(i % 3 == 0 ? null : (double) i, record.cargoWeight());
+        }
+    }
+
+    @Test
+    void givenInvalidLines_whenRead_thenTheyAreReportedWithLineNumbersAndOthersAreKept() throws IOException {
+        Path file = dir.resolve("mixed.txt");
+        Files.writeString(file, TransportFileFormat.HEADER + "\r\n"
+                + "1;A;B;CA1234;Ivan Ivanov;Sofia;Varna;2025-01-01T08:00;2025-01-01T14:00;100.00;true;Food;10.5\r\n"
+                + "\n"
+                + "2;A;B;CA1234;Ivan Ivanov;Sofia\n"
+                + "x;A;B;CA1234;Ivan Ivanov;Sofia;Varna;2025-01-01T08:00;2025-01-01T14:00;100.00;true;;\n"
+                + "4;A;B;CA1234;Ivan Ivanov;Sofia;Varna;2025-13-01T08:00;2025-01-01T14:00;100.00;true;;\n"
+                + "5;A;B;CA1234;Ivan Ivanov;Sofia;Plovdiv;2025-01-02T08:00:30;;7;false;;", StandardCharsets.UTF_8);
+
+        try (TransportFileReader reader = TransportFileReader.open(file, SMALL_CHUNK, ForkJoinPool.commonPool())) {
+            List<TransportFileRecord> records = reader.stream().toList();
+
+            assertEquals(List.of(1L, 5L), records.stream().map(TransportFileRecord::id).toList());
+            assertEquals("Varna", records.getFirst().toLocation());
+            assertEquals(10.5, records.getFirst().cargoWeight());
+            assertEquals(LocalDateTime.of(2025, 1, 2, 8, 0, 30), records.get(1).departure());
+            assertNull(records.get(1).arrival());
+            assertEquals(new BigDecimal("7"), records.get(1).price());
+
+            List<TransportFileError> errors = reader.errors();
+            assertEquals(List.of(4L, 5L, 6L), errors.stream().map(TransportFileError::lineNumber).toList());
+            assertEquals(List.of("invalid line", "invalid numbers", "invalid date-time"),
+                    errors.stream().map(TransportFileError::reason).toList());
+        }
+    }
+
+    @Test
+    void givenLineLongerThanChunk_whenRead_thenItIsParsedWhole() throws IOException {
+        Path file = dir.resolve("long.txt");
+        String description = "x".repeat(200_000);
+
+        try (TransportFileWriter writer = TransportFileWriter.open(file)) {
+            writer.write(row(1));
+        }
+        Files.writeString(file,
+                "2;A;B;CA1234;Ivan Ivanov;Sofia;Varna;2025-01-01T08:00;2025-01-01T14:00;1.00;false;" + description + ";\n"
+                        + "3;A;B;CA1234;Ivan Ivanov;Sofia;Varna;2025-01-01T08:00;2025-01-01T14:00;1.00;false;;\n",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (TransportFileReader reader = TransportFileReader.open(file, SMALL_CHUNK, ForkJoinPool.commonPool())) {
+            List<TransportFileRecord> records = reader.stream().toList();
+
+            assertEquals(List.of(1L, 2L, 3L), records.stream().map(TransportFileRecord::id).toList());
+            assertEquals(description, records.get(1).cargoDescription());
+            assertTrue(reader.errors().isEmpty());
+        }
+    }
+
+    @Test
+    void givenEmptyFile_whenOpened_thenReaderIsEmpty() throws IOException {
+        Path file = Files.createFile(dir.resolve("empty.txt"));
+
+        try (TransportFileReader reader = TransportFileReader.open(file)) {
+            assertTrue(reader.isEmpty());
+            assertFalse(reader.iterator().hasNext());
+        }
+    }
+
+    private static TransportExportRow row(int i) {
+        return new TransportExportRow(
+                i,
+                "Company " + i,
+                "Client " + i,
+                "CA" + i,
+                "Driver",
+                String.valueOf(i),
+                "Sofia",
+                "Varna",
+                LocalDateTime.of(2025, 1, 1, 8, 0).plusHours(i),
+                LocalDateTime.of(2025, 1, 1, 14, 0).plusHours(i),
+                new BigDecimal(i + ".50"),
+                i % 2 == 0,
+                "Cargo " + i,
+                i % 3 == 0 ? null : (double) i
+        );
+    }
+}
@@ -0,0 +1,193 @@
+package org.informatics.transportcompany.io;
+
+import org.informatics.transportcompany.model.dto.transport.TransportExportRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransportSnapshotTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void givenRows_whenWrittenAndReadBack_thenSnapshotIsSmallerThanTextAndRowsAreEqual() throws IOException {
+        List<TransportExportRow> rows = rows(1_000);
+        Path snapshot = dir.resolve("transports.snap");
+        Path text = dir.resolve("transports.txt");
+
+        try (TransportSnapshotWriter writer = TransportSnapshotWriter.open(snapshot, 64);
+             TransportFileWriter textWriter = TransportFileWriter.open(text)) {
+            rows.forEach(writer::write);
+            rows.forEach(textWriter::write);
+        }
+
+        List<TransportExportRow> read = new ArrayList<>();
+        try (TransportSnapshotReader reader = TransportSnapshotReader.open(snapshot)) {
+            assertEquals(rows.size(), reader.getRowCount());
+            assertEquals(16, reader.getBlockCount());
+            assertEquals(rows.size(), reader.forEach(read::add));
+        }
+
+        assertEquals(rows, read);
+        assertTrue(Files.size(snapshot) * 3 < Files.size(text));
+    }
+
+    @Test
+    void givenPeriod_whenSumRevenue_thenOnlyOverlappingBlocksAreReadAndTotalMatches() throws IOException {
+        List<TransportExportRow> rows = rows(1_000);
+        Path snapshot = dir.resolve("transports.snap");
+
+        try (TransportSnapshotWriter writer = TransportSnapshotWriter.open(snapshot, 100)) {
+            rows.forEach(writer::write);
+        }
+
+        LocalDateTime from = START.plusDays(250);
+        LocalDateTime to = START.plusDays(349);
+
+        BigDecimal expected = rows.stream()
+                .filter(r -> r.companyName().equals("Company 1"))
+                .filter(TransportExportRow::paid)
+                .filter(r -> !r.departure().isBefore(from) && !r.departure().isAfter(to))
+                .map(TransportExportRow::price)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        try (TransportSnapshotReader reader = TransportSnapshotReader.open(snapshot)) {
+            assertEquals(2, reader.countBlocksForPeriod(from, to));
+            assertEquals(0, expected.compareTo(reader.sumPaidRevenueForPeriod("Company 1", from, to)));
+            assertEquals(0, BigDecimal.ZERO.compareTo(reader.sumPaidRevenueForPeriod("Unknown", from, to)));
+
+            List<Long> ids = new ArrayList<>();
+            assertEquals(100, reader.forEachInPeriod(from, to, row -> ids.add(row.id())));
+            assertEquals(251L, ids.getFirst());
+            assertEquals(350L, ids.getLast());
+        }
+    }
+
+    @Test
+    void givenUniqueDescriptions_whenWrittenAndReadBack_thenTheyAreStoredInline() throws IOException {
+        List<TransportExportRow> rows = new ArrayList<>();
+        for (TransportExportRow row : rows(200)) {
+            rows.add(new TransportExportRow(row.id(), row.companyName(), row.clientName(), row.vehicleRegistrationNumber(),
+                    row.driverFirstName(), row.driverLastName(), row.fromLocation(), row.toLocation(),
+                    row.departure(), row.arrival(), row.price(), row.paid(),
+                    row.cargoDescription() == null ? null : "Палети №" + row.id(), row.cargoWeight()));
+        }
+        Path snapshot = dir.resolve("transports.snap");
+
+        try (TransportSnapshotWriter writer = TransportSnapshotWriter.open(snapshot, 64)) {
+            rows.forEach(writer::write);
+        }
+
+        List<TransportExportRow> read = new ArrayList<>();
+        try (TransportSnapshotReader reader = TransportSnapshotReader.open(snapshot)) {
+            reader.forEach(read::add);
+        }
+
+        assertEquals(rows, read);
+    }
+
+    @Test
+    void givenSubSecondTimes_whenWrittenAndReadBack_thenMicrosecondsAreKept() throws IOException {
+        List<TransportExportRow> rows = new ArrayList<>();
+        for (TransportExportRow row : rows(100)) {
+            rows.add(withTimes(row, row.departure().plusNanos(row.id() * 1_234_000), row.arrival().plusNanos(999_999_000)));
+        }
+        Path snapshot = dir.resolve("transports.snap");
+
+        try (TransportSnapshotWriter writer = TransportSnapshotWriter.open(snapshot, 64)) {
+            rows.forEach(writer::write);
+        }
+
+        List<TransportExportRow> read = new ArrayList<>();
+        try (TransportSnapshotReader reader = TransportSnapshotReader.open(snapshot)) {
+            TransportExportRow first = rows.get(0);
+            assertEquals(1, reader.forEachInPeriod(first.departure(), first.departure(), read::add));
+            assertEquals(0, reader.forEachInPeriod(first.departure().plusNanos(1_000), first.departure().plusNanos(1_000), read::add));
+            read.clear();
+            reader.forEach(read::add);
+        }
+
+        assertEquals(rows, read);
+    }
+
+    @Test
+    void givenTimeMorePreciseThanMicrosecond_whenWritten_thenIsRejected() throws IOException {
+        TransportExportRow row = rows(1).get(0);
+        Path snapshot = dir.resolve("transports.snap");
+
+        try (TransportSnapshotWriter writer = TransportSnapshotWriter.open(snapshot, 64)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.write(withTimes(row, row.departure().plusNanos(1), row.arrival())));
+            writer.abort();
+        }
+
+        assertFalse(Files.exists(snapshot));
+    }
+
+    @Test
+    void givenAbortedExport_whenAborted_thenPartialSnapshotIsDeleted() throws IOException {
+        Path snapshot = dir.resolve("transports.snap");
+
+        TransportSnapshotWriter writer = TransportSnapshotWriter.open(snapshot, 64);
+        rows(100).forEach(writer::write);
+        writer.abort();
+        writer.close();
+
+        assertFalse(Files.exists(snapshot));
+    }
+
+    @Test
+    void givenTextFile_whenOpenedAsSnapshot_thenIsRejected() throws IOException {
+        Path text = dir.resolve("transports.txt");
+        try (TransportFileWriter writer = TransportFileWriter.open(text)) {
+            rows(3).forEach(writer::write);
+        }
+
+        assertThrows(IOException.class, () -> TransportSnapshotReader.open(text));
+    }
+
+    private static TransportExportRow withTimes(TransportExportRow row, LocalDateTime departure, LocalDateTime arrival) {
+        return new TransportExportRow(row.id(), row.companyName(), row.clientName(), row.vehicleRegistrationNumber(),
+                row.driverFirstName(), row.driverLastName(), row.fromLocation(), row.toLocation(),
+                departure, arrival, row.price(), row.paid(), row.cargoDescription(), row.cargoWeight());
+    }
+
+    private static List<TransportExportRow> rows(int count) {
+        List<TransportExportRow> rows = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            LocalDateTime departure = START.plusDays(i - 1);
+            rows.add(new TransportExportRow(
+                    i,
+                    "Company " + (i % 3),
+                    "Client " + (i % 20),
+                    "CA" + (1000 + i % 15) + "BB",
+                    "Driver",
+                    "No" + (i % 10),
+                    "Sofia",
+                    i % 2 == 0 ? "Varna" : "Plovdiv",
+                    departure,
+                    departure.plusHours(5).plusMinutes(i % 60),
+                    new BigDecimal((100 + i) + ".25"),
+                    i % 4 != 0,
+                    i % 5 == 0 ? null : "Pallets",
+                    i % 7 == 0 ? null : 1000.0 + i
+            ));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,106 @@
+package org.informatics.transportcompany.metrics;
+
+import org.hibernate.SessionFactory;
+import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.repository.instrumented.InstrumentedTransportCompanyRepository;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RepositoryMetricsTest {
+
+    private static SessionFactory sessionFactory;
+
+    private RepositoryMetrics metrics;
+    private TransportCompanyRepository companyRepository;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void setup() {
+        sessionFactory = HibernateUtil.getSessionFactory();
+    }
+
+    @BeforeEach
+    void initTests() {
+        sessionFactory.getSchemaManager().truncateMappedObjects();
+
+        metrics = new RepositoryMetrics();
+        companyRepository = new InstrumentedTransportCompanyRepository(new TransportCompanyRepositoryImpl(), metrics);
+    }
+
+    @AfterEach
+    void endTests() {
+        sessionFactory.getSchemaManager().truncateMappedObjects();
+    }
+
+    @Test
+    void givenInstrumentedRepository_whenCalled_thenCallsRowsAndStatementsAreRecordedPerMethod() {
+        for (int i = 0; i < 3; i++) {
+            TransportCompany company = new TransportCompany();
+            company.setName("Company " + i);
+            companyRepository.create(company);
+        }
+
+        companyRepository.findAllOrderByName();
+        companyRepository.findAllOrderByName();
+        companyRepository.findById(Long.MAX_VALUE);
+
+        RepositoryMethodStats create = stats("TransportCompanyRepository.create");
+        assertEquals(3, create.calls());
+        assertEquals(3, create.rows());
+        assertTrue(create.statements() >= 3);
+
+        RepositoryMethodStats findAll = stats("TransportCompanyRepository.findAllOrderByName");
+        assertEquals(2, findAll.calls());
+        assertEquals(6, findAll.rows());
+        assertEquals(2, findAll.statements());
+        assertEquals(2, findAll.latency().count());
+
+        RepositoryMethodStats findById = stats("TransportCompanyRepository.findById");
+        assertEquals(1, findById.calls());
+        assertEquals(0, findById.rows());
+    }
+
+    @Test
+    void givenFailingCall_whenRecorded_thenFailureIsCountedRethrownAndDumped() throws IOException {
+        assertThrows(IllegalStateException.class, () -> metrics.run("Broken.call", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        metrics.record("Working.call", () -> List.of(1, 2));
+
+        RepositoryMethodStats broken = stats("Broken.call");
+        assertEquals(1, broken.calls());
+        assertEquals(1, broken.failures());
+
+        Path dump = dir.resolve("metrics.csv");
+        metrics.dumpTo(dump);
+
+        List<String> lines = Files.readAllLines(dump);
+        assertEquals(3, lines.size());
+        assertTrue(lines.getFirst().startsWith("method;calls;failures;rows;statements"));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("Working.call;1;0;2;0;")));
+    }
+
+    private RepositoryMethodStats stats(String method) {
+        return metrics.snapshot().stream()
+                .filter(stats -> stats.method().equals(method))
+                .findFirst()
+                .orElseThrow();
+    }
+}
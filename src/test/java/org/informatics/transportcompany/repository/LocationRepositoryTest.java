@@ -0,0 +1,103 @@
+package org.informatics.transportcompany.repository;
+
+import org.hibernate.SessionFactory;
+import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.config.UnitOfWork;
+import org.informatics.transportcompany.model.entity.Location;
+import org.informatics.transportcompany.repository.location.LocationRepository;
+import org.informatics.transportcompany.repository.location.LocationRepositoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocationRepositoryTest {
+
+    private static SessionFactory sessionFactory;
+    private LocationRepository repository;
+
+    @BeforeAll
+    static void setup() {
+        sessionFactory = HibernateUtil.getSessionFactory();
+    }
+
+    @BeforeEach
+    void initTests() {
+        repository = new LocationRepositoryImpl();
+        sessionFactory.getSchemaManager().truncateMappedObjects();
+    }
+
+    @AfterEach
+    void endTests() {
+        sessionFactory.getSchemaManager().truncateMappedObjects();
+    }
+
+    @Test
+    void givenManyThreads_whenInternSameName_thenOneLocationIsCreated() throws Exception {
+        List<Future<Location>> interned = new ArrayList<>();
+        try (ExecutorService threads = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 16; i++) {
+                interned.add(threads.submit(() -> repository.intern("Sofia")));
+            }
+        }
+
+        Integer id = interned.getFirst().get().getId();
+        for (Future<Location> location : interned) {
+            assertEquals(id, location.get().getId());
+        }
+        assertEquals(1L, countLocations());
+        assertSame(repository.intern("Sofia"), repository.intern("Sofia"));
+        assertEquals("sofia", repository.intern("Sofia").getLocationKey());
+    }
+
+    @Test
+    void givenExistingLocations_whenInternAll_thenReusesThemAndCreatesTheRest() {
+        Location sofia = repository.intern("Sofia");
+
+        Map<String, Location> locations = new LocationRepositoryImpl().internAll(List.of("Sofia", "Varna", "SOFIA", "Varna"));
+
+        assertEquals(3, locations.size());
+        assertEquals(sofia.getId(), locations.get("Sofia").getId());
+        assertNotEquals(sofia.getId(), locations.get("SOFIA").getId());
+        assertEquals(locations.get("Sofia").getLocationKey(), locations.get("SOFIA").getLocationKey());
+        assertEquals(3L, countLocations());
+    }
+
+    @Test
+    void givenRolledBackUnitOfWork_whenInterned_thenLocationIsNeitherStoredNorCached() {
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.inTransaction(() -> {
+            repository.intern("Ruse");
+            throw new IllegalStateException("rolled back");
+        }));
+        assertEquals(0L, countLocations());
+
+        Location ruse = repository.intern("Ruse");
+        assertEquals(ruse.getId(), UnitOfWork.read(session -> session
+                .createSelectionQuery("select l.id from Location l where l.name = 'Ruse'", Integer.class)
+                .getSingleResult()));
+    }
+
+    @Test
+    void whenInternBlankName_thenThrows() {
+        assertThrows(IllegalArgumentException.class, () -> repository.intern("  "));
+        assertThrows(IllegalArgumentException.class, () -> repository.internAll(List.of("Sofia", "")));
+    }
+
+    private static long countLocations() {
+        return UnitOfWork.read(session -> session
+                .createSelectionQuery("select count(l) from Location l", Long.class)
+                .getSingleResult());
+    }
+}
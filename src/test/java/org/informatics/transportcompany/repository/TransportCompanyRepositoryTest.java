@@ -3,6 +3,7 @@ package org.informatics.transportcompany.repository;
 import jakarta.validation.ConstraintViolationException;
 import org.hibernate.SessionFactory;
 import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
 import org.informatics.transportcompany.model.entity.TransportCompany;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
@@ -74,7 +75,7 @@ class TransportCompanyRepositoryTest {
         repository.create(c2);
         repository.create(c3);
 
-        List<TransportCompany> companies = repository.findAllOrderByName();
-        assertEquals(List.of("Alpha", "Beta", "Gamma"), companies.stream().map(TransportCompany::getName).toList());
+        List<CompanyListRow> companies = repository.findAllOrderByName();
+        assertEquals(List.of("Alpha", "Beta", "Gamma"), companies.stream().map(CompanyListRow::name).toList());
     }
 }
@@ -0,0 +1,153 @@
+package org.informatics.transportcompany.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
+import org.informatics.transportcompany.model.entity.Client;
+import org.informatics.transportcompany.model.entity.Employee;
+import org.informatics.transportcompany.model.entity.Transport;
+import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.model.entity.Vehicle;
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
+import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.client.ClientRepositoryImpl;
+import org.informatics.transportcompany.repository.employee.EmployeeRepositoryImpl;
+import org.informatics.transportcompany.repository.location.LocationRepository;
+import org.informatics.transportcompany.repository.location.LocationRepositoryImpl;
+import org.informatics.transportcompany.repository.transport.TransportRepository;
+import org.informatics.transportcompany.repository.transport.TransportRepositoryImpl;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepositoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransportRepositoryTest {
+
+    private static final int DRIVERS = 30;
+
+    private static SessionFactory sessionFactory;
+    private TransportRepository repository;
+    private LocationRepository locations;
+
+    @BeforeAll
+    static void setup() {
+        sessionFactory = HibernateUtil.getSessionFactory();
+    }
+
+    @BeforeEach
+    void initTests() {
+        repository = new TransportRepositoryImpl();
+        locations = new LocationRepositoryImpl();
+        sessionFactory.getSchemaManager().truncateMappedObjects();
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void endTests() {
+        sessionFactory.getSchemaManager().truncateMappedObjects();
+    }
+
+    @Test
+    void givenManyDrivers_whenDriverReports_thenEachIsASingleStatement() {
+        createTransportsForDrivers();
+        Statistics statistics = sessionFactory.getStatistics();
+
+        statistics.clear();
+        List<DriverTransportCountRow> counts = repository.driverTransportStats();
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        List<DriverRevenueRow> revenue = repository.driverRevenue();
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertEquals(DRIVERS, counts.size());
+        assertEquals(2L, counts.getFirst().transportCount());
+        assertEquals("Report Co", counts.getFirst().companyName());
+
+        assertEquals(DRIVERS, revenue.size());
+        assertEquals("Driver" + (DRIVERS - 1), revenue.getFirst().firstName());
+        assertEquals(0, new BigDecimal("129.00").compareTo(revenue.getFirst().revenue()));
+        assertEquals(EmployeeQualification.DRIVER_STANDARD, revenue.getLast().qualification());
+    }
+
+    @Test
+    void givenExistingBucket_whenTransportIsMarkedPaid_thenItsRevenueIsAddedToTheBucket() {
+        createTransportsForDrivers();
+        Transport unpaid = repository.findAllWithAllJoins().stream()
+                .filter(t -> !t.isPaid() && t.getDriver().getFirstName().equals("Driver" + (DRIVERS - 1)))
+                .findFirst()
+                .orElseThrow();
+
+        unpaid.setPaid(true);
+        repository.update(unpaid);
+
+        DriverRevenueRow top = repository.driverRevenue().getFirst();
+        assertEquals("Driver" + (DRIVERS - 1), top.firstName());
+        assertEquals(0, new BigDecimal("139.00").compareTo(top.revenue()));
+        assertEquals(0, new BigDecimal(DRIVERS * 110 + DRIVERS * (DRIVERS - 1) / 2).compareTo(repository.sumTotalRevenue()));
+    }
+
+    private void createTransportsForDrivers() {
+        TransportCompany company = new TransportCompany();
+        company.setName("Report Co");
+        new TransportCompanyRepositoryImpl().create(company);
+
+        Client client = new Client();
+        client.setName("Client A");
+        client.setCompany(company);
+        new ClientRepositoryImpl().create(client);
+
+        Vehicle vehicle = new Vehicle();
+        vehicle.setRegistrationNumber("CA1000AA");
+        vehicle.setType(VehicleType.TRUCK);
+        vehicle.setCapacity(10);
+        vehicle.setCompany(company);
+        new VehicleRepositoryImpl().create(vehicle);
+
+        EmployeeRepositoryImpl employees = new EmployeeRepositoryImpl();
+        List<Transport> transports = new ArrayList<>();
+        LocalDateTime departure = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+        for (int i = 0; i < DRIVERS; i++) {
+            Employee driver = new Employee();
+            driver.setFirstName("Driver" + i);
+            driver.setLastName("No" + i);
+            driver.setQualification(EmployeeQualification.DRIVER_STANDARD);
+            driver.setSalary(new BigDecimal("2000.00"));
+            driver.setCompany(company);
+            employees.create(driver);
+
+            transports.add(transport(company, client, vehicle, driver, departure.plusDays(i), new BigDecimal(100 + i), true));
+            transports.add(transport(company, client, vehicle, driver, departure.plusDays(i).plusHours(6), BigDecimal.TEN, false));
+        }
+
+        repository.createAll(transports, 20);
+    }
+
+    private Transport transport(TransportCompany company, Client client, Vehicle vehicle, Employee driver,
+                                       LocalDateTime departure, BigDecimal price, boolean paid) {
+        Transport transport = new Transport();
+        transport.setCompany(company);
+        transport.setClient(client);
+        transport.setVehicle(vehicle);
+        transport.setDriver(driver);
+        transport.setFromLocation(locations.intern("Sofia"));
+        transport.setToLocation(locations.intern("Varna"));
+        transport.setDepartureDateTime(departure);
+        transport.setArrivalDateTime(departure.plusHours(5));
+        transport.setPrice(price);
+        transport.setPaid(paid);
+        return transport;
+    }
+}
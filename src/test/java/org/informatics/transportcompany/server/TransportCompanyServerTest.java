@@ -0,0 +1,156 @@
+package org.informatics.transportcompany.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.informatics.transportcompany.Services;
+import org.informatics.transportcompany.config.HibernateUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransportCompanyServerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static SessionFactory sessionFactory;
+    private static TransportCompanyServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        sessionFactory = HibernateUtil.getSessionFactory();
+        server = TransportCompanyServer.start(Services.create(), 0);
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+        client.close();
+    }
+
+    @BeforeEach
+    void initTests() {
+        sessionFactory.getSchemaManager().truncateMappedObjects();
+    }
+
+    @AfterEach
+    void endTests() {
+        sessionFactory.getSchemaManager().truncateMappedObjects();
+    }
+
+    @Test
+    void givenReferenceData_whenManyTransportsAreBookedConcurrently_thenAllAreStoredAndReported() throws Exception {
+        long companyId = post("/api/companies", "{\"name\":\"Http Co\",\"address\":\"Sofia\"}").get("id").asLong();
+        long clientId = post("/api/clients", "{\"companyId\":" + companyId + ",\"name\":\"Client\"}").get("id").asLong();
+        long vehicleId = post("/api/vehicles", "{\"companyId\":" + companyId
+                + ",\"registrationNumber\":\"CA1234AB\",\"type\":\"TRUCK\",\"capacity\":1000}").get("id").asLong();
+        long driverId = post("/api/employees", "{\"companyId\":" + companyId
+                + ",\"firstName\":\"Ivan\",\"lastName\":\"Petrov\",\"qualification\":\"DRIVER_STANDARD\",\"salary\":2000}")
+                .get("id").asLong();
+
+        String booking = "{\"companyId\":" + companyId + ",\"clientId\":" + clientId + ",\"vehicleId\":" + vehicleId
+                + ",\"driverId\":" + driverId + ",\"fromLocation\":\"Sofia\",\"toLocation\":\"Varna\""
+                + ",\"departure\":\"%sT08:00:00\",\"arrival\":\"%<sT14:00:00\",\"price\":100.50,\"paid\":true}";
+        LocalDate firstDay = LocalDate.of(2025, 1, 1);
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String body = booking.formatted(firstDay.plusDays(i));
+            responses.add(client.sendAsync(request("/api/transports").POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(201, response.get().statusCode(), response.get().body());
+        }
+
+        HttpResponse<String> doubleBooked = client.send(request("/api/transports")
+                        .POST(HttpRequest.BodyPublishers.ofString(booking.formatted(firstDay.plusDays(42)))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(409, doubleBooked.statusCode());
+        assertTrue(doubleBooked.body().contains("Vehicle with id = " + vehicleId + " is already booked"));
+
+        JsonNode summary = get("/api/reports/transports-summary", 200);
+        assertEquals(100, summary.get("transports").asLong());
+        assertEquals(0, summary.get("totalRevenue").decimalValue().compareTo(new BigDecimal("10050.00")));
+        assertEquals(100, summary.get("paidTransports").asLong());
+        assertEquals("TRUCK", summary.get("byVehicleType").get(0).get("name").asText());
+
+        JsonNode page = get("/api/transports?limit=30", 200);
+        assertEquals(30, page.get("items").size());
+        assertTrue(page.get("next").isNumber());
+
+        JsonNode toVarna = get("/api/transports/to/varna?limit=60", 200);
+        assertEquals(60, toVarna.get("items").size());
+        assertEquals(40, get("/api/transports/to/varna?limit=60&after=" + toVarna.get("next").asLong(), 200)
+                .get("items").size());
+        assertEquals(30, get("/api/transports/by-destination?limit=30", 200).get("items").size());
+        assertEquals(1, get("/api/employees/by-salary?limit=10", 200).get("items").size());
+
+        JsonNode drivers = get("/api/reports/driver-transports", 200);
+        assertEquals(100, drivers.get(0).get("value").asLong());
+    }
+
+    @Test
+    void givenInvalidRequests_whenSent_thenErrorsAreMappedToStatusCodes() throws Exception {
+        assertEquals(404, get("/api/companies/12345", 404).get("status").asInt());
+        assertEquals(404, get("/api/unknown", 404).get("status").asInt());
+
+        HttpResponse<String> invalid = client.send(request("/api/companies")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"\"}")).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, invalid.statusCode());
+        assertTrue(invalid.body().contains("Transport company name is required."));
+
+        HttpResponse<String> malformed = client.send(request("/api/companies")
+                .POST(HttpRequest.BodyPublishers.ofString("{")).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, malformed.statusCode());
+
+        assertEquals(400, get("/api/employees/by-qualification/PILOT", 400).get("status").asInt());
+        assertEquals(400, get("/api/companies?limit=0", 400).get("status").asInt());
+        assertEquals(400, get("/api/employees/by-qualification?limit=1001", 400).get("status").asInt());
+        assertEquals(400, get("/api/transports/destinations?prefix=so&limit=4294967297", 400).get("status").asInt());
+        assertEquals(400, get("/api/vehicles/best-fit?companyId=1&type=TRUCK&cargoWeight=1000"
+                + "&from=2025-01-01T08:00&to=2025-01-01T12:00&limit=-1", 400).get("status").asInt());
+
+        long id = post("/api/companies", "{\"name\":\"To delete\"}").get("id").asLong();
+        HttpResponse<String> deleted = client.send(request("/api/companies/" + id).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(204, deleted.statusCode());
+        get("/api/companies/" + id, 404);
+    }
+
+    private static HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .header("Content-Type", "application/json");
+    }
+
+    private static JsonNode post(String path, String json) throws Exception {
+        HttpResponse<String> response = client.send(request(path).POST(HttpRequest.BodyPublishers.ofString(json)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, response.statusCode(), response.body());
+        return MAPPER.readTree(response.body());
+    }
+
+    private static JsonNode get(String path, int expectedStatus) throws Exception {
+        HttpResponse<String> response = client.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(expectedStatus, response.statusCode(), response.body());
+        return MAPPER.readTree(response.body());
+    }
+}
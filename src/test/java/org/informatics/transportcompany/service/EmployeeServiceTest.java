@@ -5,21 +5,39 @@ import org.informatics.transportcompany.config.HibernateUtil;
 import org.informatics.transportcompany.exceptions.company.NoCompanyWithProvidedIdException;
 import org.informatics.transportcompany.exceptions.employee.NoEmployeeWithProvidedIdException;
 import org.informatics.transportcompany.model.dto.employee.EmployeeCreateRequest;
+import org.informatics.transportcompany.model.dto.employee.EmployeeListRow;
 import org.informatics.transportcompany.model.dto.employee.EmployeeUpdateRequest;
+import org.informatics.transportcompany.model.dto.transport.TransportCreateRequest;
+import org.informatics.transportcompany.model.entity.Client;
 import org.informatics.transportcompany.model.entity.Employee;
 import org.informatics.transportcompany.model.entity.TransportCompany;
+import org.informatics.transportcompany.model.entity.Vehicle;
 import org.informatics.transportcompany.model.enums.EmployeeQualification;
+import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
+import org.informatics.transportcompany.repository.client.ClientRepository;
+import org.informatics.transportcompany.repository.client.ClientRepositoryImpl;
 import org.informatics.transportcompany.repository.employee.EmployeeRepository;
 import org.informatics.transportcompany.repository.employee.EmployeeRepositoryImpl;
+import org.informatics.transportcompany.repository.transport.TransportRepositoryImpl;
+import org.informatics.transportcompany.repository.transportBooking.TransportBookingRepositoryImpl;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepository;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepositoryImpl;
+import org.informatics.transportcompany.service.booking.TransportBookingIndex;
+import org.informatics.transportcompany.service.cache.ReportCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -125,7 +143,7 @@ class EmployeeServiceTest {
         Employee e2 = createEmployee(company, "BB", "Two", EmployeeQualification.DRIVER_STANDARD, new BigDecimal("2000"));
         createEmployee(company, "CC", "Three", EmployeeQualification.MECHANIC, new BigDecimal("1500"));
 
-        List<Employee> rows = service.findAllOrderByQualificationThenSalary();
+        List<EmployeeListRow> rows = service.findAllOrderByQualificationThenSalary();
         assertEquals(3, rows.size());
 
         // Qualification ordering: DRIVER_STANDARD (asc), MECHANIC, MANAGER etc.
@@ -134,9 +152,9 @@ class EmployeeServiceTest {
         int idxE1 = indexOf(rows, e1.getId());
         assertTrue(idxE2 < idxE1, "Driver with higher salary should come before lower salary");
 
-        // Ensure company fetched
-        for (Employee r : rows) {
-            assertNotNull(r.getCompany());
+        // Ensure company name projected
+        for (EmployeeListRow r : rows) {
+            assertEquals("OrderEmpCo", r.companyName());
         }
     }
 
@@ -149,10 +167,28 @@ class EmployeeServiceTest {
         Employee high = createEmployee(company, "High", "Paid", EmployeeQualification.OFFICE, new BigDecimal("5000"));
         Employee low = createEmployee(company, "Low", "Paid", EmployeeQualification.MECHANIC, new BigDecimal("1000"));
 
-        List<Employee> rows = service.findAllOrderBySalaryDesc();
+        List<EmployeeListRow> rows = service.findAllOrderBySalaryDesc();
         assertEquals(2, rows.size());
-        assertEquals(high.getId(), rows.get(0).getId());
-        assertEquals(low.getId(), rows.get(1).getId());
+        assertEquals(high.getId(), rows.get(0).id());
+        assertEquals(low.getId(), rows.get(1).id());
+    }
+
+    @Test
+    void whenPagingOrderedByQualificationAndSalary_thenPagesContinueAcrossEqualSalaries() {
+        TransportCompany company = new TransportCompany();
+        company.setName("PagedEmpCo");
+        companyRepository.create(company);
+
+        Employee e1 = createEmployee(company, "A", "One", EmployeeQualification.DRIVER_STANDARD, new BigDecimal("2000"));
+        Employee e2 = createEmployee(company, "B", "Two", EmployeeQualification.DRIVER_STANDARD, new BigDecimal("2000"));
+        Employee e3 = createEmployee(company, "C", "Three", EmployeeQualification.DRIVER_STANDARD, new BigDecimal("1000"));
+        Employee e4 = createEmployee(company, "D", "Four", EmployeeQualification.MECHANIC, new BigDecimal("3000"));
+        Employee e5 = createEmployee(company, "E", "Five", EmployeeQualification.MECHANIC, new BigDecimal("2000"));
+
+        assertEquals(List.of(e1.getId(), e2.getId(), e3.getId(), e4.getId(), e5.getId()),
+                allIds(after -> service.findPageOrderByQualificationThenSalary(after, 2)));
+        assertEquals(List.of(e4.getId(), e1.getId(), e2.getId(), e5.getId(), e3.getId()),
+                allIds(after -> service.findPageOrderBySalaryDesc(after, 2)));
     }
 
     @Test
@@ -165,10 +201,10 @@ class EmployeeServiceTest {
         Employee b = createEmployee(company, "B", "Two", EmployeeQualification.DRIVER_STANDARD, new BigDecimal("3000"));
         createEmployee(company, "C", "Three", EmployeeQualification.MECHANIC, new BigDecimal("2000"));
 
-        List<Employee> rows = service.findByQualificationOrderBySalaryDesc(EmployeeQualification.DRIVER_STANDARD);
+        List<EmployeeListRow> rows = service.findByQualificationOrderBySalaryDesc(EmployeeQualification.DRIVER_STANDARD);
         assertEquals(2, rows.size());
-        assertEquals(b.getId(), rows.get(0).getId());
-        assertEquals(a.getId(), rows.get(1).getId());
+        assertEquals(b.getId(), rows.get(0).id());
+        assertEquals(a.getId(), rows.get(1).id());
     }
 
     @Test
@@ -222,6 +258,62 @@ class EmployeeServiceTest {
         service.deleteEmployee(99999999L);
     }
 
+    @Test
+    void givenBookedDrivers_whenFindAvailableDrivers_thenOnlyFreeDriversOfCompanyAndQualificationAreReturned() {
+        TransportCompany company = new TransportCompany();
+        company.setName("DispatchCo");
+        companyRepository.create(company);
+        TransportCompany other = new TransportCompany();
+        other.setName("OtherCo");
+        companyRepository.create(other);
+
+        Employee busy = createEmployee(company, "Busy", "Driver", EmployeeQualification.DRIVER_DANGEROUS_GOODS, new BigDecimal("3000"));
+        Employee free = createEmployee(company, "Free", "Driver", EmployeeQualification.DRIVER_DANGEROUS_GOODS, new BigDecimal("2000"));
+        Employee backToBack = createEmployee(company, "Back", "ToBack", EmployeeQualification.DRIVER_DANGEROUS_GOODS, new BigDecimal("1000"));
+        createEmployee(company, "Standard", "Driver", EmployeeQualification.DRIVER_STANDARD, new BigDecimal("2500"));
+        createEmployee(other, "Other", "Driver", EmployeeQualification.DRIVER_DANGEROUS_GOODS, new BigDecimal("2500"));
+
+        ClientRepository clientRepository = new ClientRepositoryImpl();
+        VehicleRepository vehicleRepository = new VehicleRepositoryImpl();
+        ReportCache cache = new ReportCache(16);
+        TransportBookingIndex bookings = new TransportBookingIndex(new TransportBookingRepositoryImpl());
+        EmployeeService dispatch = new EmployeeService(employeeRepository, companyRepository, cache, bookings);
+        TransportService transports = new TransportService(new TransportRepositoryImpl(), companyRepository,
+                clientRepository, vehicleRepository, employeeRepository, cache, bookings);
+
+        Client client = new Client();
+        client.setName("Client");
+        client.setCompany(company);
+        clientRepository.create(client);
+
+        LocalDateTime from = LocalDateTime.of(2025, 3, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 3, 1, 14, 0);
+
+        transports.createTransport(transportRequest(company, client, createVehicle(company, "CA1111AA"), busy,
+                from.plusHours(3), to.plusHours(3)));
+        assertEquals(List.of(free.getId(), backToBack.getId()),
+                dispatch.findAvailableDrivers(company.getId(), EmployeeQualification.DRIVER_DANGEROUS_GOODS, from, to)
+                        .stream().map(EmployeeListRow::id).toList());
+
+        transports.createTransport(transportRequest(company, client, createVehicle(company, "CA2222BB"), backToBack,
+                from.minusHours(4), from));
+        Employee hired = dispatch.createEmployee(employeeRequest(company, "New", "Hire"));
+        EmployeeService restarted = new EmployeeService(employeeRepository, companyRepository, cache,
+                new TransportBookingIndex(new TransportBookingRepositoryImpl()));
+
+        for (EmployeeService s : List.of(dispatch, restarted)) {
+            assertEquals(List.of(free.getId(), backToBack.getId(), hired.getId()),
+                    s.findAvailableDrivers(company.getId(), EmployeeQualification.DRIVER_DANGEROUS_GOODS, from, to)
+                            .stream().map(EmployeeListRow::id).toList());
+            assertEquals(List.of(free.getId(), hired.getId()),
+                    s.findAvailableDrivers(company.getId(), EmployeeQualification.DRIVER_DANGEROUS_GOODS, from.minusHours(1), to)
+                            .stream().map(EmployeeListRow::id).toList());
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> dispatch.findAvailableDrivers(company.getId(), EmployeeQualification.DRIVER_DANGEROUS_GOODS, to, from));
+    }
+
     // helper methods
     private Employee createEmployee(TransportCompany company, String firstName, String lastName, EmployeeQualification qual, BigDecimal salary) {
         Employee emp = new Employee();
@@ -233,10 +325,58 @@ class EmployeeServiceTest {
         return employeeRepository.create(emp);
     }
 
-    private int indexOf(List<Employee> list, long id) {
+    private Vehicle createVehicle(TransportCompany company, String registrationNumber) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setRegistrationNumber(registrationNumber);
+        vehicle.setType(VehicleType.TANKER);
+        vehicle.setCapacity(20000);
+        vehicle.setCompany(company);
+        return new VehicleRepositoryImpl().create(vehicle);
+    }
+
+    private EmployeeCreateRequest employeeRequest(TransportCompany company, String firstName, String lastName) {
+        EmployeeCreateRequest req = new EmployeeCreateRequest();
+        req.setCompanyId(company.getId());
+        req.setFirstName(firstName);
+        req.setLastName(lastName);
+        req.setQualification(EmployeeQualification.DRIVER_DANGEROUS_GOODS);
+        req.setSalary(new BigDecimal("500"));
+        return req;
+    }
+
+    private TransportCreateRequest transportRequest(TransportCompany company, Client client, Vehicle vehicle, Employee driver,
+                                                    LocalDateTime departure, LocalDateTime arrival) {
+        TransportCreateRequest request = new TransportCreateRequest();
+        request.setCompanyId(company.getId());
+        request.setClientId(client.getId());
+        request.setVehicleId(vehicle.getId());
+        request.setDriverId(driver.getId());
+        request.setFromLocation("Burgas");
+        request.setToLocation("Ruse");
+        request.setDeparture(departure);
+        request.setArrival(arrival);
+        request.setCargoDescription("fuel");
+        request.setCargoWeight(15000.0);
+        request.setPrice(new BigDecimal("900.00"));
+        request.setPaid(false);
+        return request;
+    }
+
+    private int indexOf(List<EmployeeListRow> list, long id) {
         for (int i = 0; i < list.size(); i++) {
-            if (list.get(i).getId() == id) return i;
+            if (list.get(i).id() == id) return i;
         }
         return -1;
     }
+
+    private static List<Long> allIds(Function<Cursor, Page<EmployeeListRow>> pages) {
+        List<Long> ids = new ArrayList<>();
+        Page<EmployeeListRow> page = pages.apply(Cursor.start());
+        page.items().forEach(row -> ids.add(row.id()));
+        while (page.hasNext()) {
+            page = pages.apply(page.next());
+            page.items().forEach(row -> ids.add(row.id()));
+        }
+        return ids;
+    }
 }
@@ -3,6 +3,8 @@ package org.informatics.transportcompany.service;
 import org.hibernate.SessionFactory;
 import org.informatics.transportcompany.config.HibernateUtil;
 import org.informatics.transportcompany.exceptions.company.NoCompanyWithProvidedIdException;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyListRow;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
 import org.informatics.transportcompany.model.dto.transportCompany.TransportCompanyCreateRequest;
 import org.informatics.transportcompany.model.dto.transportCompany.TransportCompanyUpdateRequest;
 import org.informatics.transportcompany.model.entity.Client;
@@ -12,8 +14,11 @@ import org.informatics.transportcompany.model.entity.TransportCompany;
 import org.informatics.transportcompany.model.entity.Vehicle;
 import org.informatics.transportcompany.model.enums.EmployeeQualification;
 import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 import org.informatics.transportcompany.repository.client.ClientRepositoryImpl;
 import org.informatics.transportcompany.repository.employee.EmployeeRepositoryImpl;
+import org.informatics.transportcompany.repository.location.LocationRepositoryImpl;
 import org.informatics.transportcompany.repository.transport.TransportRepositoryImpl;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
@@ -39,6 +44,7 @@ class TransportCompanyServiceTest {
     private VehicleRepositoryImpl vehicleRepository;
     private EmployeeRepositoryImpl employeeRepository;
     private TransportRepositoryImpl transportRepository;
+    private LocationRepositoryImpl locationRepository;
 
     private TransportCompanyService service;
 
@@ -56,6 +62,7 @@ class TransportCompanyServiceTest {
         vehicleRepository = new VehicleRepositoryImpl();
         employeeRepository = new EmployeeRepositoryImpl();
         transportRepository = new TransportRepositoryImpl();
+        locationRepository = new LocationRepositoryImpl();
 
         service = new TransportCompanyService(companyRepository);
     }
@@ -83,6 +90,23 @@ class TransportCompanyServiceTest {
         assertTrue(all.isEmpty());
     }
 
+    @Test
+    void whenFindPage_thenReturnsCompaniesAfterCursorInIdOrder() {
+        for (String name : List.of("Alpha", "Beta", "Gamma")) {
+            TransportCompany company = new TransportCompany();
+            company.setName(name);
+            companyRepository.create(company);
+        }
+
+        Page<CompanyListRow> first = service.findPage(Cursor.start(), 2);
+        assertEquals(List.of("Alpha", "Beta"), first.items().stream().map(CompanyListRow::name).toList());
+        assertTrue(first.hasNext());
+
+        Page<CompanyListRow> second = service.findPage(first.next(), 2);
+        assertEquals(List.of("Gamma"), second.items().stream().map(CompanyListRow::name).toList());
+        assertFalse(second.hasNext());
+    }
+
     @Test
     void whenFindAllOrderByName_thenReturnOrdered() {
         TransportCompany a = new TransportCompany();
@@ -93,10 +117,10 @@ class TransportCompanyServiceTest {
         b.setName("Alpha");
         companyRepository.create(b);
 
-        List<TransportCompany> rows = service.findAllOrderByName();
+        List<CompanyListRow> rows = service.findAllOrderByName();
         assertEquals(2, rows.size());
-        assertEquals("Alpha", rows.get(0).getName());
-        assertEquals("Zeta", rows.get(1).getName());
+        assertEquals("Alpha", rows.get(0).name());
+        assertEquals("Zeta", rows.get(1).name());
     }
 
     @Test
@@ -136,8 +160,8 @@ class TransportCompanyServiceTest {
         t1.setClient(client1);
         t1.setVehicle(v1);
         t1.setDriver(d1);
-        t1.setFromLocation("Sofia");
-        t1.setToLocation("Plovdiv");
+        t1.setFromLocation(locationRepository.intern("Sofia"));
+        t1.setToLocation(locationRepository.intern("Plovdiv"));
         t1.setDepartureDateTime(LocalDateTime.now().minusDays(2));
         t1.setArrivalDateTime(LocalDateTime.now().minusDays(2));
         t1.setCargoDescription("x");
@@ -172,8 +196,8 @@ class TransportCompanyServiceTest {
         t2.setClient(client2);
         t2.setVehicle(v2);
         t2.setDriver(d2);
-        t2.setFromLocation("Sofia");
-        t2.setToLocation("Varna");
+        t2.setFromLocation(locationRepository.intern("Sofia"));
+        t2.setToLocation(locationRepository.intern("Varna"));
         t2.setDepartureDateTime(LocalDateTime.now().minusDays(1));
         t2.setArrivalDateTime(LocalDateTime.now().minusDays(1));
         t2.setCargoDescription("y");
@@ -182,14 +206,13 @@ class TransportCompanyServiceTest {
         t2.setPaid(true);
         transportRepository.create(t2);
 
-        List<Object[]> rows = service.findAllWithRevenueOrderByRevenueDesc();
+        List<CompanyRevenueRow> rows = service.findAllWithRevenueOrderByRevenueDesc();
         assertEquals(2, rows.size());
 
-        TransportCompany top = (TransportCompany) rows.getFirst()[0];
-        BigDecimal topRevenue = (BigDecimal) rows.getFirst()[1];
+        CompanyRevenueRow top = rows.getFirst();
 
-        assertEquals(c2.getId(), top.getId());
-        assertEquals(0, topRevenue.compareTo(new BigDecimal("300.00")));
+        assertEquals(c2.getId(), top.companyId());
+        assertEquals(0, top.revenue().compareTo(new BigDecimal("300.00")));
     }
 
     @Test
@@ -0,0 +1,102 @@
+package org.informatics.transportcompany.service;
+
+import org.informatics.transportcompany.config.partition.TransportPartitionSettings;
+import org.informatics.transportcompany.model.dto.transport.TransportPartitionMaintenance;
+import org.informatics.transportcompany.repository.transport.TransportPartition;
+import org.informatics.transportcompany.repository.transport.TransportPartitionRepository;
+import org.informatics.transportcompany.service.cache.ReportCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransportPartitionServiceTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2025, 6);
+
+    @Test
+    void givenRowsInDefaultPartition_whenMaintain_thenMonthsAreSplitOutAndFutureMonthsCreated() {
+        FakePartitionRepository repository = new FakePartitionRepository();
+        repository.defaultMonths.add(YearMonth.of(2025, 4));
+        repository.attached.add(YearMonth.of(2025, 6));
+
+        TransportPartitionService service = new TransportPartitionService(
+                repository, new TransportPartitionSettings(true, 2, 0, "archive"), ReportCache.disabled());
+
+        TransportPartitionMaintenance result = service.maintain(CURRENT);
+
+        assertEquals(List.of(YearMonth.of(2025, 4), YearMonth.of(2025, 7), YearMonth.of(2025, 8)), result.created());
+        assertTrue(result.archived().isEmpty());
+        assertTrue(service.maintain(CURRENT).created().isEmpty());
+    }
+
+    @Test
+    void givenRetention_whenMaintain_thenOlderPartitionsAreArchived() {
+        FakePartitionRepository repository = new FakePartitionRepository();
+        for (int i = 1; i <= 6; i++) {
+            repository.attached.add(YearMonth.of(2025, i));
+        }
+
+        ReportCache reportCache = new ReportCache(16);
+        TransportPartitionService service = new TransportPartitionService(
+                repository, new TransportPartitionSettings(true, 0, 3, "archive"), reportCache);
+        AtomicInteger computed = new AtomicInteger();
+        reportCache.get("calculateCompanyRevenueForPeriod", List.of(1L), Set.of(ReportCache.company(1)), computed::incrementAndGet);
+
+        TransportPartitionMaintenance result = service.maintain(CURRENT);
+
+        assertEquals(2, reportCache.get("calculateCompanyRevenueForPeriod", List.of(1L), Set.of(ReportCache.company(1)),
+                computed::incrementAndGet));
+        assertEquals(List.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2)), result.archived());
+        assertEquals(List.of("transports_y2025m01", "transports_y2025m02"), repository.archivedTables);
+        assertEquals(YearMonth.of(2025, 3), repository.attached.first());
+    }
+
+    @Test
+    void givenPartition_whenNamed_thenBoundsCoverTheMonthAndNameRoundTrips() {
+        TransportPartition partition = new TransportPartition(YearMonth.of(2024, 12));
+
+        assertEquals("transports_y2024m12", partition.tableName());
+        assertEquals(LocalDateTime.of(2024, 12, 1, 0, 0), partition.from());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), partition.to());
+        assertEquals(partition, TransportPartition.fromTableName(partition.tableName()).orElseThrow());
+        assertTrue(TransportPartition.fromTableName(TransportPartition.DEFAULT_TABLE).isEmpty());
+    }
+
+    private static class FakePartitionRepository implements TransportPartitionRepository {
+
+        private final TreeSet<YearMonth> attached = new TreeSet<>();
+        private final TreeSet<YearMonth> defaultMonths = new TreeSet<>();
+        private final List<String> archivedTables = new ArrayList<>();
+
+        @Override
+        public List<TransportPartition> findAttached() {
+            return attached.stream().map(TransportPartition::new).toList();
+        }
+
+        @Override
+        public List<YearMonth> findMonthsInDefaultPartition() {
+            return List.copyOf(defaultMonths);
+        }
+
+        @Override
+        public void create(TransportPartition partition) {
+            defaultMonths.remove(partition.month());
+            attached.add(partition.month());
+        }
+
+        @Override
+        public void detachToArchive(TransportPartition partition, String archiveSchema) {
+            attached.remove(partition.month());
+            archivedTables.add(partition.tableName());
+        }
+    }
+}
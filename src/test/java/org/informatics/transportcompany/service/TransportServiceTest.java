@@ -1,10 +1,27 @@
 package org.informatics.transportcompany.service;
 
 import org.hibernate.SessionFactory;
+import org.informatics.transportcompany.analytics.TransportAnalytics;
+import org.informatics.transportcompany.analytics.TransportAnalyticsSettings;
 import org.informatics.transportcompany.config.HibernateUtil;
+import org.informatics.transportcompany.config.UnitOfWork;
 import org.informatics.transportcompany.exceptions.Transport.NoTransportWithProvidedIdException;
+import org.informatics.transportcompany.exceptions.Transport.TransportBookingConflictException;
+import org.informatics.transportcompany.exceptions.client.NoClientWithProvidedIdException;
+import org.informatics.transportcompany.exceptions.employee.NoEmployeeWithProvidedIdException;
+import org.informatics.transportcompany.io.TransportFileFormat;
+import org.informatics.transportcompany.io.TransportFileWriter;
+import org.informatics.transportcompany.model.LocationKeys;
 import org.informatics.transportcompany.model.dto.transport.CalculateCompanyRevenueForPeriodRequest;
+import org.informatics.transportcompany.model.dto.transport.DriverRevenueRow;
+import org.informatics.transportcompany.model.dto.transport.DriverTransportCountRow;
 import org.informatics.transportcompany.model.dto.transport.TransportCreateRequest;
+import org.informatics.transportcompany.model.dto.transport.TransportImportFailure;
+import org.informatics.transportcompany.model.dto.transport.TransportImportResult;
+import org.informatics.transportcompany.model.dto.transport.TransportListRow;
+import org.informatics.transportcompany.model.dto.transport.TransportSummary;
+import org.informatics.transportcompany.model.dto.transport.TransportSummaryTotal;
+import org.informatics.transportcompany.model.dto.transportCompany.CompanyRevenueRow;
 import org.informatics.transportcompany.model.entity.Client;
 import org.informatics.transportcompany.model.entity.Employee;
 import org.informatics.transportcompany.model.entity.Transport;
@@ -12,24 +29,45 @@ import org.informatics.transportcompany.model.entity.TransportCompany;
 import org.informatics.transportcompany.model.entity.Vehicle;
 import org.informatics.transportcompany.model.enums.EmployeeQualification;
 import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.Cursor;
+import org.informatics.transportcompany.repository.Page;
 import org.informatics.transportcompany.repository.client.ClientRepository;
 import org.informatics.transportcompany.repository.client.ClientRepositoryImpl;
 import org.informatics.transportcompany.repository.employee.EmployeeRepository;
 import org.informatics.transportcompany.repository.employee.EmployeeRepositoryImpl;
+import org.informatics.transportcompany.repository.location.LocationRepositoryImpl;
+import org.informatics.transportcompany.repository.transport.TransportAnalyticsRepositoryImpl;
 import org.informatics.transportcompany.repository.transport.TransportRepository;
 import org.informatics.transportcompany.repository.transport.TransportRepositoryImpl;
+import org.informatics.transportcompany.repository.transportBooking.TransportBookingRepositoryImpl;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
 import org.informatics.transportcompany.repository.vehicle.VehicleRepository;
 import org.informatics.transportcompany.repository.vehicle.VehicleRepositoryImpl;
+import org.informatics.transportcompany.service.async.ServiceExecutor;
+import org.informatics.transportcompany.service.booking.TransportBookingIndex;
+import org.informatics.transportcompany.service.cache.ReportCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -78,6 +116,153 @@ class TransportServiceTest {
         assertThrows(NoTransportWithProvidedIdException.class, () -> service.markPaid(999));
     }
 
+    @Test
+    void whenCreateTransportWithMissingDriver_thenThrowAndPersistNothing() {
+        TransportCompany company = createCompany("Acme Logistics");
+        Client client = createClient(company, "Client A");
+        Vehicle vehicle = createVehicle(company, "CA1234AB");
+        Employee driver = createDriver(company, "Ivan", "Ivanov");
+
+        TransportCreateRequest request = buildTransportRequest(company, client, vehicle, driver,
+                LocalDateTime.of(2020, 1, 10, 10, 0),
+                LocalDateTime.of(2020, 1, 10, 18, 0),
+                new BigDecimal("100.00"),
+                false
+        );
+        request.setDriverId(driver.getId() + 1000);
+
+        assertThrows(NoEmployeeWithProvidedIdException.class, () -> service.createTransport(request));
+        assertEquals(0L, service.countAllTransports());
+    }
+
+    @Test
+    void whenCreateTransport_thenAssociationsReferenceRequestedEntities() {
+        TransportCompany company = createCompany("Acme Logistics");
+        Client client = createClient(company, "Client A");
+        Vehicle vehicle = createVehicle(company, "CA1234AB");
+        Employee driver = createDriver(company, "Ivan", "Ivanov");
+
+        Transport created = service.createTransport(buildTransportRequest(company, client, vehicle, driver,
+                LocalDateTime.of(2020, 1, 10, 10, 0),
+                LocalDateTime.of(2020, 1, 10, 18, 0),
+                new BigDecimal("100.00"),
+                false
+        ));
+
+        Transport loaded = service.findAll().getFirst();
+        assertEquals(created.getId(), loaded.getId());
+        assertEquals("Acme Logistics", loaded.getCompany().getName());
+        assertEquals("Client A", loaded.getClient().getName());
+        assertEquals("CA1234AB", loaded.getVehicle().getRegistrationNumber());
+        assertEquals(driver.getId(), loaded.getDriver().getId());
+    }
+
+    @Test
+    void whenCreateAll_thenImportsValidRowsAndReportsInvalidOnes() {
+        TransportCompany company = createCompany("Acme Logistics");
+        Client client = createClient(company, "Client A");
+        Vehicle vehicle = createVehicle(company, "CA1234AB");
+        Employee driver = createDriver(company, "Ivan", "Ivanov");
+
+        List<TransportCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            requests.add(buildTransportRequest(company, client, vehicle, driver,
+                    LocalDateTime.of(2020, 1, 1, 8, 0).plusDays(i),
+                    LocalDateTime.of(2020, 1, 1, 16, 0).plusDays(i),
+                    new BigDecimal("10.00"),
+                    true
+            ));
+        }
+        requests.get(3).setClientId(client.getId() + 1000);
+        requests.get(7).setPrice(new BigDecimal("-1.00"));
+
+        TransportImportResult result = service.createAll(requests, 5);
+
+        assertEquals(10, result.imported());
+        assertEquals(List.of(4, 8), result.failures().stream().map(TransportImportFailure::rowNumber).toList());
+        assertEquals("No client with id = " + (client.getId() + 1000), result.failures().getFirst().message());
+        assertEquals("Transport price cannot be negative.", result.failures().get(1).message());
+
+        assertEquals(10L, service.countAllTransports());
+        assertEquals(0, service.calculateTotalRevenue().compareTo(new BigDecimal("100.00")));
+    }
+
+    @Test
+    void whenTransportsRepeatLocations_thenEachSpellingIsStoredOnceAndShared() {
+        TransportCompany company = createCompany("Acme Logistics");
+        Client client = createClient(company, "Client A");
+        Vehicle vehicle = createVehicle(company, "CA1234AB");
+        Employee driver = createDriver(company, "Ivan", "Ivanov");
+
+        Transport first = service.createTransport(buildTransportRequest(company, client, vehicle, driver,
+                LocalDateTime.of(2020, 1, 1, 8, 0),
+                LocalDateTime.of(2020, 1, 1, 16, 0),
+                new BigDecimal("10.00"),
+                true
+        ));
+
+        List<TransportCreateRequest> requests = new ArrayList<>();
+        for (String destination : List.of("Varna", "Plovdiv", "PLOVDIV", "Varna")) {
+            TransportCreateRequest request = buildTransportRequest(company, client, vehicle, driver,
+                    LocalDateTime.of(2020, 1, 2, 8, 0).plusDays(requests.size()),
+                    LocalDateTime.of(2020, 1, 2, 16, 0).plusDays(requests.size()),
+                    new BigDecimal("10.00"),
+                    false
+            );
+            request.setToLocation(destination);
+            requests.add(request);
+        }
+        assertEquals(4, service.createAll(requests).imported());
+
+        long locations = UnitOfWork.read(session -> session
+                .createSelectionQuery("select count(l) from Location l", Long.class)
+                .getSingleResult());
+        assertEquals(4, locations);
+
+        List<Transport> transports = service.findAll();
+        assertTrue(transports.stream().allMatch(t -> t.getFromLocation().getId().equals(first.getFromLocation().getId())));
+        assertEquals(2, transports.stream()
+                .filter(t -> t.getToLocation().getId().equals(first.getToLocation().getId()))
+                .count());
+        assertEquals(3, service.findByToLocation("plovdiv").size());
+    }
+
+    @Test
+    void whenExportAllToFile_thenWritesHeaderAndOneLinePerTransportInIdOrder(@TempDir Path dir) throws IOException {
+        TransportCompany company = createCompany("Acme Logistics");
+        Client client = createClient(company, "Client A");
+        Vehicle vehicle = createVehicle(company, "CA1234AB");
+        Employee driver = createDriver(company, "Ivan", "Ivanov");
+
+        Transport first = service.createTransport(buildTransportRequest(company, client, vehicle, driver,
+                LocalDateTime.of(2020, 1, 10, 10, 0),
+                LocalDateTime.of(2020, 1, 10, 18, 0),
+                new BigDecimal("100.50"),
+                true
+        ));
+        TransportCreateRequest withoutWeight = buildTransportRequest(company, client, vehicle, driver,
+                LocalDateTime.of(2020, 1, 11, 10, 0),
+                LocalDateTime.of(2020, 1, 11, 18, 0),
+                new BigDecimal("20.00"),
+                false
+        );
+        withoutWeight.setCargoWeight(null);
+        withoutWeight.setCargoDescription(null);
+        Transport second = service.createTransport(withoutWeight);
+
+        Path file = dir.resolve("transports.txt");
+        try (TransportFileWriter writer = TransportFileWriter.open(file)) {
+            assertEquals(2L, service.exportAll(writer::write));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(List.of(
+                TransportFileFormat.HEADER,
+                first.getId() + ";Acme Logistics;Client A;CA1234AB;Ivan Ivanov;Sofia;Plovdiv;2020-01-10T10:00;2020-01-10T18:00;100.50;true;cargo;1.0",
+                second.getId() + ";Acme Logistics;Client A;CA1234AB;Ivan Ivanov;Sofia;Plovdiv;2020-01-11T10:00;2020-01-11T18:00;20.00;false;;"
+        ), lines);
+    }
+
     @Test
     void givenTransport_whenMarkPaid_thenPaidIsTrue() {
         TransportCompany company = createCompany("Acme Logistics");
@@ -164,6 +349,59 @@ class TransportServiceTest {
         assertEquals(0, revenue.compareTo(new BigDecimal("100.00")));
     }
 
+    @Test
+    void whenTransportsAreCreatedAndMarkedPaid_thenRevenueAggregatesMatchFullRebuild() {
+        TransportCompany company = createCompany("Bucket Co");
+        Client client = createClient(company, "Client A");
+        Vehicle vehicle = createVehicle(company, "CB1111AA");
+        Employee driver = createDriver(company, "Maria", "Georgieva");
+
+        Transport early = service.createTransport(buildTransportRequest(company, client, vehicle, driver,
+                LocalDateTime.of(2020, 5, 1, 6, 0),
+                LocalDateTime.of(2020, 5, 1, 9, 0),
+                new BigDecimal("10.00"),
+                false
+        ));
+        service.createTransport(buildTransportRequest(company, client, vehicle, driver,
+                LocalDateTime.of(2020, 5, 1, 14, 0),
+                LocalDateTime.of(2020, 5, 1, 18, 0),
+                new BigDecimal("20.00"),
+                true
+        ));
+        service.createTransport(buildTransportRequest(company, client, vehicle, driver,
+                LocalDateTime.of(2020, 5, 3, 10, 0),
+                LocalDateTime.of(2020, 5, 3, 18, 0),
+                new BigDecimal("40.00"),
+                true
+        ));
+        service.createTransport(buildTransportRequest(company, client, vehicle, driver,
+                LocalDateTime.of(2020, 5, 4, 10, 0),
+                LocalDateTime.of(2020, 5, 4, 18, 0),
+                new BigDecimal("80.00"),
+                true
+        ));
+        service.markPaid(early.getId());
+
+        CalculateCompanyRevenueForPeriodRequest request = new CalculateCompanyRevenueForPeriodRequest();
+        request.setCompanyId(company.getId());
+        request.setFrom(LocalDateTime.of(2020, 5, 1, 12, 0));
+        request.setTo(LocalDateTime.of(2020, 5, 4, 9, 0));
+
+        BigDecimal period = service.calculateCompanyRevenueForPeriod(request);
+        BigDecimal total = service.calculateTotalRevenue();
+        BigDecimal driverTotal = service.findDriverRevenue().getFirst().revenue();
+
+        assertEquals(0, period.compareTo(new BigDecimal("60.00")));
+        assertEquals(0, total.compareTo(new BigDecimal("150.00")));
+        assertEquals(0, driverTotal.compareTo(new BigDecimal("150.00")));
+
+        service.rebuildRevenueAggregates();
+
+        assertEquals(0, period.compareTo(service.calculateCompanyRevenueForPeriod(request)));
+        assertEquals(0, total.compareTo(service.calculateTotalRevenue()));
+        assertEquals(0, driverTotal.compareTo(service.findDriverRevenue().getFirst().revenue()));
+    }
+
     @Test
     void whenFindDriverRevenue_thenReturnsPaidSumsOrderedDesc() {
         TransportCompany company = createCompany("Acme Logistics");
@@ -203,14 +441,15 @@ class TransportServiceTest {
                 false
         ));
 
-        List<Object[]> rows = service.findDriverRevenue();
+        List<DriverRevenueRow> rows = service.findDriverRevenue();
         assertEquals(2, rows.size());
 
-        Employee topDriver = (Employee) rows.getFirst()[0];
-        BigDecimal topSum = (BigDecimal) rows.getFirst()[1];
+        DriverRevenueRow top = rows.getFirst();
 
-        assertEquals(driver2.getId(), topDriver.getId());
-        assertEquals(0, topSum.compareTo(new BigDecimal("400.00")));
+        assertEquals(driver2.getId(), top.driverId());
+        assertEquals("Petar", top.firstName());
+        assertEquals("Acme Logistics", top.companyName());
+        assertEquals(0, top.revenue().compareTo(new BigDecimal("400.00")));
     }
 
     @Test
@@ -244,14 +483,15 @@ class TransportServiceTest {
                 true
         ));
 
-        List<Object[]> rows = service.findDriverTransportStats();
+        List<DriverTransportCountRow> rows = service.findDriverTransportStats();
         assertEquals(2, rows.size());
 
-        Employee topDriver = (Employee) rows.getFirst()[0];
-        Long topCount = (Long) rows.getFirst()[1];
+        DriverTransportCountRow top = rows.getFirst();
 
-        assertEquals(driver1.getId(), topDriver.getId());
-        assertEquals(2L, topCount);
+        assertEquals(driver1.getId(), top.driverId());
+        assertEquals("Ivanov", top.lastName());
+        assertEquals("Acme Logistics", top.companyName());
+        assertEquals(2L, top.transportCount());
     }
 
     @Test
@@ -284,14 +524,13 @@ class TransportServiceTest {
                 true
         ));
 
-        List<Object[]> rows = companyRepository.findAllWithRevenueOrderByRevenueDesc();
+        List<CompanyRevenueRow> rows = companyRepository.findAllWithRevenueOrderByRevenueDesc();
         assertEquals(2, rows.size());
 
-        TransportCompany topCompany = (TransportCompany) rows.getFirst()[0];
-        BigDecimal topRevenue = (BigDecimal) rows.getFirst()[1];
+        CompanyRevenueRow top = rows.getFirst();
 
-        assertEquals(c2.getId(), topCompany.getId());
-        assertEquals(0, topRevenue.compareTo(new BigDecimal("400.00")));
+        assertEquals(c2.getId(), top.companyId());
+        assertEquals(0, top.revenue().compareTo(new BigDecimal("400.00")));
     }
 
     @Test
@@ -328,7 +567,66 @@ class TransportServiceTest {
     }
 
     @Test
-    void whenFindAllOrderByToLocation_thenOrderedCorrectly() {
+    void whenFindPage_thenWalksAllTransportsInIdOrderWithoutGapsOrRepeats() {
+        TransportCompany company = createCompany("PageCo");
+        Client client = createClient(company, "Client A");
+        Vehicle vehicle = createVehicle(company, "P1000AA");
+        Employee driver = createDriver(company, "John", "Doe");
+
+        for (int i = 0; i < 7; i++) {
+            service.createTransport(buildTransportRequest(company, client, vehicle, driver,
+                    LocalDateTime.of(2021, 1, 1, 8, 0).plusDays(i),
+                    LocalDateTime.of(2021, 1, 1, 12, 0).plusDays(i),
+                    new BigDecimal("10.00"),
+                    false
+            ));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        int pages = 0;
+        Page<TransportListRow> page = service.findPage(Cursor.start(), 3);
+        while (true) {
+            pages++;
+            for (TransportListRow t : page.items()) {
+                assertEquals("Client A", t.clientName());
+                ids.add(t.id());
+            }
+            if (!page.hasNext()) {
+                break;
+            }
+            page = service.findPage(page.next(), 3);
+        }
+
+        assertEquals(3, pages);
+        assertEquals(service.findAll().stream().map(Transport::getId).sorted().toList(), ids);
+        assertThrows(IllegalArgumentException.class, () -> service.findPage(Cursor.start(), 0));
+    }
+
+    @Test
+    void whenFindPageInsideUnitOfWork_thenNoEntitiesAreLoadedIntoTheSession() {
+        TransportCompany company = createCompany("ProjectionCo");
+        Client client = createClient(company, "Client A");
+        Vehicle vehicle = createVehicle(company, "P2000AA");
+        Employee driver = createDriver(company, "John", "Doe");
+
+        service.createTransport(buildTransportRequest(company, client, vehicle, driver,
+                LocalDateTime.of(2021, 1, 1, 8, 0),
+                LocalDateTime.of(2021, 1, 1, 12, 0),
+                new BigDecimal("10.00"),
+                true
+        ));
+
+        int managed = UnitOfWork.inTransaction(() -> {
+            assertEquals(1, service.findPage(Cursor.start(), 10).items().size());
+            assertEquals(1, service.findPageOrderByToLocation(Cursor.start(), 10).items().size());
+            return UnitOfWork.currentSession().getStatistics().getEntityCount();
+        });
+
+        assertEquals(0, managed);
+    }
+
+    @Test
+    void whenFindPageOrderByToLocation_thenOrderedCorrectly() {
         TransportCompany company = createCompany("OrderToCo");
         Client client = createClient(company, "Client A");
         Vehicle vehicle = createVehicle(company, "T2000BB");
@@ -362,12 +660,48 @@ class TransportServiceTest {
         t3.setToLocation("AlfaCity");
         service.createTransport(t3);
 
-        List<Transport> rows = service.findAllOrderByToLocation();
+        List<TransportListRow> rows = service.findPageOrderByToLocation(Cursor.start(), 10).items();
         assertEquals(3, rows.size());
 
         // Expect ordering by toLocation asc: AlfaCity, (original), Ztown
-        assertTrue(rows.get(0).getToLocation().startsWith("AlfaCity"));
-        assertEquals("Ztown", rows.get(2).getToLocation());
+        assertTrue(rows.get(0).toLocation().startsWith("AlfaCity"));
+        assertEquals("Ztown", rows.get(2).toLocation());
+    }
+
+    @Test
+    void whenPagingOrderedByToLocation_thenEveryTransportIsListedOnceGroupedByDestination() {
+        TransportCompany company = createCompany("DestinationPageCo");
+        Client client = createClient(company, "Client A");
+        Vehicle vehicle = createVehicle(company, "T2100BB");
+        Employee driver = createDriver(company, "Alice", "Smith");
+
+        List<String> destinations = List.of("Ztown", "AlfaCity", "Burgas", "alfacity", "Ztown", "AlfaCity");
+        for (int i = 0; i < destinations.size(); i++) {
+            TransportCreateRequest request = buildTransportRequest(company, client, vehicle, driver,
+                    LocalDateTime.of(2021, 5, 1, 9, 0).plusDays(i),
+                    LocalDateTime.of(2021, 5, 1, 12, 0).plusDays(i),
+                    new BigDecimal("10.00"),
+                    true
+            );
+            request.setToLocation(destinations.get(i));
+            service.createTransport(request);
+        }
+
+        List<TransportListRow> rows = new ArrayList<>();
+        Page<TransportListRow> page = service.findPageOrderByToLocation(Cursor.start(), 4);
+        rows.addAll(page.items());
+        while (page.hasNext()) {
+            page = service.findPageOrderByToLocation(page.next(), 4);
+            rows.addAll(page.items());
+        }
+
+        assertEquals(List.of("alfacity", "alfacity", "alfacity", "burgas", "ztown", "ztown"),
+                rows.stream().map(t -> t.toLocation().toLowerCase()).toList());
+        assertEquals(service.findAll().stream().map(Transport::getId).sorted().toList(),
+                rows.stream().map(TransportListRow::id).sorted().toList());
+        assertTrue(rows.get(0).id() < rows.get(1).id() && rows.get(1).id() < rows.get(2).id());
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findPageOrderByToLocation(new Cursor(Long.MAX_VALUE), 4));
     }
 
     @Test
@@ -404,18 +738,80 @@ class TransportServiceTest {
         c.setToLocation("Sofia");
         service.createTransport(c);
 
-        List<Transport> results = service.findByToLocation("Plovdiv");
+        List<TransportListRow> results = service.findByToLocation("Plovdiv");
         assertEquals(2, results.size());
 
         // Ensure ordered by departureDateTime ascending per repository
-        assertTrue(results.get(0).getDepartureDateTime().isBefore(results.get(1).getDepartureDateTime())
-                || results.get(0).getDepartureDateTime().isEqual(results.get(1).getDepartureDateTime()));
+        assertTrue(results.get(0).departure().isBefore(results.get(1).departure())
+                || results.get(0).departure().isEqual(results.get(1).departure()));
 
         // Trim behavior: searching with whitespace should also match
-        List<Transport> resultsTrim = service.findByToLocation("  Plovdiv  ");
+        List<TransportListRow> resultsTrim = service.findByToLocation("  Plovdiv  ");
         assertEquals(2, resultsTrim.size());
     }
 
+    @Test
+    void whenFindByToLocationOrCompleteDestination_thenCaseAccentsAndSpacingAreIgnored() {
+        TransportCompany company = createCompany("ToCo");
+        Client client = createClient(company, "Client A");
+        Vehicle vehicle = createVehicle(company, "T3000CC");
+        Employee driver = createDriver(company, "Bob", "Brown");
+
+        List<String> destinations = List.of("Stara  Zagora", "Sofia", "SÓFIA", "Sozopol", "Plovdiv");
+        for (int i = 0; i < destinations.size(); i++) {
+            TransportCreateRequest request = buildTransportRequest(company, client, vehicle, driver,
+                    LocalDateTime.of(2022, 2, 1, 8, 0).plusDays(i),
+                    LocalDateTime.of(2022, 2, 1, 12, 0).plusDays(i),
+                    new BigDecimal("10.00"),
+                    false
+            );
+            request.setToLocation(destinations.get(i));
+            service.createTransport(request);
+        }
+
+        assertEquals(List.of("Sofia", "SÓFIA"),
+                service.findByToLocation(" sofía ").stream().map(TransportListRow::toLocation).toList());
+        assertEquals(1, service.findByToLocation("stara zagora").size());
+
+        assertEquals(List.of("Sofia", "Sozopol"), service.completeDestination("SO", 10));
+        assertEquals(List.of("Sofia", "Sozopol", "Stara  Zagora"), service.completeDestination("s", 10));
+        assertEquals(List.of("Sofia"), service.completeDestination("s", 1));
+        assertEquals(List.of(), service.completeDestination("Varna", 10));
+
+        TransportCreateRequest varna = buildTransportRequest(company, client, vehicle, driver,
+                LocalDateTime.of(2022, 3, 1, 8, 0),
+                LocalDateTime.of(2022, 3, 1, 12, 0),
+                new BigDecimal("10.00"),
+                false
+        );
+        varna.setToLocation("Varna");
+        service.createTransport(varna);
+
+        assertEquals(List.of("Varna"), service.completeDestination("va", 10));
+    }
+
+    @Test
+    void givenDestinationWithLettersWithoutDecomposition_whenSearchedUnaccented_thenIsFound() {
+        TransportCompany company = createCompany("FoldCo");
+        Client client = createClient(company, "Client A");
+        Vehicle vehicle = createVehicle(company, "T3100CC");
+        Employee driver = createDriver(company, "Bob", "Brown");
+
+        TransportCreateRequest request = buildTransportRequest(company, client, vehicle, driver,
+                LocalDateTime.of(2022, 2, 1, 8, 0),
+                LocalDateTime.of(2022, 2, 1, 12, 0),
+                new BigDecimal("10.00"),
+                false
+        );
+        request.setToLocation("Łódź");
+        service.createTransport(request);
+
+        assertEquals("lodz", LocationKeys.normalize("Łódź"));
+        assertEquals("gross gerau", LocationKeys.normalize(" Groß  Gerau "));
+        assertEquals(1, service.findByToLocation("lodz").size());
+        assertEquals(List.of("Łódź"), service.completeDestination("LO", 10));
+    }
+
     @Test
     void whenCountAllTransports_thenReturnCorrectValue() {
         TransportCompany company = createCompany("CountCo");
@@ -442,6 +838,460 @@ class TransportServiceTest {
         assertEquals(2L, service.countAllTransports());
     }
 
+    @Test
+    void givenReportCache_whenReportsRepeatAndTransportsChange_thenServedFromCacheUntilInvalidated() {
+        ReportCache cache = new ReportCache(16);
+        TransportService cached = new TransportService(
+                new TransportRepositoryImpl(),
+                companyRepository,
+                clientRepository,
+                vehicleRepository,
+                employeeRepository,
+                cache,
+                TransportBookingIndex.disabled()
+        );
+
+        TransportCompany acme = createCompany("Acme Logistics");
+        TransportCompany other = createCompany("Other Logistics");
+        Client client = createClient(acme, "Client A");
+        Vehicle vehicle = createVehicle(acme, "CA1234AB");
+        Employee driver = createDriver(acme, "Ivan", "Ivanov");
+        Client otherClient = createClient(other, "Client B");
+        Vehicle otherVehicle = createVehicle(other, "CB1234AB");
+        Employee otherDriver = createDriver(other, "Petar", "Petrov");
+
+        cached.createTransport(buildTransportRequest(acme, client, vehicle, driver,
+                LocalDateTime.of(2024, 3, 1, 8, 0), LocalDateTime.of(2024, 3, 1, 12, 0), new BigDecimal("100.00"), true));
+
+        CalculateCompanyRevenueForPeriodRequest period = new CalculateCompanyRevenueForPeriodRequest();
+        period.setCompanyId(acme.getId());
+        period.setFrom(LocalDateTime.of(2024, 1, 1, 0, 0));
+        period.setTo(LocalDateTime.of(2024, 12, 31, 23, 59));
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(cached.calculateTotalRevenue()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(cached.calculateCompanyRevenueForPeriod(period)));
+        assertEquals(0, new BigDecimal("100.00").compareTo(cached.calculateTotalRevenue()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(cached.calculateCompanyRevenueForPeriod(period)));
+        assertEquals(2, cache.stats().hits());
+
+        Transport otherTransport = cached.createTransport(buildTransportRequest(other, otherClient, otherVehicle, otherDriver,
+                LocalDateTime.of(2024, 3, 2, 8, 0), LocalDateTime.of(2024, 3, 2, 12, 0), new BigDecimal("50.00"), false));
+
+        assertEquals(0, new BigDecimal("150.00").compareTo(cached.calculateTotalRevenue()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(cached.calculateCompanyRevenueForPeriod(period)));
+        assertEquals(3, cache.stats().hits());
+
+        cached.markPaid(otherTransport.getId());
+        cached.createTransport(buildTransportRequest(acme, client, vehicle, driver,
+                LocalDateTime.of(2024, 4, 1, 8, 0), LocalDateTime.of(2024, 4, 1, 12, 0), new BigDecimal("25.00"), true));
+
+        assertEquals(0, new BigDecimal("125.00").compareTo(cached.calculateCompanyRevenueForPeriod(period)));
+        assertEquals(2, cached.findDriverRevenue().size());
+        assertEquals(3L, cached.countAllTransports());
+    }
+
+    @Test
+    void whenSummarize_thenTotalsMatchTheSeparateReportsAndAreSplitByCompanyAndVehicleType() {
+        TransportCompany acme = createCompany("Acme Logistics");
+        Client client = createClient(acme, "Client A");
+        Vehicle truck = createVehicle(acme, "CA1234AB");
+        Vehicle bus = createVehicle(acme, "CA5678AB");
+        Employee driver = createDriver(acme, "Ivan", "Ivanov");
+        bus.setType(VehicleType.BUS);
+        vehicleRepository.update(bus);
+
+        TransportCompany other = createCompany("Other Co");
+        Client otherClient = createClient(other, "Client B");
+        Vehicle otherTruck = createVehicle(other, "CB1234AB");
+        Employee otherDriver = createDriver(other, "Petar", "Petrov");
+
+        LocalDateTime departure = LocalDateTime.of(2024, 5, 1, 8, 0);
+        service.createTransport(buildTransportRequest(acme, client, truck, driver,
+                departure, departure.plusHours(4), new BigDecimal("100.00"), true));
+        service.createTransport(buildTransportRequest(acme, client, bus, driver,
+                departure.plusDays(1), departure.plusDays(1).plusHours(4), new BigDecimal("40.00"), false));
+        service.createTransport(buildTransportRequest(other, otherClient, otherTruck, otherDriver,
+                departure.plusDays(2), departure.plusDays(2).plusHours(4), new BigDecimal("250.00"), true));
+
+        TransportSummary summary = service.summarize();
+
+        assertEquals(service.countAllTransports(), summary.transportCount());
+        assertEquals(0, service.calculateTotalRevenue().compareTo(summary.revenue()));
+        assertEquals(2, summary.paidCount());
+        assertEquals(0, new BigDecimal("350.00").compareTo(summary.paidRevenue()));
+        assertEquals(1, summary.unpaidCount());
+        assertEquals(0, new BigDecimal("40.00").compareTo(summary.unpaidRevenue()));
+
+        assertEquals(List.of("Other Co", "Acme Logistics"),
+                summary.byCompany().stream().map(TransportSummaryTotal::name).toList());
+        TransportSummaryTotal acmeTotal = summary.byCompany().get(1);
+        assertEquals(2, acmeTotal.transportCount());
+        assertEquals(1, acmeTotal.paidCount());
+        assertEquals(0, new BigDecimal("140.00").compareTo(acmeTotal.revenue()));
+
+        assertEquals(List.of("BUS", "TRUCK"),
+                summary.byVehicleType().stream().map(TransportSummaryTotal::name).toList());
+        assertEquals(2, summary.byVehicleType().get(1).transportCount());
+        assertEquals(0, new BigDecimal("350.00").compareTo(summary.byVehicleType().get(1).paidRevenue()));
+    }
+
+    @Test
+    void givenAnalytics_whenReportsRun_thenMatchSqlReportsAndFollowNewAndPaidTransports() {
+        TransportAnalytics analytics = new TransportAnalytics(
+                new TransportAnalyticsRepositoryImpl(),
+                new TransportAnalyticsSettings(true, 60_000)
+        );
+        TransportCompanyService analyticsCompanies = new TransportCompanyService(companyRepository, ReportCache.disabled(), analytics);
+        TransportService analyticsService = analyticsService(analytics);
+
+        TransportCompany acme = createCompany("Acme Logistics");
+        TransportCompany other = createCompany("Other Co");
+        createCompany("Idle Co");
+        Client client = createClient(acme, "Client A");
+        Vehicle vehicle = createVehicle(acme, "CA1234AB");
+        Employee ivan = createDriver(acme, "Ivan", "Ivanov");
+        Employee petar = createDriver(other, "Petar", "Petrov");
+
+        LocalDateTime departure = LocalDateTime.of(2024, 5, 1, 8, 0);
+        service.createTransport(buildTransportRequest(acme, client, vehicle, ivan,
+                departure, departure.plusHours(4), new BigDecimal("100.00"), true));
+        Transport unpaid = service.createTransport(buildTransportRequest(acme, client, vehicle, ivan,
+                departure.plusDays(1), departure.plusDays(1).plusHours(4), new BigDecimal("40.50"), false));
+        service.createTransport(buildTransportRequest(other, client, vehicle, petar,
+                departure.plusDays(2), departure.plusDays(2).plusHours(4), new BigDecimal("250.00"), true));
+
+        CalculateCompanyRevenueForPeriodRequest period = new CalculateCompanyRevenueForPeriodRequest();
+        period.setCompanyId(acme.getId());
+        period.setFrom(departure);
+        period.setTo(departure.plusDays(1));
+
+        assertEquals(service.findDriverTransportStats(), analyticsService.findDriverTransportStats());
+        assertEquals(revenues(service.findDriverRevenue()), revenues(analyticsService.findDriverRevenue()));
+        assertEquals(0, service.calculateCompanyRevenueForPeriod(period)
+                .compareTo(analyticsService.calculateCompanyRevenueForPeriod(period)));
+        assertEquals(companyRevenues(companyRepository.findAllWithRevenueOrderByRevenueDesc()),
+                companyRevenues(analyticsCompanies.findAllWithRevenueOrderByRevenueDesc()));
+
+        analyticsService.markPaid(unpaid.getId());
+        analyticsService.createTransport(buildTransportRequest(acme, client, vehicle, ivan,
+                departure.plusHours(6), departure.plusHours(9), new BigDecimal("9.99"), true));
+
+        assertEquals(0, new BigDecimal("150.49").compareTo(analyticsService.calculateCompanyRevenueForPeriod(period)));
+        assertEquals(3L, analyticsService.findDriverTransportStats().getFirst().transportCount());
+        assertEquals(service.findDriverTransportStats(), analyticsService.findDriverTransportStats());
+        assertEquals(revenues(service.findDriverRevenue()), revenues(analyticsService.findDriverRevenue()));
+        assertEquals(companyRevenues(companyRepository.findAllWithRevenueOrderByRevenueDesc()),
+                companyRevenues(analyticsCompanies.findAllWithRevenueOrderByRevenueDesc()));
+        assertEquals(4, analytics.stats().transports());
+    }
+
+    @Test
+    void givenAnalytics_whenLowerIdCommitsAfterHigherIdWasLoaded_thenItIsStillCounted() throws Exception {
+        TransportAnalytics analytics = new TransportAnalytics(
+                new TransportAnalyticsRepositoryImpl(),
+                new TransportAnalyticsSettings(true, 60_000)
+        );
+        TransportService analyticsService = analyticsService(analytics);
+
+        TransportCompany acme = createCompany("Acme Logistics");
+        Client client = createClient(acme, "Client A");
+        Vehicle truck = createVehicle(acme, "CA1234AB");
+        Vehicle van = createVehicle(acme, "CA5678CD");
+        Employee ivan = createDriver(acme, "Ivan", "Ivanov");
+        Employee petar = createDriver(acme, "Petar", "Petrov");
+        assertEquals(List.of(), analyticsService.findDriverTransportStats());
+
+        TransportCreateRequest slow = buildTransportRequest(acme, client, truck, ivan,
+                LocalDateTime.of(2024, 5, 1, 8, 0), LocalDateTime.of(2024, 5, 1, 12, 0), new BigDecimal("10.00"), true);
+        TransportCreateRequest fast = buildTransportRequest(acme, client, van, petar,
+                LocalDateTime.of(2024, 5, 1, 8, 0), LocalDateTime.of(2024, 5, 1, 12, 0), new BigDecimal("20.00"), true);
+        fast.setFromLocation("Burgas");
+        fast.setToLocation("Varna");
+
+        try (ExecutorService other = Executors.newSingleThreadExecutor()) {
+            List<DriverTransportCountRow> whileOpen = UnitOfWork.inTransaction(() -> {
+                Transport first = analyticsService.createTransport(slow);
+                try {
+                    return other.submit(() -> {
+                        Transport second = analyticsService.createTransport(fast);
+                        assertTrue(second.getId() > first.getId());
+                        return analyticsService.findDriverTransportStats();
+                    }).get();
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+            assertEquals(List.of(petar.getId()), whileOpen.stream().map(DriverTransportCountRow::driverId).toList());
+        }
+
+        assertEquals(2, analyticsService.findDriverTransportStats().size());
+        assertEquals(2, analytics.stats().transports());
+    }
+
+    private TransportService analyticsService(TransportAnalytics analytics) {
+        return new TransportService(
+                new TransportRepositoryImpl(),
+                companyRepository,
+                clientRepository,
+                vehicleRepository,
+                employeeRepository,
+                ReportCache.disabled(),
+                TransportBookingIndex.disabled(),
+                new LocationRepositoryImpl(),
+                ServiceExecutor.callerRuns(),
+                analytics
+        );
+    }
+
+    @Test
+    void givenRejectedTransport_whenCreated_thenItsNewLocationsAreNotStored() {
+        TransportService booked = bookingService();
+
+        TransportCompany company = createCompany("Acme Logistics");
+        Client client = createClient(company, "Client A");
+        Vehicle truck = createVehicle(company, "CA1234AB");
+        Employee ivan = createDriver(company, "Ivan", "Ivanov");
+
+        booked.createTransport(buildTransportRequest(company, client, truck, ivan,
+                LocalDateTime.of(2020, 1, 10, 10, 0),
+                LocalDateTime.of(2020, 1, 10, 18, 0),
+                new BigDecimal("100.00"),
+                false
+        ));
+
+        TransportCreateRequest conflicting = buildTransportRequest(company, client, truck, ivan,
+                LocalDateTime.of(2020, 1, 10, 12, 0),
+                LocalDateTime.of(2020, 1, 10, 14, 0),
+                new BigDecimal("50.00"),
+                false
+        );
+        conflicting.setToLocation("Burgas");
+        assertThrows(TransportBookingConflictException.class, () -> booked.createTransport(conflicting));
+
+        TransportCreateRequest unknownClient = buildTransportRequest(company, client, truck, ivan,
+                LocalDateTime.of(2020, 1, 11, 12, 0),
+                LocalDateTime.of(2020, 1, 11, 14, 0),
+                new BigDecimal("50.00"),
+                false
+        );
+        unknownClient.setClientId(-1);
+        unknownClient.setToLocation("Ruse");
+        assertThrows(NoClientWithProvidedIdException.class, () -> booked.createTransport(unknownClient));
+
+        long locations = UnitOfWork.read(session -> session
+                .createSelectionQuery("select count(l) from Location l where l.name in ('Burgas', 'Ruse')", Long.class)
+                .getSingleResult());
+        assertEquals(0, locations);
+    }
+
+    @Test
+    void givenBookingIndex_whenVehicleOrDriverIsBookedForAnOverlappingTransport_thenRejectItAndKeepBackToBackOnes() {
+        TransportService booked = bookingService();
+
+        TransportCompany company = createCompany("Acme Logistics");
+        Client client = createClient(company, "Client A");
+        Vehicle truck = createVehicle(company, "CA1234AB");
+        Vehicle van = createVehicle(company, "CA5678CD");
+        Employee ivan = createDriver(company, "Ivan", "Ivanov");
+        Employee petar = createDriver(company, "Petar", "Petrov");
+
+        Transport first = booked.createTransport(buildTransportRequest(company, client, truck, ivan,
+                LocalDateTime.of(2020, 1, 10, 10, 0),
+                LocalDateTime.of(2020, 1, 10, 18, 0),
+                new BigDecimal("100.00"),
+                false
+        ));
+
+        TransportBookingConflictException vehicleConflict = assertThrows(TransportBookingConflictException.class,
+                () -> booked.createTransport(buildTransportRequest(company, client, truck, petar,
+                        LocalDateTime.of(2020, 1, 10, 17, 0),
+                        LocalDateTime.of(2020, 1, 10, 20, 0),
+                        new BigDecimal("50.00"),
+                        false
+                )));
+        assertEquals("Vehicle with id = " + truck.getId() + " is already booked for transport " + first.getId()
+                + " from 2020-01-10T10:00 to 2020-01-10T18:00.", vehicleConflict.getMessage());
+
+        TransportBookingConflictException driverConflict = assertThrows(TransportBookingConflictException.class,
+                () -> booked.createTransport(buildTransportRequest(company, client, van, ivan,
+                        LocalDateTime.of(2020, 1, 10, 8, 0),
+                        LocalDateTime.of(2020, 1, 10, 11, 0),
+                        new BigDecimal("50.00"),
+                        false
+                )));
+        assertTrue(driverConflict.getMessage().startsWith("Driver with id = " + ivan.getId()));
+
+        booked.createTransport(buildTransportRequest(company, client, truck, ivan,
+                LocalDateTime.of(2020, 1, 10, 18, 0),
+                LocalDateTime.of(2020, 1, 10, 22, 0),
+                new BigDecimal("100.00"),
+                false
+        ));
+        booked.createTransport(buildTransportRequest(company, client, van, petar,
+                LocalDateTime.of(2020, 1, 10, 12, 0),
+                LocalDateTime.of(2020, 1, 10, 14, 0),
+                new BigDecimal("100.00"),
+                false
+        ));
+
+        assertEquals(3L, booked.countAllTransports());
+
+        TransportBookingConflictException reloaded = assertThrows(TransportBookingConflictException.class,
+                () -> bookingService().createTransport(buildTransportRequest(company, client, van, ivan,
+                        LocalDateTime.of(2020, 1, 10, 21, 0),
+                        LocalDateTime.of(2020, 1, 10, 23, 0),
+                        new BigDecimal("50.00"),
+                        false
+                )));
+        assertTrue(reloaded.getMessage().startsWith("Driver with id = " + ivan.getId()));
+    }
+
+    @Test
+    void givenBookingIndex_whenCreateAll_thenReportRowsOverlappingBookedTransportsOrEarlierRows() {
+        TransportService booked = bookingService();
+
+        TransportCompany company = createCompany("Acme Logistics");
+        Client client = createClient(company, "Client A");
+        Vehicle truck = createVehicle(company, "CA1234AB");
+        Vehicle van = createVehicle(company, "CA5678CD");
+        Employee ivan = createDriver(company, "Ivan", "Ivanov");
+        Employee petar = createDriver(company, "Petar", "Petrov");
+
+        Transport existing = booked.createTransport(buildTransportRequest(company, client, truck, ivan,
+                LocalDateTime.of(2020, 1, 1, 8, 0),
+                LocalDateTime.of(2020, 1, 1, 16, 0),
+                new BigDecimal("10.00"),
+                false
+        ));
+
+        List<TransportCreateRequest> requests = List.of(
+                buildTransportRequest(company, client, van, ivan,
+                        LocalDateTime.of(2020, 1, 1, 12, 0),
+                        LocalDateTime.of(2020, 1, 1, 20, 0),
+                        new BigDecimal("10.00"),
+                        false),
+                buildTransportRequest(company, client, van, petar,
+                        LocalDateTime.of(2020, 1, 2, 8, 0),
+                        LocalDateTime.of(2020, 1, 2, 16, 0),
+                        new BigDecimal("10.00"),
+                        false),
+                buildTransportRequest(company, client, truck, petar,
+                        LocalDateTime.of(2020, 1, 2, 15, 0),
+                        LocalDateTime.of(2020, 1, 2, 18, 0),
+                        new BigDecimal("10.00"),
+                        false),
+                buildTransportRequest(company, client, truck, ivan,
+                        LocalDateTime.of(2020, 1, 2, 8, 0),
+                        LocalDateTime.of(2020, 1, 2, 16, 0),
+                        new BigDecimal("10.00"),
+                        false)
+        );
+
+        TransportImportResult result = booked.createAll(requests, 2);
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(1, 3), result.failures().stream().map(TransportImportFailure::rowNumber).toList());
+        assertEquals("Driver with id = " + ivan.getId() + " is already booked for transport " + existing.getId()
+                + " from 2020-01-01T08:00 to 2020-01-01T16:00.", result.failures().getFirst().message());
+        assertEquals("Driver with id = " + petar.getId() + " is already booked by row 2 of this import"
+                + " from 2020-01-02T08:00 to 2020-01-02T16:00.", result.failures().get(1).message());
+
+        assertThrows(TransportBookingConflictException.class,
+                () -> booked.createTransport(buildTransportRequest(company, client, van, petar,
+                        LocalDateTime.of(2020, 1, 2, 9, 0),
+                        LocalDateTime.of(2020, 1, 2, 10, 0),
+                        new BigDecimal("10.00"),
+                        false
+                )));
+        assertEquals(3L, booked.countAllTransports());
+    }
+
+    @Test
+    void givenBookingOutsideHorizon_whenCreateTransport_thenOverlapIsFoundInDatabase() {
+        TransportCompany company = createCompany("Acme Logistics");
+        Client client = createClient(company, "Client A");
+        Vehicle truck = createVehicle(company, "CA1234AB");
+        Employee ivan = createDriver(company, "Ivan", "Ivanov");
+
+        bookingService().createTransport(buildTransportRequest(company, client, truck, ivan,
+                LocalDateTime.of(2020, 1, 1, 8, 0),
+                LocalDateTime.of(2020, 1, 1, 16, 0),
+                new BigDecimal("10.00"),
+                false
+        ));
+
+        TransportService shortHorizon = bookingService(new TransportBookingIndex(new TransportBookingRepositoryImpl(),
+                Duration.ofDays(1), Clock.fixed(Instant.parse("2020-03-01T00:00:00Z"), ZoneOffset.UTC)));
+
+        assertThrows(TransportBookingConflictException.class,
+                () -> shortHorizon.createTransport(buildTransportRequest(company, client, truck, ivan,
+                        LocalDateTime.of(2020, 1, 1, 12, 0),
+                        LocalDateTime.of(2020, 1, 1, 18, 0),
+                        new BigDecimal("10.00"),
+                        false
+                )));
+        shortHorizon.createTransport(buildTransportRequest(company, client, truck, ivan,
+                LocalDateTime.of(2020, 1, 1, 16, 0),
+                LocalDateTime.of(2020, 1, 1, 18, 0),
+                new BigDecimal("10.00"),
+                false
+        ));
+        assertEquals(2L, shortHorizon.countAllTransports());
+    }
+
+    @Test
+    void givenTransportBookedAfterReserve_whenBatchCommits_thenRowIsReportedAndNotCreated() {
+        TransportBookingIndex index = new TransportBookingIndex(new TransportBookingRepositoryImpl());
+        TransportService booked = bookingService(index);
+
+        TransportCompany company = createCompany("Acme Logistics");
+        Client client = createClient(company, "Client A");
+        Vehicle truck = createVehicle(company, "CA1234AB");
+        Employee ivan = createDriver(company, "Ivan", "Ivanov");
+
+        TransportBookingIndex.Batch batch = index.batch();
+        assertNull(batch.reserve(1, truck.getId(), ivan.getId(),
+                LocalDateTime.of(2020, 1, 1, 8, 0), LocalDateTime.of(2020, 1, 1, 16, 0)));
+
+        Transport concurrent = booked.createTransport(buildTransportRequest(company, client, truck, ivan,
+                LocalDateTime.of(2020, 1, 1, 12, 0),
+                LocalDateTime.of(2020, 1, 1, 18, 0),
+                new BigDecimal("10.00"),
+                false
+        ));
+
+        Map<Integer, String> conflicts = new HashMap<>();
+        List<Transport> created = batch.commit(List.of(1), conflicts::put, rows -> fail("Row " + rows + " was created."));
+
+        assertTrue(created.isEmpty());
+        assertEquals(List.of(1), List.copyOf(conflicts.keySet()));
+        assertTrue(conflicts.get(1).contains("transport " + concurrent.getId()), conflicts.get(1));
+    }
+
+    private TransportService bookingService() {
+        return bookingService(new TransportBookingIndex(new TransportBookingRepositoryImpl()));
+    }
+
+    private TransportService bookingService(TransportBookingIndex bookings) {
+        return new TransportService(
+                new TransportRepositoryImpl(),
+                companyRepository,
+                clientRepository,
+                vehicleRepository,
+                employeeRepository,
+                ReportCache.disabled(),
+                bookings
+        );
+    }
+
+    private static List<String> revenues(List<DriverRevenueRow> rows) {
+        return rows.stream().map(r -> r.driverId() + "=" + r.revenue().stripTrailingZeros().toPlainString()).toList();
+    }
+
+    private static List<String> companyRevenues(List<CompanyRevenueRow> rows) {
+        return rows.stream().map(r -> r.companyName() + "=" + r.revenue().stripTrailingZeros().toPlainString()).toList();
+    }
+
     private TransportCompany createCompany(String name) {
         TransportCompany company = new TransportCompany();
         company.setName(name);
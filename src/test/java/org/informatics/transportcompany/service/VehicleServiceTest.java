@@ -4,20 +4,35 @@ import org.hibernate.SessionFactory;
 import org.informatics.transportcompany.config.HibernateUtil;
 import org.informatics.transportcompany.exceptions.company.NoCompanyWithProvidedIdException;
 import org.informatics.transportcompany.exceptions.vehicle.NoVehicleWithProvidedIdException;
+import org.informatics.transportcompany.model.dto.transport.TransportCreateRequest;
 import org.informatics.transportcompany.model.dto.vehicle.VehicleCreateRequest;
+import org.informatics.transportcompany.model.dto.vehicle.VehicleListRow;
 import org.informatics.transportcompany.model.dto.vehicle.VehicleUpdateRequest;
+import org.informatics.transportcompany.model.entity.Client;
+import org.informatics.transportcompany.model.entity.Employee;
 import org.informatics.transportcompany.model.entity.TransportCompany;
 import org.informatics.transportcompany.model.entity.Vehicle;
+import org.informatics.transportcompany.model.enums.EmployeeQualification;
 import org.informatics.transportcompany.model.enums.VehicleType;
+import org.informatics.transportcompany.repository.client.ClientRepository;
+import org.informatics.transportcompany.repository.client.ClientRepositoryImpl;
+import org.informatics.transportcompany.repository.employee.EmployeeRepository;
+import org.informatics.transportcompany.repository.employee.EmployeeRepositoryImpl;
+import org.informatics.transportcompany.repository.transport.TransportRepositoryImpl;
+import org.informatics.transportcompany.repository.transportBooking.TransportBookingRepositoryImpl;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepository;
 import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
 import org.informatics.transportcompany.repository.vehicle.VehicleRepository;
 import org.informatics.transportcompany.repository.vehicle.VehicleRepositoryImpl;
+import org.informatics.transportcompany.service.booking.TransportBookingIndex;
+import org.informatics.transportcompany.service.cache.ReportCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -307,4 +322,93 @@ class VehicleServiceTest {
         assertEquals(1, remaining.size());
         assertEquals(v2.getId(), remaining.getFirst().getId());
     }
+
+    @Test
+    void givenFleet_whenFindBestFitVehicles_thenSmallestFreeFittingVehiclesOfTypeAreReturnedFirst() {
+        TransportCompany company = new TransportCompany();
+        company.setName("FleetCo");
+        companyRepository.create(company);
+        TransportCompany other = new TransportCompany();
+        other.setName("OtherFleetCo");
+        companyRepository.create(other);
+
+        ReportCache cache = new ReportCache(16);
+        TransportBookingIndex bookings = new TransportBookingIndex(new TransportBookingRepositoryImpl());
+        VehicleService fleet = new VehicleService(new VehicleRepositoryImpl(), companyRepository, cache, bookings);
+
+        Vehicle small = fleet.createVehicle(vehicleRequest(company, "S1", VehicleType.TRUCK, 3000));
+        Vehicle busy = fleet.createVehicle(vehicleRequest(company, "B1", VehicleType.TRUCK, 5000));
+        Vehicle medium = fleet.createVehicle(vehicleRequest(company, "M1", VehicleType.TRUCK, 8000));
+        Vehicle large = fleet.createVehicle(vehicleRequest(company, "L1", VehicleType.TRUCK, 20000));
+        fleet.createVehicle(vehicleRequest(company, "T1", VehicleType.TANKER, 5000));
+        fleet.createVehicle(vehicleRequest(other, "O1", VehicleType.TRUCK, 5000));
+
+        EmployeeRepository employeeRepository = new EmployeeRepositoryImpl();
+        ClientRepository clientRepository = new ClientRepositoryImpl();
+        TransportService transports = new TransportService(new TransportRepositoryImpl(), companyRepository,
+                clientRepository, new VehicleRepositoryImpl(), employeeRepository, cache, bookings);
+
+        Client client = new Client();
+        client.setName("Client");
+        client.setCompany(company);
+        clientRepository.create(client);
+
+        Employee driver = new Employee();
+        driver.setFirstName("Ivan");
+        driver.setLastName("Ivanov");
+        driver.setQualification(EmployeeQualification.DRIVER_STANDARD);
+        driver.setSalary(new BigDecimal("2000"));
+        driver.setCompany(company);
+        employeeRepository.create(driver);
+
+        LocalDateTime from = LocalDateTime.of(2025, 4, 1, 8, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 4, 1, 16, 0);
+
+        TransportCreateRequest request = new TransportCreateRequest();
+        request.setCompanyId(company.getId());
+        request.setClientId(client.getId());
+        request.setVehicleId(busy.getId());
+        request.setDriverId(driver.getId());
+        request.setFromLocation("Sofia");
+        request.setToLocation("Varna");
+        request.setDeparture(from.plusHours(2));
+        request.setArrival(to.plusHours(2));
+        request.setCargoDescription("steel");
+        request.setCargoWeight(4000.0);
+        request.setPrice(new BigDecimal("700.00"));
+        request.setPaid(false);
+        transports.createTransport(request);
+
+        assertEquals(List.of(medium.getId(), large.getId()), ids(fleet.findBestFitVehicles(
+                company.getId(), VehicleType.TRUCK, 4000.5, from, to, 5)));
+        assertEquals(List.of(medium.getId()), ids(fleet.findBestFitVehicles(
+                company.getId(), VehicleType.TRUCK, 4000.5, from, to, 1)));
+        assertEquals(List.of(small.getId(), medium.getId()), ids(fleet.findBestFitVehicles(
+                company.getId(), VehicleType.TRUCK, 3000, from, to, 2)));
+        assertEquals(List.of(small.getId(), busy.getId()), ids(fleet.findBestFitVehicles(
+                company.getId(), VehicleType.TRUCK, 3000, to.plusHours(2), to.plusHours(4), 2)));
+        assertEquals(List.of(), fleet.findBestFitVehicles(company.getId(), VehicleType.TRUCK, 25000, from, to, 5));
+
+        Vehicle added = fleet.createVehicle(vehicleRequest(company, "N1", VehicleType.TRUCK, 4500));
+        assertEquals(List.of(added.getId(), medium.getId()), ids(fleet.findBestFitVehicles(
+                company.getId(), VehicleType.TRUCK, 4000, from, to, 2)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> fleet.findBestFitVehicles(company.getId(), VehicleType.TRUCK, -1, from, to, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> fleet.findBestFitVehicles(company.getId(), VehicleType.TRUCK, 1000, to, from, 5));
+    }
+
+    private static VehicleCreateRequest vehicleRequest(TransportCompany company, String registrationNumber, VehicleType type, int capacity) {
+        VehicleCreateRequest request = new VehicleCreateRequest();
+        request.setCompanyId(company.getId());
+        request.setRegistrationNumber(registrationNumber);
+        request.setType(type);
+        request.setCapacity(capacity);
+        return request;
+    }
+
+    private static List<Long> ids(List<VehicleListRow> vehicles) {
+        return vehicles.stream().map(VehicleListRow::id).toList();
+    }
 }
@@ -0,0 +1,139 @@
+package org.informatics.transportcompany.service.async;
+
+import org.informatics.transportcompany.exceptions.Transport.NoTransportWithProvidedIdException;
+import org.informatics.transportcompany.model.dto.transport.TransportSummary;
+import org.informatics.transportcompany.repository.client.ClientRepositoryImpl;
+import org.informatics.transportcompany.repository.employee.EmployeeRepositoryImpl;
+import org.informatics.transportcompany.repository.location.LocationRepositoryImpl;
+import org.informatics.transportcompany.repository.transport.TransportRepositoryImpl;
+import org.informatics.transportcompany.repository.transportCompany.TransportCompanyRepositoryImpl;
+import org.informatics.transportcompany.repository.vehicle.VehicleRepositoryImpl;
+import org.informatics.transportcompany.service.TransportService;
+import org.informatics.transportcompany.service.booking.TransportBookingIndex;
+import org.informatics.transportcompany.service.cache.ReportCache;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ServiceExecutorTest {
+
+    @Test
+    void givenFullQueue_whenSubmit_thenCallerIsRejectedAfterTimeout() throws Exception {
+        try (ServiceExecutor executor = new ServiceExecutor(new ServiceExecutorSettings(1, 1, 50))) {
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Integer> running = executor.supply(() -> {
+                await(release);
+                return 1;
+            });
+            CompletableFuture<Integer> queued = executor.supply(() -> 2);
+
+            CompletableFuture<Integer> rejected = executor.supply(() -> 3);
+
+            ExecutionException ex = assertThrows(ExecutionException.class, rejected::get);
+            assertInstanceOf(RejectedExecutionException.class, ex.getCause());
+
+            release.countDown();
+            assertEquals(1, running.get());
+            assertEquals(2, queued.get());
+            assertEquals(4, executor.supply(() -> 4).get());
+
+            ServiceExecutorMetrics metrics = executor.metrics();
+            assertEquals(3, metrics.submitted());
+            assertEquals(1, metrics.rejected());
+            assertEquals(3, metrics.runTime().count());
+        }
+    }
+
+    @Test
+    void givenBusyExecutor_whenForkedWorkIsJoined_thenCallerRunsItExactlyOnce() {
+        try (ServiceExecutor executor = new ServiceExecutor(new ServiceExecutorSettings(1, 0, 1_000))) {
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Integer> running = executor.supply(() -> {
+                await(release);
+                return 1;
+            });
+
+            AtomicInteger runs = new AtomicInteger();
+            ServiceExecutor.Fork<String> fork = executor.fork(() -> {
+                runs.incrementAndGet();
+                return Thread.currentThread().getName();
+            });
+
+            assertEquals(Thread.currentThread().getName(), fork.join());
+            release.countDown();
+            assertEquals(1, ServiceExecutor.await(running));
+            assertEquals(1, runs.get());
+            assertEquals(0, executor.metrics().rejected());
+        }
+
+        ServiceExecutor callerRuns = ServiceExecutor.callerRuns();
+        assertEquals(Thread.currentThread().getName(),
+                ServiceExecutor.await(callerRuns.supply(() -> Thread.currentThread().getName())));
+        assertEquals(Thread.currentThread().getName(), callerRuns.fork(() -> Thread.currentThread().getName()).join());
+    }
+
+    @Test
+    void givenAsyncTransportService_whenReportsFanOut_thenResultsAndServiceExceptionsAreReturned() {
+        TransportService transportService = new TransportService(
+                new TransportRepositoryImpl(),
+                new TransportCompanyRepositoryImpl(),
+                new ClientRepositoryImpl(),
+                new VehicleRepositoryImpl(),
+                new EmployeeRepositoryImpl()
+        );
+
+        try (ServiceExecutor executor = new ServiceExecutor(new ServiceExecutorSettings(2, 4, 1_000))) {
+            AsyncTransportService service = new AsyncTransportService(transportService, executor);
+
+            CompletableFuture<Long> count = service.countAllTransports();
+            CompletableFuture<BigDecimal> total = service.calculateTotalRevenue();
+
+            assertEquals(transportService.countAllTransports(), ServiceExecutor.await(count));
+            assertEquals(0, transportService.calculateTotalRevenue().compareTo(ServiceExecutor.await(total)));
+            assertThrows(NoTransportWithProvidedIdException.class, () -> ServiceExecutor.await(service.markPaid(-1)));
+            assertEquals(1, executor.metrics().failed());
+        }
+    }
+
+    @Test
+    void givenSingleThreadExecutor_whenSummarizeRunsOnIt_thenNestedQueryDoesNotDeadlock() {
+        try (ServiceExecutor executor = new ServiceExecutor(new ServiceExecutorSettings(1, 4, 1_000))) {
+            TransportService transportService = new TransportService(
+                    new TransportRepositoryImpl(),
+                    new TransportCompanyRepositoryImpl(),
+                    new ClientRepositoryImpl(),
+                    new VehicleRepositoryImpl(),
+                    new EmployeeRepositoryImpl(),
+                    ReportCache.disabled(),
+                    TransportBookingIndex.disabled(),
+                    new LocationRepositoryImpl(),
+                    executor
+            );
+            AsyncTransportService service = new AsyncTransportService(transportService, executor);
+
+            TransportSummary summary = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> ServiceExecutor.await(service.summarize()));
+
+            assertEquals(transportService.summarize(), summary);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
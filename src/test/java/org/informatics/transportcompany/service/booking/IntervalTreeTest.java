@@ -0,0 +1,58 @@
+package org.informatics.transportcompany.service.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTest {
+
+    @Test
+    void givenBookedInterval_whenQueried_thenOnlyIntervalsSharingTimeOverlap() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(10, 20, 1);
+        tree.insert(30, 40, 2);
+
+        assertEquals(1, tree.findOverlap(15, 16).id());
+        assertEquals(2, tree.findOverlap(25, 35).id());
+        assertNull(tree.findOverlap(20, 30));
+        assertNull(tree.findOverlap(0, 10));
+        assertNull(tree.findOverlap(40, 50));
+        assertNull(tree.findOverlap(15, 15));
+    }
+
+    @Test
+    void givenRandomIntervals_whenQueried_thenAgreesWithLinearScan() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<long[]> intervals = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(50);
+            tree.insert(start, end, i);
+            intervals.add(new long[]{start, end});
+        }
+        assertEquals(intervals.size(), tree.size());
+
+        for (int q = 0; q < 5_000; q++) {
+            long start = random.nextInt(100_100);
+            long end = start + 1 + random.nextInt(100);
+            boolean expected = intervals.stream().anyMatch(i -> i[0] < end && start < i[1]);
+
+            IntervalTree.Interval found = tree.findOverlap(start, end);
+            if (expected) {
+                assertNotNull(found);
+                assertTrue(found.start() < end && start < found.end());
+            } else {
+                assertNull(found);
+            }
+        }
+    }
+}
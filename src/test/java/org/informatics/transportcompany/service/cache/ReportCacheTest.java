@@ -0,0 +1,67 @@
+package org.informatics.transportcompany.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReportCacheTest {
+
+    @Test
+    void givenFullCache_whenNewReportIsStored_thenLeastRecentlyUsedIsEvicted() {
+        ReportCache cache = new ReportCache(2);
+        AtomicInteger computations = new AtomicInteger();
+
+        cache.get("a", List.of(), Set.of(), computations::incrementAndGet);
+        cache.get("b", List.of(), Set.of(), computations::incrementAndGet);
+        cache.get("a", List.of(), Set.of(), computations::incrementAndGet);
+        cache.get("c", List.of(), Set.of(), computations::incrementAndGet);
+        cache.get("a", List.of(), Set.of(), computations::incrementAndGet);
+        cache.get("b", List.of(), Set.of(), computations::incrementAndGet);
+
+        assertEquals(4, computations.get());
+        ReportCacheStats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(4, stats.misses());
+        assertEquals(2, stats.evictions());
+    }
+
+    @Test
+    void givenTaggedEntries_whenTagIsInvalidated_thenOnlyEntriesWithThatTagAreDropped() {
+        ReportCache cache = new ReportCache(10);
+
+        assertEquals(1, cache.get("revenue", List.of(1L), Set.of(ReportCache.company(1)), () -> 1));
+        assertEquals(2, cache.get("revenue", List.of(2L), Set.of(ReportCache.company(2)), () -> 2));
+        assertEquals(3, cache.get("total", List.of(), Set.of(ReportCache.TRANSPORTS), () -> 3));
+
+        cache.invalidate(ReportCache.TRANSPORTS, ReportCache.company(1));
+
+        assertEquals(10, cache.get("revenue", List.of(1L), Set.of(ReportCache.company(1)), () -> 10));
+        assertEquals(2, cache.get("revenue", List.of(2L), Set.of(ReportCache.company(2)), () -> 20));
+        assertEquals(30, cache.get("total", List.of(), Set.of(ReportCache.TRANSPORTS), () -> 30));
+        assertEquals(2, cache.stats().invalidations());
+    }
+
+    @Test
+    void givenWriteDuringComputation_whenResultIsReady_thenItIsNotCached() {
+        ReportCache cache = new ReportCache(10);
+
+        cache.get("total", List.of(), Set.of(ReportCache.TRANSPORTS), () -> {
+            cache.invalidate(ReportCache.TRANSPORTS);
+            return 1;
+        });
+        assertEquals(0, cache.stats().size());
+
+        cache.get("total", List.of(), Set.of(ReportCache.TRANSPORTS), () -> {
+            cache.invalidateAll();
+            return 1;
+        });
+        assertEquals(0, cache.stats().size());
+
+        assertEquals(2, cache.get("total", List.of(), Set.of(ReportCache.TRANSPORTS), () -> 2));
+        assertEquals(2, cache.get("total", List.of(), Set.of(ReportCache.TRANSPORTS), () -> 3));
+    }
+}
@@ -0,0 +1,7 @@
+-- Fixture for MigrationRunnerTest.
+create table depots (
+    id bigint not null primary key,
+    city varchar(100) not null
+);
+
+insert into depots (id, city) values (1, 'Sofia');
@@ -0,0 +1 @@
+create index idx_depots_city on depots (city);